@@ -13,12 +13,12 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.testapp.models.Court;
 import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.TimeOfDay;
 import com.example.testapp.repository.CourtRepository;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.switchmaterial.SwitchMaterial;
 
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 
 public class AddEditCourtActivity extends AppCompatActivity {
@@ -256,24 +256,14 @@ public class AddEditCourtActivity extends AppCompatActivity {
     
     private void showTimePicker(EditText editText, boolean isOpeningHour) {
         // Parse current time or use default
-        String currentTime = editText.getText() != null ? editText.getText().toString() : "08:00";
-        String[] parts = currentTime.split(":");
-        int hour = 8;
-        int minute = 0;
-        
-        try {
-            if (parts.length >= 2) {
-                hour = Integer.parseInt(parts[0]);
-                minute = Integer.parseInt(parts[1]);
-            }
-        } catch (NumberFormatException e) {
-            // Use defaults
-        }
+        TimeOfDay current = editText.getText() != null ? TimeOfDay.parse(editText.getText().toString()) : null;
+        int hour = current != null ? current.getHour() : 8;
+        int minute = current != null ? current.getMinute() : 0;
         
         TimePickerDialog timePickerDialog = new TimePickerDialog(
             this,
             (view, selectedHour, selectedMinute) -> {
-                String time = String.format(Locale.getDefault(), "%02d:%02d", selectedHour, selectedMinute);
+                String time = TimeOfDay.of(selectedHour, selectedMinute).toString();
                 editText.setText(time);
             },
             hour,
@@ -21,8 +21,10 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.adapters.AddPlayersAdapter;
-import com.example.testapp.models.Player;
 import com.example.testapp.models.User;
+import com.example.testapp.repository.JerseyRegistry;
+import com.example.testapp.repository.PlayerResolver;
+import com.example.testapp.repository.TeamMembers;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.database.DataSnapshot;
@@ -55,6 +57,7 @@ public class AddPlayersActivity extends AppCompatActivity {
     private List<User> allPlayers;
     private List<User> filteredPlayers;
     private DatabaseReference usersRef;
+    private JerseyRegistry jerseyRegistry;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -82,6 +85,7 @@ public class AddPlayersActivity extends AppCompatActivity {
         confirmButton = findViewById(R.id.confirmButton);
 
         usersRef = FirebaseDatabase.getInstance().getReference("users");
+        jerseyRegistry = new JerseyRegistry();
 
         allPlayers = new ArrayList<>();
         filteredPlayers = new ArrayList<>();
@@ -253,102 +257,47 @@ public class AddPlayersActivity extends AppCompatActivity {
         }
         
         // First, load the player's profile to get their jersey number
-        DatabaseReference playersRef = FirebaseDatabase.getInstance().getReference("players");
-        playersRef.orderByChild("userId").equalTo(player.getUserId()).limitToFirst(1)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                String playerJerseyNumber = null;
-                
-                if (snapshot.exists()) {
-                    for (DataSnapshot child : snapshot.getChildren()) {
-                        Player playerProfile = child.getValue(Player.class);
-                        if (playerProfile != null) {
-                            playerJerseyNumber = playerProfile.getJerseyNumber();
-                        }
-                        break;
-                    }
-                }
-                
-                // If player has a jersey number, check if another player in the team has the same number
-                if (playerJerseyNumber != null && !playerJerseyNumber.isEmpty()) {
-                    checkJerseyNumberAvailabilityBeforeAdding(playerJerseyNumber, player.getUserId(), player, onSuccess, onError);
-                } else {
-                    // No jersey number, proceed with adding to team
-                    proceedWithAddingPlayerToTeam(player, onSuccess, onError);
-                }
-            }
+        PlayerResolver resolver = PlayerResolver.getInstance();
+        resolver.remember(player.getUserId(), player.getPlayerId());
+        resolver.loadPlayer(player.getUserId(), playerProfile -> {
+            String playerJerseyNumber = playerProfile != null ? playerProfile.getJerseyNumber() : null;
             
-            @Override
-            public void onCancelled(DatabaseError error) {
-                onError.call();
+            // If player has a jersey number, claim it in this team before adding
+            if (playerJerseyNumber != null && !playerJerseyNumber.isEmpty()) {
+                claimJerseyNumberBeforeAdding(playerJerseyNumber, player.getUserId(), player, onSuccess, onError);
+            } else {
+                // No jersey number, proceed with adding to team
+                proceedWithAddingPlayerToTeam(player, onSuccess, onError);
             }
         });
     }
     
-    private void checkJerseyNumberAvailabilityBeforeAdding(String jerseyNumber, String userId, User player, SimpleCallback onSuccess, SimpleCallback onError) {
-        // Check if this jersey number is already taken in this team by another player
-        DatabaseReference playersRef = FirebaseDatabase.getInstance().getReference("players");
-        playersRef.addListenerForSingleValueEvent(new ValueEventListener() {
+    private void claimJerseyNumberBeforeAdding(String jerseyNumber, String userId, User player, SimpleCallback onSuccess, SimpleCallback onError) {
+        List<String> team = new ArrayList<>();
+        team.add(teamId);
+        jerseyRegistry.claim(userId, team, jerseyNumber, new JerseyRegistry.OnClaimListener() {
             @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                // Iterate over every player in the system
-                for (DataSnapshot playerSnapshot : snapshot.getChildren()) {
-                    Player existingPlayer = playerSnapshot.getValue(Player.class);
-                    
-                    // Skip the current player
-                    if (existingPlayer == null || userId.equals(existingPlayer.getUserId())) {
-                        continue;
-                    }
-                    
-                    // Check if the other player has the same jersey number
-                    if (!jerseyNumber.equals(existingPlayer.getJerseyNumber())) {
-                        continue;
-                    }
-                    
-                    // Found another player with the same jersey number - check if they are on this team
-                    String otherUserId = existingPlayer.getUserId();
-                    if (otherUserId == null) continue;
-                    
-                    // Check the other player's teams
-                    usersRef.child(otherUserId).child("teamIds")
-                        .addListenerForSingleValueEvent(new ValueEventListener() {
-                            @Override
-                            public void onDataChange(DataSnapshot teamIdsSnapshot) {
-                                if (teamIdsSnapshot.exists()) {
-                                    for (DataSnapshot teamSnapshot : teamIdsSnapshot.getChildren()) {
-                                        String otherPlayerTeamId = teamSnapshot.getValue(String.class);
-                                        
-                                        // If the other player is on the same team, it's a conflict
-                                        if (teamId.equals(otherPlayerTeamId)) {
-                                            Toast.makeText(AddPlayersActivity.this, 
-                                                "קיים שחקן אחר בקבוצה עם מספר גופיה זה - השחקן יתווסף ללא מספר גופיה", 
-                                                Toast.LENGTH_LONG).show();
-                                            clearPlayerJerseyNumber(userId);
-                                            proceedWithAddingPlayerToTeam(player, onSuccess, onError);
-                                            return;
-                                        }
-                                    }
-                                }
-                                // No conflict - continue adding
-                                proceedWithAddingPlayerToTeam(player, onSuccess, onError);
-                            }
-                            
-                            @Override
-                            public void onCancelled(DatabaseError error) {
-                                // On error, continue adding
-                                proceedWithAddingPlayerToTeam(player, onSuccess, onError);
-                            }
-                        });
-                    return; // Found a player with the same number - checking their teams
-                }
-                
-                // No other player with this jersey number - continue adding
+            public void onClaimed(List<String> teamIds) {
+                proceedWithAddingPlayerToTeam(player, onSuccess, () -> {
+                    jerseyRegistry.release(userId, teamIds, jerseyNumber);
+                    onError.call();
+                });
+            }
+
+            @Override
+            public void onTaken(String takenInTeamId) {
+                Toast.makeText(AddPlayersActivity.this,
+                    "קיים שחקן אחר בקבוצה עם מספר גופיה זה - השחקן יתווסף ללא מספר גופיה",
+                    Toast.LENGTH_LONG).show();
+                // The number leaves the profile, so its claims in the player's other teams go too
+                clearPlayerJerseyNumber(userId);
+                jerseyRegistry.releaseInTeamsOf(userId, jerseyNumber);
                 proceedWithAddingPlayerToTeam(player, onSuccess, onError);
             }
-            
+
             @Override
-            public void onCancelled(DatabaseError error) {
+            public void onFailure(String error) {
+                Log.e(TAG, "Jersey claim failed: " + error);
                 onError.call();
             }
         });
@@ -356,58 +305,42 @@ public class AddPlayersActivity extends AppCompatActivity {
     
     private void clearPlayerJerseyNumber(String userId) {
         // Clear the jersey number in the player's profile
-        DatabaseReference playersRef = FirebaseDatabase.getInstance().getReference("players");
-        playersRef.orderByChild("userId").equalTo(userId).limitToFirst(1)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    for (DataSnapshot playerSnapshot : snapshot.getChildren()) {
-                        playerSnapshot.getRef().child("jerseyNumber").setValue("");
-                        break;
-                    }
-                }
-            }
-            
-            @Override
-            public void onCancelled(DatabaseError error) {
-                // Ignore errors when clearing jersey number
+        PlayerResolver.getInstance().resolve(userId, playerId -> {
+            if (playerId != null) {
+                FirebaseDatabase.getInstance().getReference("players").child(playerId).child("jerseyNumber").setValue("");
             }
         });
     }
+    
     private void proceedWithAddingPlayerToTeam(User player, SimpleCallback onSuccess, SimpleCallback onError) {
         // Read current teamIds from Firebase to avoid overwriting existing data
         DatabaseReference playerRef = usersRef.child(player.getUserId());
         playerRef.child("teamIds").addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(DataSnapshot snapshot) {
-                List<String> teamIds = new ArrayList<>();
+                List<String> oldTeamIds = new ArrayList<>();
                 
                 // Load existing teamIds from Firebase
                 if (snapshot.exists()) {
                     for (DataSnapshot teamSnapshot : snapshot.getChildren()) {
                         String tid = teamSnapshot.getValue(String.class);
                         if (tid != null) {
-                            teamIds.add(tid);
+                            oldTeamIds.add(tid);
                         }
                     }
                 }
                 
                 // Add current team if not already in list
+                List<String> teamIds = new ArrayList<>(oldTeamIds);
                 if (!teamIds.contains(teamId)) {
                     teamIds.add(teamId);
                 }
                 
-                // Use updateChildren instead of setValue for better permission handling
+                // teamIds, the legacy teamId (first team) and the team index in one multi-path write
                 Map<String, Object> updates = new HashMap<>();
-                updates.put("teamIds", teamIds);
-                
-                // Always sync teamId with first team in teamIds (for backward compatibility)
-                if (!teamIds.isEmpty()) {
-                    updates.put("teamId", teamIds.get(0));
-                }
+                TeamMembers.putTeams(updates, player.getUserId(), player.getPlayerId(), oldTeamIds, teamIds);
                 
-                playerRef.updateChildren(updates)
+                FirebaseDatabase.getInstance().getReference().updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
                         onSuccess.call();
                     })
@@ -23,17 +23,17 @@ import androidx.lifecycle.ViewModelProvider;
 import com.example.testapp.models.DaySchedule;
 import com.example.testapp.models.Court;
 import com.example.testapp.models.Team;
+import com.example.testapp.models.TimeOfDay;
+import com.example.testapp.models.TimeSlot;
 import com.example.testapp.models.Training;
+import com.example.testapp.repository.AppDataStore;
 import com.example.testapp.repository.TrainingRepository;
+import com.example.testapp.utils.FreeSlotFinder;
 import com.example.testapp.viewmodel.TrainingViewModel;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -55,6 +55,7 @@ public class AddTrainingActivity extends AppCompatActivity {
     private EditText editEndTime;
     private EditText editNotes;
     private MaterialButton btnSave;
+    private MaterialButton btnFindSlot;
 
     private TrainingViewModel viewModel;
     private final List<Team> teams = new ArrayList<>();
@@ -75,6 +76,7 @@ public class AddTrainingActivity extends AppCompatActivity {
         setupViewModel();
         setupPickers();
         setupSave();
+        setupFreeSlotSearch();
         loadTeams();
         loadCourts();
     }
@@ -90,6 +92,7 @@ public class AddTrainingActivity extends AppCompatActivity {
         editEndTime = findViewById(R.id.editEndTime);
         editNotes = findViewById(R.id.editNotes);
         btnSave = findViewById(R.id.btnSave);
+        btnFindSlot = findViewById(R.id.btnFindSlot);
     }
 
     private void setupToolbar() {
@@ -299,7 +302,7 @@ public class AddTrainingActivity extends AppCompatActivity {
             
             // Single number (0-23) treated as hour
             if (num >= 0 && num <= 23) {
-                return String.format(Locale.getDefault(), "%02d:00", num);
+                return TimeOfDay.of(num, 0).toString();
             }
             
             // Three to four digits (e.g., 930 or 1530)
@@ -307,7 +310,7 @@ public class AddTrainingActivity extends AppCompatActivity {
                 int hours = num / 100;
                 int minutes = num % 100;
                 if (hours >= 0 && hours <= 23 && minutes >= 0 && minutes <= 59) {
-                    return String.format(Locale.getDefault(), "%02d:%02d", hours, minutes);
+                    return TimeOfDay.of(hours, minutes).toString();
                 }
             }
         }
@@ -318,7 +321,7 @@ public class AddTrainingActivity extends AppCompatActivity {
             int hours = Integer.parseInt(parts[0]);
             int minutes = Integer.parseInt(parts[1]);
             if (hours >= 0 && hours <= 23 && minutes >= 0 && minutes <= 59) {
-                return String.format(Locale.getDefault(), "%02d:%02d", hours, minutes);
+                return TimeOfDay.of(hours, minutes).toString();
             }
         }
         
@@ -328,7 +331,7 @@ public class AddTrainingActivity extends AppCompatActivity {
             int hours = Integer.parseInt(parts[0]);
             int minutes = Integer.parseInt(parts[1]);
             if (hours >= 0 && hours <= 23 && minutes >= 0 && minutes <= 59) {
-                return String.format(Locale.getDefault(), "%02d:%02d", hours, minutes);
+                return TimeOfDay.of(hours, minutes).toString();
             }
         }
         
@@ -359,7 +362,7 @@ public class AddTrainingActivity extends AppCompatActivity {
                 
                 int hour = timePicker.getHour();
                 int minute = timePicker.getMinute();
-                target.setText(String.format(Locale.getDefault(), "%02d:%02d", hour, minute));
+                target.setText(TimeOfDay.of(hour, minute).toString());
             })
             .setNegativeButton("ביטול", null)
             .show();
@@ -388,8 +391,8 @@ public class AddTrainingActivity extends AppCompatActivity {
                 return;
             }
 
-            int startMinutes = timeToMinutesSafe(start);
-            int endMinutes = timeToMinutesSafe(end);
+            int startMinutes = TimeOfDay.toMinutes(start);
+            int endMinutes = TimeOfDay.toMinutes(end);
             if (startMinutes < 0 || endMinutes < 0 || startMinutes >= endMinutes) {
                 Toast.makeText(this, "שעת התחלה חייבת להיות לפני שעת סיום", Toast.LENGTH_SHORT).show();
                 return;
@@ -478,58 +481,106 @@ public class AddTrainingActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Offers the team's best free windows on any court in the two weeks from the chosen date.
+     * The length comes from the entered times, or 90 minutes when none are entered yet.
+     */
+    private void setupFreeSlotSearch() {
+        btnFindSlot.setOnClickListener(v -> {
+            if (selectedTeam == null) {
+                Toast.makeText(this, "בחר קבוצה", Toast.LENGTH_SHORT).show();
+                return;
+            }
+
+            int startMinutes = TimeOfDay.toMinutes(editStartTime.getText().toString().trim());
+            int endMinutes = TimeOfDay.toMinutes(editEndTime.getText().toString().trim());
+            int duration = startMinutes >= 0 && endMinutes > startMinutes ? endMinutes - startMinutes : 90;
+
+            Calendar from = (Calendar) selectedDate.clone();
+            from.set(Calendar.HOUR_OF_DAY, 0);
+            from.set(Calendar.MINUTE, 0);
+            from.set(Calendar.SECOND, 0);
+            from.set(Calendar.MILLISECOND, 0);
+            long start = Math.max(from.getTimeInMillis(), System.currentTimeMillis());
+            from.add(Calendar.DAY_OF_YEAR, 14);
+
+            FreeSlotFinder.Query query = new FreeSlotFinder.Query(selectedTeam.getTeamId(), duration,
+                    start, from.getTimeInMillis()).setLimit(10);
+            viewModel.findFreeSlots(query, courts, new TrainingRepository.OnFreeSlotsListener() {
+                @Override
+                public void onFreeSlots(List<TimeSlot> slots) {
+                    showFreeSlots(slots);
+                }
+
+                @Override
+                public void onError(String error) {
+                    Toast.makeText(AddTrainingActivity.this, error, Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
+    }
+
+    private void showFreeSlots(List<TimeSlot> slots) {
+        if (slots.isEmpty()) {
+            Toast.makeText(this, "לא נמצאו משבצות פנויות בשבועיים הקרובים", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        SimpleDateFormat dateFmt = new SimpleDateFormat("EEEE dd/MM", new Locale("he", "IL"));
+        String[] items = new String[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            TimeSlot slot = slots.get(i);
+            items[i] = dateFmt.format(slot.getDate()) + " · " + slot.getCourtName()
+                    + " · " + slot.getStartTime() + "-" + slot.getEndTime();
+        }
+        new AlertDialog.Builder(this)
+            .setTitle("משבצות פנויות")
+            .setItems(items, (dialog, which) -> applyFreeSlot(slots.get(which)))
+            .setNegativeButton("ביטול", null)
+            .show();
+    }
+
+    private void applyFreeSlot(TimeSlot slot) {
+        selectedDate.setTimeInMillis(slot.getDate());
+        editDate.setText(new SimpleDateFormat("dd/MM/yyyy", new Locale("he", "IL")).format(selectedDate.getTime()));
+        editStartTime.setText(slot.getStartTime());
+        editEndTime.setText(slot.getEndTime());
+
+        Court court = courtMap.get(slot.getCourtId());
+        int index = courts.indexOf(court);
+        if (index >= 0 && index < chipGroupCourts.getChildCount()) {
+            View chip = chipGroupCourts.getChildAt(index);
+            chip.setVisibility(View.VISIBLE);
+            ((Chip) chip).setChecked(true);
+        }
+    }
+
     private void loadTeams() {
-        FirebaseDatabase.getInstance().getReference("teams")
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-                        teams.clear();
-                        teamMap.clear();
-                        android.util.Log.d("AddTrainingActivity", "Loading teams, snapshot has " + snapshot.getChildrenCount() + " teams");
-                        
-                        for (DataSnapshot child : snapshot.getChildren()) {
-                            Team team = child.getValue(Team.class);
-                            if (team != null) {
-                                teams.add(team);
-                                teamMap.put(team.getTeamId(), team);
-                                android.util.Log.d("AddTrainingActivity", "Loaded team: " + team.getName() + " (ID: " + team.getTeamId() + ")");
-                            }
-                        }
-                        
-                        android.util.Log.d("AddTrainingActivity", "Total teams loaded: " + teams.size());
-                        setupTeamChipGroup();
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("AddTrainingActivity", "Failed to load teams: " + error.getMessage());
-                        Toast.makeText(AddTrainingActivity.this, "שגיאה בטעינת קבוצות: " + error.getMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                });
+        // Read once from the app-wide store; usually already loaded by the screen that opened this one
+        AppDataStore.getInstance().getTeams().observeOnce(this, loadedTeams -> {
+            teams.clear();
+            teamMap.clear();
+            android.util.Log.d("AddTrainingActivity", "Loading teams, snapshot has " + loadedTeams.size() + " teams");
+
+            for (Team team : loadedTeams) {
+                teams.add(team);
+                teamMap.put(team.getTeamId(), team);
+            }
+
+            android.util.Log.d("AddTrainingActivity", "Total teams loaded: " + teams.size());
+            setupTeamChipGroup();
+        });
     }
 
     private void loadCourts() {
-        FirebaseDatabase.getInstance().getReference("courts")
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-                        courts.clear();
-                        courtMap.clear();
-                        for (DataSnapshot child : snapshot.getChildren()) {
-                            Court court = child.getValue(Court.class);
-                            if (court != null) {
-                                courts.add(court);
-                                courtMap.put(court.getCourtId(), court);
-                            }
-                        }
-                        setupCourtChipGroup();
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        Toast.makeText(AddTrainingActivity.this, "שגיאה בטעינת מגרשים", Toast.LENGTH_SHORT).show();
-                    }
-                });
+        AppDataStore.getInstance().getCourts().observeOnce(this, loadedCourts -> {
+            courts.clear();
+            courtMap.clear();
+            for (Court court : loadedCourts) {
+                courts.add(court);
+                courtMap.put(court.getCourtId(), court);
+            }
+            setupCourtChipGroup();
+        });
     }
 
     private boolean isWithinCourtHours(Court court, int startMinutes, int endMinutes) {
@@ -540,8 +591,8 @@ public class AddTrainingActivity extends AppCompatActivity {
             return false;
         }
 
-        int open = timeToMinutesSafe(schedule.getOpeningHour());
-        int close = timeToMinutesSafe(schedule.getClosingHour());
+        int open = schedule.getOpeningMinutes();
+        int close = schedule.getClosingMinutes();
         if (open < 0 || close < 0 || open >= close) {
             Toast.makeText(this, "הגדרת שעות פעילות לא תקינה למגרש", Toast.LENGTH_SHORT).show();
             return false;
@@ -555,19 +606,6 @@ public class AddTrainingActivity extends AppCompatActivity {
         return true;
     }
 
-    private int timeToMinutesSafe(String time) {
-        try {
-            String[] parts = time.split(":");
-            if (parts.length != 2) return -1;
-            int h = Integer.parseInt(parts[0]);
-            int m = Integer.parseInt(parts[1]);
-            if (h < 0 || h > 23 || m < 0 || m > 59) return -1;
-            return h * 60 + m;
-        } catch (Exception e) {
-            return -1;
-        }
-    }
-
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
@@ -23,17 +23,15 @@ import androidx.lifecycle.ViewModelProvider;
 import com.example.testapp.models.DaySchedule;
 import com.example.testapp.models.Court;
 import com.example.testapp.models.Team;
+import com.example.testapp.models.TimeOfDay;
 import com.example.testapp.models.Training;
+import com.example.testapp.repository.AppDataStore;
 import com.example.testapp.repository.TrainingRepository;
 import com.example.testapp.viewmodel.TrainingViewModel;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -253,7 +251,7 @@ public class EditTrainingActivity extends AppCompatActivity {
             
             // Single number (0-23) treated as hour
             if (num >= 0 && num <= 23) {
-                return String.format(Locale.getDefault(), "%02d:00", num);
+                return TimeOfDay.of(num, 0).toString();
             }
             
             // Three to four digits (e.g., 930 or 1530)
@@ -261,7 +259,7 @@ public class EditTrainingActivity extends AppCompatActivity {
                 int hours = num / 100;
                 int minutes = num % 100;
                 if (hours >= 0 && hours <= 23 && minutes >= 0 && minutes <= 59) {
-                    return String.format(Locale.getDefault(), "%02d:%02d", hours, minutes);
+                    return TimeOfDay.of(hours, minutes).toString();
                 }
             }
         }
@@ -272,7 +270,7 @@ public class EditTrainingActivity extends AppCompatActivity {
             int hours = Integer.parseInt(parts[0]);
             int minutes = Integer.parseInt(parts[1]);
             if (hours >= 0 && hours <= 23 && minutes >= 0 && minutes <= 59) {
-                return String.format(Locale.getDefault(), "%02d:%02d", hours, minutes);
+                return TimeOfDay.of(hours, minutes).toString();
             }
         }
         
@@ -282,7 +280,7 @@ public class EditTrainingActivity extends AppCompatActivity {
             int hours = Integer.parseInt(parts[0]);
             int minutes = Integer.parseInt(parts[1]);
             if (hours >= 0 && hours <= 23 && minutes >= 0 && minutes <= 59) {
-                return String.format(Locale.getDefault(), "%02d:%02d", hours, minutes);
+                return TimeOfDay.of(hours, minutes).toString();
             }
         }
         
@@ -313,7 +311,7 @@ public class EditTrainingActivity extends AppCompatActivity {
                 
                 int hour = timePicker.getHour();
                 int minute = timePicker.getMinute();
-                target.setText(String.format(Locale.getDefault(), "%02d:%02d", hour, minute));
+                target.setText(TimeOfDay.of(hour, minute).toString());
             })
             .setNegativeButton("ביטול", null)
             .show();
@@ -442,8 +440,8 @@ public class EditTrainingActivity extends AppCompatActivity {
             return;
         }
 
-        int startMinutes = timeToMinutesSafe(start);
-        int endMinutes = timeToMinutesSafe(end);
+        int startMinutes = TimeOfDay.toMinutes(start);
+        int endMinutes = TimeOfDay.toMinutes(end);
         if (startMinutes < 0 || endMinutes < 0 || startMinutes >= endMinutes) {
             Toast.makeText(this, "שעת התחלה חייבת להיות לפני שעת סיום", Toast.LENGTH_SHORT).show();
             return;
@@ -501,11 +499,10 @@ public class EditTrainingActivity extends AppCompatActivity {
     }
 
     private void checkConflictAndUpdate(Training updatedTraining) {
-        viewModel.addTraining(updatedTraining, new TrainingRepository.OnConflictCheckListener() {
+        // Saved under the same id; the repository moves the occupancy claim with it
+        viewModel.updateTraining(updatedTraining, new TrainingRepository.OnConflictCheckListener() {
             @Override
             public void onSuccess() {
-                // First delete old training, then save new one
-                viewModel.deleteTraining(originalTraining.getTrainingId());
                 Toast.makeText(EditTrainingActivity.this, "אימון עודכן", Toast.LENGTH_SHORT).show();
                 finish();
             }
@@ -523,55 +520,30 @@ public class EditTrainingActivity extends AppCompatActivity {
     }
 
     private void loadTeams() {
-        FirebaseDatabase.getInstance().getReference("teams")
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-                        teams.clear();
-                        teamMap.clear();
-
-                        for (DataSnapshot child : snapshot.getChildren()) {
-                            Team team = child.getValue(Team.class);
-                            if (team != null) {
-                                teams.add(team);
-                                teamMap.put(team.getTeamId(), team);
-                            }
-                        }
-
-                        setupTeamChipGroup();
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        Toast.makeText(EditTrainingActivity.this, "שגיאה בטעינת קבוצות", Toast.LENGTH_SHORT).show();
-                    }
-                });
+        // Read once from the app-wide store; usually already loaded by the screen that opened this one
+        AppDataStore.getInstance().getTeams().observeOnce(this, loadedTeams -> {
+            teams.clear();
+            teamMap.clear();
+
+            for (Team team : loadedTeams) {
+                teams.add(team);
+                teamMap.put(team.getTeamId(), team);
+            }
+
+            setupTeamChipGroup();
+        });
     }
 
     private void loadCourts() {
-        FirebaseDatabase.getInstance().getReference("courts")
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-                        courts.clear();
-                        courtMap.clear();
-
-                        for (DataSnapshot child : snapshot.getChildren()) {
-                            Court court = child.getValue(Court.class);
-                            if (court != null) {
-                                courts.add(court);
-                                courtMap.put(court.getCourtId(), court);
-                            }
-                        }
-
-                        setupCourtChipGroup();
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        Toast.makeText(EditTrainingActivity.this, "שגיאה בטעינת מגרשים", Toast.LENGTH_SHORT).show();
-                    }
-                });
+        AppDataStore.getInstance().getCourts().observeOnce(this, loadedCourts -> {
+            courts.clear();
+            courtMap.clear();
+            for (Court court : loadedCourts) {
+                courts.add(court);
+                courtMap.put(court.getCourtId(), court);
+            }
+            setupCourtChipGroup();
+        });
     }
 
     private boolean isWithinCourtHours(Court court, int startMinutes, int endMinutes) {
@@ -582,8 +554,8 @@ public class EditTrainingActivity extends AppCompatActivity {
             return false;
         }
 
-        int open = timeToMinutesSafe(schedule.getOpeningHour());
-        int close = timeToMinutesSafe(schedule.getClosingHour());
+        int open = schedule.getOpeningMinutes();
+        int close = schedule.getClosingMinutes();
         if (open < 0 || close < 0 || open >= close) {
             Toast.makeText(this, "הגדרת שעות פעילות לא תקינה למגרש", Toast.LENGTH_SHORT).show();
             return false;
@@ -597,19 +569,6 @@ public class EditTrainingActivity extends AppCompatActivity {
         return true;
     }
 
-    private int timeToMinutesSafe(String time) {
-        try {
-            String[] parts = time.split(":");
-            if (parts.length != 2) return -1;
-            int h = Integer.parseInt(parts[0]);
-            int m = Integer.parseInt(parts[1]);
-            if (h < 0 || h > 23 || m < 0 || m > 59) return -1;
-            return h * 60 + m;
-        } catch (Exception e) {
-            return -1;
-        }
-    }
-
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
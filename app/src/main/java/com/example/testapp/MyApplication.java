@@ -2,10 +2,17 @@ package com.example.testapp;
 
 import android.app.Application;
 
+import com.example.testapp.repository.AppDataStore;
+import com.example.testapp.repository.SessionManager;
+
 public class MyApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
+        // Teams, courts and users are loaded once and shared by every screen
+        AppDataStore.init();
+        // The signed-in user's profile, served from disk and kept live
+        SessionManager.init(this);
         // Locale setup removed - Android handles it automatically
         // based on system settings and AndroidManifest configuration
     }
@@ -13,11 +13,13 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 
 import com.example.testapp.models.Player;
+import com.example.testapp.repository.JerseyRegistry;
+import com.example.testapp.repository.PlayerResolver;
+import com.example.testapp.repository.TeamJerseys;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DataSnapshot;
@@ -40,6 +42,9 @@ public class PlayerDetailsActivity extends AppCompatActivity {
     private String userId;
     private String playerId;
     private String teamId;
+    private JerseyRegistry jerseyRegistry;
+    // The number the player had when loaded, released once a new one is saved
+    private String loadedJerseyNumber;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -58,6 +63,7 @@ public class PlayerDetailsActivity extends AppCompatActivity {
         
         playersRef = FirebaseDatabase.getInstance().getReference("players");
         usersRef = FirebaseDatabase.getInstance().getReference("users");
+        jerseyRegistry = new JerseyRegistry();
         
         userId = getIntent().getStringExtra("userId");
         if (userId == null && FirebaseAuth.getInstance().getCurrentUser() != null) {
@@ -200,29 +206,13 @@ public class PlayerDetailsActivity extends AppCompatActivity {
             return;
         }
 
-        playersRef.orderByChild("userId").equalTo(userId).limitToFirst(1)
-            .addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(DataSnapshot snapshot) {
-                    progressBar.setVisibility(View.GONE);
-                    if (snapshot.exists()) {
-                        for (DataSnapshot child : snapshot.getChildren()) {
-                            Player player = child.getValue(Player.class);
-                            if (player != null) {
-                                // Update playerId from the Firebase key
-                                playerId = child.getKey();
-                                populatePlayerFields(player);
-                                break;
-                            }
-                        }
-                    }
-                }
-
-                @Override
-                public void onCancelled(DatabaseError error) {
-                    progressBar.setVisibility(View.GONE);
-                }
-            });
+        PlayerResolver.getInstance().loadPlayer(userId, player -> {
+            progressBar.setVisibility(View.GONE);
+            if (player != null) {
+                playerId = player.getPlayerId();
+                populatePlayerFields(player);
+            }
+        });
     }
     
     private void populatePlayerFields(Player player) {
@@ -245,6 +235,7 @@ public class PlayerDetailsActivity extends AppCompatActivity {
         idNumberEditText.setText(player.getIdNumber() != null ? player.getIdNumber() : "");
         birthDateEditText.setText(player.getBirthDate() != null ? player.getBirthDate() : "");
         jerseyNumberEditText.setText(player.getJerseyNumber() != null ? player.getJerseyNumber() : "");
+        loadedJerseyNumber = player.getJerseyNumber();
         
         for (int i = 0; i < SHIRT_SIZES.length; i++) {
             if (SHIRT_SIZES[i].equals(player.getShirtSize())) {
@@ -285,17 +276,28 @@ public class PlayerDetailsActivity extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         saveButton.setEnabled(false);
 
-        // Check jersey number availability across all of the player's teams
+        // Claim the jersey number in all of the player's teams
         if (!TextUtils.isEmpty(jerseyNumber)) {
-            checkJerseyNumberInAllPlayerTeams(jerseyNumber, userId, isAvailable -> {
-                if (!isAvailable) {
+            jerseyRegistry.claimInTeamsOf(userId, jerseyNumber, new JerseyRegistry.OnClaimListener() {
+                @Override
+                public void onClaimed(List<String> teamIds) {
+                    proceedWithSave(firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, jerseyNumber, shirtSize);
+                }
+
+                @Override
+                public void onTaken(String takenInTeamId) {
                     progressBar.setVisibility(View.GONE);
                     saveButton.setEnabled(true);
                     Toast.makeText(PlayerDetailsActivity.this, "מספר גופיה זה כבר בשימוש באחת מהקבוצות שלך", Toast.LENGTH_LONG).show();
                     jerseyNumberEditText.setText("");
-                    return;
                 }
-                proceedWithSave(firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, jerseyNumber, shirtSize);
+
+                @Override
+                public void onFailure(String error) {
+                    progressBar.setVisibility(View.GONE);
+                    saveButton.setEnabled(true);
+                    Toast.makeText(PlayerDetailsActivity.this, "שגיאה בעדכון: " + error, Toast.LENGTH_SHORT).show();
+                }
             });
         } else {
             proceedWithSave(firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, jerseyNumber, shirtSize);
@@ -370,6 +372,7 @@ public class PlayerDetailsActivity extends AppCompatActivity {
                             }
                         }
                         
+                        releaseReplacedJerseyNumber(jerseyNumber);
                         progressBar.setVisibility(View.GONE);
                         saveButton.setEnabled(true);
                         Toast.makeText(PlayerDetailsActivity.this, "הפרטים עודכנו בהצלחה בכל הקבוצות", Toast.LENGTH_SHORT).show();
@@ -402,6 +405,7 @@ public class PlayerDetailsActivity extends AppCompatActivity {
                         playersRef.child(newPlayerId).setValue(player)
                             .addOnSuccessListener(aVoid -> {
                                 usersRef.child(userId).child("playerId").setValue(newPlayerId);
+                                PlayerResolver.getInstance().remember(userId, newPlayerId);
                                 progressBar.setVisibility(View.GONE);
                                 saveButton.setEnabled(true);
                                 Toast.makeText(PlayerDetailsActivity.this, "הפרטים נשמרו", Toast.LENGTH_SHORT).show();
@@ -424,116 +428,11 @@ public class PlayerDetailsActivity extends AppCompatActivity {
             });
     }
     
-    /**
-     * Verifies a jersey number is available across every team the player belongs to.
-     * A player can join multiple teams, and each team must not have duplicate jersey numbers.
-     */
-    private void checkJerseyNumberInAllPlayerTeams(String jerseyNumber, String currentUserId,
-                                                   OnJerseyCheckListener listener) {
-        // Step 1: fetch the current player's team list
-        usersRef.child(currentUserId).child("teamIds")
-            .addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(DataSnapshot snapshot) {
-                    List<String> playerTeamIds = new ArrayList<>();
-                    
-                    if (snapshot.exists()) {
-                        for (DataSnapshot teamSnapshot : snapshot.getChildren()) {
-                            String teamId = teamSnapshot.getValue(String.class);
-                            if (teamId != null) {
-                                playerTeamIds.add(teamId);
-                            }
-                        }
-                    }
-                    
-                    // If the player is not in any team, the jersey number is always available
-                    if (playerTeamIds.isEmpty()) {
-                        listener.onResult(true);
-                        return;
-                    }
-                    
-                    // Step 2: check every other player in the system
-                    playersRef.addListenerForSingleValueEvent(new ValueEventListener() {
-                        @Override
-                        public void onDataChange(DataSnapshot playersSnapshot) {
-                            // For each other player in the system
-                            for (DataSnapshot playerSnapshot : playersSnapshot.getChildren()) {
-                                Player otherPlayer = playerSnapshot.getValue(Player.class);
-                                String otherPlayerKey = playerSnapshot.getKey();
-                                
-                                // Skip the current player
-                                if (otherPlayer == null || 
-                                    otherPlayerKey.equals(playerId) ||
-                                    currentUserId.equals(otherPlayer.getUserId())) {
-                                    continue;
-                                }
-                                
-                                // Check whether the other player has the same jersey number
-                                if (!jerseyNumber.equals(otherPlayer.getJerseyNumber())) {
-                                    continue;
-                                }
-                                
-                                // Step 3: verify whether the other player is in any of the current player's teams
-                                String otherUserId = otherPlayer.getUserId();
-                                if (otherUserId == null) continue;
-                                
-                                // Need to inspect the other player's teams
-                                checkOtherPlayerTeams(otherUserId, playerTeamIds, listener);
-                                return; // Found another player with the same number - now check their teams
-                            }
-                            
-                            // No other player found with this jersey number
-                            listener.onResult(true);
-                        }
-
-                        @Override
-                        public void onCancelled(DatabaseError error) {
-                            listener.onResult(true); // In case of error, assume available
-                        }
-                    });
-                }
-
-                @Override
-                public void onCancelled(DatabaseError error) {
-                    listener.onResult(true);
-                }
-            });
-    }
-    
-    /**
-     * Checks whether another player with the same jersey number is in any of the current player's teams
-     */
-    private void checkOtherPlayerTeams(String otherUserId, List<String> currentPlayerTeamIds,
-                                      OnJerseyCheckListener listener) {
-        usersRef.child(otherUserId).child("teamIds")
-            .addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(DataSnapshot snapshot) {
-                    if (snapshot.exists()) {
-                        for (DataSnapshot teamSnapshot : snapshot.getChildren()) {
-                            String otherPlayerTeamId = teamSnapshot.getValue(String.class);
-                            
-                            // Check for overlap between the teams
-                            if (otherPlayerTeamId != null && currentPlayerTeamIds.contains(otherPlayerTeamId)) {
-                                // Overlap found: both players are in the same team with the same jersey number
-                                listener.onResult(false);
-                                return;
-                            }
-                        }
-                    }
-                    
-                    // No overlap between teams - jersey number is available
-                    listener.onResult(true);
-                }
-
-                @Override
-                public void onCancelled(DatabaseError error) {
-                    listener.onResult(true);
-                }
-            });
-    }
-    
-    private interface OnJerseyCheckListener {
-        void onResult(boolean isAvailable);
+    private void releaseReplacedJerseyNumber(String jerseyNumber) {
+        String previousKey = TeamJerseys.keyOf(loadedJerseyNumber);
+        if (previousKey != null && !previousKey.equals(TeamJerseys.keyOf(jerseyNumber))) {
+            jerseyRegistry.releaseInTeamsOf(userId, loadedJerseyNumber);
+        }
+        loadedJerseyNumber = jerseyNumber;
     }
 }
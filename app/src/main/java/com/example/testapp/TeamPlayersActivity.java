@@ -24,8 +24,11 @@ import com.example.testapp.adapters.TeamPlayersAdapter;
 import com.example.testapp.models.Player;
 import com.example.testapp.models.Team;
 import com.example.testapp.models.User;
+import com.example.testapp.repository.RosterLoader;
+import com.example.testapp.repository.JerseyRegistry;
+import com.example.testapp.repository.SessionManager;
+import com.example.testapp.repository.TeamMembers;
 import com.google.android.material.appbar.MaterialToolbar;
-import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
@@ -62,8 +65,10 @@ public class TeamPlayersActivity extends AppCompatActivity {
     private String teamId;
     private String teamName;
     private Team team;
-    private DatabaseReference playersRef;
+    private DatabaseReference rootRef;
     private DatabaseReference usersRef;
+    private RosterLoader rosterLoader;
+    private JerseyRegistry jerseyRegistry;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -86,8 +91,10 @@ public class TeamPlayersActivity extends AppCompatActivity {
         progressBar = findViewById(R.id.progressBar);
         emptyView = findViewById(R.id.emptyView);
 
-        playersRef = FirebaseDatabase.getInstance().getReference("players");
+        rootRef = FirebaseDatabase.getInstance().getReference();
         usersRef = FirebaseDatabase.getInstance().getReference("users");
+        rosterLoader = new RosterLoader();
+        jerseyRegistry = new JerseyRegistry();
 
         setupRecyclerView();
         loadTeamPlayers();
@@ -141,129 +148,31 @@ public class TeamPlayersActivity extends AppCompatActivity {
     private void loadTeamPlayers() {
         progressBar.setVisibility(View.VISIBLE);
 
-        usersRef.orderByChild("role").equalTo("PLAYER")
-            .addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(DataSnapshot snapshot) {
-                    List<User> teamUsers = new ArrayList<>();
-
-                    for (DataSnapshot userSnapshot : snapshot.getChildren()) {
-                        User user = userSnapshot.getValue(User.class);
-                        if (user != null) {
-                            // Set userId from Firebase key
-                            user.setUserId(userSnapshot.getKey());
-                            
-                            if (user.getTeamIds().contains(teamId)) {
-                                teamUsers.add(user);
-                            }
-                        }
-                    }
-                    
-                    if (teamUsers.isEmpty()) {
-                        adapter.setPlayers(new ArrayList<>());
-                        progressBar.setVisibility(View.GONE);
-                        emptyView.setVisibility(View.VISIBLE);
-                        recyclerView.setVisibility(View.GONE);
-                        return;
-                    }
-
-                    fetchPlayersForUsers(teamUsers);
-                }
-
-                @Override
-                public void onCancelled(DatabaseError error) {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(TeamPlayersActivity.this, "שגיאה בטעינת שחקנים", Toast.LENGTH_SHORT).show();
-                }
-            });
-    }
-
-    private void fetchPlayersForUsers(List<User> teamUsers) {
-        List<Player> players = new ArrayList<>();
-        final int total = teamUsers.size();
-        final int[] done = {0};
-
-        for (User user : teamUsers) {
-            loadPlayerByUser(user, player -> {
-                if (player != null) {
+        rosterLoader.load(teamId, new RosterLoader.OnRosterLoadedListener() {
+            @Override
+            public void onLoaded(List<Player> players) {
+                for (Player player : players) {
                     // Attach current team context for UI only
                     player.setTeamId(teamId);
-                    players.add(player);
-                }
-                done[0]++;
-                if (done[0] == total) {
-                    adapter.setPlayers(players);
-                    progressBar.setVisibility(View.GONE);
-
-                    if (players.isEmpty()) {
-                        emptyView.setVisibility(View.VISIBLE);
-                        recyclerView.setVisibility(View.GONE);
-                    } else {
-                        emptyView.setVisibility(View.GONE);
-                        recyclerView.setVisibility(View.VISIBLE);
-                    }
                 }
-            });
-        }
-    }
-
-    private interface PlayerCallback {
-        void onLoaded(Player player);
-    }
-
-    private void loadPlayerByUser(User user, PlayerCallback callback) {
-        String playerId = user.getPlayerId();
-        String userId = user.getUserId();
-
-        if (playerId != null && !playerId.isEmpty()) {
-            playersRef.child(playerId).addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(DataSnapshot snapshot) {
-                    if (snapshot.exists()) {
-                        Player player = snapshot.getValue(Player.class);
-                        if (player != null) {
-                            player.setUserId(userId);
-                            callback.onLoaded(player);
-                            return;
-                        }
-                    }
-                    // Fallback to query by userId
-                    queryPlayerByUserId(userId, callback);
-                }
-
-                @Override
-                public void onCancelled(DatabaseError error) {
-                    queryPlayerByUserId(userId, callback);
-                }
-            });
-        } else {
-            queryPlayerByUserId(userId, callback);
-        }
-    }
+                adapter.setPlayers(players);
+                progressBar.setVisibility(View.GONE);
 
-    private void queryPlayerByUserId(String userId, PlayerCallback callback) {
-        playersRef.orderByChild("userId").equalTo(userId).limitToFirst(1)
-            .addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(DataSnapshot snapshot) {
-                    if (snapshot.exists()) {
-                        for (DataSnapshot child : snapshot.getChildren()) {
-                            Player player = child.getValue(Player.class);
-                            if (player != null) {
-                                player.setUserId(userId);
-                                callback.onLoaded(player);
-                                return;
-                            }
-                        }
-                    }
-                    callback.onLoaded(null);
+                if (players.isEmpty()) {
+                    emptyView.setVisibility(View.VISIBLE);
+                    recyclerView.setVisibility(View.GONE);
+                } else {
+                    emptyView.setVisibility(View.GONE);
+                    recyclerView.setVisibility(View.VISIBLE);
                 }
+            }
 
-                @Override
-                public void onCancelled(DatabaseError error) {
-                    callback.onLoaded(null);
-                }
-            });
+            @Override
+            public void onFailure(String error) {
+                progressBar.setVisibility(View.GONE);
+                Toast.makeText(TeamPlayersActivity.this, "שגיאה בטעינת שחקנים", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     private void editPlayerDetails(Player player) {
@@ -294,21 +203,34 @@ public class TeamPlayersActivity extends AppCompatActivity {
         userRef.child("teamIds").addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(DataSnapshot snapshot) {
+                List<String> oldTeamIds = new ArrayList<>();
                 List<String> teamIds = new ArrayList<>();
                 if (snapshot.exists()) {
                     for (DataSnapshot child : snapshot.getChildren()) {
                         String tid = child.getValue(String.class);
-                        if (tid != null && !tid.equals(teamId)) {
-                            teamIds.add(tid);
+                        if (tid != null) {
+                            oldTeamIds.add(tid);
+                            if (!tid.equals(teamId)) {
+                                teamIds.add(tid);
+                            }
                         }
                     }
                 }
 
-                userRef.child("teamIds").setValue(teamIds.isEmpty() ? null : teamIds)
+                // The user's teams and the team index change in one write
+                Map<String, Object> updates = new HashMap<>();
+                TeamMembers.putTeams(updates, userId, player.getPlayerId(), oldTeamIds, teamIds);
+                // Also when teamIds had lost the team already, so a stale entry goes too
+                updates.put(TeamMembers.path(teamId, userId), null);
+                if (teamIds.isEmpty()) {
+                    updates.put("users/" + userId + "/registrationStatus", "NONE");
+                }
+                rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
-                        if (teamIds.isEmpty()) {
-                            userRef.child("registrationStatus").setValue("NONE");
-                        }
+                        // The player's number is free in this team again
+                        List<String> team = new ArrayList<>();
+                        team.add(teamId);
+                        jerseyRegistry.release(userId, team, player.getJerseyNumber());
                         progressBar.setVisibility(View.GONE);
                         Toast.makeText(TeamPlayersActivity.this, "השחקן הוסר בהצלחה", Toast.LENGTH_SHORT).show();
                         loadTeamPlayers();
@@ -463,28 +385,45 @@ public class TeamPlayersActivity extends AppCompatActivity {
     
     private void addPlayerToTeam(User player) {
         // Add team to player's teamIds
-        List<String> teamIds = player.getTeamIds();
-        if (teamIds == null) {
-            teamIds = new ArrayList<>();
-        }
+        List<String> oldTeamIds = player.getTeamIds();
+        List<String> teamIds = new ArrayList<>(oldTeamIds);
         if (!teamIds.contains(teamId)) {
             teamIds.add(teamId);
         }
         
-        // Update user with new team membership; player record is single per user
+        // Update user with new team membership and the team index in one write;
+        // player record is single per user, teamId follows the first team (for backward compatibility)
         Map<String, Object> updates = new HashMap<>();
-        updates.put("teamIds", teamIds);
-        
-        // Always sync teamId with first team in teamIds (for backward compatibility)
-        if (!teamIds.isEmpty()) {
-            updates.put("teamId", teamIds.get(0));
-        }
+        TeamMembers.putTeams(updates, player.getUserId(), player.getPlayerId(), oldTeamIds, teamIds);
         
-        usersRef.child(player.getUserId()).updateChildren(updates)
-            .addOnSuccessListener(aVoid -> loadTeamPlayers())
+        rootRef.updateChildren(updates)
+            .addOnSuccessListener(aVoid -> {
+                claimJerseyNumber(player);
+                loadTeamPlayers();
+            })
             .addOnFailureListener(e -> Toast.makeText(TeamPlayersActivity.this, "שגיאה בהוספת שחקן", Toast.LENGTH_SHORT).show());
     }
 
+    private void claimJerseyNumber(User player) {
+        List<String> team = new ArrayList<>();
+        team.add(teamId);
+        jerseyRegistry.claimOfPlayer(player.getUserId(), player.getPlayerId(), team, new JerseyRegistry.OnClaimListener() {
+            @Override
+            public void onClaimed(List<String> teamIds) {
+            }
+
+            @Override
+            public void onTaken(String takenInTeamId) {
+                Toast.makeText(TeamPlayersActivity.this, "מספר הגופיה של " + player.getName() + " כבר תפוס בקבוצה", Toast.LENGTH_LONG).show();
+            }
+
+            @Override
+            public void onFailure(String error) {
+                Toast.makeText(TeamPlayersActivity.this, "שגיאה בשמירת מספר הגופיה", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
     private void exportPlayersToExcel() {
         List<Player> currentPlayers = adapter.getPlayers();
         if (currentPlayers == null || currentPlayers.isEmpty()) {
@@ -563,26 +502,14 @@ public class TeamPlayersActivity extends AppCompatActivity {
                 workbook.close();
 
                 // Get current user email and send
-                String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-                FirebaseDatabase.getInstance().getReference("users").child(userId)
-                    .addListenerForSingleValueEvent(new ValueEventListener() {
-                        @Override
-                        public void onDataChange(DataSnapshot snapshot) {
-                            User user = snapshot.getValue(User.class);
-                            if (user != null && user.getEmail() != null) {
-                                sendExcelViaEmail(file, user.getEmail(), fileName);
-                            } else {
-                                progressBar.setVisibility(View.GONE);
-                                Toast.makeText(TeamPlayersActivity.this, "לא ניתן למצוא את כתובת המייל שלך", Toast.LENGTH_SHORT).show();
-                            }
-                        }
-
-                        @Override
-                        public void onCancelled(DatabaseError error) {
-                            progressBar.setVisibility(View.GONE);
-                            Toast.makeText(TeamPlayersActivity.this, "שגיאה בטעינת נתוני המשתמש", Toast.LENGTH_SHORT).show();
-                        }
-                    });
+                SessionManager.getInstance().getUser(user -> {
+                    if (user != null && user.getEmail() != null) {
+                        sendExcelViaEmail(file, user.getEmail(), fileName);
+                    } else {
+                        progressBar.setVisibility(View.GONE);
+                        Toast.makeText(TeamPlayersActivity.this, "לא ניתן למצוא את כתובת המייל שלך", Toast.LENGTH_SHORT).show();
+                    }
+                });
             }
         } catch (IOException e) {
             progressBar.setVisibility(View.GONE);
@@ -7,18 +7,38 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.Court;
 import com.example.testapp.models.DaySchedule;
+import com.example.testapp.utils.StableIds;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lists courts. New lists are diffed by courtId on a background thread,
+ * so only the rows that changed are rebound.
+ */
+public class CourtAdapter extends ListAdapter<Court, CourtAdapter.CourtViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Court> DIFF = new DiffUtil.ItemCallback<Court>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Court oldItem, @NonNull Court newItem) {
+            return Objects.equals(oldItem.getCourtId(), newItem.getCourtId());
+        }
 
-public class CourtAdapter extends RecyclerView.Adapter<CourtAdapter.CourtViewHolder> {
+        @Override
+        public boolean areContentsTheSame(@NonNull Court oldItem, @NonNull Court newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
 
-    private List<Court> courts = new ArrayList<>();
+    private final StableIds stableIds = new StableIds();
     private final OnCourtClickListener listener;
 
     public interface OnCourtClickListener {
@@ -26,12 +46,13 @@ public class CourtAdapter extends RecyclerView.Adapter<CourtAdapter.CourtViewHol
     }
 
     public CourtAdapter(OnCourtClickListener listener) {
+        super(DIFF);
+        setHasStableIds(true);
         this.listener = listener;
     }
 
     public void setCourts(List<Court> courts) {
-        this.courts = courts;
-        notifyDataSetChanged();
+        submitList(courts != null ? new ArrayList<>(courts) : null);
     }
 
     @NonNull
@@ -44,13 +65,13 @@ public class CourtAdapter extends RecyclerView.Adapter<CourtAdapter.CourtViewHol
 
     @Override
     public void onBindViewHolder(@NonNull CourtViewHolder holder, int position) {
-        Court court = courts.get(position);
+        Court court = getItem(position);
         holder.bind(court, listener);
     }
 
     @Override
-    public int getItemCount() {
-        return courts.size();
+    public long getItemId(int position) {
+        return stableIds.idOf(getItem(position).getCourtId());
     }
 
     public static class CourtViewHolder extends RecyclerView.ViewHolder {
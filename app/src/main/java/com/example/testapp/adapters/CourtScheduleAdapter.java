@@ -9,24 +9,53 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.Court;
 import com.example.testapp.models.TimeSlot;
+import com.example.testapp.utils.StableIds;
 import com.google.android.material.chip.Chip;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
- * Adapter for displaying courts with their time slot schedules
+ * Adapter for displaying courts with their time slot schedules.
+ * Courts are diffed by courtId, and each court's slots by day and start time, on a background thread.
  */
-public class CourtScheduleAdapter extends RecyclerView.Adapter<CourtScheduleAdapter.CourtViewHolder> {
+public class CourtScheduleAdapter extends ListAdapter<CourtScheduleAdapter.CourtScheduleData, CourtScheduleAdapter.CourtViewHolder> {
     
+    private static final DiffUtil.ItemCallback<CourtScheduleData> DIFF = new DiffUtil.ItemCallback<CourtScheduleData>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CourtScheduleData oldItem, @NonNull CourtScheduleData newItem) {
+            return Objects.equals(oldItem.court.getCourtId(), newItem.court.getCourtId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CourtScheduleData oldItem, @NonNull CourtScheduleData newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
+
+    private static final DiffUtil.ItemCallback<TimeSlot> SLOT_DIFF = new DiffUtil.ItemCallback<TimeSlot>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TimeSlot oldItem, @NonNull TimeSlot newItem) {
+            return oldItem.getKey().equals(newItem.getKey());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TimeSlot oldItem, @NonNull TimeSlot newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
+
+    private final StableIds stableIds = new StableIds();
     private Context context;
-    private List<CourtScheduleData> scheduleDataList = new ArrayList<>();
     private OnTimeSlotClickListener listener;
     
     public interface OnTimeSlotClickListener {
@@ -44,16 +73,22 @@ public class CourtScheduleAdapter extends RecyclerView.Adapter<CourtScheduleAdap
             this.court = court;
             this.timeSlots = timeSlots;
         }
+
+        /** Whether the court and its slots show the same as another data of the same court. */
+        public boolean sameContentAs(CourtScheduleData other) {
+            return court.sameContentAs(other.court) && TimeSlot.sameContents(timeSlots, other.timeSlots);
+        }
     }
     
     public CourtScheduleAdapter(Context context, OnTimeSlotClickListener listener) {
+        super(DIFF);
+        setHasStableIds(true);
         this.context = context;
         this.listener = listener;
     }
     
     public void setScheduleData(List<CourtScheduleData> scheduleDataList) {
-        this.scheduleDataList = scheduleDataList;
-        notifyDataSetChanged();
+        submitList(scheduleDataList != null ? new ArrayList<>(scheduleDataList) : null);
     }
     
     @NonNull
@@ -66,13 +101,13 @@ public class CourtScheduleAdapter extends RecyclerView.Adapter<CourtScheduleAdap
     
     @Override
     public void onBindViewHolder(@NonNull CourtViewHolder holder, int position) {
-        CourtScheduleData data = scheduleDataList.get(position);
+        CourtScheduleData data = getItem(position);
         holder.bind(data, listener);
     }
     
     @Override
-    public int getItemCount() {
-        return scheduleDataList.size();
+    public long getItemId(int position) {
+        return stableIds.idOf(getItem(position).court.getCourtId());
     }
     
     /**
@@ -83,7 +118,8 @@ public class CourtScheduleAdapter extends RecyclerView.Adapter<CourtScheduleAdap
         TextView tvCourtLocation;
         TextView tvCourtType;
         RecyclerView recyclerViewTimeSlots;
-        TimeSlotsAdapter timeSlotsAdapter;
+        final TimeSlotsAdapter timeSlotsAdapter = new TimeSlotsAdapter();
+        String boundCourtId;
         
         public CourtViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -96,6 +132,7 @@ public class CourtScheduleAdapter extends RecyclerView.Adapter<CourtScheduleAdap
             recyclerViewTimeSlots.setLayoutManager(
                 new LinearLayoutManager(itemView.getContext(), LinearLayoutManager.HORIZONTAL, false)
             );
+            recyclerViewTimeSlots.setAdapter(timeSlotsAdapter);
         }
         
         void bind(CourtScheduleData data, OnTimeSlotClickListener listener) {
@@ -105,23 +142,37 @@ public class CourtScheduleAdapter extends RecyclerView.Adapter<CourtScheduleAdap
             tvCourtLocation.setText(court.getLocation() != null ? court.getLocation() : "");
             tvCourtType.setText(court.getCourtType() != null ? court.getCourtType() : "");
             
-            // Setup time slots adapter
-            timeSlotsAdapter = new TimeSlotsAdapter(data.timeSlots, listener);
-            recyclerViewTimeSlots.setAdapter(timeSlotsAdapter);
+            // A recycled row showing another court starts from an empty list instead of
+            // diffing against that court's slots
+            if (!Objects.equals(court.getCourtId(), boundCourtId)) {
+                timeSlotsAdapter.submitList(null);
+                boundCourtId = court.getCourtId();
+            }
+            timeSlotsAdapter.setListener(listener);
+            timeSlotsAdapter.submitList(data.timeSlots != null ? new ArrayList<>(data.timeSlots) : null);
         }
     }
     
     /**
      * Nested adapter for time slots
      */
-    static class TimeSlotsAdapter extends RecyclerView.Adapter<TimeSlotsAdapter.TimeSlotViewHolder> {
+    static class TimeSlotsAdapter extends ListAdapter<TimeSlot, TimeSlotsAdapter.TimeSlotViewHolder> {
         
-        private List<TimeSlot> timeSlots;
+        private final StableIds stableIds = new StableIds();
         private OnTimeSlotClickListener listener;
         
-        TimeSlotsAdapter(List<TimeSlot> timeSlots, OnTimeSlotClickListener listener) {
-            this.timeSlots = timeSlots;
+        TimeSlotsAdapter() {
+            super(SLOT_DIFF);
+            setHasStableIds(true);
+        }
+
+        /** Rows already bound are rebound when the listener changes. */
+        void setListener(OnTimeSlotClickListener listener) {
+            if (this.listener == listener) {
+                return;
+            }
             this.listener = listener;
+            notifyItemRangeChanged(0, getItemCount());
         }
         
         @NonNull
@@ -134,13 +185,13 @@ public class CourtScheduleAdapter extends RecyclerView.Adapter<CourtScheduleAdap
         
         @Override
         public void onBindViewHolder(@NonNull TimeSlotViewHolder holder, int position) {
-            TimeSlot timeSlot = timeSlots.get(position);
+            TimeSlot timeSlot = getItem(position);
             holder.bind(timeSlot, listener);
         }
         
         @Override
-        public int getItemCount() {
-            return timeSlots.size();
+        public long getItemId(int position) {
+            return stableIds.idOf(getItem(position).getKey());
         }
         
         /**
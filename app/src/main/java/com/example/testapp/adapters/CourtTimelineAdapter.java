@@ -0,0 +1,163 @@
+package com.example.testapp.adapters;
+
+import android.graphics.Color;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.testapp.R;
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.CourtTimeline;
+import com.example.testapp.utils.DateUtils;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+/**
+ * Adapter for the all-courts timeline: court headers, day headers, training blocks
+ * and "no trainings" rows from {@link CourtTimeline}.
+ *
+ * Lists are diffed off the main thread by ListAdapter, so a filter change rebinds
+ * only the rows that changed. Day headers are pinned by {@link StickyHeaderDecoration}.
+ */
+public class CourtTimelineAdapter extends ListAdapter<CourtTimeline.Row, RecyclerView.ViewHolder>
+        implements StickyHeaderDecoration.HeaderSource {
+
+    private static final String[] HEBREW_DAYS = {"ראשון", "שני", "שלישי", "רביעי", "חמישי", "שישי", "שבת"};
+    private static final int DEFAULT_COLOR = 0xFF3DDC84;
+
+    private static final DiffUtil.ItemCallback<CourtTimeline.Row> DIFF = new DiffUtil.ItemCallback<CourtTimeline.Row>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CourtTimeline.Row oldRow, @NonNull CourtTimeline.Row newRow) {
+            return oldRow.getKey().equals(newRow.getKey());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CourtTimeline.Row oldRow, @NonNull CourtTimeline.Row newRow) {
+            return oldRow.sameContentAs(newRow);
+        }
+    };
+
+    private final SimpleDateFormat dayDateFormat = new SimpleDateFormat("EEEE, dd/MM", new Locale("he", "IL"));
+
+    public CourtTimelineAdapter() {
+        super(DIFF);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return getItem(position).getType();
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        switch (viewType) {
+            case CourtTimeline.TYPE_COURT:
+                return new CourtViewHolder(inflater.inflate(R.layout.item_timeline_court, parent, false));
+            case CourtTimeline.TYPE_DAY:
+                return new DayViewHolder(inflater.inflate(R.layout.item_timeline_day, parent, false));
+            case CourtTimeline.TYPE_TRAINING:
+                return new TrainingViewHolder(inflater.inflate(R.layout.item_timeline_training, parent, false));
+            default:
+                return new EmptyViewHolder(inflater.inflate(R.layout.item_timeline_empty, parent, false));
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        CourtTimeline.Row row = getItem(position);
+        if (holder instanceof CourtViewHolder) {
+            ((CourtViewHolder) holder).bind(row);
+        } else if (holder instanceof DayViewHolder) {
+            ((DayViewHolder) holder).bind(row);
+        } else if (holder instanceof TrainingViewHolder) {
+            ((TrainingViewHolder) holder).bind(row, dayDateFormat);
+        }
+    }
+
+    @Override
+    public int getHeaderPosition(int position) {
+        int header = getItem(position).getDayHeaderPosition();
+        return header != CourtTimeline.NO_HEADER ? header : RecyclerView.NO_POSITION;
+    }
+
+    @Override
+    public boolean isSectionStart(int position) {
+        int type = getItem(position).getType();
+        return type == CourtTimeline.TYPE_COURT || type == CourtTimeline.TYPE_DAY;
+    }
+
+    static class CourtViewHolder extends RecyclerView.ViewHolder {
+        private final TextView tvCourtName;
+        private final TextView tvTrainingCount;
+
+        CourtViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvCourtName = itemView.findViewById(R.id.tvCourtName);
+            tvTrainingCount = itemView.findViewById(R.id.tvTrainingCount);
+        }
+
+        void bind(CourtTimeline.Row row) {
+            tvCourtName.setText(row.getCourtName());
+            tvTrainingCount.setText("אימונים: " + row.getCount());
+        }
+    }
+
+    static class DayViewHolder extends RecyclerView.ViewHolder {
+        private final TextView tvDayName;
+
+        DayViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvDayName = itemView.findViewById(R.id.tvDayName);
+        }
+
+        void bind(CourtTimeline.Row row) {
+            tvDayName.setText(HEBREW_DAYS[DateUtils.getDayOfWeekOfEpochDay(row.getEpochDay()) - 1]);
+        }
+    }
+
+    static class TrainingViewHolder extends RecyclerView.ViewHolder {
+        private final TextView tvDayDate;
+        private final TextView tvTeamName;
+        private final TextView tvTime;
+
+        TrainingViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvDayDate = itemView.findViewById(R.id.tvDayDate);
+            tvTeamName = itemView.findViewById(R.id.tvTeamName);
+            tvTime = itemView.findViewById(R.id.tvTime);
+        }
+
+        void bind(CourtTimeline.Row row, SimpleDateFormat dayDateFormat) {
+            Training training = row.getTraining();
+            tvDayDate.setText(dayDateFormat.format(training.getDate()));
+            tvTeamName.setText(training.getTeamName());
+            tvTime.setText(training.getStartTime() + " - " + training.getEndTime());
+
+            int color = DEFAULT_COLOR;
+            String teamColor = row.getColor();
+            if (teamColor != null && !teamColor.isEmpty()) {
+                try {
+                    color = Color.parseColor(teamColor);
+                } catch (IllegalArgumentException e) {
+                    // Keep the default green
+                }
+            }
+            itemView.setBackgroundColor(color);
+        }
+    }
+
+    static class EmptyViewHolder extends RecyclerView.ViewHolder {
+        EmptyViewHolder(@NonNull View itemView) {
+            super(itemView);
+        }
+    }
+}
@@ -8,19 +8,39 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.PendingRequest;
 import com.example.testapp.models.User;
+import com.example.testapp.utils.StableIds;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Map;
 
-public class PendingPlayerAdapter extends RecyclerView.Adapter<PendingPlayerAdapter.PendingPlayerViewHolder> {
+/**
+ * Lists registration requests. New lists are diffed by user and team on a background
+ * thread, so only the rows that changed are rebound.
+ */
+public class PendingPlayerAdapter extends ListAdapter<PendingRequest, PendingPlayerAdapter.PendingPlayerViewHolder> {
 
-    private List<PendingRequest> pendingRequests = new ArrayList<>();
+    private static final DiffUtil.ItemCallback<PendingRequest> DIFF = new DiffUtil.ItemCallback<PendingRequest>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull PendingRequest oldItem, @NonNull PendingRequest newItem) {
+            return Objects.equals(oldItem.getKey(), newItem.getKey());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull PendingRequest oldItem, @NonNull PendingRequest newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
+
+    private final StableIds stableIds = new StableIds();
     private Map<String, String> teamNamesMap; // teamId -> teamName
     private final OnPlayerActionListener listener;
 
@@ -30,13 +50,14 @@ public class PendingPlayerAdapter extends RecyclerView.Adapter<PendingPlayerAdap
     }
 
     public PendingPlayerAdapter(Map<String, String> teamNamesMap, OnPlayerActionListener listener) {
+        super(DIFF);
+        setHasStableIds(true);
         this.teamNamesMap = teamNamesMap;
         this.listener = listener;
     }
 
     public void setPendingRequests(List<PendingRequest> requests) {
-        this.pendingRequests = requests;
-        notifyDataSetChanged();
+        submitList(requests != null ? new ArrayList<>(requests) : null);
     }
 
     @NonNull
@@ -49,13 +70,13 @@ public class PendingPlayerAdapter extends RecyclerView.Adapter<PendingPlayerAdap
 
     @Override
     public void onBindViewHolder(@NonNull PendingPlayerViewHolder holder, int position) {
-        PendingRequest request = pendingRequests.get(position);
+        PendingRequest request = getItem(position);
         holder.bind(request, teamNamesMap, listener);
     }
 
     @Override
-    public int getItemCount() {
-        return pendingRequests.size();
+    public long getItemId(int position) {
+        return stableIds.idOf(getItem(position).getKey());
     }
 
     static class PendingPlayerViewHolder extends RecyclerView.ViewHolder {
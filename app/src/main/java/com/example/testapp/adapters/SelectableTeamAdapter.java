@@ -9,24 +9,48 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.Team;
+import com.example.testapp.utils.StableIds;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
-public class SelectableTeamAdapter extends RecyclerView.Adapter<SelectableTeamAdapter.TeamViewHolder> {
+/**
+ * Lists teams with a checkbox each. New lists are diffed by teamId on a background
+ * thread; the selection is kept by id, so it survives list updates.
+ */
+public class SelectableTeamAdapter extends ListAdapter<Team, SelectableTeamAdapter.TeamViewHolder> {
 
-    private List<Team> teams = new ArrayList<>();
+    private static final DiffUtil.ItemCallback<Team> DIFF = new DiffUtil.ItemCallback<Team>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Team oldItem, @NonNull Team newItem) {
+            return Objects.equals(oldItem.getTeamId(), newItem.getTeamId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Team oldItem, @NonNull Team newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
+
+    private final StableIds stableIds = new StableIds();
     private Set<String> selectedTeamIds = new HashSet<>();
 
+    public SelectableTeamAdapter() {
+        super(DIFF);
+        setHasStableIds(true);
+    }
+
     public void setTeams(List<Team> teams) {
-        this.teams = teams;
-        notifyDataSetChanged();
+        submitList(teams != null ? new ArrayList<>(teams) : null);
     }
 
     public Set<String> getSelectedTeamIds() {
@@ -43,13 +67,13 @@ public class SelectableTeamAdapter extends RecyclerView.Adapter<SelectableTeamAd
 
     @Override
     public void onBindViewHolder(@NonNull TeamViewHolder holder, int position) {
-        Team team = teams.get(position);
+        Team team = getItem(position);
         holder.bind(team, selectedTeamIds);
     }
 
     @Override
-    public int getItemCount() {
-        return teams.size();
+    public long getItemId(int position) {
+        return stableIds.idOf(getItem(position).getTeamId());
     }
 
     class TeamViewHolder extends RecyclerView.ViewHolder {
@@ -77,6 +101,8 @@ public class SelectableTeamAdapter extends RecyclerView.Adapter<SelectableTeamAd
                 colorIndicator.setBackgroundColor(Color.parseColor("#3DDC84"));
             }
 
+            // Detach the recycled row's listener first, or setChecked would toggle its old team
+            teamCheckbox.setOnCheckedChangeListener(null);
             teamCheckbox.setChecked(selectedIds.contains(team.getTeamId()));
             
             itemView.setOnClickListener(v -> {
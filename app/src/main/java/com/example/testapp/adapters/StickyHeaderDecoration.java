@@ -0,0 +1,113 @@
+package com.example.testapp.adapters;
+
+import android.graphics.Canvas;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Keeps the header of the topmost visible section drawn at the top of a RecyclerView.
+ * The header is the adapter's own view holder, created once per view type and rebound
+ * only when another header takes its place; the next section's header pushes it up.
+ */
+public class StickyHeaderDecoration extends RecyclerView.ItemDecoration {
+
+    public interface HeaderSource {
+        /** Position of the header to pin above the given row, or RecyclerView.NO_POSITION. */
+        int getHeaderPosition(int position);
+
+        /** Whether the row starts a new section, so it pushes the pinned header away. */
+        boolean isSectionStart(int position);
+    }
+
+    private final RecyclerView.Adapter<RecyclerView.ViewHolder> adapter;
+    private final HeaderSource source;
+    private RecyclerView.ViewHolder header;
+    private int boundPosition = RecyclerView.NO_POSITION;
+
+    public StickyHeaderDecoration(RecyclerView.Adapter<RecyclerView.ViewHolder> adapter, HeaderSource source) {
+        this.adapter = adapter;
+        this.source = source;
+        // Positions move when the list changes, so the pinned header is bound again
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                boundPosition = RecyclerView.NO_POSITION;
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                boundPosition = RecyclerView.NO_POSITION;
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                boundPosition = RecyclerView.NO_POSITION;
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                boundPosition = RecyclerView.NO_POSITION;
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                boundPosition = RecyclerView.NO_POSITION;
+            }
+        });
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        if (parent.getChildCount() == 0) {
+            return;
+        }
+        int topPosition = parent.getChildAdapterPosition(parent.getChildAt(0));
+        if (topPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int headerPosition = source.getHeaderPosition(topPosition);
+        if (headerPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+        View headerView = bindHeader(parent, headerPosition);
+        int headerHeight = headerView.getHeight();
+
+        // The next section's first row pushes the pinned header up as it arrives
+        int offset = 0;
+        for (int i = 1; i < parent.getChildCount(); i++) {
+            View child = parent.getChildAt(i);
+            int position = parent.getChildAdapterPosition(child);
+            if (position != RecyclerView.NO_POSITION && source.isSectionStart(position)) {
+                if (child.getTop() < headerHeight) {
+                    offset = child.getTop() - headerHeight;
+                }
+                break;
+            }
+        }
+
+        canvas.save();
+        canvas.translate(parent.getPaddingLeft(), offset);
+        headerView.draw(canvas);
+        canvas.restore();
+    }
+
+    private View bindHeader(RecyclerView parent, int position) {
+        int viewType = adapter.getItemViewType(position);
+        if (header == null || header.getItemViewType() != viewType) {
+            header = adapter.createViewHolder(parent, viewType);
+            boundPosition = RecyclerView.NO_POSITION;
+        }
+        View view = header.itemView;
+        int width = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+        if (boundPosition != position || view.getWidth() != width) {
+            adapter.bindViewHolder(header, position);
+            view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+            view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+            boundPosition = position;
+        }
+        return view;
+    }
+}
@@ -9,17 +9,37 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.Team;
+import com.example.testapp.utils.StableIds;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lists teams. New lists are diffed by teamId on a background thread,
+ * so only the rows that changed are rebound.
+ */
+public class TeamAdapter extends ListAdapter<Team, TeamAdapter.TeamViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Team> DIFF = new DiffUtil.ItemCallback<Team>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Team oldItem, @NonNull Team newItem) {
+            return Objects.equals(oldItem.getTeamId(), newItem.getTeamId());
+        }
 
-public class TeamAdapter extends RecyclerView.Adapter<TeamAdapter.TeamViewHolder> {
+        @Override
+        public boolean areContentsTheSame(@NonNull Team oldItem, @NonNull Team newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
 
-    private List<Team> teams = new ArrayList<>();
+    private final StableIds stableIds = new StableIds();
     private final OnTeamInteractionListener listener;
     private String userRole;  // ADMIN, COORDINATOR, COACH
 
@@ -29,16 +49,22 @@ public class TeamAdapter extends RecyclerView.Adapter<TeamAdapter.TeamViewHolder
     }
 
     public TeamAdapter(OnTeamInteractionListener listener) {
+        super(DIFF);
+        setHasStableIds(true);
         this.listener = listener;
     }
 
     public void setUserRole(String role) {
+        if (Objects.equals(userRole, role)) {
+            return;
+        }
         this.userRole = role;
+        // The edit button depends on the role, which the diff doesn't see
+        notifyItemRangeChanged(0, getItemCount());
     }
 
     public void setTeams(List<Team> teams) {
-        this.teams = teams;
-        notifyDataSetChanged();
+        submitList(teams != null ? new ArrayList<>(teams) : null);
     }
 
     @NonNull
@@ -51,13 +77,13 @@ public class TeamAdapter extends RecyclerView.Adapter<TeamAdapter.TeamViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull TeamViewHolder holder, int position) {
-        Team team = teams.get(position);
+        Team team = getItem(position);
         holder.bind(team, listener, userRole);
     }
 
     @Override
-    public int getItemCount() {
-        return teams.size();
+    public long getItemId(int position) {
+        return stableIds.idOf(getItem(position).getTeamId());
     }
 
     static class TeamViewHolder extends RecyclerView.ViewHolder {
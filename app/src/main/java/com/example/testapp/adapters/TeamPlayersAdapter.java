@@ -7,17 +7,37 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.Player;
+import com.example.testapp.utils.StableIds;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lists a team's players. New lists are diffed by playerId on a background thread,
+ * so only the rows that changed are rebound.
+ */
+public class TeamPlayersAdapter extends ListAdapter<Player, TeamPlayersAdapter.PlayerViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Player> DIFF = new DiffUtil.ItemCallback<Player>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Player oldItem, @NonNull Player newItem) {
+            return Objects.equals(oldItem.getPlayerId(), newItem.getPlayerId());
+        }
 
-public class TeamPlayersAdapter extends RecyclerView.Adapter<TeamPlayersAdapter.PlayerViewHolder> {
+        @Override
+        public boolean areContentsTheSame(@NonNull Player oldItem, @NonNull Player newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
 
-    private List<Player> players = new ArrayList<>();
+    private final StableIds stableIds = new StableIds();
     private final OnPlayerEditListener listener;
 
     public interface OnPlayerEditListener {
@@ -26,16 +46,18 @@ public class TeamPlayersAdapter extends RecyclerView.Adapter<TeamPlayersAdapter.
     }
 
     public TeamPlayersAdapter(OnPlayerEditListener listener) {
+        super(DIFF);
+        setHasStableIds(true);
         this.listener = listener;
     }
 
     public void setPlayers(List<Player> players) {
-        this.players = players;
-        notifyDataSetChanged();
+        submitList(players != null ? new ArrayList<>(players) : null);
     }
 
+    /** The list currently shown. */
     public List<Player> getPlayers() {
-        return players;
+        return getCurrentList();
     }
 
     @NonNull
@@ -48,13 +70,13 @@ public class TeamPlayersAdapter extends RecyclerView.Adapter<TeamPlayersAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull PlayerViewHolder holder, int position) {
-        Player player = players.get(position);
+        Player player = getItem(position);
         holder.bind(player, listener);
     }
 
     @Override
-    public int getItemCount() {
-        return players.size();
+    public long getItemId(int position) {
+        return stableIds.idOf(getItem(position).getPlayerId());
     }
 
     static class PlayerViewHolder extends RecyclerView.ViewHolder {
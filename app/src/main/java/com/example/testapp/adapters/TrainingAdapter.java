@@ -8,17 +8,37 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.Training;
+import com.example.testapp.utils.StableIds;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lists trainings. New lists are diffed by trainingId on a background thread,
+ * so only the rows that changed are rebound.
+ */
+public class TrainingAdapter extends ListAdapter<Training, TrainingAdapter.TrainingViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Training> DIFF = new DiffUtil.ItemCallback<Training>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Training oldItem, @NonNull Training newItem) {
+            return Objects.equals(oldItem.getTrainingId(), newItem.getTrainingId());
+        }
 
-public class TrainingAdapter extends RecyclerView.Adapter<TrainingAdapter.TrainingViewHolder> {
+        @Override
+        public boolean areContentsTheSame(@NonNull Training oldItem, @NonNull Training newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
 
-    public List<Training> trainings = new ArrayList<>();
+    private final StableIds stableIds = new StableIds();
     private final OnTrainingClickListener listener;
     private final OnTrainingEditListener editListener;
     private final OnTrainingDeleteListener deleteListener;
@@ -42,6 +62,8 @@ public class TrainingAdapter extends RecyclerView.Adapter<TrainingAdapter.Traini
 
     public TrainingAdapter(OnTrainingClickListener listener, OnTrainingEditListener editListener, 
                           OnTrainingDeleteListener deleteListener, OnTrainingDuplicateListener duplicateListener) {
+        super(DIFF);
+        setHasStableIds(true);
         this.listener = listener;
         this.editListener = editListener;
         this.deleteListener = deleteListener;
@@ -49,8 +71,13 @@ public class TrainingAdapter extends RecyclerView.Adapter<TrainingAdapter.Traini
     }
 
     public void setTrainings(List<Training> trainings) {
-        this.trainings = trainings;
-        notifyDataSetChanged();
+        // ListAdapter skips a list it already holds, so callers may pass the one they edit
+        submitList(trainings != null ? new ArrayList<>(trainings) : null);
+    }
+
+    /** The list currently shown. */
+    public List<Training> getTrainings() {
+        return getCurrentList();
     }
 
     @NonNull
@@ -63,13 +90,13 @@ public class TrainingAdapter extends RecyclerView.Adapter<TrainingAdapter.Traini
 
     @Override
     public void onBindViewHolder(@NonNull TrainingViewHolder holder, int position) {
-        Training training = trainings.get(position);
+        Training training = getItem(position);
         holder.bind(training, listener, editListener, deleteListener, duplicateListener);
     }
 
     @Override
-    public int getItemCount() {
-        return trainings.size();
+    public long getItemId(int position) {
+        return stableIds.idOf(getItem(position).getTrainingId());
     }
 
     static class TrainingViewHolder extends RecyclerView.ViewHolder {
@@ -7,11 +7,15 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.TimeSlot;
+import com.example.testapp.utils.DateUtils;
+import com.example.testapp.utils.StableIds;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -20,12 +24,36 @@ import java.util.List;
 import java.util.Locale;
 
 /**
- * Adapter for displaying a full week for a single court
+ * Adapter for displaying a full week for a single court.
+ * Days are diffed by date, and each day's slots by start time, on a background thread.
  */
-public class WeekScheduleAdapter extends RecyclerView.Adapter<WeekScheduleAdapter.DayViewHolder> {
+public class WeekScheduleAdapter extends ListAdapter<WeekScheduleAdapter.DayScheduleData, WeekScheduleAdapter.DayViewHolder> {
     
+    private static final DiffUtil.ItemCallback<DayScheduleData> DIFF = new DiffUtil.ItemCallback<DayScheduleData>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull DayScheduleData oldItem, @NonNull DayScheduleData newItem) {
+            return oldItem.getEpochDay() == newItem.getEpochDay();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull DayScheduleData oldItem, @NonNull DayScheduleData newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
+
+    private static final DiffUtil.ItemCallback<TimeSlot> SLOT_DIFF = new DiffUtil.ItemCallback<TimeSlot>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TimeSlot oldItem, @NonNull TimeSlot newItem) {
+            return oldItem.getKey().equals(newItem.getKey());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TimeSlot oldItem, @NonNull TimeSlot newItem) {
+            return oldItem.sameContentAs(newItem);
+        }
+    };
+
     private Context context;
-    private List<DayScheduleData> weekData = new ArrayList<>();
     private OnTimeSlotClickListener listener;
     private OnOccupiedSlotClickListener occupiedSlotListener;
     
@@ -50,20 +78,33 @@ public class WeekScheduleAdapter extends RecyclerView.Adapter<WeekScheduleAdapte
             this.timeSlots = timeSlots;
             this.isActive = isActive;
         }
+
+        /** The day as an epoch day; also the row's item id. */
+        public long getEpochDay() {
+            return DateUtils.getEpochDay(date.getTimeInMillis());
+        }
+
+        /** Whether the day shows the same slots and state as another data of the same day. */
+        public boolean sameContentAs(DayScheduleData other) {
+            return isActive == other.isActive && TimeSlot.sameContents(timeSlots, other.timeSlots);
+        }
     }
     
     public WeekScheduleAdapter(Context context, OnTimeSlotClickListener listener) {
+        super(DIFF);
+        setHasStableIds(true);
         this.context = context;
         this.listener = listener;
     }
     
     public void setOccupiedSlotListener(OnOccupiedSlotClickListener listener) {
         this.occupiedSlotListener = listener;
+        // Rebind, so the slots of days already shown pick up the new listener
+        notifyItemRangeChanged(0, getItemCount());
     }
     
     public void setWeekData(List<DayScheduleData> weekData) {
-        this.weekData = weekData;
-        notifyDataSetChanged();
+        submitList(weekData != null ? new ArrayList<>(weekData) : null);
     }
     
     @NonNull
@@ -76,13 +117,13 @@ public class WeekScheduleAdapter extends RecyclerView.Adapter<WeekScheduleAdapte
     
     @Override
     public void onBindViewHolder(@NonNull DayViewHolder holder, int position) {
-        DayScheduleData data = weekData.get(position);
+        DayScheduleData data = getItem(position);
         holder.bind(data, listener, occupiedSlotListener);
     }
     
     @Override
-    public int getItemCount() {
-        return weekData.size();
+    public long getItemId(int position) {
+        return getItem(position).getEpochDay();
     }
     
     /**
@@ -92,6 +133,8 @@ public class WeekScheduleAdapter extends RecyclerView.Adapter<WeekScheduleAdapte
         TextView tvDayName;
         TextView tvDayDate;
         RecyclerView recyclerViewTimeSlots;
+        final TimeSlotsAdapter timeSlotsAdapter = new TimeSlotsAdapter();
+        long boundEpochDay = Long.MIN_VALUE;
         
         public DayViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -103,9 +146,19 @@ public class WeekScheduleAdapter extends RecyclerView.Adapter<WeekScheduleAdapte
             recyclerViewTimeSlots.setLayoutManager(
                 new LinearLayoutManager(itemView.getContext(), LinearLayoutManager.HORIZONTAL, false)
             );
+            recyclerViewTimeSlots.setAdapter(timeSlotsAdapter);
         }
         
         void bind(DayScheduleData data, OnTimeSlotClickListener listener, OnOccupiedSlotClickListener occupiedListener) {
+            // A recycled row showing another day starts from an empty list instead of
+            // diffing against that day's slots
+            long epochDay = data.getEpochDay();
+            if (epochDay != boundEpochDay) {
+                timeSlotsAdapter.submitList(null);
+                boundEpochDay = epochDay;
+            }
+            timeSlotsAdapter.setListeners(listener, occupiedListener);
+
             SimpleDateFormat dayFormat = new SimpleDateFormat("EEEE", new Locale.Builder().setLanguage("he").setRegion("IL").build());
             SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
             
@@ -116,15 +169,11 @@ public class WeekScheduleAdapter extends RecyclerView.Adapter<WeekScheduleAdapte
                 tvDayName.setAlpha(0.5f);
                 tvDayDate.setAlpha(0.5f);
                 tvDayDate.setText(tvDayDate.getText() + " - סגור");
-                recyclerViewTimeSlots.setAdapter(null);
+                timeSlotsAdapter.submitList(null);
             } else {
                 tvDayName.setAlpha(1.0f);
                 tvDayDate.setAlpha(1.0f);
-                
-                // Setup time slots adapter
-                TimeSlotsAdapter timeSlotsAdapter = 
-                    new TimeSlotsAdapter(data.timeSlots, listener, occupiedListener);
-                recyclerViewTimeSlots.setAdapter(timeSlotsAdapter);
+                timeSlotsAdapter.submitList(new ArrayList<>(data.timeSlots));
             }
         }
     }
@@ -132,15 +181,24 @@ public class WeekScheduleAdapter extends RecyclerView.Adapter<WeekScheduleAdapte
     /**
      * Adapter for horizontal time slots within a day
      */
-    static class TimeSlotsAdapter extends RecyclerView.Adapter<TimeSlotsAdapter.TimeSlotViewHolder> {
-        private List<TimeSlot> timeSlots;
+    static class TimeSlotsAdapter extends ListAdapter<TimeSlot, TimeSlotsAdapter.TimeSlotViewHolder> {
+        private final StableIds stableIds = new StableIds();
         private OnTimeSlotClickListener listener;
         private OnOccupiedSlotClickListener occupiedSlotListener;
         
-        public TimeSlotsAdapter(List<TimeSlot> timeSlots, OnTimeSlotClickListener listener, OnOccupiedSlotClickListener occupiedSlotListener) {
-            this.timeSlots = timeSlots;
+        TimeSlotsAdapter() {
+            super(SLOT_DIFF);
+            setHasStableIds(true);
+        }
+
+        /** Rows already bound are rebound when a listener changes. */
+        void setListeners(OnTimeSlotClickListener listener, OnOccupiedSlotClickListener occupiedSlotListener) {
+            if (this.listener == listener && this.occupiedSlotListener == occupiedSlotListener) {
+                return;
+            }
             this.listener = listener;
             this.occupiedSlotListener = occupiedSlotListener;
+            notifyItemRangeChanged(0, getItemCount());
         }
         
         @NonNull
@@ -153,13 +211,13 @@ public class WeekScheduleAdapter extends RecyclerView.Adapter<WeekScheduleAdapte
         
         @Override
         public void onBindViewHolder(@NonNull TimeSlotViewHolder holder, int position) {
-            TimeSlot timeSlot = timeSlots.get(position);
+            TimeSlot timeSlot = getItem(position);
             holder.bind(timeSlot, listener, occupiedSlotListener);
         }
         
         @Override
-        public int getItemCount() {
-            return timeSlots.size();
+        public long getItemId(int position) {
+            return stableIds.idOf(getItem(position).getKey());
         }
         
         static class TimeSlotViewHolder extends RecyclerView.ViewHolder {
@@ -1,13 +1,11 @@
 package com.example.testapp.fragments;
 
-import android.graphics.Color;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
-import android.widget.ScrollView;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -16,39 +14,47 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.widget.SearchView;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
+import com.example.testapp.adapters.CourtTimelineAdapter;
+import com.example.testapp.adapters.StickyHeaderDecoration;
 import com.example.testapp.models.Court;
 import com.example.testapp.models.Team;
 import com.example.testapp.models.Training;
+import com.example.testapp.models.TrainingSeries;
 import com.example.testapp.models.User;
+import com.example.testapp.repository.AppDataStore;
+import com.example.testapp.repository.SessionManager;
+import com.example.testapp.repository.SharedNode;
+import com.example.testapp.utils.CourtTimeline;
+import com.example.testapp.utils.DateUtils;
+import com.example.testapp.utils.DateWindow;
+import com.example.testapp.utils.TrainingFilterIndex;
 import com.example.testapp.viewmodel.CourtViewModel;
 import com.example.testapp.viewmodel.TrainingViewModel;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import android.content.SharedPreferences;
 
 public class AllCourtsViewFragment extends Fragment {
 
-    private ScrollView scrollView;
-    private LinearLayout courtsContainer;
+    private RecyclerView courtsRecyclerView;
+    private TextView tvNoCourts;
+    private CourtTimelineAdapter timelineAdapter;
     private SearchView searchViewCourts;
     private SearchView searchViewTeams;
     private ChipGroup chipGroupCourts;
@@ -70,7 +76,11 @@ public class AllCourtsViewFragment extends Fragment {
     private static final String KEY_SELECTED_TEAMS = "selected_teams";
 
     private List<Court> courts = new ArrayList<>();
-    private List<Training> trainings = new ArrayList<>();
+    // Stored trainings of the shown week, and the recurring series expanded into it
+    private List<Training> windowTrainings = new ArrayList<>();
+    private List<TrainingSeries> series = new ArrayList<>();
+    // Bitmaps over the shown trainings, so each court's filters are an intersection
+    private TrainingFilterIndex trainingIndex = new TrainingFilterIndex();
     private List<Team> allTeams = new ArrayList<>();
 
     private Set<String> selectedCourtIds = new HashSet<>();
@@ -80,10 +90,6 @@ public class AllCourtsViewFragment extends Fragment {
     
     private User currentUser;
     private boolean isPlayer = false;
-    
-    // Firebase listeners - need to be removed in onDestroyView
-    private ValueEventListener teamsListener;
-    private DatabaseReference teamsRef;
 
     @Nullable
     @Override
@@ -114,12 +120,12 @@ public class AllCourtsViewFragment extends Fragment {
     @Override
     public void onResume() {
         super.onResume();
-        // Refresh trainings when returning to this fragment to ensure deleted trainings are removed
+        // Rebuild from the latest window and series when returning to this fragment
         try {
             android.util.Log.d("AllCourtsViewFragment", "onResume: Refreshing trainings list");
-            if (trainingViewModel != null && trainings != null) {
-                // Clear current trainings and let the observer refresh them
-                trainings.clear();
+            if (trainingViewModel != null) {
+                // Series occurrences follow the current week, so index them again
+                rebuildTrainings();
                 updateUI();
             }
         } catch (Exception e) {
@@ -127,17 +133,6 @@ public class AllCourtsViewFragment extends Fragment {
         }
     }
 
-    @Override
-    public void onDestroyView() {
-        super.onDestroyView();
-        // Remove Firebase listeners to prevent crashes after logout
-        if (teamsRef != null && teamsListener != null) {
-            teamsRef.removeEventListener(teamsListener);
-            teamsRef = null;
-            teamsListener = null;
-        }
-    }
-
     private void loadSavedFilters() {
         // Load saved filter selections from SharedPreferences
         String savedCourts = sharedPreferences.getString(KEY_SELECTED_COURTS, "");
@@ -167,37 +162,25 @@ public class AllCourtsViewFragment extends Fragment {
     private void loadCurrentUser() {
         try {
             if (FirebaseAuth.getInstance().getCurrentUser() != null) {
-                String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-                FirebaseDatabase.getInstance().getReference("users").child(userId)
-                    .addListenerForSingleValueEvent(new ValueEventListener() {
-                        @Override
-                        public void onDataChange(@NonNull DataSnapshot snapshot) {
-                            try {
-                                if (!isAdded() || getContext() == null) {
-                                    return; // Fragment not attached, skip update
-                                }
-                                
-                                currentUser = snapshot.getValue(User.class);
-                                if (currentUser != null && "PLAYER".equals(currentUser.getRole())) {
-                                    isPlayer = true;
-                                    android.util.Log.d("AllCourtsView", "Loaded player. UserId: " + currentUser.getUserId() + ", Teams: " + currentUser.getTeamIds());
-                                }
-                                setupFilters();
-                                setupViewModels();
-                            } catch (Exception e) {
-                                android.util.Log.e("AllCourtsView", "Error in onDataChange", e);
-                                setupFilters();
-                                setupViewModels();
-                            }
+                SessionManager.getInstance().getUser(user -> {
+                    try {
+                        if (!isAdded() || getContext() == null) {
+                            return; // Fragment not attached, skip update
                         }
-
-                        @Override
-                        public void onCancelled(@NonNull DatabaseError error) {
-                            android.util.Log.e("AllCourtsView", "Error loading user", error.toException());
-                            setupFilters();
-                            setupViewModels();
+                        
+                        currentUser = user;
+                        if (currentUser != null && "PLAYER".equals(currentUser.getRole())) {
+                            isPlayer = true;
+                            android.util.Log.d("AllCourtsView", "Loaded player. UserId: " + currentUser.getUserId() + ", Teams: " + currentUser.getTeamIds());
                         }
-                    });
+                        setupFilters();
+                        setupViewModels();
+                    } catch (Exception e) {
+                        android.util.Log.e("AllCourtsView", "Error loading user", e);
+                        setupFilters();
+                        setupViewModels();
+                    }
+                });
             } else {
                 setupFilters();
                 setupViewModels();
@@ -212,8 +195,8 @@ public class AllCourtsViewFragment extends Fragment {
 
     private void initializeViews(View view) {
         try {
-            scrollView = view.findViewById(R.id.scrollView);
-            courtsContainer = view.findViewById(R.id.courtsContainer);
+            courtsRecyclerView = view.findViewById(R.id.courtsRecyclerView);
+            tvNoCourts = view.findViewById(R.id.tvNoCourts);
             searchViewCourts = view.findViewById(R.id.searchViewCourts);
             searchViewTeams = view.findViewById(R.id.searchViewTeams);
             chipGroupCourts = view.findViewById(R.id.chipGroupCourts);
@@ -228,6 +211,11 @@ public class AllCourtsViewFragment extends Fragment {
 
             android.util.Log.d("AllCourtsViewFragment", "All views initialized");
 
+            timelineAdapter = new CourtTimelineAdapter();
+            courtsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+            courtsRecyclerView.setAdapter(timelineAdapter);
+            courtsRecyclerView.addItemDecoration(new StickyHeaderDecoration(timelineAdapter, timelineAdapter));
+
             setupExpandCollapse();
             setupSelectAllButtons();
         } catch (Exception e) {
@@ -421,8 +409,8 @@ public class AllCourtsViewFragment extends Fragment {
                 }
             });
 
-            // Use getTrainings() instead of getFilteredTrainings() to show all trainings including past ones
-            trainingViewModel.getTrainings().observe(getViewLifecycleOwner(), trainingsList -> {
+            // Only the current week is shown, so only its trainings are loaded (including past days of the week)
+            trainingViewModel.getTrainingsInWindow(DateWindow.week(getCurrentWeekStart())).observe(getViewLifecycleOwner(), trainingsList -> {
                 try {
                     // Filter out deleted trainings (those without valid trainingId)
                     List<Training> validTrainings = new ArrayList<>();
@@ -435,13 +423,21 @@ public class AllCourtsViewFragment extends Fragment {
                             }
                         }
                     }
-                    trainings = validTrainings;
+                    windowTrainings = validTrainings;
+                    rebuildTrainings();
                     updateUI();
                 } catch (Exception e) {
                     android.util.Log.e("AllCourtsView", "Error in trainings observer", e);
                 }
             });
 
+            // Recurring bookings are stored once per series, not as trainings of the week
+            trainingViewModel.getSeries().observe(getViewLifecycleOwner(), seriesList -> {
+                series = seriesList != null ? seriesList : new ArrayList<>();
+                rebuildTrainings();
+                updateUI();
+            });
+
             loadTeams();
         } catch (Exception e) {
             android.util.Log.e("AllCourtsViewFragment", "Error in setupViewModels", e);
@@ -499,47 +495,39 @@ public class AllCourtsViewFragment extends Fragment {
     }
 
     private void loadTeams() {
-        teamsRef = FirebaseDatabase.getInstance().getReference("teams");
-        teamsListener = new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                if (!isAdded() || getContext() == null) {
-                    return; // Fragment not attached, skip update
-                }
-                
-                allTeams.clear();
-                chipGroupTeams.removeAllViews();
-                // Do not clear selectedTeamIds to preserve filter state
-
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    Team team = snapshot.getValue(Team.class);
-                    if (team != null) {
-                        allTeams.add(team);
-                        
-                        // For players, include only their teams
-                        if (isPlayer) {
-                            if (currentUser.getTeamIds() != null && 
-                                currentUser.getTeamIds().contains(team.getTeamId())) {
-                                addTeamChip(team);
-                            }
-                        } else {
-                            // For non-players, include every team
-                            addTeamChip(team);
-                        }
+        // Teams come from the app-wide store, so returning to this tab reuses the loaded list
+        SharedNode<Team> teamsNode = AppDataStore.getInstance().getTeams();
+        teamsNode.observe(getViewLifecycleOwner(), changes -> {
+            if (!isAdded() || getContext() == null) {
+                return; // Fragment not attached, skip update
+            }
+
+            allTeams.clear();
+            chipGroupTeams.removeAllViews();
+            // Do not clear selectedTeamIds to preserve filter state
+
+            for (Team team : changes.getItems()) {
+                allTeams.add(team);
+
+                // For players, include only their teams
+                if (isPlayer) {
+                    if (currentUser.getTeamIds() != null &&
+                        currentUser.getTeamIds().contains(team.getTeamId())) {
+                        addTeamChip(team);
                     }
+                } else {
+                    // For non-players, include every team
+                    addTeamChip(team);
                 }
-                
-                updateUI();
             }
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                if (isAdded() && getContext() != null) {
-                    Toast.makeText(requireContext(), "שגיאה בטעינת קבוצות", Toast.LENGTH_SHORT).show();
-                }
+            updateUI();
+        });
+        teamsNode.getErrors().observe(getViewLifecycleOwner(), error -> {
+            if (isAdded() && getContext() != null) {
+                Toast.makeText(requireContext(), "שגיאה בטעינת קבוצות", Toast.LENGTH_SHORT).show();
             }
-        };
-        teamsRef.addValueEventListener(teamsListener);
+        });
     }
 
     private void addTeamChip(Team team) {
@@ -583,47 +571,34 @@ public class AllCourtsViewFragment extends Fragment {
     }
 
     private void updateUI() {
-        courtsContainer.removeAllViews();
-        
         if (courts == null || courts.isEmpty()) {
-            TextView emptyView = new TextView(requireContext());
-            emptyView.setText("אין מגרשים במערכת");
-            emptyView.setTextColor(Color.GRAY);
-            emptyView.setTextSize(16);
-            emptyView.setPadding(32, 32, 32, 32);
-            emptyView.setGravity(android.view.Gravity.CENTER);
-            courtsContainer.addView(emptyView);
+            tvNoCourts.setVisibility(View.VISIBLE);
+            courtsRecyclerView.setVisibility(View.GONE);
+            timelineAdapter.submitList(new ArrayList<>());
             return;
         }
+        tvNoCourts.setVisibility(View.GONE);
+        courtsRecyclerView.setVisibility(View.VISIBLE);
 
-        // Get current week bounds for filtering (only if showOnlyThisWeek is true)
-        // Week starts on Sunday and ends on Saturday (6 days, not including next Sunday)
-        Calendar now = Calendar.getInstance();
-        Calendar weekStart = (Calendar) now.clone();
-        weekStart.set(Calendar.DAY_OF_WEEK, Calendar.SUNDAY);
-        weekStart.set(Calendar.HOUR_OF_DAY, 0);
-        weekStart.set(Calendar.MINUTE, 0);
-        weekStart.set(Calendar.SECOND, 0);
-        
-        Calendar weekEnd = (Calendar) weekStart.clone();
-        weekEnd.add(Calendar.DATE, 6); // Week is Sunday-Saturday (6 days), not including next Sunday
-        weekEnd.set(Calendar.HOUR_OF_DAY, 23);
-        weekEnd.set(Calendar.MINUTE, 59);
-        weekEnd.set(Calendar.SECOND, 59);
-        
-        long weekStartMillis = weekStart.getTimeInMillis();
-        long weekEndMillis = weekEnd.getTimeInMillis();
+        // Week starts on Sunday and ends on Saturday
+        long weekStartMillis = getCurrentWeekStart();
 
         Set<String> courtsForSelectedTeams = null;
         if (!selectedTeamIds.isEmpty()) {
             courtsForSelectedTeams = new HashSet<>();
-            for (Training training : trainings) {
-                if (selectedTeamIds.contains(training.getTeamId())) {
-                    courtsForSelectedTeams.add(training.getCourtId());
-                }
+            for (Training training : trainingIndex.collect(trainingIndex.select(selectedTeamIds, null, null, null, null))) {
+                courtsForSelectedTeams.add(training.getCourtId());
             }
         }
 
+        // Team colors for trainings stored without one
+        Map<String, String> teamColors = new HashMap<>();
+        for (Team team : allTeams) {
+            teamColors.put(team.getTeamId(), team.getColor());
+        }
+
+        // Rows only; the RecyclerView inflates what is on screen and the diff rebinds what changed
+        CourtTimeline timeline = new CourtTimeline(teamColors);
         for (Court court : courts) {
             // Apply court filter (multi-select)
             if (!selectedCourtIds.isEmpty() && !selectedCourtIds.contains(court.getCourtId())) {
@@ -634,300 +609,55 @@ public class AllCourtsViewFragment extends Fragment {
                 continue;
             }
 
-            View courtView = createCourtView(court, weekStartMillis, weekEndMillis);
-            courtsContainer.addView(courtView);
+            // Count only trainings in the current week, with the day and team filters applied
+            int trainingCount = selectCourtTrainings(court, weekStartMillis, true).size();
+            timeline.addCourt(court, trainingCount, selectCourtTrainings(court, weekStartMillis, showOnlyThisWeek));
         }
+        timelineAdapter.submitList(timeline.getRows());
     }
 
-    private View createCourtView(Court court, long weekStartMillis, long weekEndMillis) {
-        LinearLayout courtLayout = new LinearLayout(requireContext());
-        courtLayout.setOrientation(LinearLayout.VERTICAL);
-        courtLayout.setPadding(16, 16, 16, 16);
-
-        LinearLayout headerLayout = new LinearLayout(requireContext());
-        headerLayout.setOrientation(LinearLayout.HORIZONTAL);
-
-        TextView courtName = new TextView(requireContext());
-        courtName.setText(court.getName());
-        courtName.setTextSize(20);
-        courtName.setTypeface(null, android.graphics.Typeface.BOLD);
-        courtName.setTextColor(Color.BLACK);
-        courtName.setLayoutParams(new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.WRAP_CONTENT, 1));
-        headerLayout.addView(courtName);
-
-        int trainingCount = 0;
-        for (Training training : trainings) {
-            if (training.getCourtId() != null && training.getCourtId().equals(court.getCourtId())) {
-                // Count only trainings in the current week
-                long trainingDate = training.getDate();
-                if (trainingDate >= weekStartMillis && trainingDate < weekEndMillis) {
-                    // Also apply day and team filters if set
-                    if (!selectedDays.isEmpty()) {
-                        // Compute weekday from the date instead of relying on training.getDayOfWeek()
-                        Calendar cal = Calendar.getInstance();
-                        cal.setTimeInMillis(training.getDate());
-                        int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
-                        String[] englishDays = {"Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
-                        String dayOfWeekName = englishDays[dayOfWeek - 1];
-                        if (!selectedDays.contains(dayOfWeekName)) {
-                            continue;
-                        }
-                    }
-                    
-                    // For players: Only count trainings from their own teams
-                    if (isPlayer) {
-                        if (currentUser.getTeamIds() == null || !currentUser.getTeamIds().contains(training.getTeamId())) {
-                            continue;
-                        }
-                        // If teams are filtered, also apply the filter
-                        if (!selectedTeamIds.isEmpty() && !selectedTeamIds.contains(training.getTeamId())) {
-                            continue;
-                        }
-                    } else {
-                        // For non-players: Apply team filter if set
-                        if (!selectedTeamIds.isEmpty() && !selectedTeamIds.contains(training.getTeamId())) {
-                            continue;
-                        }
-                    }
-                    
-                    trainingCount++;
-                }
-            }
+    /**
+     * Indexes the week's stored trainings plus the series occurrences that fall in it.
+     */
+    private void rebuildTrainings() {
+        DateWindow week = DateWindow.week(getCurrentWeekStart());
+        List<Training> shown = new ArrayList<>(windowTrainings);
+        shown.addAll(TrainingSeries.expandAll(series, week.getStart(), week.getEnd()));
+        trainingIndex = new TrainingFilterIndex();
+        for (Training training : shown) {
+            trainingIndex.put(training.getTrainingId(), training);
         }
-
-        TextView infoText = new TextView(requireContext());
-        infoText.setText("אימונים: " + trainingCount);
-        infoText.setTextSize(14);
-        infoText.setTextColor(Color.GRAY);
-        infoText.setPadding(8, 0, 0, 0);
-        headerLayout.addView(infoText);
-
-        headerLayout.setPadding(0, 0, 0, 16);
-        courtLayout.addView(headerLayout);
-
-        View timelineView = createTimelineView(court, weekStartMillis, weekEndMillis);
-        courtLayout.addView(timelineView);
-
-        View divider = new View(requireContext());
-        LinearLayout.LayoutParams dividerParams = new LinearLayout.LayoutParams(
-                LinearLayout.LayoutParams.MATCH_PARENT, 2);
-        dividerParams.setMargins(0, 24, 0, 24);
-        divider.setLayoutParams(dividerParams);
-        divider.setBackgroundColor(Color.LTGRAY);
-        courtLayout.addView(divider);
-
-        return courtLayout;
     }
 
-    private View createTimelineView(Court court, long weekStartMillis, long weekEndMillis) {
-        LinearLayout timeline = new LinearLayout(requireContext());
-        timeline.setOrientation(LinearLayout.VERTICAL);
-
-        List<Training> courtTrainings = new ArrayList<>();
-        for (Training training : trainings) {
-            if (training.getCourtId() == null || !training.getCourtId().equals(court.getCourtId())) {
-                continue;
-            }
-
-            // Apply week filter
-            if (showOnlyThisWeek) {
-                long trainingDate = training.getDate();
-                if (trainingDate < weekStartMillis || trainingDate >= weekEndMillis) {
-                    continue;
-                }
-            }
-
-            // Apply day filter (multi-select)
-            if (!selectedDays.isEmpty()) {
-                // Compute weekday from the date instead of relying on training.getDayOfWeek()
-                Calendar cal = Calendar.getInstance();
-                cal.setTimeInMillis(training.getDate());
-                int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
-                String[] englishDays = {"Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
-                String dayOfWeekName = englishDays[dayOfWeek - 1];
-                if (!selectedDays.contains(dayOfWeekName)) {
-                    continue;
-                }
-            }
-
-            // For players: Only show trainings from their own teams
-            // Regardless of what team filter they select, they can only see their own teams
-            if (isPlayer) {
-                if (currentUser.getTeamIds() == null || !currentUser.getTeamIds().contains(training.getTeamId())) {
-                    android.util.Log.d("AllCourtsView", "FILTERED OUT - Player not in team: " + training.getTeamId());
-                    continue;
-                }
-                // If teams are filtered, also apply the filter
-                if (!selectedTeamIds.isEmpty()) {
-                    if (!selectedTeamIds.contains(training.getTeamId())) {
-                        android.util.Log.d("AllCourtsView", "FILTERED OUT by team chip - Training teamId: " + training.getTeamId() + " not in selected: " + selectedTeamIds);
-                        continue;
-                    }
-                }
-            } else {
-                // For non-players: Apply team filter based on chip selection
-                if (!selectedTeamIds.isEmpty()) {
-                    if (!selectedTeamIds.contains(training.getTeamId())) {
-                        android.util.Log.d("AllCourtsView", "FILTERED OUT by chip - Training teamId: " + training.getTeamId() + " not in selected: " + selectedTeamIds);
-                        continue;
-                    }
-                }
-            }
-
-            courtTrainings.add(training);
-        }
-
-        // Sort trainings by date and time
-        Collections.sort(courtTrainings, new Comparator<Training>() {
-            @Override
-            public int compare(Training t1, Training t2) {
-                // First compare by date
-                int dateCompare = Long.compare(t1.getDate(), t2.getDate());
-                if (dateCompare != 0) {
-                    return dateCompare;
-                }
-                // If same date, compare by start time
-                return t1.getStartTime().compareTo(t2.getStartTime());
-            }
-        });
-
-        if (courtTrainings.isEmpty()) {
-            TextView emptyText = new TextView(requireContext());
-            emptyText.setText("אין אימונים");
-            emptyText.setTextColor(Color.GRAY);
-            emptyText.setPadding(16, 16, 16, 16);
-            timeline.addView(emptyText);
-        } else {
-            String lastDate = "";
-            for (Training training : courtTrainings) {
-                // Get the day of week for this training
-                Calendar cal = Calendar.getInstance();
-                cal.setTimeInMillis(training.getDate());
-                // Compute weekday directly from the date instead of relying on training.getDayOfWeek()
-                int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK); // 1=Sunday, 2=Monday, etc.
-                String[] englishDays = {"Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
-                String dayOfWeekName = englishDays[dayOfWeek - 1]; // Convert 1-based to 0-based index
-                
-                String dateStr = new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH).format(cal.getTime());
-                String currentDateWithDay = dayOfWeekName + " " + dateStr;
-                
-                // Add day separator if date changed
-                if (!lastDate.equals(currentDateWithDay)) {
-                    // Add day header
-                    View dayHeader = createDayHeaderView(dayOfWeekName);
-                    timeline.addView(dayHeader);
-                    lastDate = currentDateWithDay;
-                }
-                
-                View trainingBlock = createTrainingBlock(training);
-                timeline.addView(trainingBlock);
-            }
-        }
-
-        return timeline;
-    }
-    
-    private View createDayHeaderView(String dayOfWeekName) {
-        TextView dayHeader = new TextView(requireContext());
-        
-        // Get Hebrew day name
-        String[] hebrewDays = {"ראשון", "שני", "שלישי", "רביעי", "חמישי", "שישי", "שבת"};
-        String[] englishDays = {"Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
-        
-        int dayIndex = 0;
-        for (int i = 0; i < englishDays.length; i++) {
-            if (englishDays[i].equals(dayOfWeekName)) {
-                dayIndex = i;
-                break;
-            }
-        }
-        
-        dayHeader.setText(hebrewDays[dayIndex]);
-        dayHeader.setTextSize(16);
-        dayHeader.setTypeface(null, android.graphics.Typeface.BOLD);
-        dayHeader.setTextColor(Color.parseColor("#1976D2"));
-        dayHeader.setPadding(16, 16, 16, 8);
-        
-        // Right-to-left layout for Hebrew
-        dayHeader.setLayoutDirection(View.LAYOUT_DIRECTION_RTL);
-        dayHeader.setTextAlignment(View.TEXT_ALIGNMENT_VIEW_START);
-        
-        // Add top divider
-        LinearLayout headerLayout = new LinearLayout(requireContext());
-        headerLayout.setOrientation(LinearLayout.VERTICAL);
-        
-        View topDivider = new View(requireContext());
-        LinearLayout.LayoutParams dividerParams = new LinearLayout.LayoutParams(
-                LinearLayout.LayoutParams.MATCH_PARENT, 1);
-        dividerParams.setMargins(0, 8, 0, 0);
-        topDivider.setLayoutParams(dividerParams);
-        topDivider.setBackgroundColor(Color.parseColor("#D0D0D0"));
-        headerLayout.addView(topDivider);
-        
-        headerLayout.addView(dayHeader);
-        
-        return headerLayout;
+    /**
+     * Sunday 00:00 of the current week.
+     */
+    private long getCurrentWeekStart() {
+        Calendar weekStart = Calendar.getInstance();
+        weekStart.set(Calendar.DAY_OF_WEEK, Calendar.SUNDAY);
+        weekStart.set(Calendar.HOUR_OF_DAY, 0);
+        weekStart.set(Calendar.MINUTE, 0);
+        weekStart.set(Calendar.SECOND, 0);
+        weekStart.set(Calendar.MILLISECOND, 0);
+        return weekStart.getTimeInMillis();
     }
 
-    private View createTrainingBlock(Training training) {
-        LinearLayout blockLayout = new LinearLayout(requireContext());
-        blockLayout.setOrientation(LinearLayout.VERTICAL);
-        blockLayout.setPadding(12, 12, 12, 12);
-        LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
-            LinearLayout.LayoutParams.MATCH_PARENT,
-            LinearLayout.LayoutParams.WRAP_CONTENT
-        );
-        params.setMargins(0, 0, 0, 8);
-        blockLayout.setLayoutParams(params);
-
-        // Day and date
-        TextView dayDateView = new TextView(requireContext());
-        SimpleDateFormat dayFormat = new SimpleDateFormat("EEEE, dd/MM", new Locale("he", "IL"));
-        String dayDateText = dayFormat.format(training.getDate());
-        dayDateView.setText(dayDateText);
-        dayDateView.setTextColor(Color.WHITE);
-        dayDateView.setTextSize(11);
-        dayDateView.setTypeface(null, android.graphics.Typeface.ITALIC);
-        blockLayout.addView(dayDateView);
-
-        // Team name
-        TextView teamNameView = new TextView(requireContext());
-        teamNameView.setText(training.getTeamName());
-        teamNameView.setTextColor(Color.WHITE);
-        teamNameView.setTextSize(15);
-        teamNameView.setTypeface(null, android.graphics.Typeface.BOLD);
-        blockLayout.addView(teamNameView);
-
-        // Time
-        TextView timeView = new TextView(requireContext());
-        timeView.setText(training.getStartTime() + " - " + training.getEndTime());
-        timeView.setTextColor(Color.WHITE);
-        timeView.setTextSize(13);
-        blockLayout.addView(timeView);
-
-        // Try to use team color from training, otherwise search for team in allTeams list
-        String teamColor = training.getTeamColor();
-        if (teamColor == null || teamColor.isEmpty()) {
-            // Look for the team in our teams list and get its color
-            for (Team team : allTeams) {
-                if (team.getTeamId().equals(training.getTeamId())) {
-                    teamColor = team.getColor();
-                    break;
-                }
-            }
+    /**
+     * The court's trainings that pass the day and team chips, optionally limited to the
+     * current week. Players only ever see trainings of their own teams.
+     */
+    private List<Training> selectCourtTrainings(Court court, long weekStartMillis, boolean onlyThisWeek) {
+        List<Long> weeks = onlyThisWeek
+                ? Collections.singletonList(DateUtils.getWeekOfEpochDay(DateUtils.getEpochDay(weekStartMillis))) : null;
+        BitSet selected = trainingIndex.select(selectedTeamIds, TrainingFilterIndex.toDaysOfWeek(selectedDays),
+                Collections.singletonList(court.getCourtId()), null, weeks);
+        if (isPlayer) {
+            List<String> playerTeams = currentUser != null ? currentUser.getTeamIds() : null;
+            if (playerTeams == null || playerTeams.isEmpty()) {
+                return new ArrayList<>();
+            }
+            selected.and(trainingIndex.select(playerTeams, null, null, null, null));
         }
-
-        // Apply color with fallback
-        try {
-            if (teamColor != null && !teamColor.isEmpty()) {
-                blockLayout.setBackgroundColor(Color.parseColor(teamColor));
-            } else {
-                blockLayout.setBackgroundColor(Color.parseColor("#3DDC84")); // Default green
-            }
-        } catch (Exception e) {
-            blockLayout.setBackgroundColor(Color.parseColor("#3DDC84")); // Default green
-        }
-
-        return blockLayout;
+        return trainingIndex.collect(selected);
     }
 }
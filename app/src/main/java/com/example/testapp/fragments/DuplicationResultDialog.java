@@ -0,0 +1,36 @@
+package com.example.testapp.fragments;
+
+import android.content.Context;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AlertDialog;
+
+import java.util.List;
+
+/**
+ * Result of duplicating a training or booking a series, shown the same way by both
+ * schedule screens: a toast when every week was booked, otherwise a dialog listing
+ * the weeks that were skipped and why.
+ */
+final class DuplicationResultDialog {
+
+    private DuplicationResultDialog() {
+    }
+
+    static void show(Context context, List<String> skippedReasons, int successCount, int totalWeeks) {
+        if (skippedReasons.isEmpty()) {
+            Toast.makeText(context, "✅ אימונים נוספו בהצלחה לכל " + totalWeeks + " השבועות", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        StringBuilder message = new StringBuilder("⚠️ הוסף " + successCount + " אימונים\n\nשבועות שלא זוכרו:\n");
+        for (String reason : skippedReasons) {
+            message.append("• ").append(reason).append("\n");
+        }
+
+        new AlertDialog.Builder(context)
+                .setTitle("תוצאות השכפול")
+                .setMessage(message.toString().trim())
+                .setPositiveButton("אישור", (dialog, which) -> {})
+                .show();
+    }
+}
@@ -16,13 +16,9 @@ import androidx.navigation.Navigation;
 import com.example.testapp.LoginActivity;
 import com.example.testapp.R;
 import com.example.testapp.models.User;
+import com.example.testapp.repository.SessionManager;
 import com.example.testapp.repository.UserRepository;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 public class HomeFragment extends Fragment {
 
@@ -144,44 +140,39 @@ public class HomeFragment extends Fragment {
             return;
         }
 
-        String userId = auth.getCurrentUser().getUid();
-        DatabaseReference usersRef = FirebaseDatabase.getInstance().getReference("users");
-
-        usersRef.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                currentUser = snapshot.getValue(User.class);
-                if (currentUser != null) {
-                        // Update toolbar with the user role
-                    updateToolbarWithRole(currentUser);
-
-                        // Show features based on role
-                    if (currentUser.isAdmin()) {
-                            // Admin sees all cards
-                        if (manageUsersCard != null) manageUsersCard.setVisibility(View.VISIBLE);
-                        if (courtsCard != null) courtsCard.setVisibility(View.VISIBLE);
-                        if (teamsCard != null) teamsCard.setVisibility(View.VISIBLE);
-                        if (scheduleGridCard != null) scheduleGridCard.setVisibility(View.VISIBLE);
-                    } else if (currentUser.isCoordinator()) {
-                            // Coordinator sees courts, teams, and smart schedule
-                        if (courtsCard != null) courtsCard.setVisibility(View.VISIBLE);
-                        if (teamsCard != null) teamsCard.setVisibility(View.VISIBLE);
-                        if (scheduleGridCard != null) scheduleGridCard.setVisibility(View.VISIBLE);
-                    } else if (currentUser.isCoach()) {
-                            // Coach sees their teams and smart schedule (view only)
-                        if (teamsCard != null) teamsCard.setVisibility(View.VISIBLE);
-                        if (scheduleGridCard != null) scheduleGridCard.setVisibility(View.VISIBLE);
-                    } else if (currentUser.isPlayer()) {
-                            // Player sees player details and smart schedule (view only)
-                        if (playerDetailsCard != null) playerDetailsCard.setVisibility(View.VISIBLE);
-                        if (scheduleGridCard != null) scheduleGridCard.setVisibility(View.VISIBLE);
-                    }
-                }
+        // Served from the session at once; no round trip before the cards show
+        SessionManager.getInstance().getUser(user -> {
+            if (!isAdded() || getContext() == null) {
+                return;
             }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
+            currentUser = user;
+            if (currentUser == null) {
                 Toast.makeText(requireContext(), "שגיאה בטעינת נתוני משתמש", Toast.LENGTH_SHORT).show();
+                return;
+            }
+                // Update toolbar with the user role
+            updateToolbarWithRole(currentUser);
+
+                // Show features based on role
+            if (currentUser.isAdmin()) {
+                    // Admin sees all cards
+                if (manageUsersCard != null) manageUsersCard.setVisibility(View.VISIBLE);
+                if (courtsCard != null) courtsCard.setVisibility(View.VISIBLE);
+                if (teamsCard != null) teamsCard.setVisibility(View.VISIBLE);
+                if (scheduleGridCard != null) scheduleGridCard.setVisibility(View.VISIBLE);
+            } else if (currentUser.isCoordinator()) {
+                    // Coordinator sees courts, teams, and smart schedule
+                if (courtsCard != null) courtsCard.setVisibility(View.VISIBLE);
+                if (teamsCard != null) teamsCard.setVisibility(View.VISIBLE);
+                if (scheduleGridCard != null) scheduleGridCard.setVisibility(View.VISIBLE);
+            } else if (currentUser.isCoach()) {
+                    // Coach sees their teams and smart schedule (view only)
+                if (teamsCard != null) teamsCard.setVisibility(View.VISIBLE);
+                if (scheduleGridCard != null) scheduleGridCard.setVisibility(View.VISIBLE);
+            } else if (currentUser.isPlayer()) {
+                    // Player sees player details and smart schedule (view only)
+                if (playerDetailsCard != null) playerDetailsCard.setVisibility(View.VISIBLE);
+                if (scheduleGridCard != null) scheduleGridCard.setVisibility(View.VISIBLE);
             }
         });
     }
@@ -18,16 +18,24 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.widget.SearchView;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapp.R;
 import com.example.testapp.models.Team;
 import com.example.testapp.models.User;
+import com.example.testapp.repository.JerseyRegistry;
+import com.example.testapp.repository.PlayerResolver;
+import com.example.testapp.repository.SessionManager;
+import com.example.testapp.repository.TeamMembers;
+import com.example.testapp.repository.UserDirectory;
+import com.example.testapp.utils.StableIds;
+import com.example.testapp.utils.UserDirectoryIndex;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
-import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
@@ -40,14 +48,18 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ManageUsersFragment extends Fragment {
 
+    private static final String[] ROLE_VALUES = {"PLAYER", "COACH", "COORDINATOR", "ADMIN"};
+
     private RecyclerView usersRecyclerView;
     private ProgressBar progressBar;
     private SearchView searchViewTeams;
+    private SearchView searchViewUsers;
     private ChipGroup chipGroupRoles;
     private ChipGroup chipGroupTeams;
     private MaterialButton btnSelectAllRoles;
@@ -58,9 +70,11 @@ public class ManageUsersFragment extends Fragment {
     private boolean isFiltersExpanded = false;
     
     private DatabaseReference usersRef;
+    private JerseyRegistry jerseyRegistry;
     private UsersAdapter adapter;
-    private List<User> usersList;
-    private List<User> filteredUsersList;
+    // Created once admin access is confirmed
+    private UserDirectory userDirectory;
+    private String searchQuery = "";
     private User currentUser;
     private Map<String, String> teamsMap;  // teamId -> teamName
     private Map<String, List<String>> coachTeamsMap;  // coachId -> list of teamNames
@@ -82,6 +96,7 @@ public class ManageUsersFragment extends Fragment {
         usersRecyclerView = view.findViewById(R.id.usersRecyclerView);
         progressBar = view.findViewById(R.id.progressBar);
         searchViewTeams = view.findViewById(R.id.searchViewTeams);
+        searchViewUsers = view.findViewById(R.id.searchViewUsers);
         chipGroupRoles = view.findViewById(R.id.chipGroupRoles);
         chipGroupTeams = view.findViewById(R.id.chipGroupTeams);
         btnSelectAllRoles = view.findViewById(R.id.btnSelectAllRoles);
@@ -91,13 +106,12 @@ public class ManageUsersFragment extends Fragment {
         expandCollapseIcon = view.findViewById(R.id.expandCollapseIcon);
 
         usersRef = FirebaseDatabase.getInstance().getReference("users");
-        usersList = new ArrayList<>();
-        filteredUsersList = new ArrayList<>();
+        jerseyRegistry = new JerseyRegistry();
         teamsMap = new HashMap<>();
         coachTeamsMap = new HashMap<>();
 
         usersRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
-        adapter = new UsersAdapter(filteredUsersList, teamsMap, coachTeamsMap, this::showChangeRoleDialog, this::showAssignTeamDialog, this::confirmDeleteUser);
+        adapter = new UsersAdapter(teamsMap, coachTeamsMap, this::showChangeRoleDialog, this::showAssignTeamDialog, this::confirmDeleteUser);
         usersRecyclerView.setAdapter(adapter);
 
         setupExpandCollapse();
@@ -187,14 +201,27 @@ public class ManageUsersFragment extends Fragment {
                 return true;
             }
         });
+
+        searchViewUsers.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                return false;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                searchQuery = newText;
+                applyFilters();
+                return true;
+            }
+        });
     }
 
     private void setupRoleChips() {
         String[] roles = {"שחקן", "מאמן", "רכז", "מנהל"};
-        String[] roleValues = {"PLAYER", "COACH", "COORDINATOR", "ADMIN"};
 
         for (int i = 0; i < roles.length; i++) {
-            final String roleValue = roleValues[i];
+            final String roleValue = ROLE_VALUES[i];
             Chip chip = new Chip(requireContext());
             chip.setText(roles[i]);
             chip.setCheckable(true);
@@ -207,6 +234,7 @@ public class ManageUsersFragment extends Fragment {
                 } else {
                     selectedRoles.remove(roleValue);
                 }
+                loadUsers();
                 applyFilters();
             });
 
@@ -237,7 +265,6 @@ public class ManageUsersFragment extends Fragment {
             public void onDataChange(@NonNull DataSnapshot snapshot) {
                 teamsMap.clear();
                 teamsList.clear();
-                coachTeamsMap.clear();
                 chipGroupTeams.removeAllViews();
                 selectedTeamIds.clear();
 
@@ -250,35 +277,26 @@ public class ManageUsersFragment extends Fragment {
                 noTeamChip.setTag(null); // Special marker for no team
                 noTeamChip.setOnCheckedChangeListener((buttonView, isChecked) -> {
                     if (isChecked) {
-                        selectedTeamIds.add("NO_TEAM");
+                        selectedTeamIds.add(UserDirectoryIndex.NO_TEAM);
                     } else {
-                        selectedTeamIds.remove("NO_TEAM");
+                        selectedTeamIds.remove(UserDirectoryIndex.NO_TEAM);
                     }
                     applyFilters();
                 });
                 chipGroupTeams.addView(noTeamChip);
-                selectedTeamIds.add("NO_TEAM");
+                selectedTeamIds.add(UserDirectoryIndex.NO_TEAM);
 
                 for (DataSnapshot teamSnapshot : snapshot.getChildren()) {
                     Team team = teamSnapshot.getValue(Team.class);
                     if (team != null) {
                         teamsList.add(team);
-                        teamsMap.put(team.getTeamId(), team.getName());
-                        
-                        // Build coachTeamsMap - map coachId to list of team names
-                        if (team.getCoachId() != null && !team.getCoachId().isEmpty()) {
-                            if (!coachTeamsMap.containsKey(team.getCoachId())) {
-                                coachTeamsMap.put(team.getCoachId(), new ArrayList<>());
-                            }
-                            coachTeamsMap.get(team.getCoachId()).add(team.getName());
-                        }
-                        
                         teamsMap.put(team.getTeamId(), team.getName());
                         addTeamChip(team);
                         selectedTeamIds.add(team.getTeamId());
                     }
                 }
 
+                indexTeams();
                 loadUsers();
             }
 
@@ -310,128 +328,76 @@ public class ManageUsersFragment extends Fragment {
         chipGroupTeams.addView(chip);
     }
 
+    /**
+     * Rebuilds coachId -> team names for the rows, and the coach teams the filter goes by.
+     */
+    private void indexTeams() {
+        coachTeamsMap.clear();
+        for (Team team : teamsList) {
+            if (team.getCoachId() != null && !team.getCoachId().isEmpty()) {
+                coachTeamsMap.computeIfAbsent(team.getCoachId(), k -> new ArrayList<>()).add(team.getName());
+            }
+        }
+        if (userDirectory != null) {
+            userDirectory.getIndex().setTeams(teamsList);
+        }
+    }
+
     private void applyFilters() {
-        if (usersList == null || usersList.isEmpty()) {
+        if (userDirectory == null) {
             return;
         }
+        adapter.setUsers(userDirectory.getIndex().apply(selectedRoles, selectedTeamIds, searchQuery));
+    }
 
-        filteredUsersList.clear();
-
-        for (User user : usersList) {
-            // Role filter
-            boolean matchesRole = selectedRoles.isEmpty() || selectedRoles.contains(user.getRole());
-            
-            // Team filter
-            boolean matchesTeam = false;
-            if (selectedTeamIds.isEmpty()) {
-                matchesTeam = true;
-            } else {
-                // Check "No Team"
-                if (selectedTeamIds.contains("NO_TEAM")) {
-                    boolean hasNoTeam = false;
-                    
-                    if ("COACH".equals(user.getRole())) {
-                        // Coach has no team if they're not in coachTeamsMap
-                        hasNoTeam = !coachTeamsMap.containsKey(user.getUserId()) || 
-                                   coachTeamsMap.get(user.getUserId()).isEmpty();
-                    } else if ("PLAYER".equals(user.getRole())) {
-                        // Player has no team if teamIds is empty
-                        hasNoTeam = (user.getTeamIds() == null || user.getTeamIds().isEmpty());
-                    } else {
-                        // Other roles don't have teams
-                        hasNoTeam = true;
-                    }
-                    
-                    if (hasNoTeam) {
-                        matchesTeam = true;
-                    }
-                }
-                
-                // Check specific teams
-                if (!matchesTeam) {
-                    for (String teamId : selectedTeamIds) {
-                        if (!"NO_TEAM".equals(teamId)) {
-                            if ("PLAYER".equals(user.getRole())) {
-                                // For players - check teamIds
-                                boolean isPlayerInTeam = user.getTeamIds() != null && user.getTeamIds().contains(teamId);
-                                if (isPlayerInTeam) {
-                                    matchesTeam = true;
-                                    break;
-                                }
-                            } else if ("COACH".equals(user.getRole())) {
-                                // For coaches - check if any of their teams match
-                                for (Team team : teamsList) {
-                                    if (team.getTeamId().equals(teamId) && 
-                                        user.getUserId().equals(team.getCoachId())) {
-                                        matchesTeam = true;
-                                        break;
-                                    }
-                                }
-                                if (matchesTeam) break;
-                            }
-                        }
-                    }
-                }
+    private void checkAdminAccess() {
+        SessionManager.getInstance().getUser(user -> {
+            if (!isAdded() || getContext() == null) {
+                return;
             }
-
-            if (matchesRole && matchesTeam) {
-                filteredUsersList.add(user);
+            if (user == null) {
+                Toast.makeText(requireContext(), "שגיאה בטעינת נתונים", Toast.LENGTH_SHORT).show();
+                return;
             }
-        }
-
-        adapter.notifyDataSetChanged();
-    }
+            currentUser = user;
+            if ("ADMIN".equals(currentUser.getRole())) {
+                userDirectory = new UserDirectory(new UserDirectory.OnPageListener() {
+                    @Override
+                    public void onPage(String role, boolean lastPage) {
+                        if (!isAdded()) {
+                            return;
+                        }
+                        applyFilters();
+                        progressBar.setVisibility(userDirectory.isLoading() ? View.VISIBLE : View.GONE);
+                    }
 
-    private void checkAdminAccess() {
-        String currentUserId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        usersRef.child(currentUserId).addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    currentUser = snapshot.getValue(User.class);
-                    if (currentUser != null && "ADMIN".equals(currentUser.getRole())) {
-                        loadTeamsData();
-                    } else {
+                    @Override
+                    public void onFailure(String error) {
+                        progressBar.setVisibility(userDirectory.isLoading() ? View.VISIBLE : View.GONE);
                         if (isAdded() && getContext() != null) {
-                            Toast.makeText(requireContext(), "גישה נדחתה - נדרשות הרשאות מנהל", Toast.LENGTH_SHORT).show();
+                            Toast.makeText(requireContext(), "שגיאה בטעינת משתמשים", Toast.LENGTH_SHORT).show();
                         }
                     }
-                }
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                if (isAdded() && getContext() != null) {
-                    Toast.makeText(requireContext(), "שגיאה בטעינת נתונים", Toast.LENGTH_SHORT).show();
-                }
+                });
+                loadTeamsData();
+            } else {
+                Toast.makeText(requireContext(), "גישה נדחתה - נדרשות הרשאות מנהל", Toast.LENGTH_SHORT).show();
             }
         });
     }
 
+    /**
+     * Pages in the users of the selected roles (all roles when none is selected)
+     * that aren't loaded yet.
+     */
     private void loadUsers() {
-        progressBar.setVisibility(View.VISIBLE);
-        usersRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                usersList.clear();
-                for (DataSnapshot userSnapshot : snapshot.getChildren()) {
-                    User user = userSnapshot.getValue(User.class);
-                    if (user != null) {
-                        usersList.add(user);
-                    }
-                }
-                applyFilters();
-                progressBar.setVisibility(View.GONE);
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                progressBar.setVisibility(View.GONE);
-                if (isAdded() && getContext() != null) {
-                    Toast.makeText(requireContext(), "שגיאה בטעינת משתמשים", Toast.LENGTH_SHORT).show();
-                }
-            }
-        });
+        if (userDirectory == null) {
+            return;
+        }
+        userDirectory.load(selectedRoles.isEmpty() ? Arrays.asList(ROLE_VALUES) : selectedRoles);
+        if (userDirectory.isLoading()) {
+            progressBar.setVisibility(View.VISIBLE);
+        }
     }
 
     private void showChangeRoleDialog(User user) {
@@ -476,7 +442,12 @@ public class ManageUsersFragment extends Fragment {
                 teamsRef.child(selectedTeam.getTeamId()).updateChildren(teamUpdates)
                     .addOnSuccessListener(aVoid -> {
                         Toast.makeText(requireContext(), "הקבוצה עודכנה בהצלחה", Toast.LENGTH_SHORT).show();
-                        loadUsers();
+                        selectedTeam.setCoachId(user.getUserId());
+                        selectedTeam.setCoachName(user.getName());
+                        indexTeams();
+                        // Coach team names aren't part of the user rows the diff compares
+                        adapter.notifyItemRangeChanged(0, adapter.getItemCount());
+                        applyFilters();
                     })
                     .addOnFailureListener(e -> {
                         Toast.makeText(requireContext(), "שגיאה בעדכון קבוצה", Toast.LENGTH_SHORT).show();
@@ -504,21 +475,19 @@ public class ManageUsersFragment extends Fragment {
                     }
                 }
                 
-                // Update teamIds
+                // Update teamIds, teamId as the first team (for backward compatibility) and the team index
                 Map<String, Object> updates = new HashMap<>();
-                updates.put("teamIds", selectedTeamIds);
+                TeamMembers.putTeams(updates, user.getUserId(), user.getPlayerId(), currentTeamIds, selectedTeamIds);
                 
-                // Also update teamId to be the first team (for backward compatibility)
-                if (!selectedTeamIds.isEmpty()) {
-                    updates.put("teamId", selectedTeamIds.get(0));
-                } else {
-                    updates.put("teamId", null);
-                }
-                
-                usersRef.child(user.getUserId()).updateChildren(updates)
+                FirebaseDatabase.getInstance().getReference().updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
+                        updateJerseyClaims(user, currentTeamIds, selectedTeamIds);
                         Toast.makeText(requireContext(), "הקבוצות עודכנו בהצלחה", Toast.LENGTH_SHORT).show();
-                        loadUsers();
+                        User updated = User.fromMap(user.toMap());
+                        updated.setTeamIds(selectedTeamIds);
+                        updated.setTeamId(selectedTeamIds.isEmpty() ? null : selectedTeamIds.get(0));
+                        userDirectory.update(updated);
+                        applyFilters();
                     })
                     .addOnFailureListener(e -> {
                         Toast.makeText(requireContext(), "שגיאה בעדכון קבוצות", Toast.LENGTH_SHORT).show();
@@ -534,11 +503,47 @@ public class ManageUsersFragment extends Fragment {
         builder.show();
     }
 
+    /**
+     * Gives back the player's jersey number in the teams left and claims it in the teams joined.
+     */
+    private void updateJerseyClaims(User user, List<String> oldTeamIds, List<String> newTeamIds) {
+        List<String> left = new ArrayList<>(oldTeamIds);
+        left.removeAll(newTeamIds);
+        List<String> joined = new ArrayList<>(newTeamIds);
+        joined.removeAll(oldTeamIds);
+        jerseyRegistry.releaseOfPlayer(user.getUserId(), user.getPlayerId(), left);
+        if (joined.isEmpty()) {
+            return;
+        }
+        jerseyRegistry.claimOfPlayer(user.getUserId(), user.getPlayerId(), joined, new JerseyRegistry.OnClaimListener() {
+            @Override
+            public void onClaimed(List<String> teamIds) {
+            }
+
+            @Override
+            public void onTaken(String teamId) {
+                if (isAdded() && getContext() != null) {
+                    Toast.makeText(requireContext(), "מספר הגופיה של " + user.getName() + " כבר תפוס באחת הקבוצות", Toast.LENGTH_LONG).show();
+                }
+            }
+
+            @Override
+            public void onFailure(String error) {
+                if (isAdded() && getContext() != null) {
+                    Toast.makeText(requireContext(), "שגיאה בשמירת מספר הגופיה", Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
+    }
+
     private void updateUserRole(User user, String newRole) {
         usersRef.child(user.getUserId()).child("role").setValue(newRole)
             .addOnSuccessListener(aVoid -> {
                 Toast.makeText(requireContext(), "התפקיד עודכן בהצלחה", Toast.LENGTH_SHORT).show();
-                loadUsers();
+                User updated = User.fromMap(user.toMap());
+                updated.setRole(newRole);
+                userDirectory.update(updated);
+                applyFilters();
             })
             .addOnFailureListener(e -> {
                 Toast.makeText(requireContext(), "שגיאה בעדכון תפקיד", Toast.LENGTH_SHORT).show();
@@ -555,18 +560,44 @@ public class ManageUsersFragment extends Fragment {
     }
 
     private void deleteUser(User user) {
-        usersRef.child(user.getUserId()).removeValue()
+        // Drop the user from the team index along with the user
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("users/" + user.getUserId(), null);
+        for (String teamId : user.getTeamIds()) {
+            updates.put(TeamMembers.path(teamId, user.getUserId()), null);
+        }
+        FirebaseDatabase.getInstance().getReference().updateChildren(updates)
             .addOnSuccessListener(aVoid -> {
+                // Only once the user is gone, so a failed delete keeps the jersey numbers
+                jerseyRegistry.releaseOfPlayer(user.getUserId(), user.getPlayerId(), user.getTeamIds());
+                PlayerResolver.getInstance().forget(user.getUserId());
                 Toast.makeText(requireContext(), "המשתמש נמחק בהצלחה", Toast.LENGTH_SHORT).show();
-                loadUsers();
+                userDirectory.remove(user.getUserId());
+                applyFilters();
             })
             .addOnFailureListener(e -> {
                 Toast.makeText(requireContext(), "שגיאה במחיקת משתמש", Toast.LENGTH_SHORT).show();
             });
     }
 
-    private static class UsersAdapter extends RecyclerView.Adapter<UsersAdapter.ViewHolder> {
-        private List<User> users;
+    /**
+     * Rows diffed by userId on a background thread, so a filter change or a new page
+     * only rebinds the rows that changed.
+     */
+    private static class UsersAdapter extends ListAdapter<User, UsersAdapter.ViewHolder> {
+        private static final DiffUtil.ItemCallback<User> DIFF = new DiffUtil.ItemCallback<User>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull User oldItem, @NonNull User newItem) {
+                return Objects.equals(oldItem.getUserId(), newItem.getUserId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull User oldItem, @NonNull User newItem) {
+                return oldItem.sameContentAs(newItem);
+            }
+        };
+
+        private final StableIds stableIds = new StableIds();
         private Map<String, String> teamsMap;
         private Map<String, List<String>> coachTeamsMap;
         private OnUserClickListener listener;
@@ -577,10 +608,11 @@ public class ManageUsersFragment extends Fragment {
         interface OnAssignTeamClickListener { void onAssignTeamClick(User user); }
         interface OnDeleteUserClickListener { void onDeleteUserClick(User user); }
 
-        UsersAdapter(List<User> users, Map<String, String> teamsMap, Map<String, List<String>> coachTeamsMap,
+        UsersAdapter(Map<String, String> teamsMap, Map<String, List<String>> coachTeamsMap,
                     OnUserClickListener listener, OnAssignTeamClickListener assignTeamListener, 
                     OnDeleteUserClickListener deleteUserListener) {
-            this.users = users;
+            super(DIFF);
+            setHasStableIds(true);
             this.teamsMap = teamsMap;
             this.coachTeamsMap = coachTeamsMap;
             this.listener = listener;
@@ -588,6 +620,15 @@ public class ManageUsersFragment extends Fragment {
             this.deleteUserListener = deleteUserListener;
         }
 
+        void setUsers(List<User> users) {
+            submitList(users);
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return stableIds.idOf(getItem(position).getUserId());
+        }
+
         @NonNull
         @Override
         public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -597,15 +638,10 @@ public class ManageUsersFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            User user = users.get(position);
+            User user = getItem(position);
             holder.bind(user, teamsMap, coachTeamsMap, listener, assignTeamListener, deleteUserListener);
         }
 
-        @Override
-        public int getItemCount() {
-            return users.size();
-        }
-
         static class ViewHolder extends RecyclerView.ViewHolder {
             TextView userName, userEmail, userRole, userTeam;
             Button changeRoleButton, assignTeamButton, deleteUserButton;
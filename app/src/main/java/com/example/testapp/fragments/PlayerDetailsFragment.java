@@ -20,6 +20,9 @@ import androidx.fragment.app.Fragment;
 
 import com.example.testapp.R;
 import com.example.testapp.models.Player;
+import com.example.testapp.repository.JerseyRegistry;
+import com.example.testapp.repository.PlayerResolver;
+import com.example.testapp.repository.TeamJerseys;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.FirebaseAuth;
@@ -31,7 +34,6 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
@@ -47,6 +49,9 @@ public class PlayerDetailsFragment extends Fragment {
 
     private DatabaseReference usersRef, playersRef;
     private String userId, playerId;
+    private JerseyRegistry jerseyRegistry;
+    // The number of the player record being saved, released when the save replaces it
+    private String savedJerseyNumber;
 
     private static final String[] SHIRT_SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
 
@@ -68,6 +73,7 @@ public class PlayerDetailsFragment extends Fragment {
 
         usersRef = FirebaseDatabase.getInstance().getReference("users");
         playersRef = FirebaseDatabase.getInstance().getReference("players");
+        jerseyRegistry = new JerseyRegistry();
 
         setupShirtSizeSpinner();
         loadInitialData();
@@ -192,28 +198,13 @@ public class PlayerDetailsFragment extends Fragment {
             return;
         }
 
-        playersRef.orderByChild("userId").equalTo(userId).limitToFirst(1)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        progressBar.setVisibility(View.GONE);
-                        saveButton.setEnabled(true);
-                        if (snapshot.exists()) {
-                            for (DataSnapshot child : snapshot.getChildren()) {
-                                Player player = child.getValue(Player.class);
-                                if (player != null) {
-                                    populatePlayerFields(player);
-                                    break;
-                                }
-                            }
-                        }
-                    }
-
-                    @Override
-                    public void onCancelled(@NonNull DatabaseError error) {
-                       handleSaveError(error.getMessage());
-                    }
-                });
+        PlayerResolver.getInstance().loadPlayer(userId, player -> {
+            progressBar.setVisibility(View.GONE);
+            saveButton.setEnabled(true);
+            if (player != null) {
+                populatePlayerFields(player);
+            }
+        });
     }
 
     private void populatePlayerFields(Player player) {
@@ -273,6 +264,19 @@ public class PlayerDetailsFragment extends Fragment {
     private void findOrCreatePlayerRecord(String firstName, String lastName, String grade, String school,
                                         String playerPhone, String parentPhone, String idNumber,
                                         String birthDate, String shirtSize, String jerseyNumber) {
+        PlayerResolver.getInstance().loadPlayer(userId, player -> {
+            if (player != null) {
+                savePlayerRecord(player.getPlayerId(), player, false, firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, jerseyNumber);
+            } else {
+                // A failed read resolves to null too; confirm there is no record before creating one
+                queryOrCreatePlayerRecord(firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, jerseyNumber);
+            }
+        });
+    }
+
+    private void queryOrCreatePlayerRecord(String firstName, String lastName, String grade, String school,
+                                         String playerPhone, String parentPhone, String idNumber,
+                                         String birthDate, String shirtSize, String jerseyNumber) {
         playersRef.orderByChild("userId").equalTo(userId).limitToFirst(1)
             .addListenerForSingleValueEvent(new ValueEventListener() {
                 @Override
@@ -294,23 +298,7 @@ public class PlayerDetailsFragment extends Fragment {
                         handleSaveError("שגיאה ביצירת מזהה שחקן.");
                         return;
                     }
-
-                    final String finalPlayerKey = playerKey;
-                    final boolean finalIsNewPlayer = isNewPlayer;
-
-                    String teamId = (existingPlayer != null) ? existingPlayer.getTeamId() : null;
-                    if (!TextUtils.isEmpty(jerseyNumber) && teamId != null) {
-                        checkJerseyNumberAvailability(teamId, jerseyNumber, userId, isAvailable -> {
-                            if (isAvailable) {
-                                performPlayerUpdate(finalPlayerKey, finalIsNewPlayer, firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, jerseyNumber);
-                            } else {
-                                Toast.makeText(requireContext(), "מספר גופיה " + jerseyNumber + " כבר תפוס בקבוצה.", Toast.LENGTH_LONG).show();
-                                performPlayerUpdate(finalPlayerKey, finalIsNewPlayer, firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, null);
-                            }
-                        });
-                    } else {
-                        performPlayerUpdate(finalPlayerKey, finalIsNewPlayer, firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, jerseyNumber);
-                    }
+                    savePlayerRecord(playerKey, existingPlayer, isNewPlayer, firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, jerseyNumber);
                 }
 
                 @Override
@@ -320,6 +308,35 @@ public class PlayerDetailsFragment extends Fragment {
             });
     }
 
+    private void savePlayerRecord(String playerKey, Player existingPlayer, boolean isNewPlayer,
+                                  String firstName, String lastName, String grade, String school,
+                                  String playerPhone, String parentPhone, String idNumber,
+                                  String birthDate, String shirtSize, String jerseyNumber) {
+        savedJerseyNumber = (existingPlayer != null) ? existingPlayer.getJerseyNumber() : null;
+        if (!TextUtils.isEmpty(jerseyNumber)) {
+            // Claimed in every team of the player, not only the legacy player.teamId
+            jerseyRegistry.claimInTeamsOf(userId, jerseyNumber, new JerseyRegistry.OnClaimListener() {
+                @Override
+                public void onClaimed(List<String> teamIds) {
+                    performPlayerUpdate(playerKey, isNewPlayer, firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, jerseyNumber);
+                }
+
+                @Override
+                public void onTaken(String teamId) {
+                    Toast.makeText(requireContext(), "מספר גופיה " + jerseyNumber + " כבר תפוס בקבוצה.", Toast.LENGTH_LONG).show();
+                    performPlayerUpdate(playerKey, isNewPlayer, firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, null);
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    handleSaveError(error);
+                }
+            });
+        } else {
+            performPlayerUpdate(playerKey, isNewPlayer, firstName, lastName, grade, school, playerPhone, parentPhone, idNumber, birthDate, shirtSize, jerseyNumber);
+        }
+    }
+
     private void performPlayerUpdate(String playerKey, boolean isNewPlayer, String firstName, String lastName,
                                    String grade, String school, String playerPhone, String parentPhone,
                                    String idNumber, String birthDate, String shirtSize, String jerseyNumber) {
@@ -344,75 +361,24 @@ public class PlayerDetailsFragment extends Fragment {
 
         Task<Void> updatePlayerTask = playersRef.child(playerKey).updateChildren(playerUpdates);
         Task<Void> updateUserPlayerIdTask = usersRef.child(userId).child("playerId").setValue(playerKey);
+        PlayerResolver.getInstance().remember(userId, playerKey);
 
         Tasks.whenAll(updatePlayerTask, updateUserPlayerIdTask)
-            .addOnSuccessListener(aVoid -> handleSaveSuccess())
+            .addOnSuccessListener(aVoid -> {
+                releaseReplacedJerseyNumber(jerseyNumber);
+                handleSaveSuccess();
+            })
             .addOnFailureListener(e -> handleSaveError(e.getMessage()));
     }
 
-    private void checkJerseyNumberAvailability(String teamId, String jerseyNumber, String currentUserId,
-                                              OnJerseyCheckListener listener) {
-        // Fixed access: check via users.teamIds instead of player.teamId
-        // Because a player can be in multiple teams and player.teamId might not be updated
-        
-        DatabaseReference usersRef = FirebaseDatabase.getInstance().getReference("users");
-        usersRef.orderByChild("role").equalTo("PLAYER")
-            .addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                    List<String> userIdsInTeam = new ArrayList<>();
-                    
-                    // Find all users belonging to this team
-                    for (DataSnapshot userSnapshot : snapshot.getChildren()) {
-                        DataSnapshot teamIdsSnapshot = userSnapshot.child("teamIds");
-                        if (teamIdsSnapshot.exists()) {
-                            for (DataSnapshot teamSnapshot : teamIdsSnapshot.getChildren()) {
-                                String tid = teamSnapshot.getValue(String.class);
-                                if (teamId.equals(tid)) {
-                                    userIdsInTeam.add(userSnapshot.getKey());
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    
-                    // Now check jersey number for each player in the team
-                    if (userIdsInTeam.isEmpty()) {
-                        listener.onResult(true);
-                        return;
-                    }
-                    
-                    playersRef.addListenerForSingleValueEvent(new ValueEventListener() {
-                        @Override
-                        public void onDataChange(@NonNull DataSnapshot playersSnapshot) {
-                            boolean isAvailable = true;
-                            for (DataSnapshot playerSnapshot : playersSnapshot.getChildren()) {
-                                Player player = playerSnapshot.getValue(Player.class);
-                                if (player != null &&
-                                    userIdsInTeam.contains(player.getUserId()) &&
-                                    jerseyNumber.equals(player.getJerseyNumber()) &&
-                                    !currentUserId.equals(player.getUserId())) {
-                                    isAvailable = false;
-                                    break;
-                                }
-                            }
-                            listener.onResult(isAvailable);
-                        }
-
-                        @Override
-                        public void onCancelled(@NonNull DatabaseError error) {
-                            listener.onResult(true);
-                        }
-                    });
-                }
-
-                @Override
-                public void onCancelled(@NonNull DatabaseError error) {
-                    listener.onResult(true);
-                }
-            });
+    private void releaseReplacedJerseyNumber(String jerseyNumber) {
+        String previousKey = TeamJerseys.keyOf(savedJerseyNumber);
+        if (previousKey != null && !previousKey.equals(TeamJerseys.keyOf(jerseyNumber))) {
+            jerseyRegistry.releaseInTeamsOf(userId, savedJerseyNumber);
+        }
+        savedJerseyNumber = jerseyNumber;
     }
-    
+
     private void handleSaveSuccess() {
         progressBar.setVisibility(View.GONE);
         saveButton.setEnabled(true);
@@ -424,8 +390,4 @@ public class PlayerDetailsFragment extends Fragment {
         saveButton.setEnabled(true);
         Toast.makeText(requireContext(), "שגיאה: " + errorMessage, Toast.LENGTH_LONG).show();
     }
-
-    private interface OnJerseyCheckListener {
-        void onResult(boolean isAvailable);
-    }
 }
@@ -17,6 +17,7 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.widget.SearchView;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -29,6 +30,10 @@ import com.example.testapp.models.Court;
 import com.example.testapp.models.Team;
 import com.example.testapp.models.Training;
 import com.example.testapp.models.User;
+import com.example.testapp.repository.AppDataStore;
+import com.example.testapp.repository.ChangeSet;
+import com.example.testapp.repository.SessionManager;
+import com.example.testapp.repository.SharedNode;
 import com.example.testapp.repository.TrainingRepository;
 import com.example.testapp.repository.UserRepository;
 import com.example.testapp.viewmodel.CourtViewModel;
@@ -39,10 +44,6 @@ import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -104,10 +105,12 @@ public class ScheduleFragment extends Fragment {
     private boolean isPlayer = false;
     private boolean userLoaded = false;
     private boolean viewCreated = false; // Track if view was created in this lifecycle
-    
-    // Firebase listeners - need to be removed in onDestroyView
-    private ValueEventListener teamsListener;
-    private com.google.firebase.database.DatabaseReference teamsRef;
+    private final Observer<ChangeSet<Team>> teamsObserver = this::onTeamsLoaded;
+    private final Observer<String> teamsErrorObserver = error -> {
+        if (isAdded() && getContext() != null) {
+            Toast.makeText(requireContext(), "שגיאה בטעינת קבוצות", Toast.LENGTH_SHORT).show();
+        }
+    };
 
     @Nullable
     @Override
@@ -153,16 +156,6 @@ public class ScheduleFragment extends Fragment {
         }
     }
     @Override
-    public void onDestroyView() {
-        super.onDestroyView();
-        // Remove Firebase listeners to prevent crashes after logout
-        if (teamsRef != null && teamsListener != null) {
-            teamsRef.removeEventListener(teamsListener);
-            teamsRef = null;
-            teamsListener = null;
-        }
-    }
-    @Override
     public void onPause() {
         super.onPause();
         // Clear adapter when leaving to prevent stale data
@@ -533,49 +526,12 @@ public class ScheduleFragment extends Fragment {
     }
 
     private void loadTeamsAndCourts() {
-        // Load teams
-        teamsRef = FirebaseDatabase.getInstance().getReference("teams");
-        teamsListener = new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                if (!isAdded() || getContext() == null) {
-                    return; // Fragment not attached, skip update
-                }
-                
-                teamsList.clear();
-                chipGroupTeams.removeAllViews();
-                // Do not clear selectedTeamIds because they were loaded from SharedPreferences
-
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    Team team = snapshot.getValue(Team.class);
-                    if (team != null) {
-                        teamsList.add(team);
-                        
-                        // For players, include only their teams
-                        if (isPlayer) {
-                            if (currentUser != null && currentUser.getTeamIds() != null && 
-                                currentUser.getTeamIds().contains(team.getTeamId())) {
-                                addTeamChip(team);
-                            }
-                        } else if (!isPlayer) {
-                            // For non-players, include every team
-                            addTeamChip(team);
-                        }
-                        // If isPlayer is false and currentUser is still null, do not add anything yet
-                    }
-                }
-                
-                updateTeamFilter();
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError databaseError) {
-                    if (isAdded() && getContext() != null) {
-                        Toast.makeText(requireContext(), "שגיאה בטעינת קבוצות", Toast.LENGTH_SHORT).show();
-                    }
-                }
-        };
-        teamsRef.addValueEventListener(teamsListener);
+        // Load teams from the app-wide store, shared with the other tabs.
+        // Called again after every resume, so re-attach the observer to redraw the chips for the reloaded user
+        SharedNode<Team> teamsNode = AppDataStore.getInstance().getTeams();
+        teamsNode.removeObserver(teamsObserver);
+        teamsNode.observe(getViewLifecycleOwner(), teamsObserver);
+        teamsNode.getErrors().observe(getViewLifecycleOwner(), teamsErrorObserver);
 
         // Load courts
         courtViewModel = new ViewModelProvider(this).get(CourtViewModel.class);
@@ -591,6 +547,34 @@ public class ScheduleFragment extends Fragment {
         });
     }
 
+    private void onTeamsLoaded(ChangeSet<Team> changes) {
+        if (!isAdded() || getContext() == null) {
+            return; // Fragment not attached, skip update
+        }
+
+        teamsList.clear();
+        chipGroupTeams.removeAllViews();
+        // Do not clear selectedTeamIds because they were loaded from SharedPreferences
+
+        for (Team team : changes.getItems()) {
+            teamsList.add(team);
+
+            // For players, include only their teams
+            if (isPlayer) {
+                if (currentUser != null && currentUser.getTeamIds() != null &&
+                    currentUser.getTeamIds().contains(team.getTeamId())) {
+                    addTeamChip(team);
+                }
+            } else if (!isPlayer) {
+                // For non-players, include every team
+                addTeamChip(team);
+            }
+            // If isPlayer is false and currentUser is still null, do not add anything yet
+        }
+
+        updateTeamFilter();
+    }
+
     private void addTeamChip(Team team) {
         Chip chip = new Chip(requireContext());
         chip.setText(team.getName());
@@ -741,38 +725,31 @@ public class ScheduleFragment extends Fragment {
         userRepository = new UserRepository();
         FirebaseUser firebaseUser = FirebaseAuth.getInstance().getCurrentUser();
         if (firebaseUser != null) {
-            FirebaseDatabase.getInstance().getReference("users").child(firebaseUser.getUid())
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        if (!isAdded() || getContext() == null) {
-                            return; // Fragment not attached, skip update
-                        }
-                        
-                        currentUser = snapshot.getValue(User.class);
-                        if (currentUser != null) {
-                            isPlayer = "PLAYER".equals(currentUser.getRole());
-                            userLoaded = true; // Mark user as loaded
-                            android.util.Log.d("ScheduleFragment", "User loaded: " + currentUser.getRole() + ", isPlayer: " + isPlayer + ", teamIds: " + currentUser.getTeamIds());
-                            boolean canEdit = currentUser.isAdmin() || currentUser.isCoordinator();
-
-                            if (!canEdit) {
-                                fab.setVisibility(View.GONE);
-                            }
-                        }
-                        
-                        // Setup filters after user is loaded
-                        setupDayChips();
-                        setupMonthChips();
-                        loadTeamsAndCourts();
-                        setupFilters();
-                    }
-
-                    @Override
-                    public void onCancelled(@NonNull DatabaseError error) {
-                        Toast.makeText(requireContext(), "Failed to load user permissions.", Toast.LENGTH_SHORT).show();
-                    }
-                });
+            SessionManager.getInstance().getUser(user -> {
+                if (!isAdded() || getContext() == null) {
+                    return; // Fragment not attached, skip update
+                }
+                if (user == null) {
+                    Toast.makeText(requireContext(), "Failed to load user permissions.", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                
+                currentUser = user;
+                isPlayer = "PLAYER".equals(currentUser.getRole());
+                userLoaded = true; // Mark user as loaded
+                android.util.Log.d("ScheduleFragment", "User loaded: " + currentUser.getRole() + ", isPlayer: " + isPlayer + ", teamIds: " + currentUser.getTeamIds());
+                boolean canEdit = currentUser.isAdmin() || currentUser.isCoordinator();
+
+                if (!canEdit) {
+                    fab.setVisibility(View.GONE);
+                }
+                
+                // Setup filters after user is loaded
+                setupDayChips();
+                setupMonthChips();
+                loadTeamsAndCourts();
+                setupFilters();
+            });
         }
     }
 
@@ -831,47 +808,36 @@ public class ScheduleFragment extends Fragment {
     }
 
     private void duplicateTraining(Training originalTraining, int weeks) {
-        Calendar dupDate = Calendar.getInstance();
-        dupDate.setTimeInMillis(originalTraining.getDate());
-
-        for (int i = 1; i <= weeks; i++) {
-            dupDate.add(Calendar.WEEK_OF_YEAR, 1);
-
-            Training duplicate = new Training();
-            duplicate.setTeamId(originalTraining.getTeamId());
-            duplicate.setTeamName(originalTraining.getTeamName());
-            duplicate.setTeamColor(originalTraining.getTeamColor());
-            duplicate.setCourtId(originalTraining.getCourtId());
-            duplicate.setCourtName(originalTraining.getCourtName());
-            duplicate.setCourtType(originalTraining.getCourtType());
-            duplicate.setStartTime(originalTraining.getStartTime());
-            duplicate.setEndTime(originalTraining.getEndTime());
-            duplicate.setDate(dupDate.getTimeInMillis());
-            duplicate.setDayOfWeek(new SimpleDateFormat("EEEE", Locale.getDefault()).format(dupDate.getTime()));
-            duplicate.setNotes(originalTraining.getNotes());
-            duplicate.setCreatedAt(System.currentTimeMillis());
-
-            viewModel.addTraining(duplicate, new TrainingRepository.OnConflictCheckListener() {
-                @Override
-                public void onSuccess() {
-                }
+        Court court = null;
+        for (Court candidate : courtsList) {
+            if (candidate.getCourtId() != null && candidate.getCourtId().equals(originalTraining.getCourtId())) {
+                court = candidate;
+                break;
+            }
+        }
 
+        Toast.makeText(requireContext(), "מוסיף אימונים לשבועות קדימה...", Toast.LENGTH_SHORT).show();
+        viewModel.duplicateTraining(originalTraining, court, originalTraining.getDate(), weeks,
+            new TrainingRepository.OnDuplicationCompleteListener() {
                 @Override
-                public void onConflict() {
+                public void onComplete(List<String> skippedReasons, int successCount, int totalWeeks) {
+                    if (isAdded()) {
+                        DuplicationResultDialog.show(requireContext(), skippedReasons, successCount, totalWeeks);
+                    }
                 }
 
                 @Override
                 public void onFailure(String error) {
+                    if (isAdded()) {
+                        Toast.makeText(requireContext(), "שגיאה: " + error, Toast.LENGTH_SHORT).show();
+                    }
                 }
             });
-        }
-
-        Toast.makeText(requireContext(), "אימון שוכפל " + weeks + " שבועות קדימה", Toast.LENGTH_SHORT).show();
     }
 
     private void applyFiltersAndSort() {
         // Get current trainings from adapter
-        List<Training> currentTrainings = new ArrayList<>(adapter.trainings != null ? adapter.trainings : new ArrayList<>());
+        List<Training> currentTrainings = new ArrayList<>(adapter.getTrainings());
         
         if (currentTrainings.isEmpty()) {
             return;
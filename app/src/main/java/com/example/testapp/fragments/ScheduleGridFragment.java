@@ -8,14 +8,13 @@ import android.view.ViewGroup;
 import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
-import android.widget.TableLayout;
-import android.widget.ScrollView;
-import android.widget.HorizontalScrollView;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -27,11 +26,21 @@ import com.example.testapp.models.Court;
 import com.example.testapp.models.DaySchedule;
 import com.example.testapp.models.Team;
 import com.example.testapp.models.TimeSlot;
+import com.example.testapp.models.TimeOfDay;
 import com.example.testapp.models.Training;
+import com.example.testapp.models.TrainingSeries;
+import com.example.testapp.repository.SessionManager;
 import com.example.testapp.repository.TrainingRepository;
+import com.example.testapp.utils.DateUtils;
+import com.example.testapp.utils.DateWindow;
+import com.example.testapp.utils.FreeSlotFinder;
+import com.example.testapp.utils.OccupancyGrid;
+import com.example.testapp.utils.ScheduleBuckets;
+import com.example.testapp.utils.TimetableSolver;
 import com.example.testapp.viewmodel.CourtViewModel;
 import com.example.testapp.viewmodel.TeamViewModel;
 import com.example.testapp.viewmodel.TrainingViewModel;
+import com.example.testapp.views.WeekGridView;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
@@ -62,11 +71,10 @@ public class ScheduleGridFragment extends Fragment {
     private MaterialButton btnPreviousWeek;
     private MaterialButton btnNextWeek;
     private MaterialButton btnToggleDayView;
+    private MaterialButton btnAutoSchedule;
     private TextView tvWeekDisplay;
     private TextView tvSelectedDay;
-    private TableLayout scheduleTable;
-    private ScrollView verticalScrollView;
-    private HorizontalScrollView horizontalScrollView;
+    private WeekGridView scheduleGrid;
     private TextView tvEmptyState;
 
     // Data
@@ -77,9 +85,17 @@ public class ScheduleGridFragment extends Fragment {
     private List<Court> courts = new ArrayList<>();
     private List<Team> teams = new ArrayList<>();
     private List<Training> trainings = new ArrayList<>();
+    // Only the shown week is subscribed; the repository prefetches the weeks around it
+    private LiveData<List<Training>> weekTrainings;
+    private DateWindow observedWeek;
+    private final Observer<List<Training>> trainingsObserver = this::onTrainingsLoaded;
+    private List<TrainingSeries> series = new ArrayList<>();
+    // Booked cells of the selected court in the shown week, rebuilt with the grid
+    private final OccupancyGrid weekOccupancy = new OccupancyGrid();
     private com.example.testapp.models.User currentUser;
     private boolean isReadOnlyMode = false;
     private boolean userLoaded = false; // Track if user was loaded to prevent showing all trainings before filtering
+    private boolean awaitingTimetable = false; // Only a plan requested from this screen opens the preview
 
     // Adapter
     private Schedule2DAdapter adapter2D;
@@ -110,17 +126,17 @@ public class ScheduleGridFragment extends Fragment {
             btnPreviousWeek = view.findViewById(R.id.btnPreviousWeek);
             btnNextWeek = view.findViewById(R.id.btnNextWeek);
             btnToggleDayView = view.findViewById(R.id.btnToggleDayView);
+            btnAutoSchedule = view.findViewById(R.id.btnAutoSchedule);
             tvWeekDisplay = view.findViewById(R.id.tvWeekDisplay);
             tvSelectedDay = view.findViewById(R.id.tvSelectedDay);
-            scheduleTable = view.findViewById(R.id.scheduleTable);
-            verticalScrollView = view.findViewById(R.id.verticalScrollView);
-            horizontalScrollView = view.findViewById(R.id.horizontalScrollView);
+            scheduleGrid = view.findViewById(R.id.scheduleGrid);
             tvEmptyState = view.findViewById(R.id.tvEmptyState);
 
             android.util.Log.d("ScheduleGridFragment", "All views initialized successfully");
 
             // Initialize repository
-            trainingRepository = new TrainingRepository();
+            trainingRepository = TrainingRepository.getInstance();
+            trainingRepository.startListening();
 
             // Set week to current week
             weekStartDate = Calendar.getInstance();
@@ -128,7 +144,7 @@ public class ScheduleGridFragment extends Fragment {
             selectedDayIndex = weekStartDate.get(Calendar.DAY_OF_WEEK) - Calendar.SUNDAY; // default to Sunday of that week
 
             // Setup 2D Adapter
-            adapter2D = new Schedule2DAdapter(getContext(), scheduleTable, weekStartDate);
+            adapter2D = new Schedule2DAdapter(getContext(), scheduleGrid, weekStartDate);
             
             // Set slot click listener - show team selection dialog
             adapter2D.setSlotClickListener(timeSlot -> {
@@ -162,6 +178,15 @@ public class ScheduleGridFragment extends Fragment {
         }
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (trainingRepository != null) {
+            trainingRepository.stopListening();
+            trainingRepository = null;
+        }
+    }
+
     @Override
     public void onResume() {
         super.onResume();
@@ -183,33 +208,24 @@ public class ScheduleGridFragment extends Fragment {
             return;
         }
 
-        com.google.firebase.database.FirebaseDatabase.getInstance()
-                .getReference("users")
-                .child(userId)
-                .addListenerForSingleValueEvent(new com.google.firebase.database.ValueEventListener() {
-                    @Override
-                    public void onDataChange(com.google.firebase.database.DataSnapshot snapshot) {
-                        currentUser = snapshot.getValue(com.example.testapp.models.User.class);
-                        if (currentUser != null) {
-                            android.util.Log.d("ScheduleGridFragment", "User loaded: " + currentUser.getName() + ", isPlayer: " + currentUser.isPlayer() + ", teams: " + (currentUser.getTeamIds() != null ? currentUser.getTeamIds().size() : 0));
-                            // Only ADMIN and COORDINATOR can edit
-                            isReadOnlyMode = !canEditSchedule();
-                            userLoaded = true; // Mark user as loaded
-                            updateUIForPermissions();
-                            // Refresh grid to apply proper filtering based on user role
-                            refreshScheduleGrid();
-                        } else {
-                            isReadOnlyMode = true;
-                            userLoaded = true; // Mark as loaded even if null
-                        }
-                    }
-
-                    @Override
-                    public void onCancelled(com.google.firebase.database.DatabaseError error) {
-                        android.util.Log.e("ScheduleGrid", "Failed to load user: " + error.getMessage());
-                        isReadOnlyMode = true;
-                    }
-                });
+        SessionManager.getInstance().getUser(user -> {
+            if (getView() == null) {
+                return;
+            }
+            currentUser = user;
+            if (currentUser != null) {
+                android.util.Log.d("ScheduleGridFragment", "User loaded: " + currentUser.getName() + ", isPlayer: " + currentUser.isPlayer() + ", teams: " + (currentUser.getTeamIds() != null ? currentUser.getTeamIds().size() : 0));
+                // Only ADMIN and COORDINATOR can edit
+                isReadOnlyMode = !canEditSchedule();
+                userLoaded = true; // Mark user as loaded
+                updateUIForPermissions();
+                // Refresh grid to apply proper filtering based on user role
+                refreshScheduleGrid();
+            } else {
+                isReadOnlyMode = true;
+                userLoaded = true; // Mark as loaded even if null
+            }
+        });
     }
 
     /**
@@ -226,6 +242,7 @@ public class ScheduleGridFragment extends Fragment {
         if (getView() == null) return;
         
         // Hide edit functionality for read-only users
+        btnAutoSchedule.setVisibility(isReadOnlyMode ? View.GONE : View.VISIBLE);
         if (isReadOnlyMode) {
             // Remove click listeners for adding trainings
             adapter2D.setSlotClickListener(null);
@@ -276,24 +293,24 @@ public class ScheduleGridFragment extends Fragment {
                 }
             });
 
-            // Observe trainings
-            trainingViewModel.getTrainings().observe(getViewLifecycleOwner(), trainingList -> {
-                try {
-                    if (trainingList != null) {
-                        trainings = trainingList;
-                        android.util.Log.d("ScheduleGridFragment", "Trainings loaded: " + trainings.size() + " total");
-                        for (Training t : trainings) {
-                            android.util.Log.d("ScheduleGridFragment", "  - " + t.getTeamName() + " at " + t.getStartTime() + " on court " + t.getCourtId());
-                        }
-                        // Only refresh grid if user was already loaded to prevent showing unfiltered trainings
-                        if (userLoaded) {
-                            refreshScheduleGrid();
-                        } else {
-                            android.util.Log.d("ScheduleGridFragment", "User not loaded yet, skipping refresh");
-                        }
+            // Observe trainings of the shown week
+            observeVisibleWeek();
+
+            // Plans of the automatic timetable, solved in the background
+            trainingViewModel.getTimetablePlan().observe(getViewLifecycleOwner(), plan -> {
+                if (plan != null && awaitingTimetable) {
+                    awaitingTimetable = false;
+                    showTimetablePlan(plan);
+                }
+            });
+
+            // Observe recurring series - only the displayed week is expanded
+            trainingViewModel.getSeries().observe(getViewLifecycleOwner(), seriesList -> {
+                if (seriesList != null) {
+                    series = seriesList;
+                    if (userLoaded) {
+                        refreshScheduleGrid();
                     }
-                } catch (Exception e) {
-                    android.util.Log.e("ScheduleGrid", "Error in trainings observer", e);
                 }
             });
         } catch (Exception e) {
@@ -352,6 +369,196 @@ public class ScheduleGridFragment extends Fragment {
             updateSelectedDayLabel();
             refreshScheduleGrid();
         });
+
+        btnAutoSchedule.setOnClickListener(v -> showAutoScheduleDialog());
+    }
+
+    /**
+     * Asks how often every team trains and solves a weekly timetable for all teams and courts,
+     * around the trainings and series already booked in the shown week.
+     */
+    private void showAutoScheduleDialog() {
+        if (teams.isEmpty() || courts.isEmpty()) {
+            Toast.makeText(getContext(), "אין קבוצות או מגרשים לשיבוץ", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        final int[][] options = {{2, 90}, {3, 90}, {2, 60}, {3, 60}};
+        String[] labels = new String[options.length];
+        for (int i = 0; i < options.length; i++) {
+            labels[i] = options[i][0] + " אימונים בשבוע × " + options[i][1] + " דקות";
+        }
+        new AlertDialog.Builder(requireContext())
+                .setTitle("שיבוץ אוטומטי לכל הקבוצות")
+                .setItems(labels, (dialog, which) -> planTimetable(options[which][0], options[which][1]))
+                .setNegativeButton("ביטול", null)
+                .show();
+    }
+
+    private void planTimetable(int sessionsPerWeek, int durationMinutes) {
+        List<TimetableSolver.Demand> demands = new ArrayList<>();
+        Map<String, String> coachOfTeam = new HashMap<>();
+        for (Team team : teams) {
+            demands.add(new TimetableSolver.Demand(team, sessionsPerWeek, durationMinutes));
+            coachOfTeam.put(team.getTeamId(), team.getCoachId());
+        }
+        TimetableSolver solver = new TimetableSolver(courts, demands);
+
+        long weekStart = weekStartDate.getTimeInMillis();
+        long weekEnd = weekStart + 7L * 24 * 60 * 60 * 1000;
+        List<Training> booked = new ArrayList<>(trainings);
+        booked.addAll(TrainingSeries.expandAll(series, weekStart, weekEnd));
+        for (Training training : booked) {
+            int start = training.getStartMinutes();
+            int end = training.getEndMinutes();
+            if (start < 0 || end <= start) {
+                continue;
+            }
+            int dayOfWeek = DateUtils.getDayOfWeekOfEpochDay(training.getEpochDay());
+            solver.blockCourt(training.getCourtId(), dayOfWeek, start, end);
+            solver.blockCoach(coachOfTeam.get(training.getTeamId()), dayOfWeek, start, end);
+        }
+
+        awaitingTimetable = true;
+        Toast.makeText(getContext(), "בונה מערכת שבועית...", Toast.LENGTH_SHORT).show();
+        trainingViewModel.planTimetable(solver);
+    }
+
+    private void showTimetablePlan(TimetableSolver.Plan plan) {
+        if (plan.getSessions().isEmpty()) {
+            showNoPlacementFound();
+            return;
+        }
+        String[] days = {"ראשון", "שני", "שלישי", "רביעי", "חמישי", "שישי", "שבת"};
+        StringBuilder message = new StringBuilder();
+        int shownDay = 0;
+        for (TimetableSolver.Session session : plan.getSessions()) {
+            if (session.getDayOfWeek() != shownDay) {
+                shownDay = session.getDayOfWeek();
+                message.append(message.length() > 0 ? "\n" : "").append("יום ").append(days[shownDay - 1]).append(":\n");
+            }
+            message.append("• ").append(TimeOfDay.format(session.getStartMinutes())).append("-")
+                    .append(TimeOfDay.format(session.getEndMinutes())).append(" ")
+                    .append(session.getCourt().getName()).append(" - ").append(session.getTeam().getName()).append("\n");
+        }
+        if (!plan.isComplete()) {
+            message.append("\n⚠️ ").append(plan.getUnplaced().size()).append(" אימונים לא שובצו:\n");
+            for (TimetableSolver.Demand demand : plan.getUnplaced()) {
+                message.append("• ").append(demand.getTeam().getName()).append("\n");
+            }
+        }
+
+        new AlertDialog.Builder(requireContext())
+                .setTitle("הצעת מערכת: " + plan.getSessions().size() + " אימונים")
+                .setMessage(message.toString().trim())
+                .setPositiveButton("צור סדרות", (dialog, which) -> askTimetableWeeks(plan))
+                .setNegativeButton("ביטול", null)
+                .show();
+    }
+
+    private void askTimetableWeeks(TimetableSolver.Plan plan) {
+        final EditText input = new EditText(requireContext());
+        input.setInputType(android.text.InputType.TYPE_CLASS_NUMBER);
+        input.setHint("מספר שבועות");
+        new AlertDialog.Builder(requireContext())
+                .setTitle("למשך כמה שבועות?")
+                .setView(input)
+                .setPositiveButton("צור", (dialog, which) -> {
+                    String numWeeksStr = input.getText().toString();
+                    if (!numWeeksStr.isEmpty() && Integer.parseInt(numWeeksStr) > 0) {
+                        createTimetableSeries(plan, Integer.parseInt(numWeeksStr));
+                    }
+                })
+                .setNegativeButton("ביטול", null)
+                .show();
+    }
+
+    /**
+     * Books every session of the plan as a weekly series starting in the shown week.
+     */
+    private void createTimetableSeries(TimetableSolver.Plan plan, int numWeeks) {
+        if (plan.getSessions().isEmpty()) {
+            // Nothing would be booked and no result would ever be shown
+            showNoPlacementFound();
+            return;
+        }
+        final int[] pending = {plan.getSessions().size()};
+        final int[] booked = {0};
+        List<String> skipped = new ArrayList<>();
+        long firstDay = DateUtils.getEpochDay(weekStartDate.getTimeInMillis());
+        String userId = FirebaseAuth.getInstance().getCurrentUser() != null ?
+                FirebaseAuth.getInstance().getCurrentUser().getUid() : null;
+
+        for (TimetableSolver.Session session : plan.getSessions()) {
+            long sessionDay = firstDay + (session.getDayOfWeek() - DateUtils.getDayOfWeekOfEpochDay(firstDay) + 7) % 7;
+            Training template = session.toTraining(DateUtils.getStartOfEpochDay(sessionDay));
+            template.setCreatedBy(userId);
+            // A series starts the week after the date it is given
+            long fromDate = DateUtils.getStartOfEpochDay(sessionDay - 7);
+            trainingRepository.createSeries(template, session.getCourt(), fromDate, numWeeks,
+                new TrainingRepository.OnDuplicationCompleteListener() {
+                    @Override
+                    public void onComplete(List<String> skippedReasons, int successCount, int totalWeeks) {
+                        booked[0] += successCount > 0 ? 1 : 0;
+                        for (String reason : skippedReasons) {
+                            skipped.add(session.getTeam().getName() + ": " + reason);
+                        }
+                        onTimetableSeriesDone();
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        skipped.add(session.getTeam().getName() + ": " + error);
+                        onTimetableSeriesDone();
+                    }
+
+                    private void onTimetableSeriesDone() {
+                        if (--pending[0] == 0 && isAdded()) {
+                            showDuplicationResult(skipped, booked[0], plan.getSessions().size());
+                        }
+                    }
+                });
+        }
+    }
+
+    private void showNoPlacementFound() {
+        Toast.makeText(getContext(), "לא נמצא שיבוץ לאף קבוצה בשעות הפתיחה של המגרשים", Toast.LENGTH_LONG).show();
+    }
+
+    private void onTrainingsLoaded(List<Training> trainingList) {
+        try {
+            if (trainingList != null) {
+                trainings = trainingList;
+                android.util.Log.d("ScheduleGridFragment", "Trainings loaded: " + trainings.size() + " in week");
+                // Only refresh grid if user was already loaded to prevent showing unfiltered trainings
+                if (userLoaded) {
+                    refreshScheduleGrid();
+                } else {
+                    android.util.Log.d("ScheduleGridFragment", "User not loaded yet, skipping refresh");
+                }
+            }
+        } catch (Exception e) {
+            android.util.Log.e("ScheduleGrid", "Error in trainings observer", e);
+        }
+    }
+
+    /**
+     * Moves the trainings subscription to the week in weekStartDate.
+     * Returns true if the new week was already prefetched and its observer redrew the grid.
+     */
+    private boolean observeVisibleWeek() {
+        DateWindow week = DateWindow.week(weekStartDate.getTimeInMillis());
+        if (week.equals(observedWeek)) {
+            return false;
+        }
+        if (weekTrainings != null) {
+            weekTrainings.removeObserver(trainingsObserver);
+        }
+        observedWeek = week;
+        trainings = new ArrayList<>();
+        weekTrainings = trainingViewModel.getTrainingsInWindow(week);
+        boolean prefetched = weekTrainings.getValue() != null;
+        weekTrainings.observe(getViewLifecycleOwner(), trainingsObserver);
+        return prefetched && userLoaded;
     }
 
     /**
@@ -409,20 +616,26 @@ public class ScheduleGridFragment extends Fragment {
         try {
             if (selectedCourt == null) {
                 tvEmptyState.setVisibility(View.VISIBLE);
-                scheduleTable.setVisibility(View.GONE);
+                scheduleGrid.setVisibility(View.GONE);
             }
 
             tvEmptyState.setVisibility(View.GONE);
-            scheduleTable.setVisibility(View.VISIBLE);
+            scheduleGrid.setVisibility(View.VISIBLE);
 
             // Guard against null selectedCourt
             if (selectedCourt == null) {
                 android.util.Log.w("ScheduleGrid", "refreshScheduleGrid called but selectedCourt is null");
                 return;
             }
+            if (observeVisibleWeek()) {
+                return;
+            }
 
             // Filter trainings for player: show only their teams
             List<Training> visibleTrainings = new ArrayList<>(trainings);
+            Calendar weekEnd = (Calendar) weekStartDate.clone();
+            weekEnd.add(Calendar.DAY_OF_YEAR, 7);
+            visibleTrainings.addAll(TrainingSeries.expandAll(series, weekStartDate.getTimeInMillis(), weekEnd.getTimeInMillis()));
             if (currentUser != null && currentUser.isPlayer()) {
                 List<String> allowedTeams = currentUser.getTeamIds();
                 visibleTrainings.removeIf(t -> t.getTeamId() == null || !allowedTeams.contains(t.getTeamId()));
@@ -434,23 +647,20 @@ public class ScheduleGridFragment extends Fragment {
             // Log all trainings for debugging
             for (Training t : visibleTrainings) {
                 if (t.getCourtId() != null && t.getCourtId().equals(selectedCourt.getCourtId())) {
-                    android.util.Log.d("ScheduleGrid", "Court training: " + t.getTeamName() + " at " + t.getStartTime() + "-" + t.getEndTime() + " on " + new java.text.SimpleDateFormat("yyyy-MM-dd", java.util.Locale.getDefault()).format(new java.util.Date(t.getDate())));
+                    android.util.Log.d("ScheduleGrid", "Court training: " + t.getTeamName() + " at " + t.getStartTime() + "-" + t.getEndTime() + " on day " + t.getEpochDay());
                 }
             }
 
-            // Pre-filter trainings for selected court and bucket them per day to reduce repeated scans
-            Map<Integer, List<Training>> trainingsByDayIndex = new HashMap<>();
-            for (Training t : visibleTrainings) {
-                if (t.getCourtId() == null || !t.getCourtId().equals(selectedCourt.getCourtId())) {
-                    continue;
-                }
-                for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
-                    Calendar day = (Calendar) weekStartDate.clone();
-                    day.add(Calendar.DAY_OF_YEAR, dayIndex);
-                    if (isSameDay(day.getTimeInMillis(), t.getDate())) {
-                        trainingsByDayIndex.computeIfAbsent(dayIndex, k -> new ArrayList<>()).add(t);
-                        break;
-                    }
+            // Pre-filter trainings for selected court and bucket them per day by their epoch day
+            long firstDay = DateUtils.getEpochDay(weekStartDate.getTimeInMillis());
+            Map<Integer, List<Training>> trainingsByDayIndex =
+                    ScheduleBuckets.byDayIndex(visibleTrainings, selectedCourt.getCourtId(), firstDay);
+
+            // Index the shown week once; every cell below is then a bit test
+            weekOccupancy.clear();
+            for (List<Training> dayTrainings : trainingsByDayIndex.values()) {
+                for (Training training : dayTrainings) {
+                    weekOccupancy.put(training.getTrainingId(), training);
                 }
             }
 
@@ -462,14 +672,12 @@ public class ScheduleGridFragment extends Fragment {
                 if (isDayView && dayIndex != selectedDayIndex) {
                     continue;
                 }
-                Calendar day = (Calendar) weekStartDate.clone();
-                day.add(Calendar.DAY_OF_YEAR, dayIndex);
-                int dayOfWeek = day.get(Calendar.DAY_OF_WEEK);
+                int dayOfWeek = DateUtils.getDayOfWeekOfEpochDay(firstDay + dayIndex);
                 DaySchedule daySchedule = selectedCourt.getScheduleForDay(dayOfWeek);
                 
                 if (daySchedule != null && daySchedule.isActive()) {
-                    int dayStart = timeToMinutes(daySchedule.getOpeningHour());
-                    int dayEnd = timeToMinutes(daySchedule.getClosingHour());
+                    int dayStart = daySchedule.getOpeningMinutes();
+                    int dayEnd = daySchedule.getClosingMinutes();
                     if (dayStart >= 0) globalMinStart = Math.min(globalMinStart, dayStart);
                     if (dayEnd >= 0) globalMaxEnd = Math.max(globalMaxEnd, dayEnd);
                 }
@@ -481,16 +689,14 @@ public class ScheduleGridFragment extends Fragment {
 
             // Generate all time slots for the week
             List<TimeSlot> allTimeSlots = new ArrayList<>();
-            Map<String, Training> trainingBySlot = new HashMap<>();
 
             // Generate days (all week or single day)
             for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
                 if (isDayView && dayIndex != selectedDayIndex) {
                     continue;
                 }
-                Calendar day = (Calendar) weekStartDate.clone();
-                day.add(Calendar.DAY_OF_YEAR, dayIndex);
-                int dayOfWeek = day.get(Calendar.DAY_OF_WEEK);
+                long epochDay = firstDay + dayIndex;
+                int dayOfWeek = DateUtils.getDayOfWeekOfEpochDay(epochDay);
                 DaySchedule courtDaySchedule = selectedCourt.getScheduleForDay(dayOfWeek);
                 List<Training> dayTrainings = trainingsByDayIndex.getOrDefault(dayIndex, new ArrayList<>());
 
@@ -499,32 +705,18 @@ public class ScheduleGridFragment extends Fragment {
                 // Show slots if: court is active OR there are trainings to display
                 if ((courtDaySchedule != null && courtDaySchedule.isActive()) || !dayTrainings.isEmpty()) {
                     android.util.Log.d("ScheduleGridFragment", "Generating slots for day " + dayIndex);
-                    List<TimeSlot> daySlotsraw = generateTimeSlotsForDay(selectedCourt, courtDaySchedule, day, dayTrainings, globalMinStart, globalMaxEnd);
+                    List<TimeSlot> daySlotsraw = generateTimeSlotsForDay(selectedCourt, courtDaySchedule, epochDay, dayTrainings, globalMinStart, globalMaxEnd);
                     android.util.Log.d("ScheduleGridFragment", "Generated " + daySlotsraw.size() + " slots for day " + dayIndex);
                     allTimeSlots.addAll(daySlotsraw);
-
-                    // Map trainings to their overlapping 30-minute slots without scanning all trainings repeatedly
-                    for (Training training : dayTrainings) {
-                        int trainingStartMin = timeToMinutes(training.getStartTime());
-                        int trainingEndMin = timeToMinutes(training.getEndTime());
-                        if (trainingStartMin < 0 || trainingEndMin < 0) continue;
-
-                        int startRounded = (trainingStartMin / TIME_SLOT_DURATION) * TIME_SLOT_DURATION;
-                        int endRounded = ((trainingEndMin + TIME_SLOT_DURATION - 1) / TIME_SLOT_DURATION) * TIME_SLOT_DURATION;
-                        for (int m = startRounded; m < endRounded; m += TIME_SLOT_DURATION) {
-                            String slotKey = minutesToTime(m) + "_" + dayIndex;
-                            trainingBySlot.put(slotKey, training);
-                        }
-                    }
                 }
             }
 
-            android.util.Log.d("ScheduleGrid", "Total time slots: " + allTimeSlots.size() + ", Populated slots: " + trainingBySlot.size());
+            android.util.Log.d("ScheduleGrid", "Total time slots: " + allTimeSlots.size() + ", Indexed trainings: " + weekOccupancy.size());
 
-            // Recreate adapter with new week start date for proper day column headers
-            adapter2D = new Schedule2DAdapter(getContext(), scheduleTable, (Calendar) weekStartDate.clone());
+            // Move the grid to the shown week; the view is redrawn, not rebuilt
+            adapter2D.setWeekStart(weekStartDate);
 
-            // Re-attach occupied slot listener (new adapter instance loses previous listener)
+            // Re-attach occupied slot listener for the current permissions
             if (isReadOnlyMode) {
                 adapter2D.setOccupiedSlotListener(timeSlot -> {
                     if (timeSlot != null && timeSlot.getTraining() != null) {
@@ -570,8 +762,8 @@ public class ScheduleGridFragment extends Fragment {
             }
             // Note: occupiedSlotListener is set once in onViewCreated/loadCurrentUser - don't override it here
 
-            android.util.Log.d("ScheduleGrid", "Before updateData: allTimeSlots=" + (allTimeSlots != null ? allTimeSlots.size() : "null") + ", trainingBySlot=" + (trainingBySlot != null ? trainingBySlot.size() : "null"));
-            adapter2D.updateData(allTimeSlots, trainingBySlot);
+            android.util.Log.d("ScheduleGrid", "Before updateData: allTimeSlots=" + allTimeSlots.size() + ", indexed trainings=" + weekOccupancy.size());
+            adapter2D.updateData(allTimeSlots, weekOccupancy);
             android.util.Log.d("ScheduleGrid", "After updateData");
             updateWeekDisplay();
         } catch (Exception e) {
@@ -584,7 +776,7 @@ public class ScheduleGridFragment extends Fragment {
     /**
      * Generate 30-minute time slots for one day.
      */
-    private List<TimeSlot> generateTimeSlotsForDay(Court court, DaySchedule daySchedule, Calendar day, List<Training> dayTrainings, int globalMinStart, int globalMaxEnd) {
+    private List<TimeSlot> generateTimeSlotsForDay(Court court, DaySchedule daySchedule, long epochDay, List<Training> dayTrainings, int globalMinStart, int globalMaxEnd) {
         List<TimeSlot> timeSlots = new ArrayList<>();
 
         boolean dayActive = daySchedule != null && daySchedule.isActive();
@@ -599,71 +791,24 @@ public class ScheduleGridFragment extends Fragment {
         int scheduleEnd = globalMaxEnd;
 
         // Generate 30-minute slots across the computed window (including the end time)
+        long dayStart = DateUtils.getStartOfEpochDay(epochDay);
         for (int minutes = scheduleStart; minutes <= scheduleEnd - TIME_SLOT_DURATION; minutes += TIME_SLOT_DURATION) {
-            String startTime = minutesToTime(minutes);
-            String endTime = minutesToTime(minutes + TIME_SLOT_DURATION);
+            String startTime = TimeOfDay.format(minutes);
+            String endTime = TimeOfDay.format(minutes + TIME_SLOT_DURATION);
 
             TimeSlot slot = new TimeSlot(court.getCourtId(), court.getName(),
-                    startTime, endTime, day.getTimeInMillis());
-
-            timeSlots.add(slot);
-        }
-
-        // Mark occupied slots based on trainings (covers trainings outside original schedule window)
-        markOccupiedSlots(timeSlots, court.getCourtId(), day.getTimeInMillis(), dayTrainings);
+                    startTime, endTime, dayStart);
 
-        return timeSlots;
-    }
-
-    /**
-     * Mark which time slots are occupied by trainings.
-     */
-    private void markOccupiedSlots(List<TimeSlot> timeSlots, String courtId, long targetDate, List<Training> dayTrainings) {
-        Calendar targetCal = Calendar.getInstance();
-        targetCal.setTimeInMillis(targetDate);
-        targetCal.set(Calendar.HOUR_OF_DAY, 0);
-        targetCal.set(Calendar.MINUTE, 0);
-        targetCal.set(Calendar.SECOND, 0);
-        targetCal.set(Calendar.MILLISECOND, 0);
-        long startOfDay = targetCal.getTimeInMillis();
-
-        targetCal.set(Calendar.HOUR_OF_DAY, 23);
-        targetCal.set(Calendar.MINUTE, 59);
-        targetCal.set(Calendar.SECOND, 59);
-        targetCal.set(Calendar.MILLISECOND, 999);
-        long endOfDay = targetCal.getTimeInMillis();
-
-        // Find trainings for this court/day
-        for (Training training : dayTrainings) {
-            if (training.getCourtId() == null || !training.getCourtId().equals(courtId)) {
-                continue;
+            // Mark occupied slots from the week's occupancy (covers trainings outside original schedule window)
+            Training training = weekOccupancy.findOverlap(court.getCourtId(), epochDay, minutes, minutes + TIME_SLOT_DURATION);
+            if (training != null) {
+                slot.setTraining(training);
             }
 
-            int trainingStart = timeToMinutes(training.getStartTime());
-            int trainingEnd = timeToMinutes(training.getEndTime());
-
-            // Mark all slots that overlap with this training
-            for (TimeSlot slot : timeSlots) {
-                int slotStart = timeToMinutes(slot.getStartTime());
-                int slotEnd = timeToMinutes(slot.getEndTime());
-
-                if (slotStart < trainingEnd && slotEnd > trainingStart) {
-                    slot.setTraining(training);
-                }
-            }
+            timeSlots.add(slot);
         }
-    }
 
-    /**
-     * Get team name by ID.
-     */
-    private String getTeamNameById(String teamId) {
-        for (Team team : teams) {
-            if (team.getTeamId() != null && team.getTeamId().equals(teamId)) {
-                return team.getName();
-            }
-        }
-        return "Unknown Team";
+        return timeSlots;
     }
 
     /**
@@ -723,30 +868,6 @@ public class ScheduleGridFragment extends Fragment {
         }
     }
 
-    /**
-     * Show court selection dialog.
-     */
-    private void showCourtSelectionDialog() {
-        if (courts.isEmpty()) {
-            Toast.makeText(getContext(), "No courts available", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        String[] courtNames = new String[courts.size()];
-        for (int i = 0; i < courts.size(); i++) {
-            courtNames[i] = courts.get(i).getName();
-        }
-
-        new AlertDialog.Builder(requireContext())
-                .setTitle("Select Court")
-                .setItems(courtNames, (dialog, which) -> {
-                    selectedCourt = courts.get(which);
-                    tvSelectedCourt.setText(selectedCourt.getName());
-                    refreshScheduleGrid();
-                })
-                .show();
-    }
-
     /**
      * Show team selection dialog with custom time selection.
      */
@@ -780,11 +901,11 @@ public class ScheduleGridFragment extends Fragment {
             slotCal.setTimeInMillis(slotDate);
             int dayOfWeek = slotCal.get(Calendar.DAY_OF_WEEK);
             
-            int slotStartMinutes = timeToMinutesSafe(timeSlot.getStartTime());
+            int slotStartMinutes = timeSlot.getStartMinutes();
             // If endTime is null, calculate it as startTime + 30 minutes (slot duration)
             int slotEndMinutes;
             if (timeSlot.getEndTime() != null) {
-                slotEndMinutes = timeToMinutesSafe(timeSlot.getEndTime());
+                slotEndMinutes = timeSlot.getEndMinutes();
             } else {
                 slotEndMinutes = slotStartMinutes + TIME_SLOT_DURATION; // 30 minutes
             }
@@ -938,14 +1059,14 @@ public class ScheduleGridFragment extends Fragment {
      * Show Android TimePickerDialog.
      */
     private void showCustomTimePicker(String currentTime, TimePickerCallback callback) {
-        String[] timeParts = currentTime.split(":");
-        int hour = Integer.parseInt(timeParts[0]);
-        int minute = Integer.parseInt(timeParts[1]);
+        TimeOfDay current = TimeOfDay.parse(currentTime);
+        int hour = current != null ? current.getHour() : 0;
+        int minute = current != null ? current.getMinute() : 0;
 
         TimePickerDialog timePickerDialog = new TimePickerDialog(
                 requireContext(),
                 (view, hourOfDay, minuteOfDay) -> {
-                    String time = String.format(Locale.getDefault(), "%02d:%02d", hourOfDay, minuteOfDay);
+                    String time = TimeOfDay.of(hourOfDay, minuteOfDay).toString();
                     callback.onTimePicked(time);
                 },
                 hour,
@@ -959,18 +1080,18 @@ public class ScheduleGridFragment extends Fragment {
      * Get default end time (start + 90 minutes).
      */
     private String getDefaultEndTime(String startTime) {
-        int startMinutes = timeToMinutes(startTime);
+        int startMinutes = TimeOfDay.toMinutes(startTime);
         int endMinutes = startMinutes + 90; // Default 90 minutes duration
-        return minutesToTime(endMinutes);
+        return TimeOfDay.format(endMinutes);
     }
 
     /**
      * Validate that end time is after start time.
      */
     private boolean isValidTimeRange(String startTime, String endTime) {
-        int startMinutes = timeToMinutes(startTime);
-        int endMinutes = timeToMinutes(endTime);
-        return endMinutes > startMinutes;
+        int startMinutes = TimeOfDay.toMinutes(startTime);
+        int endMinutes = TimeOfDay.toMinutes(endTime);
+        return startMinutes >= 0 && endMinutes > startMinutes;
     }
 
     /**
@@ -1017,19 +1138,34 @@ public class ScheduleGridFragment extends Fragment {
         }
 
         try {
-            // Validate that the training time is within court operating hours
-            if (selectedCourt != null) {
+            // Validate that the training time is within the operating hours of the slot's court,
+            // which is another court than the shown one when an alternative was picked
+            Court slotCourt = findCourtById(baseTimeSlot.getCourtId());
+            if (slotCourt == null) {
+                slotCourt = selectedCourt;
+            }
+            if (slotCourt != null) {
                 Calendar trainingCal = Calendar.getInstance();
                 trainingCal.setTimeInMillis(baseTimeSlot.getDate());
                 int dayOfWeek = trainingCal.get(Calendar.DAY_OF_WEEK);
                 
-                int startMinutes = timeToMinutes(startTime);
-                int endMinutes = timeToMinutes(endTime);
+                int startMinutes = TimeOfDay.toMinutes(startTime);
+                int endMinutes = TimeOfDay.toMinutes(endTime);
                 
-                if (!isWithinCourtHours(selectedCourt, dayOfWeek, startMinutes, endMinutes)) {
+                if (!isWithinCourtHours(slotCourt, dayOfWeek, startMinutes, endMinutes)) {
                     // Error message is already shown by isWithinCourtHours method
                     return;
                 }
+
+                // Answer from the shown week right away; the repository still checks the database
+                Training clash = weekOccupancy.findOverlap(slotCourt.getCourtId(),
+                        DateUtils.getEpochDay(trainingDate), startMinutes, endMinutes);
+                if (clash != null) {
+                    offerFreeSlots(selectedTeam, trainingDate, endMinutes - startMinutes,
+                            "קיימת התנגשות עם אימון אחר (קבוצה: " + clash.getTeamName() +
+                            ", זמן: " + clash.getStartTime() + "-" + clash.getEndTime() + ")");
+                    return;
+                }
             }
             
             Training training = new Training();
@@ -1080,6 +1216,50 @@ public class ScheduleGridFragment extends Fragment {
         }
     }
 
+    /**
+     * Explains why the chosen time can't be booked and offers the team's nearest free
+     * windows of the same length on any court, from that day on.
+     */
+    private void offerFreeSlots(Team team, long date, int durationMinutes, String reason) {
+        long from = Math.max(DateUtils.getStartOfEpochDay(DateUtils.getEpochDay(date)), System.currentTimeMillis());
+        long to = DateUtils.getStartOfEpochDay(DateUtils.getEpochDay(date) + 7);
+        FreeSlotFinder.Query query = new FreeSlotFinder.Query(team.getTeamId(), durationMinutes, from, to).setLimit(8);
+        trainingRepository.findFreeSlots(query, courts, new TrainingRepository.OnFreeSlotsListener() {
+            @Override
+            public void onFreeSlots(List<TimeSlot> slots) {
+                if (getContext() == null) {
+                    return;
+                }
+                if (slots.isEmpty()) {
+                    Toast.makeText(getContext(), reason, Toast.LENGTH_LONG).show();
+                    return;
+                }
+                SimpleDateFormat dayFormat = new SimpleDateFormat("EEEE dd/MM", new Locale("he", "IL"));
+                String[] items = new String[slots.size()];
+                for (int i = 0; i < slots.size(); i++) {
+                    TimeSlot slot = slots.get(i);
+                    items[i] = dayFormat.format(slot.getDate()) + " · " + slot.getCourtName()
+                            + " · " + slot.getStartTime() + "-" + slot.getEndTime();
+                }
+                new AlertDialog.Builder(requireContext())
+                    .setTitle(reason)
+                    .setItems(items, (dialog, which) -> {
+                        TimeSlot slot = slots.get(which);
+                        scheduleTrainingWithCustomTimes(slot, team, slot.getStartTime(), slot.getEndTime());
+                    })
+                    .setNegativeButton("ביטול", null)
+                    .show();
+            }
+
+            @Override
+            public void onError(String error) {
+                if (getContext() != null) {
+                    Toast.makeText(getContext(), reason, Toast.LENGTH_LONG).show();
+                }
+            }
+        });
+    }
+
     /**
      * Find court by ID.
      */
@@ -1092,37 +1272,43 @@ public class ScheduleGridFragment extends Fragment {
         return null;
     }
 
-    /**
-     * Convert time string (HH:mm) to minutes since midnight.
-     */
-    private int timeToMinutes(String time) {
-        String[] parts = time.split(":");
-        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
-    }
-
-    /**
-     * Convert minutes since midnight to time string (HH:mm).
-     */
-    private String minutesToTime(int minutes) {
-        int hours = minutes / 60;
-        int mins = minutes % 60;
-        return String.format(Locale.getDefault(), "%02d:%02d", hours, mins);
-    }
-
     /**
      * Show dialog to edit or delete existing training
      */
     private void showEditTrainingDialog(Training training, long slotDate) {
-        new AlertDialog.Builder(requireContext())
+        AlertDialog.Builder builder = new AlertDialog.Builder(requireContext())
                 .setTitle("עריכת אימון")
                 .setMessage("קבוצה: " + training.getTeamName() + "\n" +
                            "שעות: " + training.getStartTime() + " - " + training.getEndTime())
-                .setPositiveButton("שכפל לשבועות קדימה", (dialog, which) -> {
-                    duplicateToFutureWeeks(training, slotDate);
-                })
                 .setNeutralButton("מחק", (dialog, which) -> {
                     deleteTraining(training);
                 })
+                .setNegativeButton("ביטול", null);
+        String seriesId = TrainingSeries.seriesIdOf(training.getTrainingId());
+        if (seriesId != null) {
+            // A series already repeats every week; offer to remove all of it instead
+            builder.setPositiveButton("מחק את כל הסדרה", (dialog, which) -> {
+                confirmDeleteSeries(training, seriesId);
+            });
+        } else {
+            builder.setPositiveButton("שכפל לשבועות קדימה", (dialog, which) -> {
+                duplicateToFutureWeeks(training, slotDate);
+            });
+        }
+        builder.show();
+    }
+
+    /**
+     * Delete every week of a series, after confirmation
+     */
+    private void confirmDeleteSeries(Training occurrence, String seriesId) {
+        new AlertDialog.Builder(requireContext())
+                .setTitle("מחיקת סדרה")
+                .setMessage("למחוק את כל האימונים השבועיים של " + occurrence.getTeamName() + "?")
+                .setPositiveButton("מחק", (dialog, which) -> {
+                    trainingViewModel.deleteSeries(seriesId);
+                    Toast.makeText(getContext(), "הסדרה נמחקה", Toast.LENGTH_SHORT).show();
+                })
                 .setNegativeButton("ביטול", null)
                 .show();
     }
@@ -1213,6 +1399,15 @@ public class ScheduleGridFragment extends Fragment {
                         }
                     }
                 })
+                .setNeutralButton("סדרה קבועה", (dialog, which) -> {
+                    String numWeeksStr = input.getText().toString();
+                    if (!numWeeksStr.isEmpty()) {
+                        int numWeeks = Integer.parseInt(numWeeksStr);
+                        if (numWeeks > 0) {
+                            scheduleTrainingSeries(training, numWeeks, slotDate);
+                        }
+                    }
+                })
                 .setNegativeButton("ביטול", null)
                 .show();
     }
@@ -1230,118 +1425,54 @@ public class ScheduleGridFragment extends Fragment {
         
         Toast.makeText(getContext(), "מוסיף אימונים לשבועות קדימה...", Toast.LENGTH_SHORT).show();
 
-        final java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
-        
         // Start from the slot's actual date, not from weekStartDate
         // This way if training is on Thursday, we duplicate from Thursday of each future week
-        final java.util.Calendar trainingCalendar = java.util.Calendar.getInstance();
-        trainingCalendar.setTimeInMillis(slotDate);
-        
-        android.util.Log.d("ScheduleGrid", "Training date: " + sdf.format(trainingCalendar.getTime()) + 
-                          " (day of week: " + trainingCalendar.get(java.util.Calendar.DAY_OF_WEEK) + ")");
-        
-        final List<String> skippedReasons = new ArrayList<>();
-        final int[] successCount = {0};
-        final int[] currentWeek = {0};
+        trainingRepository.duplicateTraining(training, selectedCourt, slotDate, numWeeks,
+            new TrainingRepository.OnDuplicationCompleteListener() {
+                @Override
+                public void onComplete(List<String> skippedReasons, int successCount, int totalWeeks) {
+                    if (isAdded()) {
+                        showDuplicationResult(skippedReasons, successCount, totalWeeks);
+                    }
+                }
 
-        // Process each week sequentially - start from week 0 (will be incremented to 1 in first call)
-        processWeekDuplicate(training, trainingCalendar, numWeeks, currentWeek, sdf, skippedReasons, successCount);
+                @Override
+                public void onFailure(String error) {
+                    android.util.Log.e("ScheduleGrid", "Duplication failed: " + error);
+                    if (isAdded()) {
+                        Toast.makeText(getContext(), "שגיאה: " + error, Toast.LENGTH_SHORT).show();
+                    }
+                }
+            });
     }
 
     /**
-     * Recursively process each week for duplication
+     * Book the training as one weekly series instead of a copy per week
      */
-    private void processWeekDuplicate(final Training training, final java.util.Calendar calendar, final int totalWeeks, 
-                                      final int[] currentWeek, final java.text.SimpleDateFormat sdf, 
-                                      final List<String> skippedReasons, final int[] successCount) {
-        // Increment week counter at the start
-        currentWeek[0]++;
-        
-        if (currentWeek[0] > totalWeeks) {
-            // All weeks processed - show result
-            showDuplicationResult(skippedReasons, successCount[0], totalWeeks);
-            return;
-        }
-
-        calendar.add(java.util.Calendar.DATE, 7);
-        String futureDate = sdf.format(calendar.getTime());
-        long futureTimestamp = calendar.getTimeInMillis();
-        
-        // Get day of week (1 = Sunday, 2 = Monday, ..., 7 = Saturday)
-        int dayOfWeek = calendar.get(java.util.Calendar.DAY_OF_WEEK);
-        
-        android.util.Log.d("ScheduleGrid", "Processing week " + currentWeek[0] + ": " + futureDate + 
-                          " (day of week: " + dayOfWeek + ")");
-        
-        // Check if the court is operating on this day
-        Court court = selectedCourt;
-        if (court == null) {
-            skippedReasons.add(futureDate + " (מגרש לא נבחר)");
-            android.util.Log.w("ScheduleGrid", "selectedCourt is null");
-            processWeekDuplicate(training, calendar, totalWeeks, currentWeek, sdf, skippedReasons, successCount);
-            return;
-        }
-
-        DaySchedule daySchedule = court.getScheduleForDay(dayOfWeek);
-        
-        android.util.Log.d("ScheduleGrid", "Week " + currentWeek[0] + " (" + futureDate + "): dayOfWeek=" + dayOfWeek + 
-                          ", isActive=" + (daySchedule != null ? daySchedule.isActive() : "null"));
-        
-        if (daySchedule == null || !daySchedule.isActive()) {
-            // Court not operating on this day
-            skippedReasons.add(futureDate + " (סגור)");
-            android.util.Log.d("ScheduleGrid", "Court closed on " + futureDate);
-            processWeekDuplicate(training, calendar, totalWeeks, currentWeek, sdf, skippedReasons, successCount);
+    private void scheduleTrainingSeries(Training training, int numWeeks, long slotDate) {
+        if (trainingRepository == null) {
+            Toast.makeText(getContext(), "שגיאה: Repository לא אותחל", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        // Create new training for this week
-        Training newTraining = new Training();
-        newTraining.setTeamId(training.getTeamId());
-        newTraining.setTeamName(training.getTeamName());
-        newTraining.setTeamColor(training.getTeamColor());
-        // Always use selectedCourt's ID and name to ensure it's not null
-        newTraining.setCourtId(selectedCourt.getCourtId());
-        newTraining.setCourtName(selectedCourt.getName());
-        newTraining.setCourtType(training.getCourtType());
-        newTraining.setStartTime(training.getStartTime());
-        newTraining.setEndTime(training.getEndTime());
-        newTraining.setDate(futureTimestamp);
-        
-        // Set day of week for filtering
-        SimpleDateFormat dayFormat = new SimpleDateFormat("EEEE", Locale.ENGLISH);
-        newTraining.setDayOfWeek(dayFormat.format(calendar.getTime()));
-        
-        android.util.Log.d("ScheduleGrid", "Adding training for " + futureDate + ": " + newTraining.getTeamName() + 
-                          " (" + newTraining.getStartTime() + "-" + newTraining.getEndTime() + ")" +
-                          ", courtId=" + newTraining.getCourtId());
-        
-        // Add training with callback
-        trainingRepository.addTraining(newTraining, new TrainingRepository.OnConflictCheckListener() {
-            @Override
-            public void onSuccess() {
-                successCount[0]++;
-                android.util.Log.d("ScheduleGrid", "Training added successfully for " + futureDate);
-                // Continue to next week
-                processWeekDuplicate(training, calendar, totalWeeks, currentWeek, sdf, skippedReasons, successCount);
-            }
-
-            @Override
-            public void onConflict() {
-                skippedReasons.add(futureDate + " (תפוס)");
-                android.util.Log.d("ScheduleGrid", "Conflict detected for " + futureDate);
-                // Continue to next week
-                processWeekDuplicate(training, calendar, totalWeeks, currentWeek, sdf, skippedReasons, successCount);
-            }
+        android.util.Log.d("ScheduleGrid", "Creating series: " + training.getTeamName() + " for " + numWeeks + " weeks");
+        trainingRepository.createSeries(training, selectedCourt, slotDate, numWeeks,
+            new TrainingRepository.OnDuplicationCompleteListener() {
+                @Override
+                public void onComplete(List<String> skippedReasons, int successCount, int totalWeeks) {
+                    if (isAdded()) {
+                        showDuplicationResult(skippedReasons, successCount, totalWeeks);
+                    }
+                }
 
-            @Override
-            public void onFailure(String error) {
-                skippedReasons.add(futureDate + " (שגיאה)");
-                android.util.Log.e("ScheduleGrid", "Error adding training for " + futureDate + ": " + error);
-                // Continue to next week
-                processWeekDuplicate(training, calendar, totalWeeks, currentWeek, sdf, skippedReasons, successCount);
-            }
-        });
+                @Override
+                public void onFailure(String error) {
+                    android.util.Log.e("ScheduleGrid", "Series creation failed: " + error);
+                    if (isAdded()) {
+                        Toast.makeText(getContext(), "שגיאה: " + error, Toast.LENGTH_SHORT).show();
+                    }
+                }
+            });
     }
 
     /**
@@ -1349,22 +1480,8 @@ public class ScheduleGridFragment extends Fragment {
      */
     private void showDuplicationResult(List<String> skippedReasons, int successCount, int totalWeeks) {
         android.util.Log.d("ScheduleGrid", "Duplication complete: success=" + successCount + ", skipped=" + skippedReasons.size());
-        
-        if (skippedReasons.isEmpty()) {
-            Toast.makeText(getContext(), "✅ אימונים נוספו בהצלחה לכל " + totalWeeks + " השבועות", Toast.LENGTH_SHORT).show();
-        } else {
-            StringBuilder message = new StringBuilder("⚠️ הוסף " + successCount + " אימונים\n\nשבועות שלא זוכרו:\n");
-            for (String reason : skippedReasons) {
-                message.append("• ").append(reason).append("\n");
-            }
-            
-            new AlertDialog.Builder(requireContext())
-                    .setTitle("תוצאות השכפול")
-                    .setMessage(message.toString().trim())
-                    .setPositiveButton("אישור", (dialog, which) -> {})
-                    .show();
-        }
-        
+        DuplicationResultDialog.show(requireContext(), skippedReasons, successCount, totalWeeks);
+
         // Refresh the schedule grid
         refreshScheduleGrid();
     }
@@ -1376,36 +1493,6 @@ public class ScheduleGridFragment extends Fragment {
         void onTimePicked(String time);
     }
 
-    /**
-     * Check if two times are the same (HH:mm format).
-     */
-    private boolean isSameTime(String time1, String time2) {
-        if (time1 == null || time2 == null) return false;
-        return time1.equals(time2);
-    }
-
-    /**
-     * Check if two dates are on the same day.
-     */
-    private boolean isSameDay(long timestamp1, long timestamp2) {
-        Calendar cal1 = Calendar.getInstance();
-        Calendar cal2 = Calendar.getInstance();
-        cal1.setTimeInMillis(timestamp1);
-        cal2.setTimeInMillis(timestamp2);
-        
-        boolean same = cal1.get(Calendar.YEAR) == cal2.get(Calendar.YEAR) &&
-               cal1.get(Calendar.DAY_OF_YEAR) == cal2.get(Calendar.DAY_OF_YEAR);
-        
-        if (!same) {
-            java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss", java.util.Locale.getDefault());
-            android.util.Log.d("ScheduleGrid", "Day mismatch: " + sdf.format(new java.util.Date(timestamp1)) + 
-                " vs " + sdf.format(new java.util.Date(timestamp2)) + 
-                " (DOY: " + cal1.get(Calendar.DAY_OF_YEAR) + " vs " + cal2.get(Calendar.DAY_OF_YEAR) + ")");
-        }
-        
-        return same;
-    }
-
     /**
      * Check if training time is within court operating hours.
      * Shows error message and returns false if outside operating hours.
@@ -1421,8 +1508,8 @@ public class ScheduleGridFragment extends Fragment {
             return false;
         }
 
-        int open = timeToMinutesSafe(schedule.getOpeningHour());
-        int close = timeToMinutesSafe(schedule.getClosingHour());
+        int open = schedule.getOpeningMinutes();
+        int close = schedule.getClosingMinutes();
         android.util.Log.d("ScheduleGrid", "Court hours - open: " + open + " (" + schedule.getOpeningHour() + 
             "), close: " + close + " (" + schedule.getClosingHour() + 
             "), slot: " + startMinutes + "-" + endMinutes);
@@ -1442,21 +1529,4 @@ public class ScheduleGridFragment extends Fragment {
         android.util.Log.d("ScheduleGrid", "Time slot is within court hours - OK");
         return true;
     }
-
-    /**
-     * Convert time string (HH:mm) to minutes since midnight with error handling.
-     * Returns -1 if the time format is invalid.
-     */
-    private int timeToMinutesSafe(String time) {
-        try {
-            String[] parts = time.split(":");
-            if (parts.length != 2) return -1;
-            int h = Integer.parseInt(parts[0]);
-            int m = Integer.parseInt(parts[1]);
-            if (h < 0 || h > 23 || m < 0 || m > 59) return -1;
-            return h * 60 + m;
-        } catch (Exception e) {
-            return -1;
-        }
-    }
 }
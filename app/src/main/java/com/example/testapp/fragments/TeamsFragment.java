@@ -24,14 +24,14 @@ import com.example.testapp.TeamPlayersActivity;
 import com.example.testapp.adapters.TeamAdapter;
 import com.example.testapp.models.Team;
 import com.example.testapp.models.User;
+import com.example.testapp.repository.AppDataStore;
+import com.example.testapp.repository.SessionManager;
+import com.example.testapp.repository.SharedNode;
 import com.example.testapp.viewmodel.TeamViewModel;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,14 +42,10 @@ public class TeamsFragment extends Fragment {
     private TeamAdapter adapter;
     private TeamViewModel viewModel;
     private FloatingActionButton fab;
-    private DatabaseReference usersRef;
     private DatabaseReference settingsRef;
     private List<User> coachList = new ArrayList<>();
     private String currentUserId;
     private String currentUserRole;
-    
-    // Firebase listener - need to be removed in onDestroyView
-    private ValueEventListener coachesListener;
 
     @Nullable
     @Override
@@ -67,20 +63,9 @@ public class TeamsFragment extends Fragment {
         setupFab();
     }
 
-    @Override
-    public void onDestroyView() {
-        super.onDestroyView();
-        // Remove Firebase listeners to prevent crashes after logout
-        if (usersRef != null && coachesListener != null) {
-            usersRef.removeEventListener(coachesListener);
-            coachesListener = null;
-        }
-    }
-
     private void initializeViews(View view) {
         recyclerView = view.findViewById(R.id.teamsRecyclerView);
         fab = view.findViewById(R.id.fab);
-        usersRef = FirebaseDatabase.getInstance().getReference("users");
         settingsRef = FirebaseDatabase.getInstance().getReference("settings");
         loadCoaches();
     }
@@ -106,28 +91,24 @@ public class TeamsFragment extends Fragment {
         
         currentUserId = FirebaseAuth.getInstance().getCurrentUser().getUid();
         
-        usersRef.child(currentUserId).addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                User user = snapshot.getValue(User.class);
-                if (user != null) {
-                    currentUserRole = user.getRole();
-                    
-                    adapter.setUserRole(currentUserRole);
-                    
-                    if ("COACH".equals(currentUserRole)) {
-                        fab.setVisibility(View.GONE);
-                        viewModel.filterByCoach(currentUserId);
-                    } else {
-                        fab.setVisibility(View.VISIBLE);
-                        viewModel.clearFilter();
-                    }
-                }
+        SessionManager.getInstance().getUser(user -> {
+            if (!isAdded() || getContext() == null) {
+                return;
             }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
+            if (user == null) {
                 Toast.makeText(requireContext(), "שגיאה בטעינת תפקיד", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            currentUserRole = user.getRole();
+            
+            adapter.setUserRole(currentUserRole);
+            
+            if ("COACH".equals(currentUserRole)) {
+                fab.setVisibility(View.GONE);
+                viewModel.filterByCoach(currentUserId);
+            } else {
+                fab.setVisibility(View.VISIBLE);
+                viewModel.clearFilter();
             }
         });
         
@@ -147,27 +128,18 @@ public class TeamsFragment extends Fragment {
     }
     
     private void loadCoaches() {
-        coachesListener = new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                coachList.clear();
-                for (DataSnapshot userSnapshot : snapshot.getChildren()) {
-                    User user = userSnapshot.getValue(User.class);
-                    if (user != null) {
-                        user.setUserId(userSnapshot.getKey());
-                        if ("COACH".equals(user.getRole()) || "COORDINATOR".equals(user.getRole())) {
-                            coachList.add(user);
-                        }
-                    }
+        // The user list is shared app-wide, so reopening this tab doesn't download it again
+        SharedNode<User> usersNode = AppDataStore.getInstance().getUsers();
+        usersNode.observe(getViewLifecycleOwner(), changes -> {
+            coachList.clear();
+            for (User user : changes.getItems()) {
+                if ("COACH".equals(user.getRole()) || "COORDINATOR".equals(user.getRole())) {
+                    coachList.add(user);
                 }
             }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Toast.makeText(requireContext(), "שגיאה בטעינת מאמנים ורכזים", Toast.LENGTH_SHORT).show();
-            }
-        };
-        usersRef.addValueEventListener(coachesListener);
+        });
+        usersNode.getErrors().observe(getViewLifecycleOwner(), error ->
+            Toast.makeText(requireContext(), "שגיאה בטעינת מאמנים ורכזים", Toast.LENGTH_SHORT).show());
     }
 
     private void showAddTeamDialog() {
@@ -4,6 +4,7 @@ import com.google.firebase.database.Exclude;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 public class Court {
     private String courtId;
@@ -173,8 +174,76 @@ public class Court {
         return schedule != null && schedule.isActive();
     }
 
+    /**
+     * Whether this court holds the same values, weekly schedule included, as another
+     * one with the same id, e.g. for DiffUtil's areContentsTheSame.
+     */
+    public boolean sameContentAs(Court other) {
+        if (isAvailable != other.isAvailable
+                || !Objects.equals(name, other.name)
+                || !Objects.equals(location, other.location)
+                || !Objects.equals(courtType, other.courtType)
+                || !Objects.equals(openingHour, other.openingHour)
+                || !Objects.equals(closingHour, other.closingHour)
+                || !Objects.equals(activeDays, other.activeDays)) {
+            return false;
+        }
+        return DaySchedule.sameContent(day1, other.day1)
+                && DaySchedule.sameContent(day2, other.day2)
+                && DaySchedule.sameContent(day3, other.day3)
+                && DaySchedule.sameContent(day4, other.day4)
+                && DaySchedule.sameContent(day5, other.day5)
+                && DaySchedule.sameContent(day6, other.day6)
+                && DaySchedule.sameContent(day7, other.day7);
+    }
+
     @Override
     public String toString() {
         return name;
     }
+
+    /**
+     * Builds a court and its seven day schedules from the raw value of its snapshot.
+     * Days that are missing keep the default schedule, as with the empty constructor.
+     */
+    public static Court fromMap(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        Court court = new Court();
+        court.courtId = MapReader.readString(map, "courtId", null);
+        court.name = MapReader.readString(map, "name", null);
+        court.location = MapReader.readString(map, "location", null);
+        court.courtType = MapReader.readString(map, "courtType", null);
+        court.isAvailable = MapReader.readBoolean(map, "available", false);
+        for (int day = 1; day <= 7; day++) {
+            Object schedule = map.get("day" + day);
+            if (schedule != null) {
+                court.setScheduleForDay(day, DaySchedule.fromMap(MapReader.asMap(schedule)));
+            }
+        }
+        court.openingHour = MapReader.readString(map, "openingHour", null);
+        court.closingHour = MapReader.readString(map, "closingHour", null);
+        court.activeDays = MapReader.readString(map, "activeDays", null);
+        court.createdAt = MapReader.readLong(map, "createdAt", 0);
+        return court;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("courtId", courtId);
+        map.put("name", name);
+        map.put("location", location);
+        map.put("courtType", courtType);
+        map.put("available", isAvailable);
+        DaySchedule[] days = {day1, day2, day3, day4, day5, day6, day7};
+        for (int i = 0; i < days.length; i++) {
+            map.put("day" + (i + 1), days[i] != null ? days[i].toMap() : null);
+        }
+        map.put("openingHour", openingHour);
+        map.put("closingHour", closingHour);
+        map.put("activeDays", activeDays);
+        map.put("createdAt", createdAt);
+        return map;
+    }
 }
@@ -1,9 +1,19 @@
 package com.example.testapp.models;
 
+import com.google.firebase.database.Exclude;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 public class DaySchedule {
     private boolean isActive;
     private String openingHour; // "06:00"
     private String closingHour; // "23:00"
+    // Hours parsed once, on first use; NOT_PARSED until then
+    private static final int NOT_PARSED = Integer.MIN_VALUE;
+    private transient int openingMinutes = NOT_PARSED;
+    private transient int closingMinutes = NOT_PARSED;
 
     public DaySchedule() {
         // Required empty constructor for Firebase
@@ -32,6 +42,7 @@ public class DaySchedule {
 
     public void setOpeningHour(String openingHour) {
         this.openingHour = openingHour;
+        this.openingMinutes = NOT_PARSED;
     }
 
     public String getClosingHour() {
@@ -40,6 +51,39 @@ public class DaySchedule {
 
     public void setClosingHour(String closingHour) {
         this.closingHour = closingHour;
+        this.closingMinutes = NOT_PARSED;
+    }
+
+    /**
+     * Opening hour in minutes since midnight; -1 if it isn't a valid time.
+     */
+    @Exclude
+    public int getOpeningMinutes() {
+        if (openingMinutes == NOT_PARSED) {
+            openingMinutes = TimeOfDay.toMinutes(openingHour);
+        }
+        return openingMinutes;
+    }
+
+    /**
+     * Closing hour in minutes since midnight; -1 if it isn't a valid time.
+     */
+    @Exclude
+    public int getClosingMinutes() {
+        if (closingMinutes == NOT_PARSED) {
+            closingMinutes = TimeOfDay.toMinutes(closingHour);
+        }
+        return closingMinutes;
+    }
+
+    /** Whether both schedules open the same hours; either may be null. */
+    public static boolean sameContent(DaySchedule a, DaySchedule b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.isActive == b.isActive
+                && Objects.equals(a.openingHour, b.openingHour)
+                && Objects.equals(a.closingHour, b.closingHour);
     }
 
     @Override
@@ -49,4 +93,26 @@ public class DaySchedule {
         }
         return openingHour + " - " + closingHour;
     }
+
+    /**
+     * Missing keys keep the defaults of the empty constructor, like the reflective mapper.
+     */
+    public static DaySchedule fromMap(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        DaySchedule schedule = new DaySchedule();
+        schedule.isActive = MapReader.readBoolean(map, "active", schedule.isActive);
+        schedule.openingHour = MapReader.readString(map, "openingHour", schedule.openingHour);
+        schedule.closingHour = MapReader.readString(map, "closingHour", schedule.closingHour);
+        return schedule;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("active", isActive);
+        map.put("openingHour", openingHour);
+        map.put("closingHour", closingHour);
+        return map;
+    }
 }
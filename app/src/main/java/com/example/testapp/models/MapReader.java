@@ -0,0 +1,67 @@
+package com.example.testapp.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the raw values Firebase returns from {@code DataSnapshot.getValue()}
+ * (String, Boolean, Long, Double, List and Map) into model fields without reflection.
+ * Missing or mistyped values fall back to the given default, like an absent key would.
+ */
+final class MapReader {
+
+    private MapReader() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+
+    static String readString(Map<String, Object> map, String key, String fallback) {
+        Object value = map.get(key);
+        if (value instanceof String) {
+            return (String) value;
+        }
+        return value != null ? String.valueOf(value) : fallback;
+    }
+
+    static long readLong(Map<String, Object> map, String key, long fallback) {
+        Object value = map.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : fallback;
+    }
+
+    static int readInt(Map<String, Object> map, String key, int fallback) {
+        Object value = map.get(key);
+        return value instanceof Number ? ((Number) value).intValue() : fallback;
+    }
+
+    static boolean readBoolean(Map<String, Object> map, String key, boolean fallback) {
+        Object value = map.get(key);
+        return value instanceof Boolean ? (Boolean) value : fallback;
+    }
+
+    /**
+     * Firebase returns arrays as a List, or as a Map when the indices have gaps.
+     */
+    static List<String> readStringList(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        Collection<?> items;
+        if (value instanceof List) {
+            items = (List<?>) value;
+        } else if (value instanceof Map) {
+            items = ((Map<?, ?>) value).values();
+        } else {
+            return null;
+        }
+        List<String> list = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item != null) {
+                list.add(String.valueOf(item));
+            }
+        }
+        return list;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.testapp.models;
 
+import java.util.Objects;
+
 public class PendingRequest {
     private User user;
     private String teamId;
@@ -16,4 +18,21 @@ public class PendingRequest {
     public String getTeamId() {
         return teamId;
     }
+
+    /** Key of the request within a list: one user asking to join one team. */
+    public String getKey() {
+        return (user != null ? user.getUserId() : null) + ":" + teamId;
+    }
+
+    /**
+     * Whether this request shows the same user details as another one with the same key.
+     */
+    public boolean sameContentAs(PendingRequest other) {
+        if (user == null || other.user == null) {
+            return user == other.user;
+        }
+        return Objects.equals(user.getName(), other.user.getName())
+                && Objects.equals(user.getEmail(), other.user.getEmail())
+                && Objects.equals(user.getPhone(), other.user.getPhone());
+    }
 }
@@ -1,5 +1,9 @@
 package com.example.testapp.models;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 public class Player {
     private String playerId;
     private String userId; // Link to User
@@ -94,4 +98,71 @@ public class Player {
     public String getFullName() {
         return firstName + " " + lastName;
     }
+
+    /**
+     * Whether this player holds the same values as another one with the same id,
+     * e.g. for DiffUtil's areContentsTheSame.
+     */
+    public boolean sameContentAs(Player other) {
+        return updatedAt == other.updatedAt
+                && Objects.equals(userId, other.userId)
+                && Objects.equals(firstName, other.firstName)
+                && Objects.equals(lastName, other.lastName)
+                && Objects.equals(grade, other.grade)
+                && Objects.equals(school, other.school)
+                && Objects.equals(playerPhone, other.playerPhone)
+                && Objects.equals(parentPhone, other.parentPhone)
+                && Objects.equals(idNumber, other.idNumber)
+                && Objects.equals(birthDate, other.birthDate)
+                && Objects.equals(shirtSize, other.shirtSize)
+                && Objects.equals(jerseyNumber, other.jerseyNumber)
+                && Objects.equals(teamId, other.teamId);
+    }
+
+    public static Player fromMap(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        Player player = new Player();
+        player.playerId = MapReader.readString(map, "playerId", null);
+        player.userId = MapReader.readString(map, "userId", null);
+        player.firstName = MapReader.readString(map, "firstName", null);
+        player.lastName = MapReader.readString(map, "lastName", null);
+        player.grade = MapReader.readString(map, "grade", null);
+        player.school = MapReader.readString(map, "school", null);
+        player.playerPhone = MapReader.readString(map, "playerPhone", null);
+        player.parentPhone = MapReader.readString(map, "parentPhone", null);
+        player.idNumber = MapReader.readString(map, "idNumber", null);
+        player.birthDate = MapReader.readString(map, "birthDate", null);
+        player.shirtSize = MapReader.readString(map, "shirtSize", null);
+        player.jerseyNumber = MapReader.readString(map, "jerseyNumber", player.jerseyNumber);
+        player.teamId = MapReader.readString(map, "teamId", null);
+        player.createdAt = MapReader.readLong(map, "createdAt", 0);
+        player.updatedAt = MapReader.readLong(map, "updatedAt", 0);
+        return player;
+    }
+
+    /**
+     * The same keys the reflective mapper writes, including the derived fullName.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("playerId", playerId);
+        map.put("userId", userId);
+        map.put("firstName", firstName);
+        map.put("lastName", lastName);
+        map.put("grade", grade);
+        map.put("school", school);
+        map.put("playerPhone", playerPhone);
+        map.put("parentPhone", parentPhone);
+        map.put("idNumber", idNumber);
+        map.put("birthDate", birthDate);
+        map.put("shirtSize", shirtSize);
+        map.put("jerseyNumber", jerseyNumber);
+        map.put("teamId", teamId);
+        map.put("createdAt", createdAt);
+        map.put("updatedAt", updatedAt);
+        map.put("fullName", getFullName());
+        return map;
+    }
 }
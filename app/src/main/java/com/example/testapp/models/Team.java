@@ -3,6 +3,10 @@ package com.example.testapp.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 public class Team implements Parcelable {
     private String teamId;
     private String name;
@@ -56,6 +60,21 @@ public class Team implements Parcelable {
     public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
 
+    /**
+     * Whether this team holds the same values as another one with the same id,
+     * e.g. for DiffUtil's areContentsTheSame.
+     */
+    public boolean sameContentAs(Team other) {
+        return numberOfPlayers == other.numberOfPlayers
+                && updatedAt == other.updatedAt
+                && Objects.equals(name, other.name)
+                && Objects.equals(ageGroup, other.ageGroup)
+                && Objects.equals(level, other.level)
+                && Objects.equals(coachId, other.coachId)
+                && Objects.equals(coachName, other.coachName)
+                && Objects.equals(color, other.color);
+    }
+
     @Override
     public String toString() {
         return name + " (" + ageGroup + ")";
@@ -105,4 +124,37 @@ public class Team implements Parcelable {
             return new Team[size];
         }
     };
+
+    public static Team fromMap(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        Team team = new Team();
+        team.teamId = MapReader.readString(map, "teamId", null);
+        team.name = MapReader.readString(map, "name", null);
+        team.ageGroup = MapReader.readString(map, "ageGroup", null);
+        team.level = MapReader.readString(map, "level", null);
+        team.coachId = MapReader.readString(map, "coachId", null);
+        team.coachName = MapReader.readString(map, "coachName", null);
+        team.color = MapReader.readString(map, "color", null);
+        team.numberOfPlayers = MapReader.readInt(map, "numberOfPlayers", 0);
+        team.createdAt = MapReader.readLong(map, "createdAt", 0);
+        team.updatedAt = MapReader.readLong(map, "updatedAt", 0);
+        return team;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("teamId", teamId);
+        map.put("name", name);
+        map.put("ageGroup", ageGroup);
+        map.put("level", level);
+        map.put("coachId", coachId);
+        map.put("coachName", coachName);
+        map.put("color", color);
+        map.put("numberOfPlayers", numberOfPlayers);
+        map.put("createdAt", createdAt);
+        map.put("updatedAt", updatedAt);
+        return map;
+    }
 }
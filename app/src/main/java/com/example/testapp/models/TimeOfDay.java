@@ -0,0 +1,125 @@
+package com.example.testapp.models;
+
+/**
+ * A time of day in whole minutes since midnight (0 - 1439), the parsed form of the
+ * "HH:mm" strings stored on trainings, slots and court schedules.
+ *
+ * Every value is interned with its "HH:mm" text, so {@link #of(int)} and {@link #toString()}
+ * never allocate, and {@link #parse(String)} reads the digits in place instead of splitting.
+ * Code that only needs the number can stay on ints with {@link #toMinutes(String)} and
+ * {@link #format(int)}.
+ */
+public final class TimeOfDay implements Comparable<TimeOfDay> {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final TimeOfDay[] VALUES = new TimeOfDay[MINUTES_PER_DAY];
+
+    static {
+        for (int minutes = 0; minutes < MINUTES_PER_DAY; minutes++) {
+            int h = minutes / 60;
+            int m = minutes % 60;
+            String text = new String(new char[] {
+                (char) ('0' + h / 10), (char) ('0' + h % 10), ':', (char) ('0' + m / 10), (char) ('0' + m % 10)
+            });
+            VALUES[minutes] = new TimeOfDay(minutes, text);
+        }
+    }
+
+    private final int minutes;
+    private final String text;
+
+    private TimeOfDay(int minutes, String text) {
+        this.minutes = minutes;
+        this.text = text;
+    }
+
+    /**
+     * The shared instance for a minute of the day; null if out of range.
+     */
+    public static TimeOfDay of(int minutes) {
+        return minutes >= 0 && minutes < MINUTES_PER_DAY ? VALUES[minutes] : null;
+    }
+
+    public static TimeOfDay of(int hour, int minute) {
+        return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 ? VALUES[hour * 60 + minute] : null;
+    }
+
+    /**
+     * Parses "HH:mm" (or "H:mm"); null if the text isn't a valid time.
+     */
+    public static TimeOfDay parse(String time) {
+        return of(toMinutes(time));
+    }
+
+    /**
+     * Minutes since midnight of "HH:mm", without allocating; -1 if invalid.
+     */
+    public static int toMinutes(String time) {
+        if (time == null) {
+            return -1;
+        }
+        int colon = time.indexOf(':');
+        int length = time.length();
+        if (colon < 1 || colon > 2 || length - colon < 2 || length - colon > 3) {
+            return -1;
+        }
+        int h = 0;
+        for (int i = 0; i < colon; i++) {
+            int digit = time.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            h = h * 10 + digit;
+        }
+        int m = 0;
+        for (int i = colon + 1; i < length; i++) {
+            int digit = time.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            m = m * 10 + digit;
+        }
+        if (h > 23 || m > 59) {
+            return -1;
+        }
+        return h * 60 + m;
+    }
+
+    /**
+     * The cached "HH:mm" text of a minute of the day. Values past midnight wrap
+     * around, so an end time of 24:00 formats as "00:00"; negative values give null.
+     */
+    public static String format(int minutes) {
+        return minutes >= 0 ? VALUES[minutes % MINUTES_PER_DAY].text : null;
+    }
+
+    public int getMinutes() { return minutes; }
+    public int getHour() { return minutes / 60; }
+    public int getMinute() { return minutes % 60; }
+
+    /** This time moved by a number of minutes; null if that leaves the day. */
+    public TimeOfDay plusMinutes(int delta) {
+        return of(minutes + delta);
+    }
+
+    public boolean isBefore(TimeOfDay other) {
+        return minutes < other.minutes;
+    }
+
+    @Override
+    public int compareTo(TimeOfDay other) {
+        return Integer.compare(minutes, other.minutes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TimeOfDay && ((TimeOfDay) o).minutes == minutes;
+    }
+
+    @Override
+    public int hashCode() {
+        return minutes;
+    }
+
+    /** "HH:mm", the format stored in the database. */
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.testapp.models;
 
+import com.example.testapp.utils.DateUtils;
+
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Represents a time slot in the schedule grid
  */
@@ -34,6 +39,10 @@ public class TimeSlot {
     public long getDate() { return date; }
     public boolean isAvailable() { return isAvailable; }
     public Training getTraining() { return training; }
+
+    /** Start and end in minutes since midnight; -1 if the text isn't a valid time. */
+    public int getStartMinutes() { return TimeOfDay.toMinutes(startTime); }
+    public int getEndMinutes() { return TimeOfDay.toMinutes(endTime); }
     
     // Setters
     public void setCourtId(String courtId) { this.courtId = courtId; }
@@ -56,37 +65,59 @@ public class TimeSlot {
         }
         
         // Check if same day
-        if (!isSameDay(this.date, other.getDate())) {
+        if (DateUtils.getEpochDay(this.date) != other.getEpochDay()) {
             return false;
         }
         
-        int slotStart = timeToMinutes(this.startTime);
-        int slotEnd = timeToMinutes(this.endTime);
-        int otherStart = timeToMinutes(other.getStartTime());
-        int otherEnd = timeToMinutes(other.getEndTime());
+        int slotStart = getStartMinutes();
+        int slotEnd = getEndMinutes();
+        int otherStart = other.getStartMinutes();
+        int otherEnd = other.getEndMinutes();
         
         // Check for overlap
         return !(slotEnd <= otherStart || slotStart >= otherEnd);
     }
     
-    private boolean isSameDay(long first, long second) {
-        java.util.Calendar cal1 = java.util.Calendar.getInstance();
-        java.util.Calendar cal2 = java.util.Calendar.getInstance();
-        cal1.setTimeInMillis(first);
-        cal2.setTimeInMillis(second);
-        return cal1.get(java.util.Calendar.YEAR) == cal2.get(java.util.Calendar.YEAR) &&
-               cal1.get(java.util.Calendar.DAY_OF_YEAR) == cal2.get(java.util.Calendar.DAY_OF_YEAR);
+    /**
+     * Key of the slot within a list: its court, day and start time.
+     */
+    public String getKey() {
+        return courtId + ":" + DateUtils.getEpochDay(date) + ":" + startTime;
+    }
+
+    /**
+     * Whether this slot shows the same thing as another one with the same key:
+     * same end, availability and scheduled training.
+     */
+    public boolean sameContentAs(TimeSlot other) {
+        if (isAvailable != other.isAvailable || !Objects.equals(endTime, other.endTime)) {
+            return false;
+        }
+        if (training == null || other.training == null) {
+            return training == other.training;
+        }
+        return Objects.equals(training.getTrainingId(), other.training.getTrainingId())
+                && training.sameContentAs(other.training);
     }
     
-    private int timeToMinutes(String time) {
-        if (time == null || time.isEmpty()) return 0;
-        String[] parts = time.split(":");
-        if (parts.length != 2) return 0;
-        try {
-            return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
-        } catch (NumberFormatException e) {
-            return 0;
+    /**
+     * Whether two slot lists show the same slots in the same order; either may be null.
+     */
+    public static boolean sameContents(List<TimeSlot> a, List<TimeSlot> b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            TimeSlot slot = a.get(i);
+            TimeSlot other = b.get(i);
+            if (!slot.getKey().equals(other.getKey()) || !slot.sameContentAs(other)) {
+                return false;
+            }
         }
+        return true;
     }
     
     @Override
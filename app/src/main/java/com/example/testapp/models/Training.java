@@ -1,6 +1,12 @@
 package com.example.testapp.models;
 
+import com.example.testapp.utils.DateUtils;
+import com.google.firebase.database.Exclude;
+
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 public class Training implements Serializable {
     private String trainingId;
@@ -17,6 +23,14 @@ public class Training implements Serializable {
     private String notes;
     private long createdAt;
     private String createdBy;
+    private String seriesId; // Set on occurrences expanded from a TrainingSeries
+    // startTime/endTime parsed once, on first use; NOT_PARSED until then
+    private static final int NOT_PARSED = Integer.MIN_VALUE;
+    private transient int startMinutes = NOT_PARSED;
+    private transient int endMinutes = NOT_PARSED;
+    // Local (Israel) epoch day of date, computed once; NO_EPOCH_DAY until then
+    private static final long NO_EPOCH_DAY = Long.MIN_VALUE;
+    private transient long epochDay = NO_EPOCH_DAY;
 
     public Training() {
         // Required empty constructor for Firebase
@@ -54,6 +68,7 @@ public class Training implements Serializable {
     public String getNotes() { return notes; }
     public long getCreatedAt() { return createdAt; }
     public String getCreatedBy() { return createdBy; }
+    public String getSeriesId() { return seriesId; }
 
     // Setters
     public void setTrainingId(String trainingId) { this.trainingId = trainingId; }
@@ -64,24 +79,34 @@ public class Training implements Serializable {
     public void setCourtName(String courtName) { this.courtName = courtName; }
     public void setCourtType(String courtType) { this.courtType = courtType; }
     public void setDayOfWeek(String dayOfWeek) { this.dayOfWeek = dayOfWeek; }
-    public void setStartTime(String startTime) { this.startTime = startTime; }
-    public void setEndTime(String endTime) { this.endTime = endTime; }
-    public void setDate(long date) { this.date = date; }
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+        this.startMinutes = NOT_PARSED;
+    }
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+        this.endMinutes = NOT_PARSED;
+    }
+    public void setDate(long date) {
+        this.date = date;
+        this.epochDay = NO_EPOCH_DAY;
+    }
     public void setNotes(String notes) { this.notes = notes; }
     public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
     public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+    public void setSeriesId(String seriesId) { this.seriesId = seriesId; }
 
     // Helper method to check for time conflicts
     public boolean conflictsWith(Training other) {
         // Conflict only if same court and same calendar day
-        if (!safeEquals(this.courtId, other.courtId) || !isSameDay(this.date, other.date)) {
+        if (!safeEquals(this.courtId, other.courtId) || getEpochDay() != other.getEpochDay()) {
             return false;
         }
 
-        int thisStart = timeToMinutesSafe(this.startTime);
-        int thisEnd = timeToMinutesSafe(this.endTime);
-        int otherStart = timeToMinutesSafe(other.startTime);
-        int otherEnd = timeToMinutesSafe(other.endTime);
+        int thisStart = getStartMinutes();
+        int thisEnd = getEndMinutes();
+        int otherStart = other.getStartMinutes();
+        int otherEnd = other.getEndMinutes();
 
         // If any times are invalid, skip conflict to avoid false positives from bad data
         if (thisStart < 0 || thisEnd < 0 || otherStart < 0 || otherEnd < 0) {
@@ -100,13 +125,23 @@ public class Training implements Serializable {
         return hasConflict;
     }
 
-    private boolean isSameDay(long first, long second) {
-        java.util.Calendar cal1 = java.util.Calendar.getInstance();
-        java.util.Calendar cal2 = java.util.Calendar.getInstance();
-        cal1.setTimeInMillis(first);
-        cal2.setTimeInMillis(second);
-        return cal1.get(java.util.Calendar.YEAR) == cal2.get(java.util.Calendar.YEAR)
-                && cal1.get(java.util.Calendar.DAY_OF_YEAR) == cal2.get(java.util.Calendar.DAY_OF_YEAR);
+    /**
+     * Whether this training holds the same values as another one with the same id,
+     * e.g. for DiffUtil's areContentsTheSame. Creation fields are left out.
+     */
+    public boolean sameContentAs(Training other) {
+        return date == other.date
+                && Objects.equals(teamId, other.teamId)
+                && Objects.equals(teamName, other.teamName)
+                && Objects.equals(teamColor, other.teamColor)
+                && Objects.equals(courtId, other.courtId)
+                && Objects.equals(courtName, other.courtName)
+                && Objects.equals(courtType, other.courtType)
+                && Objects.equals(dayOfWeek, other.dayOfWeek)
+                && Objects.equals(startTime, other.startTime)
+                && Objects.equals(endTime, other.endTime)
+                && Objects.equals(notes, other.notes)
+                && Objects.equals(seriesId, other.seriesId);
     }
 
     private boolean safeEquals(String a, String b) {
@@ -116,27 +151,105 @@ public class Training implements Serializable {
         return a.equals(b);
     }
 
-    private int timeToMinutesSafe(String time) {
-        try {
-            if (time == null) {
-                return -1;
-            }
-            String[] parts = time.split(":");
-            if (parts.length != 2) {
-                return -1;
-            }
-            int h = Integer.parseInt(parts[0]);
-            int m = Integer.parseInt(parts[1]);
-            if (h < 0 || h > 23 || m < 0 || m > 59) {
-                return -1;
-            }
-            return h * 60 + m;
-        } catch (Exception e) {
-            return -1;
+    /**
+     * Start time in minutes since midnight, parsed once; -1 if startTime is not a valid "HH:mm".
+     */
+    @Exclude
+    public int getStartMinutes() {
+        if (startMinutes == NOT_PARSED) {
+            startMinutes = TimeOfDay.toMinutes(startTime);
         }
+        return startMinutes;
+    }
+
+    /**
+     * End time in minutes since midnight, parsed once; -1 if endTime is not a valid "HH:mm".
+     */
+    @Exclude
+    public int getEndMinutes() {
+        if (endMinutes == NOT_PARSED) {
+            endMinutes = TimeOfDay.toMinutes(endTime);
+        }
+        return endMinutes;
+    }
+
+    /**
+     * The local day of the training as an epoch day, see {@link DateUtils#getEpochDay(long)}.
+     * Computed once per date, so day grouping and same-day checks are plain long comparisons.
+     */
+    @Exclude
+    public long getEpochDay() {
+        if (epochDay == NO_EPOCH_DAY) {
+            epochDay = DateUtils.getEpochDay(date);
+        }
+        return epochDay;
     }
 
     public int getDurationInMinutes() {
-        return timeToMinutesSafe(endTime) - timeToMinutesSafe(startTime);
+        return getEndMinutes() - getStartMinutes();
+    }
+
+    /**
+     * Builds a training from the raw value of its snapshot without the reflective mapper.
+     * Returns null when the node is missing.
+     */
+    public static Training fromMap(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        Training training = new Training();
+        training.trainingId = MapReader.readString(map, "trainingId", null);
+        training.teamId = MapReader.readString(map, "teamId", null);
+        training.teamName = MapReader.readString(map, "teamName", null);
+        training.teamColor = MapReader.readString(map, "teamColor", null);
+        training.courtId = MapReader.readString(map, "courtId", null);
+        training.courtName = MapReader.readString(map, "courtName", null);
+        training.courtType = MapReader.readString(map, "courtType", null);
+        training.dayOfWeek = MapReader.readString(map, "dayOfWeek", null);
+        training.startTime = MapReader.readString(map, "startTime", null);
+        training.endTime = MapReader.readString(map, "endTime", null);
+        // The strings stay the source of truth and are parsed once on use; the minutes
+        // written next to them only fill in a node that lacks the strings
+        if (training.startTime == null) {
+            training.startTime = TimeOfDay.format((int) MapReader.readLong(map, "startMinutes", -1));
+        }
+        if (training.endTime == null) {
+            training.endTime = TimeOfDay.format((int) MapReader.readLong(map, "endMinutes", -1));
+        }
+        training.date = MapReader.readLong(map, "date", 0);
+        training.notes = MapReader.readString(map, "notes", null);
+        training.createdAt = MapReader.readLong(map, "createdAt", 0);
+        training.createdBy = MapReader.readString(map, "createdBy", null);
+        training.seriesId = MapReader.readString(map, "seriesId", null);
+        return training;
+    }
+
+    /**
+     * The same keys the reflective mapper writes, including the derived durationInMinutes,
+     * plus the parsed start and end minutes so readers don't have to parse the strings.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("trainingId", trainingId);
+        map.put("teamId", teamId);
+        map.put("teamName", teamName);
+        map.put("teamColor", teamColor);
+        map.put("courtId", courtId);
+        map.put("courtName", courtName);
+        map.put("courtType", courtType);
+        map.put("dayOfWeek", dayOfWeek);
+        map.put("startTime", startTime);
+        map.put("endTime", endTime);
+        map.put("date", date);
+        map.put("notes", notes);
+        map.put("createdAt", createdAt);
+        map.put("createdBy", createdBy);
+        map.put("seriesId", seriesId);
+        map.put("durationInMinutes", getDurationInMinutes());
+        if (getStartMinutes() >= 0 && getEndMinutes() >= 0) {
+            map.put("startMinutes", getStartMinutes());
+            map.put("endMinutes", getEndMinutes());
+        }
+        return map;
     }
 }
@@ -0,0 +1,314 @@
+package com.example.testapp.models;
+
+import com.example.testapp.utils.DateUtils;
+import com.google.firebase.database.Exclude;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A weekly recurring training stored as one node instead of one Training per week.
+ * Occurrences are expanded on demand for the dates a screen is showing.
+ *
+ * Days are local (Israel) epoch days, see {@link DateUtils#getEpochDay(long)}.
+ * Exceptions are keyed by epoch day so a single week can be skipped.
+ */
+public class TrainingSeries implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Separates the series id from the epoch day in an occurrence's trainingId. */
+    public static final String OCCURRENCE_SEPARATOR = "@";
+
+    private static final String[] ENGLISH_DAYS = {
+        "Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"
+    };
+
+    private String seriesId;
+    private String teamId;
+    private String teamName;
+    private String teamColor;
+    private String courtId;
+    private String courtName;
+    private String courtType;
+    private int dayOfWeek; // Calendar.DAY_OF_WEEK, Sunday = 1
+    private int startMinutes; // Minutes since midnight
+    private int endMinutes;
+    private long firstDay; // Epoch day of the first occurrence
+    private long lastDay; // Epoch day of the last possible occurrence
+    private Map<String, Boolean> exceptions = new HashMap<>();
+    private String notes;
+    private long createdAt;
+    private String createdBy;
+
+    public TrainingSeries() {
+        // Required empty constructor for Firebase
+    }
+
+    public TrainingSeries(String seriesId, String teamId, String courtId, int dayOfWeek,
+                          int startMinutes, int endMinutes, long firstDay, long lastDay) {
+        this.seriesId = seriesId;
+        this.teamId = teamId;
+        this.courtId = courtId;
+        this.dayOfWeek = dayOfWeek;
+        this.startMinutes = startMinutes;
+        this.endMinutes = endMinutes;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    // Getters
+    public String getSeriesId() { return seriesId; }
+    public String getTeamId() { return teamId; }
+    public String getTeamName() { return teamName; }
+    public String getTeamColor() { return teamColor; }
+    public String getCourtId() { return courtId; }
+    public String getCourtName() { return courtName; }
+    public String getCourtType() { return courtType; }
+    public int getDayOfWeek() { return dayOfWeek; }
+    public int getStartMinutes() { return startMinutes; }
+    public int getEndMinutes() { return endMinutes; }
+    public long getFirstDay() { return firstDay; }
+    public long getLastDay() { return lastDay; }
+    public Map<String, Boolean> getExceptions() { return exceptions; }
+    public String getNotes() { return notes; }
+    public long getCreatedAt() { return createdAt; }
+    public String getCreatedBy() { return createdBy; }
+
+    // Setters
+    public void setSeriesId(String seriesId) { this.seriesId = seriesId; }
+    public void setTeamId(String teamId) { this.teamId = teamId; }
+    public void setTeamName(String teamName) { this.teamName = teamName; }
+    public void setTeamColor(String teamColor) { this.teamColor = teamColor; }
+    public void setCourtId(String courtId) { this.courtId = courtId; }
+    public void setCourtName(String courtName) { this.courtName = courtName; }
+    public void setCourtType(String courtType) { this.courtType = courtType; }
+    public void setDayOfWeek(int dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+    public void setStartMinutes(int startMinutes) { this.startMinutes = startMinutes; }
+    public void setEndMinutes(int endMinutes) { this.endMinutes = endMinutes; }
+    public void setFirstDay(long firstDay) { this.firstDay = firstDay; }
+    public void setLastDay(long lastDay) { this.lastDay = lastDay; }
+    public void setExceptions(Map<String, Boolean> exceptions) {
+        this.exceptions = exceptions != null ? exceptions : new HashMap<>();
+    }
+    public void setNotes(String notes) { this.notes = notes; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    @Exclude
+    public void addException(long epochDay) {
+        exceptions.put(Long.toString(epochDay), true);
+    }
+
+    @Exclude
+    public boolean isException(long epochDay) {
+        return !exceptions.isEmpty() && Boolean.TRUE.equals(exceptions.get(Long.toString(epochDay)));
+    }
+
+    /**
+     * True if the series has a (non-skipped) occurrence on the given epoch day.
+     */
+    @Exclude
+    public boolean occursOn(long epochDay) {
+        return epochDay >= firstDay && epochDay <= lastDay
+                && DateUtils.getDayOfWeekOfEpochDay(epochDay) == dayOfWeek
+                && !isException(epochDay);
+    }
+
+    /**
+     * Expands the occurrences whose day falls in [windowStart, windowEnd), as Training objects.
+     * Only the weeks inside the window are generated; pass Long.MAX_VALUE for an open end.
+     */
+    @Exclude
+    public List<Training> expand(long windowStart, long windowEnd) {
+        List<Training> occurrences = new ArrayList<>();
+        long from = Math.max(firstDay, DateUtils.getEpochDay(windowStart));
+        // Long.MAX_VALUE means "no end" - avoid overflowing the day calculation
+        long to = windowEnd == Long.MAX_VALUE ? lastDay : Math.min(lastDay, DateUtils.getEpochDay(windowEnd - 1));
+        // Move to the first day in range that falls on the series' weekday
+        from += Math.floorMod(dayOfWeek - DateUtils.getDayOfWeekOfEpochDay(from), 7);
+        for (long day = from; day <= to; day += 7) {
+            if (!isException(day)) {
+                occurrences.add(toTraining(day));
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Expands every series over the same window.
+     */
+    public static List<Training> expandAll(List<TrainingSeries> seriesList, long windowStart, long windowEnd) {
+        List<Training> occurrences = new ArrayList<>();
+        if (seriesList != null) {
+            for (TrainingSeries series : seriesList) {
+                occurrences.addAll(series.expand(windowStart, windowEnd));
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Builds the occurrence on the given epoch day. Its trainingId is
+     * "{seriesId}@{epochDay}" so it can be traced back to the series.
+     */
+    @Exclude
+    public Training toTraining(long epochDay) {
+        Training training = new Training();
+        training.setTrainingId(seriesId + OCCURRENCE_SEPARATOR + epochDay);
+        training.setSeriesId(seriesId);
+        training.setTeamId(teamId);
+        training.setTeamName(teamName);
+        training.setTeamColor(teamColor);
+        training.setCourtId(courtId);
+        training.setCourtName(courtName);
+        training.setCourtType(courtType);
+        training.setDayOfWeek(dayOfWeek >= 1 && dayOfWeek <= 7 ? ENGLISH_DAYS[dayOfWeek - 1] : null);
+        training.setStartTime(TimeOfDay.format(startMinutes));
+        training.setEndTime(TimeOfDay.format(endMinutes));
+        training.setDate(DateUtils.getStartOfEpochDay(epochDay) + startMinutes * 60_000L);
+        training.setNotes(notes);
+        training.setCreatedAt(createdAt);
+        training.setCreatedBy(createdBy);
+        return training;
+    }
+
+    /**
+     * Two series conflict if they share a court, weekday and overlapping hours,
+     * and at least one shared week is not skipped by either of them.
+     */
+    @Exclude
+    public boolean conflictsWith(TrainingSeries other) {
+        if (courtId == null || !courtId.equals(other.courtId) || dayOfWeek != other.dayOfWeek
+                || !overlaps(other.startMinutes, other.endMinutes)) {
+            return false;
+        }
+        long from = Math.max(firstDay, other.firstDay);
+        long to = Math.min(lastDay, other.lastDay);
+        if (from > to) {
+            return false;
+        }
+        if (exceptions.isEmpty() && other.exceptions.isEmpty()) {
+            // No skipped weeks - any shared weekday in the range is a clash
+            from += Math.floorMod(dayOfWeek - DateUtils.getDayOfWeekOfEpochDay(from), 7);
+            return from <= to;
+        }
+        for (long day = from; day <= to; day++) {
+            if (occursOn(day) && other.occursOn(day)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if a one-off training clashes with an occurrence of this series.
+     * Times that can't be read are never a conflict, as in {@link Training#conflictsWith}.
+     */
+    @Exclude
+    public boolean conflictsWith(Training training) {
+        if (courtId == null || !courtId.equals(training.getCourtId())) {
+            return false;
+        }
+        // An occurrence being edited is re-added under its own id; it must not clash with its series
+        if (seriesId != null && (seriesId.equals(training.getSeriesId())
+                || seriesId.equals(seriesIdOf(training.getTrainingId())))) {
+            return false;
+        }
+        int start = training.getStartMinutes();
+        int end = training.getEndMinutes();
+        return start >= 0 && end >= 0 && overlaps(start, end)
+                && occursOn(training.getEpochDay());
+    }
+
+    private boolean overlaps(int otherStart, int otherEnd) {
+        return startMinutes < otherEnd && otherStart < endMinutes;
+    }
+
+    /**
+     * Builds a series from the raw value of its snapshot without the reflective mapper.
+     * Returns null when the node is missing.
+     */
+    public static TrainingSeries fromMap(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        TrainingSeries series = new TrainingSeries();
+        series.seriesId = MapReader.readString(map, "seriesId", null);
+        series.teamId = MapReader.readString(map, "teamId", null);
+        series.teamName = MapReader.readString(map, "teamName", null);
+        series.teamColor = MapReader.readString(map, "teamColor", null);
+        series.courtId = MapReader.readString(map, "courtId", null);
+        series.courtName = MapReader.readString(map, "courtName", null);
+        series.courtType = MapReader.readString(map, "courtType", null);
+        series.dayOfWeek = MapReader.readInt(map, "dayOfWeek", 0);
+        series.startMinutes = MapReader.readInt(map, "startMinutes", 0);
+        series.endMinutes = MapReader.readInt(map, "endMinutes", 0);
+        series.firstDay = MapReader.readLong(map, "firstDay", 0);
+        series.lastDay = MapReader.readLong(map, "lastDay", 0);
+        Map<String, Object> exceptions = MapReader.asMap(map.get("exceptions"));
+        if (exceptions != null) {
+            for (String day : exceptions.keySet()) {
+                if (MapReader.readBoolean(exceptions, day, false)) {
+                    series.exceptions.put(day, true);
+                }
+            }
+        }
+        series.notes = MapReader.readString(map, "notes", null);
+        series.createdAt = MapReader.readLong(map, "createdAt", 0);
+        series.createdBy = MapReader.readString(map, "createdBy", null);
+        return series;
+    }
+
+    /**
+     * The same keys the reflective mapper writes.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("seriesId", seriesId);
+        map.put("teamId", teamId);
+        map.put("teamName", teamName);
+        map.put("teamColor", teamColor);
+        map.put("courtId", courtId);
+        map.put("courtName", courtName);
+        map.put("courtType", courtType);
+        map.put("dayOfWeek", dayOfWeek);
+        map.put("startMinutes", startMinutes);
+        map.put("endMinutes", endMinutes);
+        map.put("firstDay", firstDay);
+        map.put("lastDay", lastDay);
+        map.put("exceptions", new HashMap<>(exceptions));
+        map.put("notes", notes);
+        map.put("createdAt", createdAt);
+        map.put("createdBy", createdBy);
+        return map;
+    }
+
+    /**
+     * Returns the series id of an occurrence id ("{seriesId}@{epochDay}"), or null for a regular training id.
+     */
+    public static String seriesIdOf(String trainingId) {
+        int separator = trainingId != null ? trainingId.lastIndexOf(OCCURRENCE_SEPARATOR) : -1;
+        return separator > 0 ? trainingId.substring(0, separator) : null;
+    }
+
+    /**
+     * Returns the epoch day of an occurrence id, or Long.MIN_VALUE for a regular training id.
+     */
+    public static long epochDayOf(String trainingId) {
+        int separator = trainingId != null ? trainingId.lastIndexOf(OCCURRENCE_SEPARATOR) : -1;
+        if (separator <= 0) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.parseLong(trainingId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+}
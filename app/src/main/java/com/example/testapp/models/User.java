@@ -1,7 +1,10 @@
 package com.example.testapp.models;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public class User {
     private String userId;
@@ -73,4 +76,71 @@ public class User {
     public boolean isPlayer() { return "PLAYER".equals(role); }
     public boolean isPending() { return "PENDING".equals(registrationStatus); }
     public boolean isApproved() { return "APPROVED".equals(registrationStatus); }
+
+    /**
+     * Whether the two users would be shown the same, for list diffing.
+     */
+    public boolean sameContentAs(User other) {
+        return createdAt == other.createdAt
+                && Objects.equals(userId, other.userId)
+                && Objects.equals(email, other.email)
+                && Objects.equals(name, other.name)
+                && Objects.equals(role, other.role)
+                && Objects.equals(phone, other.phone)
+                && Objects.equals(teamId, other.teamId)
+                && getTeamIds().equals(other.getTeamIds())
+                && getPendingTeamIds().equals(other.getPendingTeamIds())
+                && Objects.equals(registrationStatus, other.registrationStatus)
+                && Objects.equals(playerId, other.playerId);
+    }
+
+    public static User fromMap(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        User user = new User();
+        user.userId = MapReader.readString(map, "userId", null);
+        user.email = MapReader.readString(map, "email", null);
+        user.name = MapReader.readString(map, "name", null);
+        user.role = MapReader.readString(map, "role", null);
+        user.phone = MapReader.readString(map, "phone", null);
+        user.teamId = MapReader.readString(map, "teamId", null);
+        user.teamIds = MapReader.readStringList(map, "teamIds");
+        user.pendingTeamIds = MapReader.readStringList(map, "pendingTeamIds");
+        // Older records carry the single pendingTeamId key as well
+        String pendingTeamId = MapReader.readString(map, "pendingTeamId", null);
+        if (pendingTeamId != null) {
+            user.setPendingTeamId(pendingTeamId);
+        }
+        user.registrationStatus = MapReader.readString(map, "registrationStatus", null);
+        user.playerId = MapReader.readString(map, "playerId", null);
+        user.createdAt = MapReader.readLong(map, "createdAt", 0);
+        return user;
+    }
+
+    /**
+     * The same keys the reflective mapper writes, including the derived role flags.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("userId", userId);
+        map.put("email", email);
+        map.put("name", name);
+        map.put("role", role);
+        map.put("phone", phone);
+        map.put("teamId", teamId);
+        map.put("teamIds", getTeamIds());
+        map.put("pendingTeamId", getPendingTeamId());
+        map.put("pendingTeamIds", getPendingTeamIds());
+        map.put("registrationStatus", registrationStatus);
+        map.put("playerId", playerId);
+        map.put("createdAt", createdAt);
+        map.put("admin", isAdmin());
+        map.put("coordinator", isCoordinator());
+        map.put("coach", isCoach());
+        map.put("player", isPlayer());
+        map.put("pending", isPending());
+        map.put("approved", isApproved());
+        return map;
+    }
 }
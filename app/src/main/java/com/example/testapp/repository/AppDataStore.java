@@ -0,0 +1,55 @@
+package com.example.testapp.repository;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.Team;
+import com.example.testapp.models.User;
+import com.google.firebase.database.FirebaseDatabase;
+
+/**
+ * Application-wide owner of the lists every screen reads: teams, courts and users.
+ * Repositories and screens subscribe to these nodes instead of attaching
+ * their own listeners. Created in {@code MyApplication.onCreate()}.
+ */
+public class AppDataStore {
+    private static AppDataStore instance;
+
+    private final SharedNode<Team> teams;
+    private final SharedNode<Court> courts;
+    private final SharedNode<User> users;
+
+    private AppDataStore() {
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        teams = new SharedNode<>(database.getReference("teams"), SnapshotCodecs::team);
+        courts = new SharedNode<>(database.getReference("courts"), SnapshotCodecs::court);
+        users = new SharedNode<>(database.getReference("users"), snapshot -> {
+            User user = SnapshotCodecs.user(snapshot);
+            if (user != null) {
+                user.setUserId(snapshot.getKey());
+            }
+            return user;
+        });
+    }
+
+    public static synchronized void init() {
+        if (instance == null) {
+            instance = new AppDataStore();
+        }
+    }
+
+    public static AppDataStore getInstance() {
+        init();
+        return instance;
+    }
+
+    public SharedNode<Team> getTeams() {
+        return teams;
+    }
+
+    public SharedNode<Court> getCourts() {
+        return courts;
+    }
+
+    public SharedNode<User> getUsers() {
+        return users;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.testapp.repository;
+
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Parses Firebase snapshots on a small shared background pool and publishes
+ * only the newest result: a parse that is overtaken by a newer snapshot is
+ * skipped if it hasn't started, and discarded if it has.
+ */
+class BackgroundParser<R> {
+
+    interface Publisher<R> {
+        /** Called on the background thread, e.g. with {@code liveData::postValue}. */
+        void publish(R result);
+    }
+
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(2, 2,
+        30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    static {
+        ((ThreadPoolExecutor) EXECUTOR).allowCoreThreadTimeOut(true);
+    }
+
+    private final Publisher<R> publisher;
+    private final Executor executor;
+    private int generation = 0;
+
+    BackgroundParser(MutableLiveData<R> target) {
+        this(target::postValue);
+    }
+
+    BackgroundParser(Publisher<R> publisher) {
+        this(publisher, EXECUTOR);
+    }
+
+    /**
+     * Runs on the given executor instead of the shared pool, for work too long to queue
+     * in front of snapshot parsing.
+     */
+    BackgroundParser(Publisher<R> publisher, Executor executor) {
+        this.publisher = publisher;
+        this.executor = executor;
+    }
+
+    static void execute(Runnable task) {
+        EXECUTOR.execute(task);
+    }
+
+    void submit(Supplier<R> parse) {
+        final int submitted;
+        synchronized (this) {
+            submitted = ++generation;
+        }
+        executor.execute(() -> {
+            if (isStale(submitted)) {
+                return;
+            }
+            R result = parse.get();
+            synchronized (this) {
+                if (submitted == generation) {
+                    publisher.publish(result);
+                }
+            }
+        });
+    }
+
+    private synchronized boolean isStale(int submitted) {
+        return submitted != generation;
+    }
+}
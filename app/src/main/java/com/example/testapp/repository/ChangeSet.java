@@ -0,0 +1,71 @@
+package com.example.testapp.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * What changed in a {@link KeyedStore} since the last emission, together with
+ * the store's items at that point. A full reload means the whole collection was
+ * (re)loaded and observers should rebuild rather than apply the changes one by one.
+ */
+public class ChangeSet<T> {
+
+    public enum Type { ADDED, CHANGED, REMOVED, MOVED }
+
+    public static final class Change<T> {
+        private final Type type;
+        private final String key;
+        private final T value;
+
+        Change(Type type, String key, T value) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+        }
+
+        public Type getType() { return type; }
+        public String getKey() { return key; }
+
+        /** The new value, or the removed value for {@link Type#REMOVED}. */
+        public T getValue() { return value; }
+    }
+
+    private final List<T> items;
+    private final List<Change<T>> changes;
+    private final boolean fullReload;
+
+    ChangeSet(List<T> items, List<Change<T>> changes, boolean fullReload) {
+        this.items = items;
+        this.changes = Collections.unmodifiableList(changes);
+        this.fullReload = fullReload;
+    }
+
+    public List<T> getItems() { return items; }
+    public List<Change<T>> getChanges() { return changes; }
+    public boolean isFullReload() { return fullReload; }
+
+    /**
+     * The same emission restricted to the items that pass {@code keep}. A change whose new
+     * value fails is reported as a removal, since observers may still hold the earlier value;
+     * additions and removals of items that never passed are dropped.
+     */
+    public ChangeSet<T> filter(Predicate<T> keep) {
+        List<T> keptItems = new ArrayList<>();
+        for (T item : items) {
+            if (keep.test(item)) {
+                keptItems.add(item);
+            }
+        }
+        List<Change<T>> keptChanges = new ArrayList<>();
+        for (Change<T> change : changes) {
+            if (keep.test(change.getValue())) {
+                keptChanges.add(change);
+            } else if (change.getType() == Type.CHANGED || change.getType() == Type.MOVED) {
+                keptChanges.add(new Change<>(Type.REMOVED, change.getKey(), change.getValue()));
+            }
+        }
+        return new ChangeSet<>(Collections.unmodifiableList(keptItems), keptChanges, fullReload);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.testapp.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Child events collected on the main thread while the previous batch is being parsed.
+ *
+ * When the same child is written again before the batch is parsed, the older
+ * write is dropped, so a child that changes several times is only parsed once.
+ *
+ * @param <S> the raw payload of an event, a DataSnapshot in the app
+ */
+class ChildEventBatch<S> {
+
+    static final class Op<S> {
+        final ChangeSet.Type type;
+        final String key;
+        final S payload;
+        final String previousKey;
+        boolean superseded;
+        Object parsed;
+
+        Op(ChangeSet.Type type, String key, S payload, String previousKey) {
+            this.type = type;
+            this.key = key;
+            this.payload = payload;
+            this.previousKey = previousKey;
+        }
+
+        /** Whether the payload has to be parsed before the op is applied. */
+        boolean needsParse() {
+            return !superseded && (type == ChangeSet.Type.ADDED || type == ChangeSet.Type.CHANGED);
+        }
+    }
+
+    private final List<Op<S>> ops = new ArrayList<>();
+    // Last ADDED or CHANGED op of each key in this batch
+    private final Map<String, Op<S>> lastWrite = new HashMap<>();
+
+    void add(ChangeSet.Type type, String key, S payload, String previousKey) {
+        Op<S> earlier = lastWrite.remove(key);
+        if (earlier != null && type != ChangeSet.Type.MOVED) {
+            earlier.superseded = true;
+            if (earlier.type == ChangeSet.Type.ADDED) {
+                if (type == ChangeSet.Type.REMOVED) {
+                    // Added and removed before the store ever saw it
+                    return;
+                }
+                // Still new to the store: keep the position it was added at
+                type = ChangeSet.Type.ADDED;
+                previousKey = earlier.previousKey;
+            }
+        } else if (earlier != null) {
+            lastWrite.put(key, earlier);
+        }
+        Op<S> op = new Op<>(type, key, payload, previousKey);
+        ops.add(op);
+        if (type == ChangeSet.Type.ADDED || type == ChangeSet.Type.CHANGED) {
+            lastWrite.put(key, op);
+        }
+    }
+
+    boolean isEmpty() {
+        return ops.isEmpty();
+    }
+
+    List<Op<S>> getOps() {
+        return Collections.unmodifiableList(ops);
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.testapp.repository;
 
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.MediatorLiveData;
 
 import com.example.testapp.models.Court;
 import com.google.firebase.database.DataSnapshot;
@@ -10,59 +10,41 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class CourtRepository {
     private final DatabaseReference courtsRef;
-    private final MutableLiveData<List<Court>> courtsLiveData;
-    private final MutableLiveData<String> errorLiveData;
+    // Shared with every other screen
+    private final SharedNode<Court> courtsNode;
+    private final MediatorLiveData<List<Court>> courtsLiveData;
+    private final MediatorLiveData<String> errorLiveData;
 
     public CourtRepository() {
         FirebaseDatabase database = FirebaseDatabase.getInstance();
         courtsRef = database.getReference("courts");
-        courtsLiveData = new MutableLiveData<>();
-        errorLiveData = new MutableLiveData<>();
-        loadCourts();
-    }
-
-    private void loadCourts() {
-        courtsRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                List<Court> courts = new ArrayList<>();
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    Court court = snapshot.getValue(Court.class);
-                    if (court != null) {
-                        courts.add(court);
-                    }
-                }
-                courtsLiveData.setValue(courts);
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                errorLiveData.setValue(error.getMessage());
-            }
-        });
+        courtsNode = AppDataStore.getInstance().getCourts();
+        courtsLiveData = new MediatorLiveData<>();
+        courtsLiveData.addSource(courtsNode, changes -> courtsLiveData.setValue(changes.getItems()));
+        errorLiveData = new MediatorLiveData<>();
+        errorLiveData.addSource(courtsNode.getErrors(), errorLiveData::setValue);
     }
 
     public void addCourt(Court court) {
         String key = courtsRef.push().getKey();
         if (key != null) {
             court.setCourtId(key);
-            courtsRef.child(key).setValue(court)
+            courtsRef.child(key).setValue(court.toMap())
                 .addOnFailureListener(e -> errorLiveData.setValue(e.getMessage()));
         }
     }
 
     public void updateCourt(Court court) {
-        courtsRef.child(court.getCourtId()).setValue(court)
+        courtsRef.child(court.getCourtId()).setValue(court.toMap())
             .addOnFailureListener(e -> errorLiveData.setValue(e.getMessage()));
     }
     
     public void updateCourt(Court court, OnCourtUpdatedListener listener) {
-        courtsRef.child(court.getCourtId()).setValue(court)
+        courtsRef.child(court.getCourtId()).setValue(court.toMap())
             .addOnSuccessListener(aVoid -> listener.onCourtUpdated())
             .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
@@ -71,7 +53,7 @@ public class CourtRepository {
         courtsRef.child(courtId).addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(DataSnapshot dataSnapshot) {
-                Court court = dataSnapshot.getValue(Court.class);
+                Court court = SnapshotCodecs.court(dataSnapshot);
                 if (court != null) {
                     listener.onCourtLoaded(court);
                 } else {
@@ -95,6 +77,13 @@ public class CourtRepository {
         return courtsLiveData;
     }
 
+    /**
+     * Same data as {@link #getCourts()}, plus which courts were added, changed or removed.
+     */
+    public LiveData<ChangeSet<Court>> getCourtChanges() {
+        return courtsNode;
+    }
+
     public LiveData<String> getErrors() {
         return errorLiveData;
     }
@@ -0,0 +1,161 @@
+package com.example.testapp.repository;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.Training;
+import com.example.testapp.models.TrainingSeries;
+
+import com.example.testapp.utils.DateUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides which weekly copies of a training can be booked, without touching the database.
+ *
+ * Every target date is checked against one occupancy snapshot, so duplicating many weeks
+ * needs no per-week queries. Skipped dates are reported as "dd/MM/yyyy (reason)",
+ * the format shown by the duplication result dialog.
+ */
+public class DuplicationPlan {
+
+    public static final String REASON_CLOSED = "סגור";
+    public static final String REASON_TAKEN = "תפוס";
+    public static final String REASON_ERROR = "שגיאה";
+    public static final String REASON_NO_COURT = "מגרש לא נבחר";
+
+    // Stored dayOfWeek of a copy, by Calendar day of week (Sunday = 1)
+    private static final String[] DAY_NAMES = {
+        "Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"
+    };
+
+    private final List<Training> accepted = new ArrayList<>();
+    private final List<String> acceptedDates = new ArrayList<>();
+    private final List<String> skippedReasons = new ArrayList<>();
+    private final int totalWeeks;
+
+    private DuplicationPlan(int totalWeeks) {
+        this.totalWeeks = totalWeeks;
+    }
+
+    /**
+     * Expands the template to the same weekday in each of the next {@code weeks} weeks after
+     * {@code fromDate} and keeps the copies that fit the court's opening days and the snapshot.
+     */
+    public static DuplicationPlan build(Training template, Court court, long fromDate, int weeks,
+                                        TrainingConflictIndex occupancy) {
+        return build(template, court, fromDate, weeks, occupancy, Collections.emptyList());
+    }
+
+    /**
+     * Same as above, also treating occurrences of the given recurring series as booked.
+     */
+    public static DuplicationPlan build(Training template, Court court, long fromDate, int weeks,
+                                        TrainingConflictIndex occupancy, List<TrainingSeries> series) {
+        DuplicationPlan plan = new DuplicationPlan(weeks);
+        // Copies keep the template's local time of day, on Israel calendar days like the rest of the schedule
+        long fromDay = DateUtils.getEpochDay(fromDate);
+        long timeOfDay = DateUtils.getMillisOfDay(fromDate);
+        // Copies share the same hours, so two of them only clash when they land on the same day
+        Set<Long> plannedDays = new HashSet<>();
+
+        for (int week = 1; week <= weeks; week++) {
+            long day = fromDay + 7L * week;
+            long date = DateUtils.getStartOfEpochDay(day) + timeOfDay;
+            String futureDate = DateUtils.formatDate(date);
+
+            if (court == null) {
+                plan.skippedReasons.add(futureDate + " (" + REASON_NO_COURT + ")");
+                continue;
+            }
+
+            int dayOfWeek = DateUtils.getDayOfWeekOfEpochDay(day);
+            DaySchedule daySchedule = court.getScheduleForDay(dayOfWeek);
+            if (daySchedule == null || !daySchedule.isActive()) {
+                plan.skippedReasons.add(futureDate + " (" + REASON_CLOSED + ")");
+                continue;
+            }
+
+            Training copy = copyOf(template, court, date);
+            copy.setDayOfWeek(DAY_NAMES[dayOfWeek - 1]);
+
+            if (occupancy.findConflict(copy) != null || conflictsWithSeries(copy, series)
+                    || !plannedDays.add(copy.getEpochDay())) {
+                plan.skippedReasons.add(futureDate + " (" + REASON_TAKEN + ")");
+                continue;
+            }
+
+            plan.accepted.add(copy);
+            plan.acceptedDates.add(futureDate);
+        }
+        return plan;
+    }
+
+    private static boolean conflictsWithSeries(Training copy, List<TrainingSeries> series) {
+        for (TrainingSeries recurring : series) {
+            if (recurring.conflictsWith(copy)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Training copyOf(Training template, Court court, long date) {
+        Training copy = new Training();
+        copy.setTeamId(template.getTeamId());
+        copy.setTeamName(template.getTeamName());
+        copy.setTeamColor(template.getTeamColor());
+        // Always use the court's own ID and name so a copy never ends up without a court
+        copy.setCourtId(court.getCourtId());
+        copy.setCourtName(court.getName());
+        copy.setCourtType(template.getCourtType());
+        copy.setStartTime(template.getStartTime());
+        copy.setEndTime(template.getEndTime());
+        copy.setNotes(template.getNotes());
+        copy.setDate(date);
+        return copy;
+    }
+
+    /**
+     * Moves one accepted copy into the report, used when its day's claim is refused.
+     */
+    public void reject(Training copy, String reason) {
+        int index = accepted.indexOf(copy);
+        if (index < 0) {
+            return;
+        }
+        skippedReasons.add(acceptedDates.get(index) + " (" + reason + ")");
+        accepted.remove(index);
+        acceptedDates.remove(index);
+    }
+
+    /**
+     * Marks every accepted copy as failed, used when the batch write is rejected.
+     */
+    public void markAllFailed() {
+        for (String date : acceptedDates) {
+            skippedReasons.add(date + " (" + REASON_ERROR + ")");
+        }
+        accepted.clear();
+        acceptedDates.clear();
+    }
+
+    public List<Training> getAccepted() {
+        return accepted;
+    }
+
+    public List<String> getSkippedReasons() {
+        return skippedReasons;
+    }
+
+    public int getSuccessCount() {
+        return accepted.size();
+    }
+
+    public int getTotalWeeks() {
+        return totalWeeks;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.testapp.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps a {@link KeyedStore} in sync with a Firebase list through a ChildEventListener,
+ * so only the children that changed are downloaded and parsed again.
+ *
+ * Child events are collected on the main thread and parsed in batches on a
+ * background thread, one batch at a time; the parsed batch is applied to the
+ * store back on the main thread and published as one {@link ChangeSet}.
+ * The initial load is published once, as a full reload, after Firebase reports
+ * the whole list.
+ */
+public class FirebaseListStore<T> {
+
+    public interface Parser<T> {
+        /** Returns the parsed child, or null to leave it out of the store. Called on a background thread. */
+        T parse(DataSnapshot snapshot);
+    }
+
+    public interface Listener<T> {
+        void onChanged(ChangeSet<T> changes);
+        void onError(String error);
+    }
+
+    private final KeyedStore<T> store = new KeyedStore<>();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Query query;
+    private final Parser<T> parser;
+    private final Listener<T> listener;
+    private final Runnable flush = this::flush;
+    private ChildEventBatch<DataSnapshot> pending = new ChildEventBatch<>();
+    // Firebase has reported the whole list, so batches may be published
+    private boolean initialSnapshotReceived = false;
+    // The initial load has been parsed and published
+    private boolean loaded = false;
+    private boolean flushScheduled = false;
+    private boolean parsing = false;
+    private boolean stopped = false;
+
+    private final ChildEventListener childListener = new ChildEventListener() {
+        @Override
+        public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+            enqueue(ChangeSet.Type.ADDED, snapshot, previousChildName);
+        }
+
+        @Override
+        public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+            enqueue(ChangeSet.Type.CHANGED, snapshot, previousChildName);
+        }
+
+        @Override
+        public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+            enqueue(ChangeSet.Type.REMOVED, snapshot, null);
+        }
+
+        @Override
+        public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {
+            enqueue(ChangeSet.Type.MOVED, snapshot, previousChildName);
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            listener.onError(error.getMessage());
+        }
+    };
+
+    public FirebaseListStore(Query query, Parser<T> parser, Listener<T> listener) {
+        this.query = query;
+        this.parser = parser;
+        this.listener = listener;
+        query.addChildEventListener(childListener);
+        // Value events fire after the child events of the same data, so this marks the end of the initial load
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                initialSnapshotReceived = true;
+                flush();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                listener.onError(error.getMessage());
+            }
+        });
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public T get(String key) {
+        return store.get(key);
+    }
+
+    public List<T> getItems() {
+        return store.getItems();
+    }
+
+    /**
+     * Publishes the current items again as a full reload, e.g. after a client-side filter changed.
+     */
+    public void republish() {
+        store.markReload();
+        if (loaded) {
+            flush();
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+        query.removeEventListener(childListener);
+        handler.removeCallbacks(flush);
+    }
+
+    private void enqueue(ChangeSet.Type type, DataSnapshot snapshot, String previousChildName) {
+        pending.add(type, snapshot.getKey(), snapshot, previousChildName);
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (initialSnapshotReceived && !flushScheduled) {
+            flushScheduled = true;
+            handler.post(flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        handler.removeCallbacks(flush);
+        if (parsing || stopped) {
+            // Picked up when the batch being parsed is applied
+            return;
+        }
+        if (pending.isEmpty()) {
+            publish();
+            return;
+        }
+
+        ChildEventBatch<DataSnapshot> batch = pending;
+        pending = new ChildEventBatch<>();
+        parsing = true;
+        BackgroundParser.execute(() -> {
+            for (ChildEventBatch.Op<DataSnapshot> op : batch.getOps()) {
+                if (op.needsParse()) {
+                    op.parsed = parser.parse(op.payload);
+                }
+            }
+            handler.post(() -> apply(batch));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(ChildEventBatch<DataSnapshot> batch) {
+        parsing = false;
+        if (stopped) {
+            return;
+        }
+        for (ChildEventBatch.Op<DataSnapshot> op : batch.getOps()) {
+            if (op.superseded) {
+                continue;
+            }
+            T value = (T) op.parsed;
+            switch (op.type) {
+                case ADDED:
+                    if (value != null) {
+                        store.add(op.key, value, op.previousKey);
+                    }
+                    break;
+                case CHANGED:
+                    if (value != null) {
+                        store.change(op.key, value);
+                    } else {
+                        store.remove(op.key);
+                    }
+                    break;
+                case REMOVED:
+                    store.remove(op.key);
+                    break;
+                case MOVED:
+                    store.move(op.key, op.previousKey);
+                    break;
+            }
+        }
+        publish();
+        if (!pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    private void publish() {
+        if (store.hasPendingChanges()) {
+            loaded = true;
+            listener.onChanged(store.drainChanges());
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.testapp.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.testapp.models.Player;
+import com.example.testapp.models.User;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Claims and releases jersey numbers in the {@link TeamJerseys} registry.
+ *
+ * A player's number is claimed in every team they are on, or in none: when one team
+ * already has it, the claims taken in the others are given back.
+ */
+public class JerseyRegistry {
+    private static final String TAG = "JerseyRegistry";
+
+    public interface OnClaimListener {
+        /** The number is the user's in every team; teamIds are the teams it was claimed in. */
+        void onClaimed(List<String> teamIds);
+        void onTaken(String teamId);
+        void onFailure(String error);
+    }
+
+    // Whether the registry was seeded, checked once per process
+    private static boolean indexed;
+
+    private final DatabaseReference rootRef;
+
+    public JerseyRegistry() {
+        rootRef = FirebaseDatabase.getInstance().getReference();
+    }
+
+    /**
+     * Claims the number in every team the user is on (users/{userId}/teamIds).
+     */
+    public void claimInTeamsOf(String userId, String number, OnClaimListener listener) {
+        readTeamIds(userId, teamIds -> {
+            if (teamIds == null) {
+                listener.onFailure("שגיאה בטעינת קבוצות השחקן");
+            } else {
+                claim(userId, teamIds, number, listener);
+            }
+        });
+    }
+
+    public void claim(String userId, List<String> teamIds, String number, OnClaimListener listener) {
+        String key = TeamJerseys.keyOf(number);
+        if (key == null || teamIds.isEmpty()) {
+            listener.onClaimed(teamIds);
+            return;
+        }
+        whenIndexed(() -> claimKey(userId, teamIds, key, listener), listener);
+    }
+
+    private void claimKey(String userId, List<String> teamIds, String key, OnClaimListener listener) {
+        int count = teamIds.size();
+        boolean[] committed = new boolean[count];
+        // Teams where the user didn't hold the number before, to give back on failure
+        boolean[] newlyClaimed = new boolean[count];
+        String[] takenIn = new String[1];
+        String[] error = new String[1];
+        int[] pending = {count};
+
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            String teamId = teamIds.get(i);
+            rootRef.child(TeamJerseys.path(teamId, key)).runTransaction(new Transaction.Handler() {
+                @NonNull
+                @Override
+                public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                    Object owner = currentData.getValue();
+                    if (!TeamJerseys.isFreeFor(owner, userId)) {
+                        return Transaction.abort();
+                    }
+                    newlyClaimed[index] = owner == null;
+                    currentData.setValue(userId);
+                    return Transaction.success(currentData);
+                }
+
+                @Override
+                public void onComplete(DatabaseError databaseError, boolean done, DataSnapshot currentData) {
+                    if (databaseError != null) {
+                        error[0] = databaseError.getMessage();
+                    } else if (done) {
+                        committed[index] = true;
+                    } else if (takenIn[0] == null) {
+                        takenIn[0] = teamId;
+                    }
+                    if (--pending[0] > 0) {
+                        return;
+                    }
+                    if (takenIn[0] == null && error[0] == null) {
+                        listener.onClaimed(teamIds);
+                        return;
+                    }
+                    for (int j = 0; j < count; j++) {
+                        if (committed[j] && newlyClaimed[j]) {
+                            releaseKey(userId, teamIds.get(j), key);
+                        }
+                    }
+                    if (takenIn[0] != null) {
+                        listener.onTaken(takenIn[0]);
+                    } else {
+                        listener.onFailure(error[0]);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Gives back the user's claims of the number in the teams. A claim held by
+     * someone else is left alone.
+     */
+    public void release(String userId, Collection<String> teamIds, String number) {
+        String key = TeamJerseys.keyOf(number);
+        if (key == null || teamIds == null) {
+            return;
+        }
+        for (String teamId : teamIds) {
+            releaseKey(userId, teamId, key);
+        }
+    }
+
+    public void releaseInTeamsOf(String userId, String number) {
+        if (TeamJerseys.keyOf(number) == null) {
+            return;
+        }
+        readTeamIds(userId, teamIds -> release(userId, teamIds, number));
+    }
+
+    /**
+     * Releases the number of the user's player record in the teams, for callers that
+     * don't have the record loaded.
+     */
+    public void releaseOfPlayer(String userId, String playerId, Collection<String> teamIds) {
+        if (teamIds == null || teamIds.isEmpty()) {
+            return;
+        }
+        readNumber(userId, playerId, number -> release(userId, teamIds, number));
+    }
+
+    /**
+     * Claims the number of the user's player record in the teams.
+     */
+    public void claimOfPlayer(String userId, String playerId, List<String> teamIds, OnClaimListener listener) {
+        readNumber(userId, playerId, number -> claim(userId, teamIds, number, listener));
+    }
+
+    private void releaseKey(String userId, String teamId, String key) {
+        rootRef.child(TeamJerseys.path(teamId, key)).runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                if (!userId.equals(currentData.getValue())) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(null);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                if (error != null) {
+                    Log.e(TAG, "Failed to release jersey " + key + " in " + teamId + ": " + error.getMessage());
+                }
+            }
+        });
+    }
+
+    private void readTeamIds(String userId, Consumer<List<String>> callback) {
+        rootRef.child("users").child(userId).child("teamIds").addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                List<String> teamIds = new ArrayList<>();
+                for (DataSnapshot child : snapshot.getChildren()) {
+                    String teamId = child.getValue(String.class);
+                    if (teamId != null) {
+                        teamIds.add(teamId);
+                    }
+                }
+                callback.accept(teamIds);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.accept(null);
+            }
+        });
+    }
+
+    private void readNumber(String userId, String playerId, Consumer<String> callback) {
+        PlayerResolver resolver = PlayerResolver.getInstance();
+        resolver.remember(userId, playerId);
+        resolver.loadPlayer(userId, player -> callback.accept(player != null ? player.getJerseyNumber() : null));
+    }
+
+    /**
+     * Runs the claim once the registry holds the numbers worn before it existed.
+     */
+    private void whenIndexed(Runnable claim, OnClaimListener listener) {
+        if (indexed) {
+            claim.run();
+            return;
+        }
+        rootRef.child(TeamJerseys.INDEXED_FLAG).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (Boolean.TRUE.equals(snapshot.getValue())) {
+                    indexed = true;
+                    claim.run();
+                } else {
+                    seed(claim, listener);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                listener.onFailure(error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Seeds the registry from one scan of the players' teams and numbers.
+     */
+    private void seed(Runnable claim, OnClaimListener listener) {
+        rootRef.child("users").orderByChild("role").equalTo("PLAYER")
+            .addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot usersSnapshot) {
+                    Map<String, List<String>> teamsByUser = new HashMap<>();
+                    for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
+                        User user = SnapshotCodecs.user(userSnapshot);
+                        if (user != null && !user.getTeamIds().isEmpty()) {
+                            teamsByUser.put(userSnapshot.getKey(), user.getTeamIds());
+                        }
+                    }
+                    rootRef.child("players").addListenerForSingleValueEvent(new ValueEventListener() {
+                        @Override
+                        public void onDataChange(@NonNull DataSnapshot playersSnapshot) {
+                            Map<String, String> numberByUser = new HashMap<>();
+                            for (DataSnapshot playerSnapshot : playersSnapshot.getChildren()) {
+                                Player player = SnapshotCodecs.player(playerSnapshot);
+                                if (player != null && player.getUserId() != null) {
+                                    numberByUser.put(player.getUserId(), player.getJerseyNumber());
+                                }
+                            }
+                            Map<String, Object> updates = new HashMap<>();
+                            int duplicates = TeamJerseys.putLegacyClaims(updates, teamsByUser, numberByUser);
+                            updates.put(TeamJerseys.INDEXED_FLAG, true);
+                            Log.d(TAG, "Seeding " + (updates.size() - 1) + " jersey claims, " + duplicates + " shared numbers skipped");
+                            rootRef.updateChildren(updates)
+                                .addOnSuccessListener(aVoid -> {
+                                    indexed = true;
+                                    claim.run();
+                                })
+                                .addOnFailureListener(e -> listener.onFailure(e.getMessage()));
+                        }
+
+                        @Override
+                        public void onCancelled(@NonNull DatabaseError error) {
+                            listener.onFailure(error.getMessage());
+                        }
+                    });
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    listener.onFailure(error.getMessage());
+                }
+            });
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.testapp.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of a Firebase list, kept up to date one child at a time.
+ *
+ * Keys keep the order Firebase reports through the "previous child" argument of
+ * ChildEventListener callbacks. Changes are collected until {@link #drainChanges()}
+ * so a burst of child events is published as one {@link ChangeSet}.
+ */
+public class KeyedStore<T> {
+
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, T> values = new HashMap<>();
+    private List<ChangeSet.Change<T>> pending = new ArrayList<>();
+    // The first change set is always a full load
+    private boolean pendingReload = true;
+    private List<T> items;
+
+    public T get(String key) {
+        return values.get(key);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Current items in Firebase order. The list is cached until the next change.
+     */
+    public List<T> getItems() {
+        if (items == null) {
+            List<T> list = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                list.add(values.get(key));
+            }
+            items = Collections.unmodifiableList(list);
+        }
+        return items;
+    }
+
+    /**
+     * Adds a child after {@code previousKey} (null means first). An existing key is treated as a change.
+     */
+    public void add(String key, T value, String previousKey) {
+        if (values.containsKey(key)) {
+            change(key, value);
+            return;
+        }
+        keys.add(positionAfter(previousKey), key);
+        values.put(key, value);
+        record(ChangeSet.Type.ADDED, key, value);
+    }
+
+    public void change(String key, T value) {
+        if (!values.containsKey(key)) {
+            add(key, value, keys.isEmpty() ? null : keys.get(keys.size() - 1));
+            return;
+        }
+        values.put(key, value);
+        record(ChangeSet.Type.CHANGED, key, value);
+    }
+
+    public void remove(String key) {
+        if (!values.containsKey(key)) {
+            return;
+        }
+        keys.remove(key);
+        record(ChangeSet.Type.REMOVED, key, values.remove(key));
+    }
+
+    public void move(String key, String previousKey) {
+        if (!values.containsKey(key)) {
+            return;
+        }
+        keys.remove(key);
+        keys.add(positionAfter(previousKey), key);
+        record(ChangeSet.Type.MOVED, key, values.get(key));
+    }
+
+    /**
+     * Drops every item; the next change set is a full reload.
+     * Changes recorded after this are still listed, so observers can rebuild from them.
+     */
+    public void clear() {
+        keys.clear();
+        values.clear();
+        pending.clear();
+        pendingReload = true;
+        items = null;
+    }
+
+    /**
+     * Marks the next change set as a full reload, e.g. once the initial load completes.
+     */
+    public void markReload() {
+        pendingReload = true;
+    }
+
+    public boolean hasPendingChanges() {
+        return pendingReload || !pending.isEmpty();
+    }
+
+    /**
+     * Returns the changes collected since the last call together with the current items.
+     */
+    public ChangeSet<T> drainChanges() {
+        ChangeSet<T> changeSet = new ChangeSet<>(getItems(), pending, pendingReload);
+        pending = new ArrayList<>();
+        pendingReload = false;
+        return changeSet;
+    }
+
+    private int positionAfter(String previousKey) {
+        if (previousKey == null) {
+            return 0;
+        }
+        // Initial loads arrive in order, so the previous child is almost always the last one
+        int last = keys.size() - 1;
+        if (last >= 0 && keys.get(last).equals(previousKey)) {
+            return keys.size();
+        }
+        int index = keys.lastIndexOf(previousKey);
+        return index >= 0 ? index + 1 : keys.size();
+    }
+
+    private void record(ChangeSet.Type type, String key, T value) {
+        items = null;
+        pending.add(new ChangeSet.Change<>(type, key, value));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.testapp.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads in flight, by key. The first request of a key starts the read; requests
+ * for the same key made before it completes wait for that one result.
+ * Main thread only, as Firebase delivers its callbacks there.
+ */
+class PendingFetches<K, V> {
+
+    private final Map<K, List<Consumer<V>>> waiting = new HashMap<>();
+
+    /**
+     * Registers a callback for the key.
+     *
+     * @return true if no read of the key is in flight and the caller has to start one
+     */
+    boolean request(K key, Consumer<V> callback) {
+        List<Consumer<V>> callbacks = waiting.get(key);
+        if (callbacks != null) {
+            callbacks.add(callback);
+            return false;
+        }
+        callbacks = new ArrayList<>();
+        callbacks.add(callback);
+        waiting.put(key, callbacks);
+        return true;
+    }
+
+    /** Hands the result to every request of the key; the next request reads again. */
+    void complete(K key, V value) {
+        List<Consumer<V>> callbacks = waiting.remove(key);
+        if (callbacks == null) {
+            return;
+        }
+        for (Consumer<V> callback : callbacks) {
+            callback.accept(value);
+        }
+    }
+
+    /** Number of keys being read. */
+    int size() {
+        return waiting.size();
+    }
+}
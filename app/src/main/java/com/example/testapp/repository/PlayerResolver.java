@@ -0,0 +1,191 @@
+package com.example.testapp.repository;
+
+import androidx.annotation.NonNull;
+
+import com.example.testapp.models.Player;
+import com.example.testapp.utils.LruMap;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Process-wide lookup of a user's player record.
+ *
+ * A userId is resolved from memory, then from the users/{userId}/playerId pointer, and
+ * only then by querying players on userId. A query hit is written back to the pointer,
+ * so the next lookup of that user on any device is a single node read. Lookups of a
+ * user already being resolved wait for that one. Main thread only.
+ */
+public class PlayerResolver {
+    private static final int CACHE_SIZE = 512;
+
+    private static PlayerResolver instance;
+
+    private final DatabaseReference usersRef;
+    private final DatabaseReference playersRef;
+    private final LruMap<String, String> playerIds = new LruMap<>(CACHE_SIZE);
+    private final PendingFetches<String, String> fetches = new PendingFetches<>();
+
+    private PlayerResolver() {
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        usersRef = database.getReference("users");
+        playersRef = database.getReference("players");
+    }
+
+    public static synchronized PlayerResolver getInstance() {
+        if (instance == null) {
+            instance = new PlayerResolver();
+        }
+        return instance;
+    }
+
+    /**
+     * The user's playerId, or null when the user has no player record.
+     */
+    public void resolve(String userId, Consumer<String> callback) {
+        if (userId == null) {
+            // No user to look up, and child(null) would throw
+            callback.accept(null);
+            return;
+        }
+        String cached = playerIds.get(userId);
+        if (cached != null) {
+            callback.accept(cached);
+            return;
+        }
+        if (!fetches.request(userId, callback)) {
+            return;
+        }
+        usersRef.child(userId).child("playerId").addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Object playerId = snapshot.getValue();
+                if (playerId instanceof String && !((String) playerId).isEmpty()) {
+                    complete(userId, (String) playerId);
+                } else {
+                    query(userId, child -> complete(userId, child != null ? child.getKey() : null));
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                query(userId, child -> complete(userId, child != null ? child.getKey() : null));
+            }
+        });
+    }
+
+    /**
+     * The playerIds of the users, in the order given; users without a player record are left out.
+     */
+    public void resolveAll(Collection<String> userIds, Consumer<Map<String, String>> callback) {
+        List<String> pending = new ArrayList<>(new LinkedHashSet<>(userIds));
+        String[] resolved = new String[pending.size()];
+        int[] remaining = {pending.size()};
+        if (remaining[0] == 0) {
+            callback.accept(new LinkedHashMap<>());
+            return;
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            int index = i;
+            resolve(pending.get(i), playerId -> {
+                resolved[index] = playerId;
+                if (--remaining[0] == 0) {
+                    Map<String, String> result = new LinkedHashMap<>();
+                    for (int j = 0; j < resolved.length; j++) {
+                        if (resolved[j] != null) {
+                            result.put(pending.get(j), resolved[j]);
+                        }
+                    }
+                    callback.accept(result);
+                }
+            });
+        }
+    }
+
+    /**
+     * The user's player record with its playerId set, or null when there is none.
+     * A pointer to a record that no longer exists is dropped and the record looked up again.
+     */
+    public void loadPlayer(String userId, Consumer<Player> callback) {
+        resolve(userId, playerId -> {
+            if (playerId == null) {
+                callback.accept(null);
+                return;
+            }
+            playersRef.child(playerId).addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    Player player = SnapshotCodecs.player(snapshot);
+                    if (player != null) {
+                        player.setPlayerId(playerId);
+                        callback.accept(player);
+                        return;
+                    }
+                    forget(userId);
+                    query(userId, child -> {
+                        Player found = child != null ? SnapshotCodecs.player(child) : null;
+                        if (found != null) {
+                            found.setPlayerId(child.getKey());
+                        }
+                        callback.accept(found);
+                    });
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    callback.accept(null);
+                }
+            });
+        });
+    }
+
+    /** Records a user's playerId known from a write or another read. */
+    public void remember(String userId, String playerId) {
+        if (userId != null && playerId != null && !playerId.isEmpty()) {
+            playerIds.put(userId, playerId);
+        }
+    }
+
+    public void forget(String userId) {
+        playerIds.remove(userId);
+    }
+
+    private void complete(String userId, String playerId) {
+        remember(userId, playerId);
+        fetches.complete(userId, playerId);
+    }
+
+    /**
+     * Finds the record by its userId and points users/{userId}/playerId at it.
+     */
+    private void query(String userId, Consumer<DataSnapshot> callback) {
+        playersRef.orderByChild("userId").equalTo(userId).limitToFirst(1)
+            .addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    for (DataSnapshot child : snapshot.getChildren()) {
+                        remember(userId, child.getKey());
+                        usersRef.child(userId).child("playerId").setValue(child.getKey());
+                        callback.accept(child);
+                        return;
+                    }
+                    callback.accept(null);
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    callback.accept(null);
+                }
+            });
+    }
+}
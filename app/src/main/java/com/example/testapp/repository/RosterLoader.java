@@ -0,0 +1,166 @@
+package com.example.testapp.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.testapp.models.Player;
+import com.example.testapp.models.User;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Loads a team's players through the {@link TeamMembers} index: one read of
+ * teamMembers/{teamId}, then the members' player records, all requested at once.
+ * A member whose read is already in flight, e.g. from the load of onCreate when
+ * onResume loads again, is not read twice.
+ *
+ * The first load on a database without the index builds it from one scan of the
+ * players, the way rosters were loaded before.
+ */
+public class RosterLoader {
+    private static final String TAG = "RosterLoader";
+
+    public interface OnRosterLoadedListener {
+        void onLoaded(List<Player> players);
+        void onFailure(String error);
+    }
+
+    private final DatabaseReference rootRef;
+    private final PlayerResolver resolver = PlayerResolver.getInstance();
+    private final PendingFetches<String, Player> fetches = new PendingFetches<>();
+
+    public RosterLoader() {
+        rootRef = FirebaseDatabase.getInstance().getReference();
+    }
+
+    public void load(String teamId, OnRosterLoadedListener listener) {
+        rootRef.child(TeamMembers.teamPath(teamId)).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (snapshot.exists()) {
+                    resolve(TeamMembers.readMembers(snapshot.getValue()), listener);
+                } else {
+                    loadUnindexed(teamId, listener);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                listener.onFailure(error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Players of the members, in member order. Members without a player record are left out.
+     */
+    private void resolve(Map<String, String> members, OnRosterLoadedListener listener) {
+        if (members.isEmpty()) {
+            listener.onLoaded(new ArrayList<>());
+            return;
+        }
+        List<String> userIds = new ArrayList<>(members.keySet());
+        Player[] players = new Player[userIds.size()];
+        int[] pending = {userIds.size()};
+        for (int i = 0; i < userIds.size(); i++) {
+            int index = i;
+            String userId = userIds.get(i);
+            fetchPlayer(userId, members.get(userId), player -> {
+                players[index] = player;
+                if (--pending[0] == 0) {
+                    List<Player> roster = new ArrayList<>(players.length);
+                    for (Player loaded : players) {
+                        if (loaded != null) {
+                            roster.add(loaded);
+                        }
+                    }
+                    listener.onLoaded(roster);
+                }
+            });
+        }
+    }
+
+    private void fetchPlayer(String userId, String playerId, Consumer<Player> callback) {
+        if (!fetches.request(userId, callback)) {
+            return;
+        }
+        // The resolver reads the indexed record, and looks the user up again if it's gone
+        resolver.remember(userId, playerId);
+        resolver.loadPlayer(userId, player -> {
+            if (player != null) {
+                player.setUserId(userId);
+            }
+            fetches.complete(userId, player);
+        });
+    }
+
+    /**
+     * The team has no index node: either it has no members, or the index was never built.
+     */
+    private void loadUnindexed(String teamId, OnRosterLoadedListener listener) {
+        rootRef.child(TeamMembers.INDEXED_FLAG).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (Boolean.TRUE.equals(snapshot.getValue())) {
+                    listener.onLoaded(new ArrayList<>());
+                } else {
+                    buildIndex(teamId, listener);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                buildIndex(teamId, listener);
+            }
+        });
+    }
+
+    /**
+     * Builds the index of every team from one scan of the players, then resolves the
+     * requested team from the scan without waiting for the write.
+     */
+    private void buildIndex(String teamId, OnRosterLoadedListener listener) {
+        rootRef.child("users").orderByChild("role").equalTo("PLAYER")
+            .addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    Map<String, Object> updates = new HashMap<>();
+                    Map<String, String> members = new TreeMap<>();
+                    for (DataSnapshot userSnapshot : snapshot.getChildren()) {
+                        User user = SnapshotCodecs.user(userSnapshot);
+                        if (user == null) {
+                            continue;
+                        }
+                        String userId = userSnapshot.getKey();
+                        for (String memberOf : user.getTeamIds()) {
+                            updates.put(TeamMembers.path(memberOf, userId), TeamMembers.entryValue(user.getPlayerId()));
+                        }
+                        if (user.getTeamIds().contains(teamId)) {
+                            members.put(userId, user.getPlayerId());
+                        }
+                    }
+                    updates.put(TeamMembers.INDEXED_FLAG, true);
+                    Log.d(TAG, "Indexing " + (updates.size() - 1) + " team memberships");
+                    rootRef.updateChildren(updates)
+                        .addOnFailureListener(e -> Log.e(TAG, "Failed to write team index", e));
+                    resolve(members, listener);
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    listener.onFailure(error.getMessage());
+                }
+            });
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.testapp.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.testapp.models.User;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The signed-in user's users/{uid} profile, for the whole app.
+ *
+ * The profile is kept in SharedPreferences, so screens get the role and teams at once,
+ * even right after a restart; one live listener keeps it and the stored copy up to date.
+ * Started at login, or in {@code MyApplication.onCreate()} when a user is already signed in.
+ */
+public class SessionManager {
+    private static final String TAG = "SessionManager";
+    private static final String PREFS_NAME = "SessionProfile";
+
+    private static SessionManager instance;
+
+    private final SharedPreferences prefs;
+    private final MutableLiveData<User> currentUser = new MutableLiveData<>();
+    // Callers waiting for the first profile when nothing was stored
+    private final List<Consumer<User>> waiting = new ArrayList<>();
+
+    private DatabaseReference userRef;
+    private ValueEventListener userListener;
+    // Whether the listener has answered since it was attached
+    private boolean loaded;
+
+    private SessionManager(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static synchronized void init(Context context) {
+        if (instance == null) {
+            instance = new SessionManager(context);
+            FirebaseUser firebaseUser = FirebaseAuth.getInstance().getCurrentUser();
+            if (firebaseUser != null) {
+                instance.restore(firebaseUser.getUid());
+            }
+        }
+    }
+
+    public static SessionManager getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException("SessionManager.init() was not called");
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the session of a user whose profile was just read, at login or registration.
+     */
+    public void start(User user) {
+        listen(user.getUserId());
+        update(user);
+    }
+
+    /**
+     * Serves the stored profile of the user, if any, and revalidates it with the live listener.
+     */
+    private void restore(String userId) {
+        User stored = SessionProfile.decode(prefs.getAll(), userId);
+        if (stored != null) {
+            currentUser.setValue(stored);
+        }
+        listen(userId);
+    }
+
+    /** The profile, updated whenever users/{uid} changes. Null while signed out. */
+    public LiveData<User> getCurrentUser() {
+        return currentUser;
+    }
+
+    /**
+     * Hands over the profile once: at once when it is known, otherwise when the first
+     * read completes. Null when no user is signed in or the profile can't be read.
+     */
+    public void getUser(Consumer<User> callback) {
+        User user = currentUser.getValue();
+        if (user != null) {
+            callback.accept(user);
+            return;
+        }
+        FirebaseUser firebaseUser = FirebaseAuth.getInstance().getCurrentUser();
+        if (firebaseUser == null) {
+            callback.accept(null);
+            return;
+        }
+        listen(firebaseUser.getUid());
+        if (loaded) {
+            // Read already, and there was no profile
+            callback.accept(null);
+        } else {
+            waiting.add(callback);
+        }
+    }
+
+    /** Stops listening and forgets the stored profile, at logout. */
+    public void clear() {
+        stopListening();
+        prefs.edit().clear().apply();
+        currentUser.setValue(null);
+        flushWaiting(null);
+    }
+
+    private void listen(String userId) {
+        if (userRef != null && userId.equals(userRef.getKey())) {
+            return;
+        }
+        stopListening();
+        loaded = false;
+        userRef = FirebaseDatabase.getInstance().getReference("users").child(userId);
+        userListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                loaded = true;
+                User user = SnapshotCodecs.user(snapshot);
+                if (user != null) {
+                    user.setUserId(userId);
+                    update(user);
+                } else {
+                    // The profile was deleted; don't keep serving it
+                    prefs.edit().clear().apply();
+                    currentUser.setValue(null);
+                    flushWaiting(null);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                loaded = true;
+                Log.e(TAG, "Profile listener cancelled: " + error.getMessage());
+                flushWaiting(currentUser.getValue());
+            }
+        };
+        userRef.addValueEventListener(userListener);
+    }
+
+    private void stopListening() {
+        if (userRef != null && userListener != null) {
+            userRef.removeEventListener(userListener);
+        }
+        userRef = null;
+        userListener = null;
+    }
+
+    private void update(User user) {
+        if (!SessionProfile.sameProfile(user, currentUser.getValue())) {
+            SharedPreferences.Editor editor = prefs.edit().clear();
+            for (Map.Entry<String, String> entry : SessionProfile.encode(user).entrySet()) {
+                editor.putString(entry.getKey(), entry.getValue());
+            }
+            editor.apply();
+            currentUser.setValue(user);
+        }
+        flushWaiting(user);
+    }
+
+    private void flushWaiting(User user) {
+        if (waiting.isEmpty()) {
+            return;
+        }
+        List<Consumer<User>> callbacks = new ArrayList<>(waiting);
+        waiting.clear();
+        for (Consumer<User> callback : callbacks) {
+            callback.accept(user);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.testapp.repository;
+
+import com.example.testapp.models.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The signed-in user's profile as stored in SharedPreferences: one string entry per
+ * field, with team lists joined by commas (database keys never contain one).
+ */
+public final class SessionProfile {
+
+    private static final String KEY_USER_ID = "userId";
+    private static final String KEY_EMAIL = "email";
+    private static final String KEY_NAME = "name";
+    private static final String KEY_ROLE = "role";
+    private static final String KEY_PHONE = "phone";
+    private static final String KEY_TEAM_ID = "teamId";
+    private static final String KEY_TEAM_IDS = "teamIds";
+    private static final String KEY_PENDING_TEAM_IDS = "pendingTeamIds";
+    private static final String KEY_REGISTRATION_STATUS = "registrationStatus";
+    private static final String KEY_PLAYER_ID = "playerId";
+    private static final String KEY_CREATED_AT = "createdAt";
+
+    private SessionProfile() {
+    }
+
+    /** The entries to store; fields without a value are left out. */
+    public static Map<String, String> encode(User user) {
+        Map<String, String> entries = new HashMap<>();
+        put(entries, KEY_USER_ID, user.getUserId());
+        put(entries, KEY_EMAIL, user.getEmail());
+        put(entries, KEY_NAME, user.getName());
+        put(entries, KEY_ROLE, user.getRole());
+        put(entries, KEY_PHONE, user.getPhone());
+        put(entries, KEY_TEAM_ID, user.getTeamId());
+        put(entries, KEY_TEAM_IDS, String.join(",", user.getTeamIds()));
+        put(entries, KEY_PENDING_TEAM_IDS, String.join(",", user.getPendingTeamIds()));
+        put(entries, KEY_REGISTRATION_STATUS, user.getRegistrationStatus());
+        put(entries, KEY_PLAYER_ID, user.getPlayerId());
+        entries.put(KEY_CREATED_AT, String.valueOf(user.getCreatedAt()));
+        return entries;
+    }
+
+    /**
+     * The stored profile of the user, or null when none is stored for that user:
+     * a profile left by another account is never served.
+     */
+    public static User decode(Map<String, ?> entries, String userId) {
+        if (entries == null || userId == null || !userId.equals(entries.get(KEY_USER_ID))
+                || !(entries.get(KEY_ROLE) instanceof String)) {
+            return null;
+        }
+        User user = new User();
+        user.setUserId(userId);
+        user.setEmail(get(entries, KEY_EMAIL));
+        user.setName(get(entries, KEY_NAME));
+        user.setRole(get(entries, KEY_ROLE));
+        user.setPhone(get(entries, KEY_PHONE));
+        user.setTeamId(get(entries, KEY_TEAM_ID));
+        user.setTeamIds(split(get(entries, KEY_TEAM_IDS)));
+        user.setPendingTeamIds(split(get(entries, KEY_PENDING_TEAM_IDS)));
+        user.setRegistrationStatus(get(entries, KEY_REGISTRATION_STATUS));
+        user.setPlayerId(get(entries, KEY_PLAYER_ID));
+        try {
+            String createdAt = get(entries, KEY_CREATED_AT);
+            user.setCreatedAt(createdAt != null ? Long.parseLong(createdAt) : 0);
+        } catch (NumberFormatException e) {
+            user.setCreatedAt(0);
+        }
+        return user;
+    }
+
+    /** Whether the two profiles would be stored the same. */
+    public static boolean sameProfile(User a, User b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return encode(a).equals(encode(b));
+    }
+
+    private static void put(Map<String, String> entries, String key, String value) {
+        if (value != null && !value.isEmpty()) {
+            entries.put(key, value);
+        }
+    }
+
+    private static String get(Map<String, ?> entries, String key) {
+        Object value = entries.get(key);
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static List<String> split(String joined) {
+        if (joined == null || joined.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(joined.split(",")));
+    }
+}
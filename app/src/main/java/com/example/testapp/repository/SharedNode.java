@@ -0,0 +1,97 @@
+package com.example.testapp.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import com.google.firebase.database.Query;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One Firebase list shared by every screen that shows it.
+ *
+ * The node listens only while it has active observers (LiveData counts them), and
+ * keeps listening for {@link #IDLE_GRACE_MS} after the last one leaves, so switching
+ * tabs does not download and parse the same tree again. All observers receive the
+ * same parsed, unmodifiable snapshot.
+ */
+public class SharedNode<T> extends LiveData<ChangeSet<T>> {
+    static final long IDLE_GRACE_MS = 30_000;
+
+    private final Query query;
+    private final FirebaseListStore.Parser<T> parser;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final MutableLiveData<String> errorLiveData = new MutableLiveData<>();
+    private final Runnable detach = this::detach;
+    private FirebaseListStore<T> store;
+
+    SharedNode(Query query, FirebaseListStore.Parser<T> parser) {
+        this.query = query;
+        this.parser = parser;
+    }
+
+    @Override
+    protected void onActive() {
+        handler.removeCallbacks(detach);
+        if (store == null) {
+            store = new FirebaseListStore<>(query, parser, new FirebaseListStore.Listener<T>() {
+                @Override
+                public void onChanged(ChangeSet<T> changes) {
+                    setValue(changes);
+                }
+
+                @Override
+                public void onError(String error) {
+                    errorLiveData.setValue(error);
+                }
+            });
+        }
+    }
+
+    @Override
+    protected void onInactive() {
+        handler.postDelayed(detach, IDLE_GRACE_MS);
+    }
+
+    private void detach() {
+        if (store != null && !hasActiveObservers()) {
+            store.stop();
+            // The last snapshot is kept and served until the next load replaces it
+            store = null;
+        }
+    }
+
+    /**
+     * The latest snapshot, or an empty list before the first load.
+     */
+    public List<T> getItems() {
+        ChangeSet<T> changes = getValue();
+        return changes != null ? changes.getItems() : Collections.emptyList();
+    }
+
+    public LiveData<String> getErrors() {
+        return errorLiveData;
+    }
+
+    /**
+     * Delivers the first loaded snapshot and then stops observing,
+     * for forms that read the list once.
+     */
+    public void observeOnce(LifecycleOwner owner, Observer<List<T>> observer) {
+        observe(owner, new Observer<ChangeSet<T>>() {
+            @Override
+            public void onChanged(ChangeSet<T> changes) {
+                if (changes != null) {
+                    removeObserver(this);
+                    observer.onChanged(changes.getItems());
+                }
+            }
+        });
+    }
+}
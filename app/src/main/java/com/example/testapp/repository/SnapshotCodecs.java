@@ -0,0 +1,51 @@
+package com.example.testapp.repository;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.Player;
+import com.example.testapp.models.Team;
+import com.example.testapp.models.Training;
+import com.example.testapp.models.TrainingSeries;
+import com.example.testapp.models.User;
+import com.google.firebase.database.DataSnapshot;
+
+import java.util.Map;
+
+/**
+ * Reads model snapshots through the hand-written {@code fromMap} codecs of the models
+ * instead of {@code DataSnapshot.getValue(Class)}, which maps every child by reflection.
+ */
+public final class SnapshotCodecs {
+
+    private SnapshotCodecs() {
+    }
+
+    public static Training training(DataSnapshot snapshot) {
+        return Training.fromMap(asMap(snapshot));
+    }
+
+    public static TrainingSeries series(DataSnapshot snapshot) {
+        return TrainingSeries.fromMap(asMap(snapshot));
+    }
+
+    public static Court court(DataSnapshot snapshot) {
+        return Court.fromMap(asMap(snapshot));
+    }
+
+    public static Team team(DataSnapshot snapshot) {
+        return Team.fromMap(asMap(snapshot));
+    }
+
+    public static Player player(DataSnapshot snapshot) {
+        return Player.fromMap(asMap(snapshot));
+    }
+
+    public static User user(DataSnapshot snapshot) {
+        return User.fromMap(asMap(snapshot));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(DataSnapshot snapshot) {
+        Object value = snapshot.getValue();
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+}
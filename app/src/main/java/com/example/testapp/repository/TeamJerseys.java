@@ -0,0 +1,86 @@
+package com.example.testapp.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The jersey number registry: teamJerseys/{teamId}/{number} = the userId wearing it.
+ *
+ * A number is claimed with a transaction on its own node, so checking and taking it is
+ * one small read that two coaches can't both win. A claim is released when its player
+ * leaves the team or changes number.
+ */
+public final class TeamJerseys {
+
+    public static final String ROOT = "teamJerseys";
+
+    /** Set once the registry was seeded from the numbers players had before it existed. */
+    public static final String INDEXED_FLAG = "settings/teamJerseysIndexed";
+
+    private TeamJerseys() {
+    }
+
+    public static String path(String teamId, String key) {
+        return ROOT + "/" + teamId + "/" + key;
+    }
+
+    public static String teamPath(String teamId) {
+        return ROOT + "/" + teamId;
+    }
+
+    /**
+     * The registry key of a jersey number, or null when there is nothing to claim:
+     * the number is empty or can't be a database key.
+     */
+    public static String keyOf(String number) {
+        if (number == null) {
+            return null;
+        }
+        String key = number.trim();
+        if (key.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (".#$[]/".indexOf(key.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+        return key;
+    }
+
+    /** Whether the user may hold a number whose node currently holds the owner. */
+    public static boolean isFreeFor(Object owner, String userId) {
+        return owner == null || userId.equals(owner);
+    }
+
+    /**
+     * Adds to a multi-path update a claim for each number players wore before the
+     * registry existed. When two players of a team share a number, the first by userId
+     * keeps it.
+     *
+     * @param teamsByUser  each user's teams
+     * @param numberByUser each user's jersey number
+     * @return the number of shared numbers left unclaimed
+     */
+    public static int putLegacyClaims(Map<String, Object> updates, Map<String, List<String>> teamsByUser,
+                                      Map<String, String> numberByUser) {
+        int duplicates = 0;
+        for (Map.Entry<String, String> entry : new TreeMap<>(numberByUser).entrySet()) {
+            String key = keyOf(entry.getValue());
+            List<String> teamIds = teamsByUser.get(entry.getKey());
+            if (key == null || teamIds == null) {
+                continue;
+            }
+            for (String teamId : teamIds) {
+                String path = path(teamId, key);
+                if (updates.containsKey(path)) {
+                    duplicates++;
+                } else {
+                    updates.put(path, entry.getKey());
+                }
+            }
+        }
+        return duplicates;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.testapp.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The team membership index: teamMembers/{teamId}/{userId} = the member's playerId,
+ * or true while the player record isn't known.
+ *
+ * It mirrors users/{userId}/teamIds, so a roster is one read of the team's node
+ * instead of a scan of every player. Every write that changes a user's teams goes
+ * through {@link #putTeams}, which updates both sides in the same multi-path write.
+ */
+public final class TeamMembers {
+
+    public static final String ROOT = "teamMembers";
+
+    /** Set once the index was built from users/{userId}/teamIds of all players. */
+    public static final String INDEXED_FLAG = "settings/teamMembersIndexed";
+
+    private TeamMembers() {
+    }
+
+    public static String path(String teamId, String userId) {
+        return ROOT + "/" + teamId + "/" + userId;
+    }
+
+    public static String teamPath(String teamId) {
+        return ROOT + "/" + teamId;
+    }
+
+    /** Value of a member's entry. */
+    public static Object entryValue(String playerId) {
+        return playerId != null && !playerId.isEmpty() ? playerId : Boolean.TRUE;
+    }
+
+    /**
+     * Adds to a multi-path update a user's new team list, the legacy teamId field
+     * (the first team), and the index entries of the teams joined and left.
+     *
+     * @param playerId   the user's player record, stored in the index when known
+     * @param oldTeamIds the teams before the change
+     */
+    public static void putTeams(Map<String, Object> updates, String userId, String playerId,
+                                Collection<String> oldTeamIds, List<String> newTeamIds) {
+        String userPath = "users/" + userId;
+        updates.put(userPath + "/teamIds", newTeamIds.isEmpty() ? null : new ArrayList<>(newTeamIds));
+        updates.put(userPath + "/teamId", newTeamIds.isEmpty() ? null : newTeamIds.get(0));
+
+        Object entry = entryValue(playerId);
+        for (String teamId : newTeamIds) {
+            updates.put(path(teamId, userId), entry);
+        }
+        if (oldTeamIds != null) {
+            for (String teamId : oldTeamIds) {
+                if (!newTeamIds.contains(teamId)) {
+                    updates.put(path(teamId, userId), null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the raw value of teamMembers/{teamId}: userId to playerId, with null for
+     * members stored as true. Ordered by userId, as the node's children are.
+     */
+    public static Map<String, String> readMembers(Object raw) {
+        Map<String, String> members = new TreeMap<>();
+        if (!(raw instanceof Map)) {
+            return members;
+        }
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) raw).entrySet()) {
+            Object value = entry.getValue();
+            if (value == null || Boolean.FALSE.equals(value)) {
+                continue;
+            }
+            String playerId = value instanceof String && !((String) value).isEmpty() ? (String) value : null;
+            members.put(String.valueOf(entry.getKey()), playerId);
+        }
+        return members;
+    }
+}
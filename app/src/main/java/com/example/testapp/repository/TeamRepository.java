@@ -1,83 +1,88 @@
 package com.example.testapp.repository;
 
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.MediatorLiveData;
 
 import com.example.testapp.models.Team;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TeamRepository {
+    private final DatabaseReference rootRef;
     private final DatabaseReference teamsRef;
-    private final MutableLiveData<List<Team>> teamsLiveData;
-    private final MutableLiveData<String> errorLiveData;
+    // Shared with every other screen; this repository only applies the coach filter
+    private final SharedNode<Team> teamsNode;
+    private final MediatorLiveData<List<Team>> teamsLiveData;
+    private final MediatorLiveData<String> errorLiveData;
     private String coachIdFilter;
 
     public TeamRepository() {
         FirebaseDatabase database = FirebaseDatabase.getInstance();
+        rootRef = database.getReference();
         teamsRef = database.getReference("teams");
-        teamsLiveData = new MutableLiveData<>();
-        errorLiveData = new MutableLiveData<>();
-        loadTeams(); // Load teams on initialization
+        teamsNode = AppDataStore.getInstance().getTeams();
+        teamsLiveData = new MediatorLiveData<>();
+        teamsLiveData.addSource(teamsNode, changes -> publishTeams());
+        errorLiveData = new MediatorLiveData<>();
+        errorLiveData.addSource(teamsNode.getErrors(), errorLiveData::setValue);
     }
 
     public void setCoachFilter(String coachId) {
         this.coachIdFilter = coachId;
-        loadTeams();
+        // Filtering is done in memory, so the shared snapshot is reused
+        publishTeams();
     }
 
     public void clearFilter() {
         this.coachIdFilter = null;
-        loadTeams();
+        publishTeams();
     }
 
-    private void loadTeams() {
-        teamsRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                List<Team> teams = new ArrayList<>();
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    Team team = snapshot.getValue(Team.class);
-                    if (team != null) {
-                        // Filter by coach ID if a filter is set
-                        if (coachIdFilter == null || (team.getCoachId() != null && team.getCoachId().equals(coachIdFilter))) {
-                            teams.add(team);
-                        }
-                    }
-                }
-                teamsLiveData.setValue(teams);
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                errorLiveData.setValue(error.getMessage());
+    private void publishTeams() {
+        if (teamsNode.getValue() == null) {
+            return;
+        }
+        if (coachIdFilter == null) {
+            teamsLiveData.setValue(teamsNode.getItems());
+            return;
+        }
+        List<Team> teams = new ArrayList<>();
+        for (Team team : teamsNode.getItems()) {
+            // Filter by coach ID
+            if (team.getCoachId() != null && team.getCoachId().equals(coachIdFilter)) {
+                teams.add(team);
             }
-        });
+        }
+        teamsLiveData.setValue(teams);
     }
 
     public void addTeam(Team team) {
         String key = teamsRef.push().getKey();
         if (key != null) {
             team.setTeamId(key);
-            teamsRef.child(key).setValue(team)
+            teamsRef.child(key).setValue(team.toMap())
                 .addOnSuccessListener(aVoid -> {})
                 .addOnFailureListener(e -> errorLiveData.setValue(e.getMessage()));
         }
     }
 
     public void updateTeam(Team team) {
-        teamsRef.child(team.getTeamId()).setValue(team)
+        teamsRef.child(team.getTeamId()).setValue(team.toMap())
             .addOnFailureListener(e -> errorLiveData.setValue(e.getMessage()));
     }
 
     public void deleteTeam(String teamId) {
-        teamsRef.child(teamId).removeValue()
+        // The team's roster index and jersey numbers go with it
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("teams/" + teamId, null);
+        updates.put(TeamMembers.teamPath(teamId), null);
+        updates.put(TeamJerseys.teamPath(teamId), null);
+        rootRef.updateChildren(updates)
             .addOnFailureListener(e -> errorLiveData.setValue(e.getMessage()));
     }
 
@@ -85,6 +90,13 @@ public class TeamRepository {
         return teamsLiveData;
     }
 
+    /**
+     * Every team (before the coach filter), with the teams that changed since the last update.
+     */
+    public LiveData<ChangeSet<Team>> getTeamChanges() {
+        return teamsNode;
+    }
+
     public LiveData<String> getErrors() {
         return errorLiveData;
     }
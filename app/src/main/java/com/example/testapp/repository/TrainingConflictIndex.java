@@ -0,0 +1,207 @@
+package com.example.testapp.repository;
+
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.IntervalTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory index of booked court time, used to answer "does this training clash
+ * with an existing one?" without downloading and scanning the court's history.
+ *
+ * Trainings are grouped by court and by local epoch day, and each (court, day)
+ * bucket is an {@link IntervalTree} of start/end minutes. A conflict check is a
+ * hash lookup for the court, a binary search for the day and an O(log n) tree query.
+ */
+public class TrainingConflictIndex {
+
+    /** Where a training was placed, so it can be removed or replaced later. */
+    private static final class Entry {
+        final String courtId;
+        final long epochDay;
+        final int start;
+        final long handle;
+        final Training training;
+
+        Entry(String courtId, long epochDay, int start, long handle, Training training) {
+            this.courtId = courtId;
+            this.epochDay = epochDay;
+            this.start = start;
+            this.handle = handle;
+            this.training = training;
+        }
+    }
+
+    /** All booked days of one court, kept sorted so a day is found by binary search. */
+    private static final class CourtDays {
+        long[] days = new long[8];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        IntervalTree<Training>[] trees = new IntervalTree[8];
+        int count;
+
+        IntervalTree<Training> get(long epochDay) {
+            int index = Arrays.binarySearch(days, 0, count, epochDay);
+            return index >= 0 ? trees[index] : null;
+        }
+
+        IntervalTree<Training> getOrCreate(long epochDay) {
+            int index = Arrays.binarySearch(days, 0, count, epochDay);
+            if (index >= 0) {
+                return trees[index];
+            }
+            int insertAt = -index - 1;
+            if (count == days.length) {
+                days = Arrays.copyOf(days, count * 2);
+                trees = Arrays.copyOf(trees, count * 2);
+            }
+            System.arraycopy(days, insertAt, days, insertAt + 1, count - insertAt);
+            System.arraycopy(trees, insertAt, trees, insertAt + 1, count - insertAt);
+            days[insertAt] = epochDay;
+            trees[insertAt] = new IntervalTree<>();
+            count++;
+            return trees[insertAt];
+        }
+
+        /** Drops the day's tree, so days whose trainings were all removed don't pile up. */
+        void remove(long epochDay) {
+            int index = Arrays.binarySearch(days, 0, count, epochDay);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(days, index + 1, days, index, count - index - 1);
+            System.arraycopy(trees, index + 1, trees, index, count - index - 1);
+            count--;
+            trees[count] = null;
+        }
+    }
+
+    private final Map<String, CourtDays> courts = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean ready = false;
+
+    /**
+     * True once the index has been filled from a full snapshot of the trainings tree.
+     * Until then callers should fall back to querying the database.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        courts.clear();
+        entries.clear();
+    }
+
+    /**
+     * Adds or replaces the training stored under the given key.
+     * Trainings without a court or with unreadable times are not indexed,
+     * matching {@link Training#conflictsWith} which never reports them as conflicts.
+     */
+    public void put(String key, Training training) {
+        remove(key);
+        if (key == null || training == null || training.getCourtId() == null) {
+            return;
+        }
+        int start = training.getStartMinutes();
+        int end = training.getEndMinutes();
+        if (start < 0 || end < 0) {
+            return;
+        }
+        long epochDay = training.getEpochDay();
+        CourtDays courtDays = courts.get(training.getCourtId());
+        if (courtDays == null) {
+            courtDays = new CourtDays();
+            courts.put(training.getCourtId(), courtDays);
+        }
+        long handle = courtDays.getOrCreate(epochDay).insert(start, end, training);
+        entries.put(key, new Entry(training.getCourtId(), epochDay, start, handle, training));
+    }
+
+    /**
+     * Returns the indexed training stored under the given key, or null.
+     */
+    public Training get(String key) {
+        Entry entry = key != null ? entries.get(key) : null;
+        return entry != null ? entry.training : null;
+    }
+
+    /**
+     * Returns the indexed trainings of one court on one local epoch day, ordered by start time.
+     */
+    public List<Training> getTrainingsOnDay(String courtId, long epochDay) {
+        List<Training> result = new ArrayList<>();
+        CourtDays courtDays = courtId != null ? courts.get(courtId) : null;
+        IntervalTree<Training> tree = courtDays != null ? courtDays.get(epochDay) : null;
+        if (tree != null) {
+            tree.forEach(result::add);
+        }
+        return result;
+    }
+
+    public void remove(String key) {
+        if (key == null) {
+            return;
+        }
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        CourtDays courtDays = courts.get(entry.courtId);
+        if (courtDays != null) {
+            IntervalTree<Training> tree = courtDays.get(entry.epochDay);
+            if (tree != null) {
+                tree.remove(entry.start, entry.handle);
+                if (tree.isEmpty()) {
+                    courtDays.remove(entry.epochDay);
+                    if (courtDays.count == 0) {
+                        courts.remove(entry.courtId);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an indexed training on the same court and day whose time overlaps
+     * the candidate, or null if the slot is free. If the candidate already has
+     * an id, its own stored copy is ignored so an edit never clashes with itself.
+     */
+    public Training findConflict(Training candidate) {
+        if (candidate == null || candidate.getCourtId() == null) {
+            return null;
+        }
+        int start = candidate.getStartMinutes();
+        int end = candidate.getEndMinutes();
+        if (start < 0 || end < 0) {
+            return null;
+        }
+        CourtDays courtDays = courts.get(candidate.getCourtId());
+        if (courtDays == null) {
+            return null;
+        }
+        long epochDay = candidate.getEpochDay();
+        IntervalTree<Training> tree = courtDays.get(epochDay);
+        if (tree == null) {
+            return null;
+        }
+        // Handles are only unique within one tree, so only skip our own entry if it lives here
+        long ignoredHandle = IntervalTree.NO_HANDLE;
+        Entry self = candidate.getTrainingId() != null ? entries.get(candidate.getTrainingId()) : null;
+        if (self != null && self.epochDay == epochDay && self.courtId.equals(candidate.getCourtId())) {
+            ignoredHandle = self.handle;
+        }
+        return tree.findOverlap(start, end, ignoredHandle);
+    }
+}
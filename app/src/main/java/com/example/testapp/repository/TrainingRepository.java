@@ -2,68 +2,202 @@ package com.example.testapp.repository;
 
 import android.util.Log;
 
+import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.testapp.models.Court;
+import com.example.testapp.models.TimeSlot;
+import com.example.testapp.models.TimeOfDay;
 import com.example.testapp.models.Training;
+import com.example.testapp.models.TrainingSeries;
+import com.example.testapp.utils.DateUtils;
+import com.example.testapp.utils.FreeSlotFinder;
+import com.example.testapp.utils.OccupancyGrid;
+import com.example.testapp.utils.TimetableSolver;
+import com.example.testapp.utils.TrainingFilterIndex;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
 import com.google.firebase.database.Query;
+import com.google.firebase.database.Transaction;
 import com.google.firebase.database.ValueEventListener;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
+/**
+ * Trainings and series of the whole club, shared by every screen through {@link #getInstance()},
+ * so the full list is synced and indexed once however many screens show it.
+ */
 public class TrainingRepository {
     private static final String TAG = "TrainingRepository";
+
+    private static TrainingRepository instance;
+
+    private final DatabaseReference rootRef;
     private final DatabaseReference trainingsRef;
+    // occupancy/{courtId}/{yyyyMMdd}/{trainingId} = {start, end, teamId}, claimed in a transaction
+    private final DatabaseReference occupancyRef;
+    private final DatabaseReference seriesRef;
     private final MutableLiveData<List<Training>> trainingsLiveData;
+    private final MutableLiveData<ChangeSet<Training>> trainingChangesLiveData;
+    private final MutableLiveData<List<TrainingSeries>> seriesLiveData;
     private final MutableLiveData<String> errorLiveData;
+    // Kept in sync with the trainings listener so conflict checks don't need a query
+    private final TrainingConflictIndex conflictIndex = new TrainingConflictIndex();
+    // Booked half-hour cells per court and day, kept in step with the same listener
+    private final OccupancyGrid occupancy = new OccupancyGrid();
+    // Team/court/day/month/week bitmaps for the list filters, kept in step with the same listener
+    private final TrainingFilterIndex filterIndex = new TrainingFilterIndex();
+    private FirebaseListStore<Training> trainingStore;
+    // Recurring trainings, expanded into occurrences only for the dates being shown.
+    // Replaced as a whole by the background parser, never modified in place
+    private volatile Map<String, TrainingSeries> seriesById = new HashMap<>();
+    // Attached by the first startListening() and removed by the last stopListening()
+    private ValueEventListener seriesListener;
+    // Validation of the full list runs off the main thread; only the newest result is posted
+    private final BackgroundParser<List<Training>> trainingsParser;
+    // Screens and view models between startListening() and stopListening()
+    private int listeners = 0;
+    // Timetable solving runs on its own thread so a long solve doesn't hold up snapshot parsing;
+    // only the newest request's plan is posted
+    private final MutableLiveData<TimetableSolver.Plan> timetableLiveData = new MutableLiveData<>();
+    private final BackgroundParser<TimetableSolver.Plan> timetableRuns = new BackgroundParser<>(
+        timetableLiveData::postValue, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "timetable-solver");
+            thread.setDaemon(true);
+            return thread;
+        }));
 
-    public TrainingRepository() {
+    private TrainingRepository() {
         FirebaseDatabase database = FirebaseDatabase.getInstance();
+        rootRef = database.getReference();
         trainingsRef = database.getReference("trainings");
-        trainingsLiveData = new MutableLiveData<>();
+        occupancyRef = database.getReference("occupancy");
+        seriesRef = database.getReference("trainingSeries");
+        // The full history is only synced once someone observes it; windowed screens never do
+        trainingsLiveData = new MutableLiveData<List<Training>>() {
+            @Override
+            protected void onActive() {
+                loadTrainings();
+            }
+        };
+        trainingChangesLiveData = new MutableLiveData<ChangeSet<Training>>() {
+            @Override
+            protected void onActive() {
+                loadTrainings();
+            }
+        };
+        seriesLiveData = new MutableLiveData<>();
         errorLiveData = new MutableLiveData<>();
-        loadTrainings();
+        trainingsParser = new BackgroundParser<>(trainingsLiveData);
+    }
+
+    public static synchronized TrainingRepository getInstance() {
+        if (instance == null) {
+            instance = new TrainingRepository();
+        }
+        return instance;
     }
 
     private void loadTrainings() {
-        trainingsRef.addValueEventListener(new ValueEventListener() {
+        if (trainingStore != null) {
+            return;
+        }
+        trainingStore = new FirebaseListStore<>(trainingsRef, SnapshotCodecs::training,
+            new FirebaseListStore.Listener<Training>() {
+                @Override
+                public void onChanged(ChangeSet<Training> changes) {
+                    // Only the changed children were parsed; keep the index in step with them
+                    if (changes.isFullReload()) {
+                        conflictIndex.clear();
+                        occupancy.clear();
+                        filterIndex.clearTrainings();
+                    }
+                    for (ChangeSet.Change<Training> change : changes.getChanges()) {
+                        if (change.getType() == ChangeSet.Type.REMOVED) {
+                            conflictIndex.remove(change.getKey());
+                            occupancy.remove(change.getKey());
+                            filterIndex.remove(change.getKey());
+                        } else if (change.getType() != ChangeSet.Type.MOVED) {
+                            // Index every booking that occupies a court, even ones hidden from the list below
+                            conflictIndex.put(change.getKey(), change.getValue());
+                            occupancy.put(change.getKey(), change.getValue());
+                            filterIndex.put(change.getKey(), change.getValue());
+                        }
+                    }
+                    conflictIndex.setReady(true);
+
+                    // The items list is an immutable snapshot, safe to read on the parser thread
+                    trainingsParser.submit(() -> validTrainings(changes.getItems()));
+                    // Observers of the changes see the same trainings as the list
+                    trainingChangesLiveData.setValue(changes.filter(TrainingRepository::isValid));
+                }
+
+                @Override
+                public void onError(String error) {
+                    errorLiveData.setValue(error);
+                }
+            });
+    }
+    
+    /**
+     * Skips trainings without trainingId or courtId (data integrity issue).
+     */
+    static List<Training> validTrainings(List<Training> items) {
+        List<Training> trainings = new ArrayList<>();
+        int skippedRecords = 0;
+        for (Training training : items) {
+            if (!isValid(training)) {
+                skippedRecords++;
+                continue;
+            }
+            trainings.add(training);
+        }
+        Log.d(TAG, "Trainings validated: " + trainings.size() + " valid, " + skippedRecords + " skipped");
+        return trainings;
+    }
+
+    /** Has the trainingId and courtId the screens rely on. */
+    static boolean isValid(Training training) {
+        return training.getTrainingId() != null && !training.getTrainingId().isEmpty()
+            && training.getCourtId() != null && !training.getCourtId().isEmpty();
+    }
+
+    private void loadSeries() {
+        BackgroundParser<List<TrainingSeries>> seriesParser = new BackgroundParser<>(seriesList -> {
+            Map<String, TrainingSeries> byId = new HashMap<>();
+            for (TrainingSeries series : seriesList) {
+                byId.put(series.getSeriesId(), series);
+            }
+            seriesById = byId;
+            seriesLiveData.postValue(seriesList);
+        });
+        seriesListener = seriesRef.addValueEventListener(new ValueEventListener() {
             @Override
             public void onDataChange(DataSnapshot dataSnapshot) {
-                List<Training> trainings = new ArrayList<>();
-                int totalRecords = 0;
-                int skippedRecords = 0;
-                
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    totalRecords++;
-                    Training training = snapshot.getValue(Training.class);
-                    if (training != null) {
-                        // Validate training has all required fields
-                        if (training.getTrainingId() == null || training.getTrainingId().isEmpty()) {
-                            android.util.Log.w("TrainingRepository", "Skipping training without trainingId");
-                            skippedRecords++;
-                            continue;
-                        }
-                        
-                        // Skip trainings without courtId (data integrity issue)
-                        if (training.getCourtId() == null || training.getCourtId().isEmpty()) {
-                            android.util.Log.w("TrainingRepository", "Skipping training with null/empty courtId: " + training.getTeamName());
-                            skippedRecords++;
-                            continue;
+                seriesParser.submit(() -> {
+                    List<TrainingSeries> seriesList = new ArrayList<>();
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        TrainingSeries series = SnapshotCodecs.series(snapshot);
+                        if (series != null && series.getCourtId() != null) {
+                            series.setSeriesId(snapshot.getKey());
+                            seriesList.add(series);
                         }
-                        
-                        trainings.add(training);
                     }
-                }
-                android.util.Log.d("TrainingRepository", "Loaded trainings: " + trainings.size() + " valid, " + skippedRecords + " skipped out of " + totalRecords + " total");
-                trainingsLiveData.setValue(trainings);
+                    Log.d(TAG, "Loaded training series: " + seriesList.size());
+                    return seriesList;
+                });
             }
 
             @Override
@@ -72,81 +206,245 @@ public class TrainingRepository {
             }
         });
     }
-    
-    private int timeToMinutes(String time) {
-        try {
-            if (time == null || time.isEmpty()) return -1;
-            String[] parts = time.split(":");
-            if (parts.length != 2) return -1;
-            int h = Integer.parseInt(parts[0]);
-            int m = Integer.parseInt(parts[1]);
-            if (h < 0 || h > 23 || m < 0 || m > 59) return -1;
-            return h * 60 + m;
-        } catch (Exception e) {
-            return -1;
-        }
-    }
+
     
     public void addTraining(Training training, OnConflictCheckListener listener) {
         // Check for conflicts before adding
         android.util.Log.d("TrainingRepository", "Checking for conflicts for training: Team=" + training.getTeamName() + ", Court=" + training.getCourtId());
-        
-        trainingsRef.orderByChild("courtId").equalTo(training.getCourtId())
+
+        TrainingSeries conflictingSeries = findSeriesConflict(training);
+        if (conflictingSeries != null) {
+            android.util.Log.w("TrainingRepository", "Conflict found with series of: " + conflictingSeries.getTeamName());
+            listener.onConflict();
+            return;
+        }
+
+        withCourtSnapshot(training.getCourtId(), training.getEpochDay(), training.getEpochDay(), new SnapshotCallback() {
+            @Override
+            public void onSnapshot(TrainingConflictIndex snapshot) {
+                Training existingTraining = snapshot.findConflict(training);
+                if (existingTraining != null) {
+                    android.util.Log.w("TrainingRepository", "Conflict found with: " + existingTraining.getTeamName());
+                    listener.onConflict();
+                } else {
+                    saveNewTraining(training, snapshot, listener);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onFailure(error);
+            }
+        });
+    }
+
+    /**
+     * Hands the callback the court's bookings on the epoch days [firstDay, lastDay]: the live
+     * index once the full list is synced, otherwise a one-off orderByChild("date") query of
+     * those days only, like {@link #findFreeSlots}, instead of the court's whole history.
+     */
+    private void withCourtSnapshot(String courtId, long firstDay, long lastDay, SnapshotCallback callback) {
+        if (conflictIndex.isReady() || courtId == null) {
+            callback.onSnapshot(conflictIndex);
+            return;
+        }
+
+        trainingsRef.orderByChild("date")
+            .startAt(DateUtils.getStartOfEpochDay(firstDay))
+            .endAt(DateUtils.getStartOfEpochDay(lastDay + 1) - 1)
             .addListenerForSingleValueEvent(new ValueEventListener() {
                 @Override
                 public void onDataChange(DataSnapshot dataSnapshot) {
-                    android.util.Log.d("TrainingRepository", "Conflict check response received with " + dataSnapshot.getChildrenCount() + " trainings");
-                    
-                    boolean hasConflict = false;
-                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                        Training existingTraining = snapshot.getValue(Training.class);
-                        if (existingTraining != null && training.conflictsWith(existingTraining)) {
-                            android.util.Log.w("TrainingRepository", "Conflict found with: " + existingTraining.getTeamName());
-                            hasConflict = true;
-                            break;
+                    Log.d(TAG, "Court snapshot received with " + dataSnapshot.getChildrenCount() + " trainings");
+                    TrainingConflictIndex snapshot = new TrainingConflictIndex();
+                    for (DataSnapshot child : dataSnapshot.getChildren()) {
+                        Training training = SnapshotCodecs.training(child);
+                        // The range holds every court's trainings; only this court's can clash
+                        if (training != null && courtId.equals(training.getCourtId())) {
+                            snapshot.put(child.getKey(), training);
                         }
                     }
+                    snapshot.setReady(true);
+                    callback.onSnapshot(snapshot);
+                }
+
+                @Override
+                public void onCancelled(DatabaseError error) {
+                    Log.e(TAG, "Court snapshot cancelled: " + error.getMessage());
+                    errorLiveData.setValue("שגיאת רשת: " + error.getMessage());
+                    callback.onError("שגיאת רשת: " + error.getMessage());
+                }
+            });
+    }
+
+    private void saveNewTraining(Training training, TrainingConflictIndex snapshot, OnConflictCheckListener listener) {
+        String key = trainingsRef.push().getKey();
+        if (key != null) {
+            reserveSlot(training, key, snapshot, new ReservationCallback() {
+                @Override
+                public void onReserved() {
+                    android.util.Log.d("TrainingRepository", "No conflicts. Saving training with ID: " + key);
+                    writeReservedTraining(training, key, new OnTrainingAddedListener() {
+                        @Override
+                        public void onTrainingAdded(String trainingId) {
+                            listener.onSuccess();
+                        }
+
+                        @Override
+                        public void onError(String error) {
+                            listener.onFailure(error);
+                        }
+                    });
+                }
+
+                @Override
+                public void onSlotTaken(String teamId, String startTime, String endTime) {
+                    android.util.Log.w("TrainingRepository", "Slot already claimed by team " + teamId + " (" + startTime + "-" + endTime + ")");
+                    listener.onConflict();
+                }
+
+                @Override
+                public void onError(String error) {
+                    errorLiveData.setValue(error);
+                    listener.onFailure(error);
+                }
+            });
+        }
+    }
+
+
+    /**
+     * Saves an edited training. The new time range is checked against the snapshot and
+     * claimed through {@link #reserveSlot} like a new booking, skipping the training's own
+     * claim, and only then is the training written and the claim it held on another court
+     * or day released. An edited series occurrence leaves its series: it is booked as a
+     * training of its own and its week is skipped by the series.
+     */
+    public void updateTraining(Training training, OnConflictCheckListener listener) {
+        String trainingId = training.getTrainingId();
+        String seriesId = TrainingSeries.seriesIdOf(trainingId);
+        if (seriesId != null) {
+            addTraining(training, new OnConflictCheckListener() {
+                @Override
+                public void onSuccess() {
+                    skipSeriesOccurrence(seriesId, TrainingSeries.epochDayOf(trainingId));
+                    listener.onSuccess();
+                }
+
+                @Override
+                public void onConflict() {
+                    listener.onConflict();
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    listener.onFailure(error);
+                }
+            });
+            return;
+        }
 
-                    if (hasConflict) {
-                        android.util.Log.w("TrainingRepository", "Training conflict detected");
+        TrainingSeries conflictingSeries = findSeriesConflict(training);
+        if (conflictingSeries != null) {
+            Log.w(TAG, "Edit conflicts with series of: " + conflictingSeries.getTeamName());
+            listener.onConflict();
+            return;
+        }
+
+        withStoredTraining(trainingId, previous ->
+            withCourtSnapshot(training.getCourtId(), training.getEpochDay(), training.getEpochDay(), new SnapshotCallback() {
+                @Override
+                public void onSnapshot(TrainingConflictIndex snapshot) {
+                    Training existingTraining = snapshot.findConflict(training);
+                    if (existingTraining != null) {
+                        Log.w(TAG, "Edit conflicts with: " + existingTraining.getTeamName());
                         listener.onConflict();
-                    } else {
-                        String key = trainingsRef.push().getKey();
-                        if (key != null) {
-                            training.setTrainingId(key);
-                            android.util.Log.d("TrainingRepository", "No conflicts. Saving training with ID: " + key);
-                            
-                            trainingsRef.child(key).setValue(training)
-                                .addOnSuccessListener(aVoid -> {
-                                    android.util.Log.d("TrainingRepository", "Training saved successfully: " + key);
-                                    listener.onSuccess();
-                                })
+                        return;
+                    }
+                    reserveSlot(training, trainingId, snapshot, new ReservationCallback() {
+                        @Override
+                        public void onReserved() {
+                            boolean moved = previous != null && previous.getCourtId() != null
+                                && !getOccupancyPath(previous, trainingId).equals(getOccupancyPath(training, trainingId));
+                            Map<String, Object> updates = new HashMap<>();
+                            updates.put("trainings/" + trainingId, training.toMap());
+                            if (moved) {
+                                updates.put(getOccupancyPath(previous, trainingId), null);
+                            }
+                            rootRef.updateChildren(updates)
+                                .addOnSuccessListener(aVoid -> listener.onSuccess())
                                 .addOnFailureListener(e -> {
-                                    android.util.Log.e("TrainingRepository", "Failed to save training: " + e.getMessage(), e);
+                                    Log.e(TAG, "Failed to update training: " + e.getMessage(), e);
+                                    if (moved) {
+                                        // The training stays where it was; give the new slot back
+                                        releaseSlot(training, trainingId);
+                                    }
                                     errorLiveData.setValue(e.getMessage());
                                     listener.onFailure(e.getMessage());
                                 });
                         }
-                    }
+
+                        @Override
+                        public void onSlotTaken(String teamId, String startTime, String endTime) {
+                            Log.w(TAG, "Slot already claimed by team " + teamId + " (" + startTime + "-" + endTime + ")");
+                            listener.onConflict();
+                        }
+
+                        @Override
+                        public void onError(String error) {
+                            errorLiveData.setValue(error);
+                            listener.onFailure(error);
+                        }
+                    });
                 }
 
                 @Override
-                public void onCancelled(DatabaseError error) {
-                    android.util.Log.e("TrainingRepository", "Conflict check cancelled: " + error.getMessage(), error.toException());
-                    errorLiveData.setValue("שגיאת רשת: " + error.getMessage());
-                    listener.onFailure("שגיאת רשת: " + error.getMessage());
+                public void onError(String error) {
+                    listener.onFailure(error);
                 }
-            });
-    }
-
-    public void updateTraining(Training training) {
-        trainingsRef.child(training.getTrainingId()).setValue(training)
-            .addOnFailureListener(e -> errorLiveData.setValue(e.getMessage()));
+            }));
     }
 
     public void deleteTraining(String trainingId) {
         android.util.Log.d("TrainingRepository", "Deleting training with ID: " + trainingId);
-        trainingsRef.child(trainingId).removeValue()
+        String seriesId = TrainingSeries.seriesIdOf(trainingId);
+        if (seriesId != null) {
+            skipSeriesOccurrence(seriesId, TrainingSeries.epochDayOf(trainingId));
+            return;
+        }
+        withStoredTraining(trainingId, existing -> removeTrainingAndClaim(trainingId, existing));
+    }
+
+    /**
+     * Hands the callback the stored copy of a training, to find which occupancy claim it holds:
+     * from the synced list when it is loaded, otherwise read once. Null if there is none.
+     */
+    private void withStoredTraining(String trainingId, Consumer<Training> callback) {
+        Training existing = trainingStore != null ? trainingStore.get(trainingId) : null;
+        if (existing != null || (trainingStore != null && trainingStore.isLoaded())) {
+            callback.accept(existing);
+            return;
+        }
+        trainingsRef.child(trainingId).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(DataSnapshot dataSnapshot) {
+                callback.accept(SnapshotCodecs.training(dataSnapshot));
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                callback.accept(null);
+            }
+        });
+    }
+
+    private void removeTrainingAndClaim(String trainingId, Training existing) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("trainings/" + trainingId, null);
+        if (existing != null && existing.getCourtId() != null) {
+            updates.put(getOccupancyPath(existing, trainingId), null);
+        }
+        rootRef.updateChildren(updates)
             .addOnSuccessListener(aVoid -> {
                 android.util.Log.d("TrainingRepository", "Training deleted successfully: " + trainingId);
             })
@@ -156,24 +454,303 @@ public class TrainingRepository {
             });
     }
 
+    /**
+     * Copies a training to the same weekday of the next {@code weeks} weeks.
+     * All dates are checked against one occupancy snapshot, each copy's day is then claimed
+     * in its own transaction, and the claimed copies are saved in a single multi-path write.
+     */
+    public void duplicateTraining(Training template, Court court, long fromDate, int weeks,
+                                  OnDuplicationCompleteListener listener) {
+        // One snapshot of the court is checked for all weeks
+        withCourtSnapshot(court != null ? court.getCourtId() : null,
+            firstCopyDay(fromDate), lastCopyDay(fromDate, weeks), new SnapshotCallback() {
+            @Override
+            public void onSnapshot(TrainingConflictIndex snapshot) {
+                commitDuplication(DuplicationPlan.build(template, court, fromDate, weeks, snapshot,
+                    new ArrayList<>(seriesById.values())), snapshot, listener);
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onFailure(error);
+            }
+        });
+    }
+
+    private static long firstCopyDay(long fromDate) {
+        return DateUtils.getEpochDay(fromDate) + 7;
+    }
+
+    private static long lastCopyDay(long fromDate, int weeks) {
+        return DateUtils.getEpochDay(fromDate) + 7L * weeks;
+    }
+
+    private void commitDuplication(DuplicationPlan plan, TrainingConflictIndex snapshot,
+                                   OnDuplicationCompleteListener listener) {
+        if (plan.getAccepted().isEmpty()) {
+            listener.onComplete(plan.getSkippedReasons(), 0, plan.getTotalWeeks());
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (Training copy : plan.getAccepted()) {
+            String key = trainingsRef.push().getKey();
+            copy.setTrainingId(key);
+            keys.add(key);
+        }
+        reserveAll(plan, keys, snapshot, () -> {
+            if (plan.getAccepted().isEmpty()) {
+                listener.onComplete(plan.getSkippedReasons(), 0, plan.getTotalWeeks());
+                return;
+            }
+            // The claims are held; the copies themselves go out in one multi-path write
+            Map<String, Object> updates = new HashMap<>();
+            long now = System.currentTimeMillis();
+            List<Training> reserved = new ArrayList<>(plan.getAccepted());
+            for (Training copy : reserved) {
+                copy.setCreatedAt(now);
+                updates.put("trainings/" + copy.getTrainingId(), copy.toMap());
+            }
+
+            Log.d(TAG, "Duplicating " + plan.getSuccessCount() + " trainings in one write");
+            rootRef.updateChildren(updates)
+                .addOnSuccessListener(aVoid ->
+                    listener.onComplete(plan.getSkippedReasons(), plan.getSuccessCount(), plan.getTotalWeeks()))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Duplication write failed: " + e.getMessage(), e);
+                    for (Training copy : reserved) {
+                        releaseSlot(copy, copy.getTrainingId());
+                    }
+                    plan.markAllFailed();
+                    listener.onComplete(plan.getSkippedReasons(), 0, plan.getTotalWeeks());
+                });
+        });
+    }
+
+    /**
+     * Claims the day of every accepted copy with {@link #reserveSlot}, one transaction per
+     * occupancy node, and runs {@code done} once all of them have finished. A copy whose day
+     * was booked since the snapshot, or whose claim failed, is rejected from the plan; the
+     * others hold their claim under the key at the same position in {@code keys}.
+     */
+    private void reserveAll(DuplicationPlan plan, List<String> keys, TrainingConflictIndex snapshot, Runnable done) {
+        List<Training> copies = new ArrayList<>(plan.getAccepted());
+        int[] pending = {copies.size()};
+        for (int i = 0; i < copies.size(); i++) {
+            Training copy = copies.get(i);
+            reserveSlot(copy, keys.get(i), snapshot, new ReservationCallback() {
+                @Override
+                public void onReserved() {
+                    finish();
+                }
+
+                @Override
+                public void onSlotTaken(String teamId, String startTime, String endTime) {
+                    plan.reject(copy, DuplicationPlan.REASON_TAKEN);
+                    finish();
+                }
+
+                @Override
+                public void onError(String error) {
+                    plan.reject(copy, DuplicationPlan.REASON_ERROR);
+                    finish();
+                }
+
+                private void finish() {
+                    if (--pending[0] == 0) {
+                        done.run();
+                    }
+                }
+            });
+        }
+    }
+
+    public LiveData<List<TrainingSeries>> getSeries() {
+        return seriesLiveData;
+    }
+
+    private TrainingSeries findSeriesConflict(Training training) {
+        for (TrainingSeries series : seriesById.values()) {
+            if (series.conflictsWith(training)) {
+                return series;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Books a training every week as one TrainingSeries node instead of a node per week.
+     * Weeks that are closed or taken become exceptions of the series and are reported
+     * the same way as {@link #duplicateTraining}.
+     */
+    public void createSeries(Training template, Court court, long fromDate, int weeks,
+                             OnDuplicationCompleteListener listener) {
+        withCourtSnapshot(court != null ? court.getCourtId() : null,
+            firstCopyDay(fromDate), lastCopyDay(fromDate, weeks), new SnapshotCallback() {
+            @Override
+            public void onSnapshot(TrainingConflictIndex snapshot) {
+                commitSeries(template, court, fromDate, weeks, snapshot, listener);
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onFailure(error);
+            }
+        });
+    }
+
+    private void commitSeries(Training template, Court court, long fromDate, int weeks,
+                              TrainingConflictIndex snapshot, OnDuplicationCompleteListener listener) {
+        int start = template.getStartMinutes();
+        int end = template.getEndMinutes();
+        if (start < 0 || end < 0) {
+            listener.onFailure("שעות האימון אינן תקינות");
+            return;
+        }
+
+        DuplicationPlan plan = DuplicationPlan.build(template, court, fromDate, weeks, snapshot,
+            new ArrayList<>(seriesById.values()));
+        if (plan.getAccepted().isEmpty()) {
+            listener.onComplete(plan.getSkippedReasons(), 0, weeks);
+            return;
+        }
+
+        String seriesId = seriesRef.push().getKey();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < plan.getAccepted().size(); i++) {
+            keys.add(seriesId);
+        }
+        reserveAll(plan, keys, snapshot, () -> {
+            if (plan.getAccepted().isEmpty()) {
+                listener.onComplete(plan.getSkippedReasons(), 0, weeks);
+                return;
+            }
+            long firstDay = firstCopyDay(fromDate);
+            long lastDay = lastCopyDay(fromDate, weeks);
+            TrainingSeries series = new TrainingSeries(seriesId, template.getTeamId(), court.getCourtId(),
+                DateUtils.getDayOfWeekOfEpochDay(firstDay), start, end, firstDay, lastDay);
+            series.setTeamName(template.getTeamName());
+            series.setTeamColor(template.getTeamColor());
+            series.setCourtName(court.getName());
+            series.setCourtType(template.getCourtType());
+            series.setNotes(template.getNotes());
+
+            // Every week that wasn't accepted and claimed is skipped by the series
+            List<Training> reserved = new ArrayList<>(plan.getAccepted());
+            List<Long> acceptedDays = new ArrayList<>();
+            for (Training copy : reserved) {
+                acceptedDays.add(copy.getEpochDay());
+            }
+            for (long day = firstDay; day <= lastDay; day += 7) {
+                if (!acceptedDays.contains(day)) {
+                    series.addException(day);
+                }
+            }
+
+            seriesRef.child(seriesId).setValue(series.toMap())
+                .addOnSuccessListener(aVoid ->
+                    listener.onComplete(plan.getSkippedReasons(), plan.getSuccessCount(), weeks))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Series write failed: " + e.getMessage(), e);
+                    for (Training copy : reserved) {
+                        releaseSlot(copy, seriesId);
+                    }
+                    plan.markAllFailed();
+                    listener.onComplete(plan.getSkippedReasons(), 0, weeks);
+                });
+        });
+    }
+
+    /**
+     * Skips one week of a series and frees its court time.
+     */
+    public void skipSeriesOccurrence(String seriesId, long epochDay) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("trainingSeries/" + seriesId + "/exceptions/" + epochDay, true);
+        TrainingSeries series = seriesById.get(seriesId);
+        if (series != null) {
+            updates.put(getOccupancyPath(series.toTraining(epochDay), seriesId), null);
+        }
+        rootRef.updateChildren(updates)
+            .addOnFailureListener(e -> errorLiveData.setValue(e.getMessage()));
+    }
+
+    public void deleteSeries(String seriesId) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("trainingSeries/" + seriesId, null);
+        TrainingSeries series = seriesById.get(seriesId);
+        if (series != null) {
+            for (long day = series.getFirstDay(); day <= series.getLastDay(); day++) {
+                if (series.occursOn(day)) {
+                    updates.put(getOccupancyPath(series.toTraining(day), seriesId), null);
+                }
+            }
+        }
+        rootRef.updateChildren(updates)
+            .addOnFailureListener(e -> errorLiveData.setValue(e.getMessage()));
+    }
+
     public LiveData<List<Training>> getTrainings() {
         return trainingsLiveData;
     }
 
+    /**
+     * Same data as {@link #getTrainings()}, plus which trainings were added, changed or removed.
+     */
+    public LiveData<ChangeSet<Training>> getTrainingChanges() {
+        return trainingChangesLiveData;
+    }
+
+    /**
+     * Range-query subscriptions for one screen that only shows a week or a month.
+     * Each caller gets its own, so paging one screen doesn't drop another's windows.
+     */
+    public TrainingWindows openWindows() {
+        return new TrainingWindows(trainingsRef, errorLiveData);
+    }
+
+    /**
+     * Registers a screen or view model using the repository; pair it with {@link #stopListening()}.
+     */
+    public void startListening() {
+        listeners++;
+        if (seriesListener == null) {
+            loadSeries();
+        }
+    }
+
+    /**
+     * The caller is done with the repository. The shared listeners stay attached until
+     * the last caller is done, so one screen closing doesn't stop another's updates.
+     * Main thread only.
+     */
+    public void stopListening() {
+        if (listeners > 0) {
+            listeners--;
+        }
+        if (listeners > 0) {
+            return;
+        }
+        if (seriesListener != null) {
+            seriesRef.removeEventListener(seriesListener);
+            seriesListener = null;
+        }
+        if (trainingStore != null) {
+            trainingStore.stop();
+            trainingStore = null;
+            // Conflict checks read the database again until the list is synced anew
+            conflictIndex.setReady(false);
+        }
+    }
+
     public LiveData<List<Training>> getTrainingsByTeam(String teamId) {
         MutableLiveData<List<Training>> teamTrainings = new MutableLiveData<>();
+        BackgroundParser<List<Training>> parser = new BackgroundParser<>(teamTrainings);
         trainingsRef.orderByChild("teamId").equalTo(teamId)
             .addValueEventListener(new ValueEventListener() {
                 @Override
                 public void onDataChange(DataSnapshot dataSnapshot) {
-                    List<Training> trainings = new ArrayList<>();
-                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                        Training training = snapshot.getValue(Training.class);
-                        if (training != null) {
-                            trainings.add(training);
-                        }
-                    }
-                    teamTrainings.setValue(trainings);
+                    parser.submit(() -> parseTrainings(dataSnapshot));
                 }
 
                 @Override
@@ -186,18 +763,12 @@ public class TrainingRepository {
 
     public LiveData<List<Training>> getTrainingsByCourt(String courtId) {
         MutableLiveData<List<Training>> courtTrainings = new MutableLiveData<>();
+        BackgroundParser<List<Training>> parser = new BackgroundParser<>(courtTrainings);
         trainingsRef.orderByChild("courtId").equalTo(courtId)
             .addValueEventListener(new ValueEventListener() {
                 @Override
                 public void onDataChange(DataSnapshot dataSnapshot) {
-                    List<Training> trainings = new ArrayList<>();
-                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                        Training training = snapshot.getValue(Training.class);
-                        if (training != null) {
-                            trainings.add(training);
-                        }
-                    }
-                    courtTrainings.setValue(trainings);
+                    parser.submit(() -> parseTrainings(dataSnapshot));
                 }
 
                 @Override
@@ -208,90 +779,309 @@ public class TrainingRepository {
         return courtTrainings;
     }
 
+    /**
+     * Booked cells of every court, following the trainings listener. Empty until
+     * {@link #getTrainings()} or {@link #getTrainingChanges()} has an observer.
+     * Read it on the main thread only.
+     */
+    public OccupancyGrid getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Filter bitmaps of the trainings list, following the trainings listener like
+     * {@link #getOccupancy()}. Series occurrences are added by the caller with
+     * {@link TrainingFilterIndex#setSeries}. It is updated on the main thread and may be
+     * read from a worker thread, as TrainingViewModel's filter debouncer does; the index
+     * synchronizes every public method for that.
+     */
+    public TrainingFilterIndex getFilterIndex() {
+        return filterIndex;
+    }
+
+    /**
+     * Ranked free windows for a team across the given courts. Answered from the live
+     * occupancy grid once the full list is synced, otherwise from a one-off query of
+     * the trainings in the query's date range; series occurrences are always included.
+     */
+    public void findFreeSlots(FreeSlotFinder.Query query, List<Court> courts, OnFreeSlotsListener listener) {
+        OccupancyGrid seriesGrid = new OccupancyGrid();
+        for (Training occurrence : TrainingSeries.expandAll(new ArrayList<>(seriesById.values()),
+                query.getFrom(), query.getTo())) {
+            seriesGrid.put(occurrence.getTrainingId(), occurrence);
+        }
+
+        if (conflictIndex.isReady()) {
+            listener.onFreeSlots(FreeSlotFinder.find(query, courts, occupancy, seriesGrid));
+            return;
+        }
+
+        trainingsRef.orderByChild("date").startAt(query.getFrom()).endAt(query.getTo() - 1)
+            .addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(DataSnapshot dataSnapshot) {
+                    OccupancyGrid snapshot = new OccupancyGrid();
+                    for (DataSnapshot child : dataSnapshot.getChildren()) {
+                        snapshot.put(child.getKey(), SnapshotCodecs.training(child));
+                    }
+                    listener.onFreeSlots(FreeSlotFinder.find(query, courts, snapshot, seriesGrid));
+                }
+
+                @Override
+                public void onCancelled(DatabaseError error) {
+                    Log.e(TAG, "Free slot query cancelled: " + error.getMessage());
+                    listener.onError("שגיאת רשת: " + error.getMessage());
+                }
+            });
+    }
+
+    public LiveData<TimetableSolver.Plan> getTimetablePlan() {
+        return timetableLiveData;
+    }
+
+    /**
+     * Solves the weekly timetable off the main thread and posts the plan to {@link #getTimetablePlan()}.
+     */
+    public void planTimetable(TimetableSolver solver) {
+        timetableRuns.submit(solver::solve);
+    }
+
     public LiveData<String> getErrors() {
         return errorLiveData;
     }
 
+    private static List<Training> parseTrainings(DataSnapshot dataSnapshot) {
+        List<Training> trainings = new ArrayList<>();
+        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+            Training training = SnapshotCodecs.training(snapshot);
+            if (training != null) {
+                trainings.add(training);
+            }
+        }
+        return trainings;
+    }
+
     // Additional method for simple training addition (used by ScheduleGridFragment)
     public void addTraining(Training training, OnTrainingAddedListener listener) {
         Log.d(TAG, "OnTrainingAddedListener: Checking for conflicts for training: Team=" + training.getTeamId() + 
             ", Court=" + training.getCourtId() + ", Time=" + training.getStartTime() + "-" + training.getEndTime() +
             ", Date=" + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(training.getDate()));
-        
-        // Check for conflicts before adding
-        trainingsRef.orderByChild("courtId").equalTo(training.getCourtId())
-            .addListenerForSingleValueEvent(new ValueEventListener() {
+
+        TrainingSeries conflictingSeries = findSeriesConflict(training);
+        if (conflictingSeries != null) {
+            reportConflict(conflictingSeries.getTeamId(), TimeOfDay.format(conflictingSeries.getStartMinutes()),
+                TimeOfDay.format(conflictingSeries.getEndMinutes()), training.getDate(), listener);
+            return;
+        }
+
+        withCourtSnapshot(training.getCourtId(), training.getEpochDay(), training.getEpochDay(), new SnapshotCallback() {
+            @Override
+            public void onSnapshot(TrainingConflictIndex snapshot) {
+                Training existingTraining = snapshot.findConflict(training);
+                if (existingTraining != null) {
+                    reportConflict(existingTraining, listener);
+                } else {
+                    Log.d(TAG, "OnTrainingAddedListener: No conflicts. Saving training...");
+                    saveNewTraining(training, snapshot, listener);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                Log.e(TAG, "OnTrainingAddedListener: Database error: " + error);
+                listener.onError(error);
+            }
+        });
+    }
+
+    private void reportConflict(Training existingTraining, OnTrainingAddedListener listener) {
+        reportConflict(existingTraining.getTeamId(), existingTraining.getStartTime(), existingTraining.getEndTime(),
+            existingTraining.getDate(), listener);
+    }
+
+    private void reportConflict(String conflictingTeamId, String startTime, String endTime, long date,
+                                OnTrainingAddedListener listener) {
+        String conflictingTime = startTime + "-" + endTime;
+        String conflictingDate = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(date);
+        Log.e(TAG, "OnTrainingAddedListener: CONFLICT found with: Team=" + conflictingTeamId + 
+            ", Time=" + conflictingTime + ", Date=" + conflictingDate);
+        String detailedError = "קיימת התנגשות עם אימון אחר (קבוצה: " + conflictingTeamId + 
+            ", זמן: " + conflictingTime + ", תאריך: " + conflictingDate + ")";
+        Log.e(TAG, "OnTrainingAddedListener: " + detailedError);
+        listener.onError(detailedError);
+    }
+
+    private void saveNewTraining(Training training, TrainingConflictIndex snapshot, OnTrainingAddedListener listener) {
+        String key = trainingsRef.push().getKey();
+        if (key != null) {
+            reserveSlot(training, key, snapshot, new ReservationCallback() {
                 @Override
-                public void onDataChange(DataSnapshot dataSnapshot) {
-                    long snapshotCount = dataSnapshot.getChildrenCount();
-                    Log.d(TAG, "OnTrainingAddedListener: Conflict check response received with " + snapshotCount + " trainings");
-                    
-                    boolean hasConflict = false;
-                    String conflictingTeamId = null;
-                    String conflictingTime = null;
-                    String conflictingDate = null;
-                    
-                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                        Training existingTraining = snapshot.getValue(Training.class);
-                        if (existingTraining != null) {
-                            Log.d(TAG, "OnTrainingAddedListener: Checking existing training: Team=" + existingTraining.getTeamId() + 
-                                ", Time=" + existingTraining.getStartTime() + "-" + existingTraining.getEndTime() +
-                                ", Date=" + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(existingTraining.getDate()));
-                            
-                            if (training.conflictsWith(existingTraining)) {
-                                hasConflict = true;
-                                conflictingTeamId = existingTraining.getTeamId();
-                                conflictingTime = existingTraining.getStartTime() + "-" + existingTraining.getEndTime();
-                                conflictingDate = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(existingTraining.getDate());
-                                Log.e(TAG, "OnTrainingAddedListener: CONFLICT found with: Team=" + conflictingTeamId + 
-                                    ", Time=" + conflictingTime + ", Date=" + conflictingDate);
-                                break;
-                            }
-                        }
-                    }
+                public void onReserved() {
+                    Log.d(TAG, "OnTrainingAddedListener: Saving training with ID: " + key);
+                    writeReservedTraining(training, key, listener);
+                }
 
-                    if (hasConflict) {
-                        String detailedError = "קיימת התנגשות עם אימון אחר (קבוצה: " + conflictingTeamId + 
-                            ", זמן: " + conflictingTime + ", תאריך: " + conflictingDate + ")";
-                        Log.e(TAG, "OnTrainingAddedListener: " + detailedError);
-                        listener.onError(detailedError);
-                    } else {
-                        Log.d(TAG, "OnTrainingAddedListener: No conflicts. Saving training...");
-                        String key = trainingsRef.push().getKey();
-                        if (key != null) {
-                            training.setTrainingId(key);
-                            Log.d(TAG, "OnTrainingAddedListener: Saving training with ID: " + key);
-                            trainingsRef.child(key).setValue(training)
-                                .addOnSuccessListener(aVoid -> {
-                                    Log.d(TAG, "OnTrainingAddedListener: Training saved successfully: " + key);
-                                    listener.onTrainingAdded(key);
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "OnTrainingAddedListener: Failed to save training: " + e.getMessage());
-                                    errorLiveData.setValue(e.getMessage());
-                                    listener.onError(e.getMessage());
-                                });
-                        }
-                    }
+                @Override
+                public void onSlotTaken(String teamId, String startTime, String endTime) {
+                    reportConflict(teamId, startTime, endTime, training.getDate(), listener);
                 }
 
                 @Override
-                public void onCancelled(DatabaseError error) {
-                    Log.e(TAG, "OnTrainingAddedListener: Database error: " + error.getMessage());
-                    errorLiveData.setValue(error.getMessage());
-                    listener.onError(error.getMessage());
+                public void onError(String error) {
+                    errorLiveData.setValue(error);
+                    listener.onError(error);
+                }
+            });
+        }
+    }
+
+    /**
+     * Claims the training's time range on occupancy/{courtId}/{yyyyMMdd} with a transaction,
+     * so two coordinators booking the same court at once cannot both succeed.
+     * The node only holds that day's claims, so the check reads a few entries
+     * instead of the court's whole history.
+     */
+    private void reserveSlot(Training training, String key, TrainingConflictIndex snapshot, ReservationCallback callback) {
+        int start = training.getStartMinutes();
+        int end = training.getEndMinutes();
+        if (training.getCourtId() == null || start < 0 || end < 0) {
+            // Nothing to claim - same as conflictsWith, which never rejects unreadable times
+            callback.onReserved();
+            return;
+        }
+
+        Map<String, Object> claim = buildClaim(start, end, training.getTeamId());
+        // An edited training keeps its id and its old claim until the write; don't clash with that claim
+        // (an edited series occurrence holds its claim under the series id)
+        String replacedId = TrainingSeries.seriesIdOf(training.getTrainingId()) != null
+            ? TrainingSeries.seriesIdOf(training.getTrainingId()) : training.getTrainingId();
+        // Bookings made before occupancy nodes existed, merged into the node when missing
+        Map<String, Map<String, Object>> legacyClaims = new HashMap<>();
+        for (Training existing : snapshot.getTrainingsOnDay(training.getCourtId(), training.getEpochDay())) {
+            int existingStart = existing.getStartMinutes();
+            int existingEnd = existing.getEndMinutes();
+            if (existing.getTrainingId() != null) {
+                legacyClaims.put(existing.getTrainingId(), buildClaim(existingStart, existingEnd, existing.getTeamId()));
+            }
+        }
+        // Team and times of the claim that blocked us, filled in when the transaction aborts
+        final String[] conflict = new String[3];
+
+        getOccupancyRef(training).runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                // Merged on every attempt, not only into an empty node: a day that already has
+                // claims can still hold bookings made before its node existed
+                for (Map.Entry<String, Map<String, Object>> legacy : legacyClaims.entrySet()) {
+                    if (!currentData.hasChild(legacy.getKey())) {
+                        currentData.child(legacy.getKey()).setValue(legacy.getValue());
+                    }
+                }
+                for (MutableData existing : currentData.getChildren()) {
+                    if (existing.getKey() == null || existing.getKey().equals(replacedId)) {
+                        continue;
+                    }
+                    int existingStart = readMinutes(existing.child("start"));
+                    int existingEnd = readMinutes(existing.child("end"));
+                    if (existingStart >= 0 && existingEnd >= 0 && start < existingEnd && existingStart < end) {
+                        conflict[0] = existing.child("teamId").getValue(String.class);
+                        conflict[1] = TimeOfDay.format(existingStart);
+                        conflict[2] = TimeOfDay.format(existingEnd);
+                        return Transaction.abort();
+                    }
                 }
+                currentData.child(key).setValue(claim);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                if (error != null) {
+                    Log.e(TAG, "Slot reservation failed: " + error.getMessage());
+                    callback.onError("שגיאת רשת: " + error.getMessage());
+                } else if (committed) {
+                    Log.d(TAG, "Slot reserved for " + key);
+                    callback.onReserved();
+                } else {
+                    callback.onSlotTaken(conflict[0], conflict[1], conflict[2]);
+                }
+            }
+        });
+    }
+
+    private void writeReservedTraining(Training training, String key, OnTrainingAddedListener listener) {
+        training.setTrainingId(key);
+        trainingsRef.child(key).setValue(training.toMap())
+            .addOnSuccessListener(aVoid -> {
+                Log.d(TAG, "Training saved successfully: " + key);
+                listener.onTrainingAdded(key);
+            })
+            .addOnFailureListener(e -> {
+                Log.e(TAG, "Failed to save training: " + e.getMessage(), e);
+                // Give the slot back so a failed write doesn't leave the court blocked
+                releaseSlot(training, key);
+                errorLiveData.setValue(e.getMessage());
+                listener.onError(e.getMessage());
             });
     }
 
+    private void releaseSlot(Training training, String key) {
+        if (training.getCourtId() != null) {
+            getOccupancyRef(training).child(key).removeValue();
+        }
+    }
+
+    private DatabaseReference getOccupancyRef(Training training) {
+        return occupancyRef.child(training.getCourtId()).child(DateUtils.formatDayKey(training.getDate()));
+    }
+
+    private String getOccupancyPath(Training training, String key) {
+        return "occupancy/" + training.getCourtId() + "/" + DateUtils.formatDayKey(training.getDate()) + "/" + key;
+    }
+
+    private static Map<String, Object> buildClaim(int start, int end, String teamId) {
+        Map<String, Object> claim = new HashMap<>();
+        claim.put("start", start);
+        claim.put("end", end);
+        claim.put("teamId", teamId);
+        return claim;
+    }
+
+    private static int readMinutes(MutableData data) {
+        Object value = data.getValue();
+        return value instanceof Number ? ((Number) value).intValue() : -1;
+    }
+
+    private interface SnapshotCallback {
+        void onSnapshot(TrainingConflictIndex snapshot);
+        void onError(String error);
+    }
+
+    private interface ReservationCallback {
+        void onReserved();
+        void onSlotTaken(String teamId, String startTime, String endTime);
+        void onError(String error);
+    }
+
     public interface OnConflictCheckListener {
         void onSuccess();
         void onConflict();
         void onFailure(String error);
     }
     
+    public interface OnDuplicationCompleteListener {
+        void onComplete(List<String> skippedReasons, int successCount, int totalWeeks);
+        void onFailure(String error);
+    }
+
     public interface OnTrainingAddedListener {
         void onTrainingAdded(String trainingId);
         void onError(String error);
     }
+
+    public interface OnFreeSlotsListener {
+        void onFreeSlots(List<TimeSlot> slots);
+        void onError(String error);
+    }
 }
@@ -0,0 +1,98 @@
+package com.example.testapp.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.DateWindow;
+import com.google.firebase.database.DatabaseReference;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trainings of the date windows a screen is showing, each loaded with an
+ * orderByChild("date") range query instead of the whole training history.
+ *
+ * The windows right before and after the requested one are prefetched so paging
+ * a week back or forward is served from memory; any other window is dropped.
+ */
+public class TrainingWindows {
+    private static final String TAG = "TrainingWindows";
+
+    private final DatabaseReference trainingsRef;
+    private final MutableLiveData<String> errorLiveData;
+    private final Map<DateWindow, Window> windows = new HashMap<>();
+
+    private static class Window {
+        final MutableLiveData<List<Training>> liveData = new MutableLiveData<>();
+        final BackgroundParser<List<Training>> parser = new BackgroundParser<>(liveData);
+        FirebaseListStore<Training> store;
+    }
+
+    TrainingWindows(DatabaseReference trainingsRef, MutableLiveData<String> errorLiveData) {
+        this.trainingsRef = trainingsRef;
+        this.errorLiveData = errorLiveData;
+    }
+
+    /**
+     * Trainings dated inside the window only. The neighbouring windows are prefetched
+     * and windows further away stop listening.
+     */
+    public LiveData<List<Training>> get(DateWindow window) {
+        DateWindow previous = window.previous();
+        DateWindow next = window.next();
+
+        Iterator<Map.Entry<DateWindow, Window>> iterator = windows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<DateWindow, Window> entry = iterator.next();
+            DateWindow key = entry.getKey();
+            if (!key.equals(window) && !key.equals(previous) && !key.equals(next)) {
+                entry.getValue().store.stop();
+                iterator.remove();
+            }
+        }
+
+        Window current = open(window);
+        open(previous);
+        open(next);
+        return current.liveData;
+    }
+
+    public void stop() {
+        for (Window window : windows.values()) {
+            window.store.stop();
+        }
+        windows.clear();
+    }
+
+    private Window open(DateWindow dateWindow) {
+        Window window = windows.get(dateWindow);
+        if (window != null) {
+            return window;
+        }
+        Window created = new Window();
+        created.store = new FirebaseListStore<>(
+            trainingsRef.orderByChild("date").startAt(dateWindow.getStart()).endAt(dateWindow.getEnd() - 1),
+            SnapshotCodecs::training,
+            new FirebaseListStore.Listener<Training>() {
+                @Override
+                public void onChanged(ChangeSet<Training> changes) {
+                    Log.d(TAG, "Window " + dateWindow.getStart() + " changed: " + changes.getChanges().size() + " changes");
+                    // Same integrity rule as the full list, checked off the main thread
+                    created.parser.submit(() -> TrainingRepository.validTrainings(changes.getItems()));
+                }
+
+                @Override
+                public void onError(String error) {
+                    errorLiveData.setValue(error);
+                }
+            });
+        windows.put(dateWindow, created);
+        return created;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.testapp.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.testapp.models.User;
+import com.example.testapp.utils.UserDirectoryIndex;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The users of the management screen, loaded a page at a time per role.
+ *
+ * Each role is read with orderByChild("role") in pages of {@link #PAGE_SIZE}, the next
+ * page starting after the last key of the one before, and every page goes into a
+ * {@link UserDirectoryIndex} as it arrives. The first rows show after one small read
+ * instead of a download of the whole users tree, and a role is only read once its
+ * chip is selected. Edits made on the screen update the index in place instead of
+ * reloading. Main thread only.
+ */
+public class UserDirectory {
+    private static final String TAG = "UserDirectory";
+
+    public static final int PAGE_SIZE = 200;
+
+    public interface OnPageListener {
+        /** A page of the role was added to the index. */
+        void onPage(String role, boolean lastPage);
+        void onFailure(String error);
+    }
+
+    private final DatabaseReference usersRef;
+    private final UserDirectoryIndex index = new UserDirectoryIndex();
+    private final OnPageListener listener;
+    // Roles being paged in, and roles read to the end
+    private final Set<String> loading = new HashSet<>();
+    private final Set<String> loaded = new HashSet<>();
+
+    public UserDirectory(OnPageListener listener) {
+        this.listener = listener;
+        usersRef = FirebaseDatabase.getInstance().getReference("users");
+    }
+
+    public UserDirectoryIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Starts paging in the roles not read or being read yet.
+     */
+    public void load(Collection<String> roles) {
+        for (String role : roles) {
+            if (!loading.contains(role) && !loaded.contains(role)) {
+                loading.add(role);
+                loadPage(role, null);
+            }
+        }
+    }
+
+    public boolean isLoading() {
+        return !loading.isEmpty();
+    }
+
+    /** Records an edit made on the screen; a user whose role isn't loaded yet comes with its pages. */
+    public void update(User user) {
+        if (loaded.contains(user.getRole()) || loading.contains(user.getRole())) {
+            index.put(user);
+        } else {
+            index.remove(user.getUserId());
+        }
+    }
+
+    public void remove(String userId) {
+        index.remove(userId);
+    }
+
+    private void loadPage(String role, String afterKey) {
+        Query query = afterKey == null
+                ? usersRef.orderByChild("role").equalTo(role).limitToFirst(PAGE_SIZE)
+                : usersRef.orderByChild("role").startAfter(role, afterKey).endAt(role).limitToFirst(PAGE_SIZE);
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                String lastKey = null;
+                int count = 0;
+                for (DataSnapshot child : snapshot.getChildren()) {
+                    lastKey = child.getKey();
+                    count++;
+                    User user = SnapshotCodecs.user(child);
+                    if (user != null) {
+                        user.setUserId(lastKey);
+                        index.put(user);
+                    }
+                }
+                boolean lastPage = count < PAGE_SIZE;
+                if (lastPage) {
+                    loading.remove(role);
+                    loaded.add(role);
+                } else {
+                    loadPage(role, lastKey);
+                }
+                listener.onPage(role, lastPage);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Failed to load " + role + " users: " + error.getMessage());
+                loading.remove(role);
+                listener.onFailure(error.getMessage());
+            }
+        });
+    }
+}
@@ -47,16 +47,18 @@ public class UserRepository {
         usersRef.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
-                User user = snapshot.getValue(User.class);
+                User user = SnapshotCodecs.user(snapshot);
                 if (user != null) {
                     user.setUserId(userId); // Ensure userId is set
                     if (user.isPlayer()) {
                         ensurePlayerRecordExists(user, () -> {
                             currentUserLiveData.setValue(user);
+                            SessionManager.getInstance().start(user);
                             listener.onSuccess(user);
                         }, listener);
                     } else {
                         currentUserLiveData.setValue(user);
+                        SessionManager.getInstance().start(user);
                         listener.onSuccess(user);
                     }
                 } else {
@@ -72,6 +74,20 @@ public class UserRepository {
     }
 
     private void ensurePlayerRecordExists(User user, SimpleCallback onSuccess, OnLoginListener listener) {
+        PlayerResolver resolver = PlayerResolver.getInstance();
+        resolver.remember(user.getUserId(), user.getPlayerId());
+        resolver.resolve(user.getUserId(), playerId -> {
+            if (playerId != null) {
+                user.setPlayerId(playerId);
+                onSuccess.call();
+            } else {
+                // A failed read resolves to null too; confirm there is no record before creating one
+                createPlayerRecordIfMissing(user, onSuccess, listener);
+            }
+        });
+    }
+
+    private void createPlayerRecordIfMissing(User user, SimpleCallback onSuccess, OnLoginListener listener) {
         Query playerQuery = playersRef.orderByChild("userId").equalTo(user.getUserId());
         playerQuery.addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
@@ -116,12 +132,13 @@ public class UserRepository {
                         FirebaseUser firebaseUser = authResult.getUser();
                         if (firebaseUser != null) {
                             User user = new User(firebaseUser.getUid(), email.isEmpty() ? "" : email, name, role, phone);
-                            usersRef.child(firebaseUser.getUid()).setValue(user)
+                            usersRef.child(firebaseUser.getUid()).setValue(user.toMap())
                                 .addOnSuccessListener(aVoid -> {
                                     if (role.equals("PLAYER")) {
                                         createPlayerRecord(user, listener);
                                     } else {
                                         currentUserLiveData.setValue(user);
+                                        SessionManager.getInstance().start(user);
                                         listener.onSuccess(user);
                                     }
                                 })
@@ -153,12 +170,14 @@ public class UserRepository {
         player.setCreatedAt(System.currentTimeMillis());
         player.setUpdatedAt(System.currentTimeMillis());
         
-        playersRef.child(playerId).setValue(player)
+        playersRef.child(playerId).setValue(player.toMap())
             .addOnSuccessListener(aVoid -> {
                 usersRef.child(userId).child("playerId").setValue(playerId)
                     .addOnSuccessListener(aVoid2 -> {
+                        PlayerResolver.getInstance().remember(userId, playerId);
                         user.setPlayerId(playerId);
                         currentUserLiveData.setValue(user);
+                        SessionManager.getInstance().start(user);
                         listener.onSuccess(user);
                     })
                     .addOnFailureListener(e -> listener.onFailure(e.getMessage()));
@@ -188,6 +207,7 @@ public class UserRepository {
     public void logout() {
         auth.signOut();
         currentUserLiveData.setValue(null);
+        SessionManager.getInstance().clear();
     }
 
     public LiveData<User> getCurrentUser() {
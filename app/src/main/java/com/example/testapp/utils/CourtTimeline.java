@@ -0,0 +1,139 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.Training;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Flat row list of the all-courts timeline: per court a header, then its trainings
+ * grouped under one header per day, or an "empty" row.
+ *
+ * Every row has a stable key and a content check, so the list can be diffed against
+ * the previous one and only the changed rows rebound. Each row also knows the day
+ * header above it, which the timeline keeps pinned at the top while scrolling.
+ */
+public class CourtTimeline {
+
+    public static final int TYPE_COURT = 0;
+    public static final int TYPE_DAY = 1;
+    public static final int TYPE_TRAINING = 2;
+    public static final int TYPE_EMPTY = 3;
+
+    public static final int NO_HEADER = -1;
+
+    // Date, then start time, as the old timeline sorted
+    private static final Comparator<Training> BY_TIME = Comparator
+            .comparingLong(Training::getEpochDay)
+            .thenComparingInt(Training::getStartMinutes);
+
+    public static final class Row {
+        private final int type;
+        private final String key;
+        private final String courtName;
+        private final int count;
+        private final long epochDay;
+        private final Training training;
+        private final String color;
+        private final int dayHeaderPosition;
+
+        private Row(int type, String key, String courtName, int count, long epochDay,
+                    Training training, String color, int dayHeaderPosition) {
+            this.type = type;
+            this.key = key;
+            this.courtName = courtName;
+            this.count = count;
+            this.epochDay = epochDay;
+            this.training = training;
+            this.color = color;
+            this.dayHeaderPosition = dayHeaderPosition;
+        }
+
+        public int getType() { return type; }
+        /** Stable identity across rebuilds, e.g. for DiffUtil's areItemsTheSame. */
+        public String getKey() { return key; }
+        public String getCourtName() { return courtName; }
+        /** Trainings of the court this week, on court headers. */
+        public int getCount() { return count; }
+        public long getEpochDay() { return epochDay; }
+        public Training getTraining() { return training; }
+        /** Team color of a training row, resolved when the list is built. */
+        public String getColor() { return color; }
+        /** Position of the day header this row belongs to, or {@link #NO_HEADER}. */
+        public int getDayHeaderPosition() { return dayHeaderPosition; }
+
+        /**
+         * Whether the row shows the same thing as another row with the same key.
+         */
+        public boolean sameContentAs(Row other) {
+            if (type != other.type || count != other.count || epochDay != other.epochDay
+                    || !Objects.equals(courtName, other.courtName) || !Objects.equals(color, other.color)) {
+                return false;
+            }
+            if (training == null || other.training == null) {
+                return training == other.training;
+            }
+            return training.getDate() == other.training.getDate()
+                    && Objects.equals(training.getTeamName(), other.training.getTeamName())
+                    && Objects.equals(training.getStartTime(), other.training.getStartTime())
+                    && Objects.equals(training.getEndTime(), other.training.getEndTime());
+        }
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+    private final Map<String, String> teamColors;
+
+    /**
+     * @param teamColors colors of the teams, used for trainings stored without one
+     */
+    public CourtTimeline(Map<String, String> teamColors) {
+        this.teamColors = teamColors != null ? teamColors : Collections.emptyMap();
+    }
+
+    /**
+     * Appends one court's section.
+     *
+     * @param count     number shown on the court header
+     * @param trainings the court's trainings to list; sorted here by date and start time
+     */
+    public void addCourt(Court court, int count, List<Training> trainings) {
+        String courtId = court.getCourtId();
+        rows.add(new Row(TYPE_COURT, "c:" + courtId, court.getName(), count, 0, null, null, NO_HEADER));
+        if (trainings.isEmpty()) {
+            rows.add(new Row(TYPE_EMPTY, "e:" + courtId, null, 0, 0, null, null, NO_HEADER));
+            return;
+        }
+
+        List<Training> sorted = new ArrayList<>(trainings);
+        sorted.sort(BY_TIME);
+        long lastDay = Long.MIN_VALUE;
+        int header = NO_HEADER;
+        for (Training training : sorted) {
+            long epochDay = training.getEpochDay();
+            if (epochDay != lastDay) {
+                header = rows.size();
+                rows.add(new Row(TYPE_DAY, "d:" + courtId + ":" + epochDay, null, 0, epochDay, null, null, header));
+                lastDay = epochDay;
+            }
+            rows.add(new Row(TYPE_TRAINING, "t:" + courtId + ":" + training.getTrainingId(), null, 0, epochDay,
+                    training, colorOf(training), header));
+        }
+    }
+
+    private String colorOf(Training training) {
+        String color = training.getTeamColor();
+        if (color == null || color.isEmpty()) {
+            color = teamColors.get(training.getTeamId());
+        }
+        return color;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+}
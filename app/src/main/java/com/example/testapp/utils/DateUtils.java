@@ -10,6 +10,7 @@ public class DateUtils {
     
     private static final TimeZone ISRAEL_TIMEZONE = TimeZone.getTimeZone("Asia/Jerusalem");
     private static final Locale HEBREW_LOCALE = new Locale("he", "IL");
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
     
     public static String getDayOfWeek(long timestamp) {
         Calendar calendar = Calendar.getInstance(ISRAEL_TIMEZONE, HEBREW_LOCALE);
@@ -57,6 +58,71 @@ public class DateUtils {
         return calendar.getTimeInMillis();
     }
     
+    /**
+     * Local (Israel) calendar day of a timestamp, counted in days since 1970-01-01.
+     * Two timestamps fall on the same day exactly when their epoch days are equal.
+     */
+    public static long getEpochDay(long timestamp) {
+        return Math.floorDiv(timestamp + ISRAEL_TIMEZONE.getOffset(timestamp), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Milliseconds since local (Israel) midnight of a timestamp.
+     */
+    public static long getMillisOfDay(long timestamp) {
+        return Math.floorMod(timestamp + ISRAEL_TIMEZONE.getOffset(timestamp), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Timestamp of local (Israel) midnight at the start of an epoch day.
+     */
+    public static long getStartOfEpochDay(long epochDay) {
+        Calendar calendar = Calendar.getInstance(ISRAEL_TIMEZONE, HEBREW_LOCALE);
+        calendar.clear();
+        calendar.set(1970, Calendar.JANUARY, 1);
+        calendar.add(Calendar.DATE, (int) epochDay);
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * Calendar day of week (Sunday = 1 ... Saturday = 7) of an epoch day.
+     * 1970-01-01 was a Thursday.
+     */
+    public static int getDayOfWeekOfEpochDay(long epochDay) {
+        return (int) Math.floorMod(epochDay + 4, 7L) + 1;
+    }
+
+    /**
+     * Month (January = 1 ... December = 12) of an epoch day, by civil-calendar
+     * arithmetic on the day number instead of a Calendar.
+     */
+    public static int getMonthOfEpochDay(long epochDay) {
+        // Days since 0000-03-01, counted in 400-year eras that start in March
+        long days = epochDay + 719468;
+        long dayOfEra = days - Math.floorDiv(days, 146097) * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int marchBasedMonth = (int) ((5 * dayOfYear + 2) / 153);
+        return marchBasedMonth < 10 ? marchBasedMonth + 3 : marchBasedMonth - 9;
+    }
+
+    /**
+     * Sunday-to-Saturday week of an epoch day, counted from the week of 1970-01-01.
+     * Two days share a week exactly when their week numbers are equal.
+     */
+    public static long getWeekOfEpochDay(long epochDay) {
+        return Math.floorDiv(epochDay + 4, 7L);
+    }
+
+    /**
+     * Compact "yyyyMMdd" key of the local (Israel) day, used to name per-day database nodes.
+     */
+    public static String formatDayKey(long timestamp) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd", Locale.US);
+        sdf.setTimeZone(ISRAEL_TIMEZONE);
+        return sdf.format(new Date(timestamp));
+    }
+
     public static boolean isToday(long timestamp) {
         Calendar cal1 = Calendar.getInstance(ISRAEL_TIMEZONE, HEBREW_LOCALE);
         Calendar cal2 = Calendar.getInstance(ISRAEL_TIMEZONE, HEBREW_LOCALE);
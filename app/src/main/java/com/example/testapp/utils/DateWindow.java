@@ -0,0 +1,69 @@
+package com.example.testapp.utils;
+
+import java.util.Calendar;
+
+/**
+ * A range of dates shown on one screen, e.g. a week or a month.
+ * The window covers [start, end), where end is start moved forward by
+ * {@code amount} units of a Calendar field, so weeks that cross a DST change still line up.
+ */
+public class DateWindow {
+
+    private final long start;
+    private final int field;
+    private final int amount;
+
+    public DateWindow(long start, int field, int amount) {
+        this.start = start;
+        this.field = field;
+        this.amount = amount;
+    }
+
+    public static DateWindow week(long weekStart) {
+        return new DateWindow(weekStart, Calendar.WEEK_OF_YEAR, 1);
+    }
+
+    public static DateWindow month(long monthStart) {
+        return new DateWindow(monthStart, Calendar.MONTH, 1);
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return shift(start, amount);
+    }
+
+    public boolean contains(long timestamp) {
+        return timestamp >= start && timestamp < getEnd();
+    }
+
+    public DateWindow previous() {
+        return new DateWindow(shift(start, -amount), field, amount);
+    }
+
+    public DateWindow next() {
+        return new DateWindow(getEnd(), field, amount);
+    }
+
+    private long shift(long from, int units) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(from);
+        calendar.add(field, units);
+        return calendar.getTimeInMillis();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DateWindow)) return false;
+        DateWindow other = (DateWindow) o;
+        return start == other.start && field == other.field && amount == other.amount;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(start) + field) + amount;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.testapp.utils;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces bursts of requests into one background computation and publishes
+ * only the newest result.
+ *
+ * Every {@link #submit} restarts a short quiet window; the computation runs on
+ * a shared worker thread once no newer request arrives within it. A request
+ * that is overtaken is cancelled if it hasn't started, and its result is
+ * discarded if it has, like BackgroundParser does for snapshots.
+ */
+public class Debouncer<R> {
+
+    private static final ScheduledExecutorService EXECUTOR = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "debounced-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // Cancelled windows are dropped from the queue instead of waiting out their delay
+        ((ScheduledThreadPoolExecutor) EXECUTOR).setRemoveOnCancelPolicy(true);
+    }
+
+    private final long delayMillis;
+    private final Consumer<R> publisher;
+    private int generation = 0;
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param publisher called on the worker thread, e.g. with {@code liveData::postValue}
+     */
+    public Debouncer(long delayMillis, Consumer<R> publisher) {
+        this.delayMillis = delayMillis;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Replaces any waiting or running request with this one. The supplier runs on
+     * the worker thread, so it must only read state it owns or that is thread-safe.
+     */
+    public synchronized void submit(Supplier<R> compute) {
+        final int submitted = ++generation;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = EXECUTOR.schedule(() -> {
+            if (isStale(submitted)) {
+                return;
+            }
+            R result = compute.get();
+            synchronized (this) {
+                if (submitted == generation) {
+                    publisher.accept(result);
+                }
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drops the waiting request and discards the result of a running one.
+     */
+    public synchronized void cancel() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    private synchronized boolean isStale(int submitted) {
+        return submitted != generation;
+    }
+}
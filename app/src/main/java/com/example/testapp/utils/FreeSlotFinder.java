@@ -0,0 +1,213 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.TimeOfDay;
+import com.example.testapp.models.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds free training windows for a team across all courts.
+ *
+ * Candidates start on the court's opening hour and every {@link Query#setStepMinutes step}
+ * after it, must end by the closing hour of that day's {@link DaySchedule}, must be free in
+ * every given {@link OccupancyGrid}, and must not overlap another training of the team.
+ * Each candidate costs a few mask tests, so a whole season is searched in milliseconds.
+ */
+public class FreeSlotFinder {
+
+    /** What to search for. Null court types or days mean "any". */
+    public static class Query {
+        private String teamId;
+        private int durationMinutes = 90;
+        private long from;
+        private long to;
+        private Set<String> courtTypes;
+        private Set<Integer> daysOfWeek;
+        private int stepMinutes = OccupancyGrid.CELL_MINUTES;
+        private int limit = 20;
+
+        public Query(String teamId, int durationMinutes, long from, long to) {
+            this.teamId = teamId;
+            this.durationMinutes = durationMinutes;
+            this.from = from;
+            this.to = to;
+        }
+
+        public String getTeamId() { return teamId; }
+        public int getDurationMinutes() { return durationMinutes; }
+        public long getFrom() { return from; }
+        public long getTo() { return to; }
+        public Set<String> getCourtTypes() { return courtTypes; }
+        public Set<Integer> getDaysOfWeek() { return daysOfWeek; }
+        public int getStepMinutes() { return stepMinutes; }
+        public int getLimit() { return limit; }
+
+        public Query setCourtTypes(Set<String> courtTypes) {
+            this.courtTypes = courtTypes;
+            return this;
+        }
+
+        /** Days as in {@link java.util.Calendar#DAY_OF_WEEK}, 1 = Sunday. */
+        public Query setDaysOfWeek(Set<Integer> daysOfWeek) {
+            this.daysOfWeek = daysOfWeek;
+            return this;
+        }
+
+        public Query setStepMinutes(int stepMinutes) {
+            this.stepMinutes = Math.max(5, stepMinutes);
+            return this;
+        }
+
+        public Query setLimit(int limit) {
+            this.limit = Math.max(1, limit);
+            return this;
+        }
+    }
+
+    /** A candidate window with what it is ranked by. */
+    private static final class Candidate {
+        final Court court;
+        final long epochDay;
+        final int start;
+        final boolean adjacent;
+
+        Candidate(Court court, long epochDay, int start, boolean adjacent) {
+            this.court = court;
+            this.epochDay = epochDay;
+            this.start = start;
+            this.adjacent = adjacent;
+        }
+    }
+
+    /** Within a day: next to an existing booking first, then earlier, then by court name. */
+    private static final Comparator<Candidate> WITHIN_DAY = (a, b) -> {
+        if (a.adjacent != b.adjacent) {
+            return a.adjacent ? -1 : 1;
+        }
+        if (a.start != b.start) {
+            return Integer.compare(a.start, b.start);
+        }
+        String nameA = a.court.getName() != null ? a.court.getName() : "";
+        String nameB = b.court.getName() != null ? b.court.getName() : "";
+        return nameA.compareTo(nameB);
+    };
+
+    private FreeSlotFinder() {
+    }
+
+    /**
+     * Returns up to {@code query.getLimit()} free windows, best first.
+     *
+     * Days on which the team doesn't train yet come before days on which it does; within
+     * that, earlier days first, and within a day the ranking of {@link #WITHIN_DAY}.
+     * Windows that already started before {@code query.getFrom()} are skipped.
+     *
+     * @param bookings grids holding everything already booked, e.g. trainings and series occurrences
+     */
+    public static List<TimeSlot> find(Query query, List<Court> courts, OccupancyGrid... bookings) {
+        List<Candidate> preferred = new ArrayList<>();
+        List<Candidate> sameDayAsTeam = new ArrayList<>();
+        if (query.getDurationMinutes() <= 0 || query.getTo() <= query.getFrom() || courts == null) {
+            return new ArrayList<>();
+        }
+
+        long firstDay = DateUtils.getEpochDay(query.getFrom());
+        long lastDay = DateUtils.getEpochDay(query.getTo() - 1);
+        int firstDayStart = (int) ((query.getFrom() - DateUtils.getStartOfEpochDay(firstDay)) / 60000L);
+        List<Candidate> day = new ArrayList<>();
+
+        for (long epochDay = firstDay; epochDay <= lastDay && preferred.size() < query.getLimit(); epochDay++) {
+            int dayOfWeek = DateUtils.getDayOfWeekOfEpochDay(epochDay);
+            if (query.getDaysOfWeek() != null && !query.getDaysOfWeek().contains(dayOfWeek)) {
+                continue;
+            }
+            int earliest = epochDay == firstDay ? firstDayStart : 0;
+            boolean teamTrains = false;
+            for (OccupancyGrid grid : bookings) {
+                teamTrains |= grid.getTeamMask(query.getTeamId(), epochDay) != 0;
+            }
+
+            day.clear();
+            for (Court court : courts) {
+                if (!matchesType(court, query.getCourtTypes())) {
+                    continue;
+                }
+                DaySchedule schedule = court.getScheduleForDay(dayOfWeek);
+                if (schedule == null || !schedule.isActive()) {
+                    continue;
+                }
+                int open = schedule.getOpeningMinutes();
+                int close = schedule.getClosingMinutes();
+                if (open < 0 || close <= open) {
+                    continue;
+                }
+                for (int start = open; start + query.getDurationMinutes() <= close; start += query.getStepMinutes()) {
+                    if (start < earliest) {
+                        continue;
+                    }
+                    int end = start + query.getDurationMinutes();
+                    if (isFree(bookings, court.getCourtId(), query.getTeamId(), epochDay, start, end)) {
+                        day.add(new Candidate(court, epochDay, start,
+                                isAdjacent(bookings, court.getCourtId(), epochDay, start, end)));
+                    }
+                }
+            }
+            Collections.sort(day, WITHIN_DAY);
+            (teamTrains ? sameDayAsTeam : preferred).addAll(day);
+        }
+
+        List<TimeSlot> slots = new ArrayList<>();
+        addSlots(slots, preferred, query);
+        addSlots(slots, sameDayAsTeam, query);
+        return slots;
+    }
+
+    private static boolean matchesType(Court court, Set<String> courtTypes) {
+        return courtTypes == null || courtTypes.isEmpty() || courtTypes.contains(court.getCourtType());
+    }
+
+    private static boolean isFree(OccupancyGrid[] bookings, String courtId, String teamId,
+                                  long epochDay, int start, int end) {
+        for (OccupancyGrid grid : bookings) {
+            if (grid.findOverlap(courtId, epochDay, start, end) != null
+                    || grid.findTeamOverlap(teamId, epochDay, start, end) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Whether a booking on the court ends right at start or begins right at end. */
+    private static boolean isAdjacent(OccupancyGrid[] bookings, String courtId, long epochDay, int start, int end) {
+        for (OccupancyGrid grid : bookings) {
+            if ((start > 0 && grid.findOverlap(courtId, epochDay, start - 1, start) != null)
+                    || grid.findOverlap(courtId, epochDay, end, end + 1) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addSlots(List<TimeSlot> slots, List<Candidate> candidates, Query query) {
+        long dayStartOf = Long.MIN_VALUE;
+        long dayStart = 0;
+        for (Candidate candidate : candidates) {
+            if (slots.size() >= query.getLimit()) {
+                return;
+            }
+            if (candidate.epochDay != dayStartOf) {
+                dayStartOf = candidate.epochDay;
+                dayStart = DateUtils.getStartOfEpochDay(candidate.epochDay);
+            }
+            int end = candidate.start + query.getDurationMinutes();
+            slots.add(new TimeSlot(candidate.court.getCourtId(), candidate.court.getName(),
+                    TimeOfDay.format(candidate.start), TimeOfDay.format(end), dayStart));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.testapp.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * Balanced (AVL) tree of half-open integer intervals [start, end).
+ * Every node also tracks the largest end value in its subtree, so an overlap
+ * query can skip whole branches and finishes in O(log n) without allocating.
+ *
+ * Entries are identified by the handle returned from {@link #insert}; the same
+ * start and handle are needed to remove an entry again.
+ */
+public class IntervalTree<T> {
+
+    private static final class Node<T> {
+        final int start;
+        final int end;
+        final long handle;
+        final T value;
+        int maxEnd;
+        int height = 1;
+        Node<T> left;
+        Node<T> right;
+
+        Node(int start, int end, long handle, T value) {
+            this.start = start;
+            this.end = end;
+            this.handle = handle;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+
+    public static final long NO_HANDLE = -1;
+
+    private Node<T> root;
+    private int size;
+    private long nextHandle;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Adds an interval and returns the handle that identifies it.
+     */
+    public long insert(int start, int end, T value) {
+        long handle = nextHandle++;
+        root = insert(root, new Node<>(start, end, handle, value));
+        size++;
+        return handle;
+    }
+
+    /**
+     * Removes the interval inserted with the given start and handle.
+     * Returns false if no such interval exists.
+     */
+    public boolean remove(int start, long handle) {
+        int before = size;
+        root = remove(root, start, handle);
+        return size < before;
+    }
+
+    /**
+     * Returns the value of any interval overlapping [start, end), or null if none does.
+     */
+    public T findOverlap(int start, int end) {
+        return findOverlap(start, end, NO_HANDLE);
+    }
+
+    /**
+     * Same as {@link #findOverlap(int, int)} but ignores the interval with the given handle.
+     */
+    public T findOverlap(int start, int end, long ignoredHandle) {
+        Node<T> node = findOverlap(root, start, end, ignoredHandle);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Visits every value in order of start time.
+     */
+    public void forEach(Consumer<? super T> action) {
+        forEach(root, action);
+    }
+
+    private void forEach(Node<T> node, Consumer<? super T> action) {
+        if (node == null) {
+            return;
+        }
+        forEach(node.left, action);
+        action.accept(node.value);
+        forEach(node.right, action);
+    }
+
+    private Node<T> findOverlap(Node<T> node, int start, int end, long ignoredHandle) {
+        // A subtree can only hold a match if something in it ends after the query starts
+        if (node == null || node.maxEnd <= start) {
+            return null;
+        }
+        Node<T> match = findOverlap(node.left, start, end, ignoredHandle);
+        if (match != null) {
+            return match;
+        }
+        if (node.start >= end) {
+            // This node and everything to its right start too late
+            return null;
+        }
+        if (node.end > start && node.handle != ignoredHandle) {
+            return node;
+        }
+        return findOverlap(node.right, start, end, ignoredHandle);
+    }
+
+    private static int compare(int startA, long handleA, int startB, long handleB) {
+        if (startA != startB) {
+            return startA < startB ? -1 : 1;
+        }
+        return Long.compare(handleA, handleB);
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.handle, node.start, node.handle) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node<T> remove(Node<T> node, int start, long handle) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, handle, node.start, node.handle);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, handle);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, handle);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace with the smallest node of the right subtree
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int height(Node<?> node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        int max = node.end;
+        if (node.left != null && node.left.maxEnd > max) max = node.left.maxEnd;
+        if (node.right != null && node.right.maxEnd > max) max = node.right.maxEnd;
+        node.maxEnd = max;
+    }
+
+    private Node<T> rebalance(Node<T> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
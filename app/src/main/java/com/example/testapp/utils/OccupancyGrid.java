@@ -0,0 +1,236 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Training;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Booked half-hour cells per court per local epoch day, one {@code long} bitmask each:
+ * bit i is set when a training overlaps [i * 30, (i + 1) * 30) minutes after midnight.
+ *
+ * Answers "is this cell taken?" with one bit test and "is this range free?" with one mask
+ * comparison. Trainings are added and removed by key, like {@code TrainingConflictIndex},
+ * so the grid follows a training store change by change.
+ *
+ * The same masks are kept per team, so "does the team already train then?" is just as cheap.
+ */
+public class OccupancyGrid {
+    public static final int CELL_MINUTES = 30;
+    public static final int CELLS_PER_DAY = 24 * 60 / CELL_MINUTES;
+
+    /** The trainings of one court on one day and the cells they cover. */
+    private static final class Day {
+        long mask;
+        Training[] trainings = new Training[2];
+        int[] starts = new int[2];
+        int[] ends = new int[2];
+        int count;
+
+        void add(Training training, int start, int end) {
+            if (count == trainings.length) {
+                trainings = Arrays.copyOf(trainings, count * 2);
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            trainings[count] = training;
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+            mask |= rangeMask(start, end);
+        }
+
+        void remove(Training training) {
+            mask = 0;
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (trainings[i] == training) {
+                    continue;
+                }
+                trainings[kept] = trainings[i];
+                starts[kept] = starts[i];
+                ends[kept] = ends[i];
+                mask |= rangeMask(starts[kept], ends[kept]);
+                kept++;
+            }
+            Arrays.fill(trainings, kept, count, null);
+            count = kept;
+        }
+    }
+
+    /** Where a training was placed, so it can be removed or replaced later. */
+    private static final class Entry {
+        final String courtId;
+        final String teamId;
+        final long epochDay;
+        final Training training;
+
+        Entry(String courtId, String teamId, long epochDay, Training training) {
+            this.courtId = courtId;
+            this.teamId = teamId;
+            this.epochDay = epochDay;
+            this.training = training;
+        }
+    }
+
+    private final Map<String, Map<Long, Day>> courts = new HashMap<>();
+    private final Map<String, Map<Long, Day>> teams = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        courts.clear();
+        teams.clear();
+        entries.clear();
+    }
+
+    /**
+     * Adds or replaces the training stored under the given key. Trainings without
+     * a court or with unreadable times occupy nothing, as in the conflict check.
+     */
+    public void put(String key, Training training) {
+        remove(key);
+        if (key == null || training == null || training.getCourtId() == null) {
+            return;
+        }
+        int start = training.getStartMinutes();
+        int end = training.getEndMinutes();
+        if (start < 0 || end <= start) {
+            return;
+        }
+        long epochDay = training.getEpochDay();
+        getOrCreateDay(courts, training.getCourtId(), epochDay).add(training, start, end);
+        if (training.getTeamId() != null) {
+            getOrCreateDay(teams, training.getTeamId(), epochDay).add(training, start, end);
+        }
+        entries.put(key, new Entry(training.getCourtId(), training.getTeamId(), epochDay, training));
+    }
+
+    public void remove(String key) {
+        Entry entry = key != null ? entries.remove(key) : null;
+        if (entry == null) {
+            return;
+        }
+        removeFromDay(courts, entry.courtId, entry);
+        if (entry.teamId != null) {
+            removeFromDay(teams, entry.teamId, entry);
+        }
+    }
+
+    /**
+     * The occupied cells of one court on one day; 0 when the day is empty.
+     */
+    public long getMask(String courtId, long epochDay) {
+        Day day = getDay(courts, courtId, epochDay);
+        return day != null ? day.mask : 0L;
+    }
+
+    /**
+     * The cells in which a team trains on one day, on any court; 0 when it doesn't train.
+     */
+    public long getTeamMask(String teamId, long epochDay) {
+        Day day = getDay(teams, teamId, epochDay);
+        return day != null ? day.mask : 0L;
+    }
+
+    public boolean isOccupied(String courtId, long epochDay, int cell) {
+        return cell >= 0 && cell < CELLS_PER_DAY && (getMask(courtId, epochDay) & (1L << cell)) != 0;
+    }
+
+    /**
+     * Whether no training overlaps [startMinutes, endMinutes) on that court and day.
+     * Most calls are answered by the mask alone; only a range that shares a
+     * partly booked cell is checked against the exact training times.
+     */
+    public boolean isFree(String courtId, long epochDay, int startMinutes, int endMinutes) {
+        return findOverlap(courtId, epochDay, startMinutes, endMinutes) == null;
+    }
+
+    /**
+     * A training overlapping [startMinutes, endMinutes) on that court and day, or null.
+     */
+    public Training findOverlap(String courtId, long epochDay, int startMinutes, int endMinutes) {
+        return findOverlap(getDay(courts, courtId, epochDay), startMinutes, endMinutes);
+    }
+
+    /**
+     * A training of the team, on any court, overlapping [startMinutes, endMinutes) that day, or null.
+     */
+    public Training findTeamOverlap(String teamId, long epochDay, int startMinutes, int endMinutes) {
+        return findOverlap(getDay(teams, teamId, epochDay), startMinutes, endMinutes);
+    }
+
+    private static Training findOverlap(Day day, int startMinutes, int endMinutes) {
+        if (day == null || endMinutes <= startMinutes || (day.mask & rangeMask(startMinutes, endMinutes)) == 0) {
+            return null;
+        }
+        for (int i = day.count - 1; i >= 0; i--) {
+            if (day.starts[i] < endMinutes && day.ends[i] > startMinutes) {
+                return day.trainings[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The training covering one cell, or null if the cell is free.
+     * When trainings overlap, the one added last wins.
+     */
+    public Training getTrainingAt(String courtId, long epochDay, int cell) {
+        return findOverlap(courtId, epochDay, cell * CELL_MINUTES, (cell + 1) * CELL_MINUTES);
+    }
+
+    /**
+     * Bits of the cells that [startMinutes, endMinutes) touches, clamped to one day.
+     */
+    public static long rangeMask(int startMinutes, int endMinutes) {
+        int first = Math.max(0, startMinutes / CELL_MINUTES);
+        int last = Math.min(CELLS_PER_DAY, (endMinutes + CELL_MINUTES - 1) / CELL_MINUTES);
+        if (last <= first) {
+            return 0L;
+        }
+        return ((1L << last) - 1) & ~((1L << first) - 1);
+    }
+
+    public static int cellOf(int minutes) {
+        return minutes / CELL_MINUTES;
+    }
+
+    private static Day getDay(Map<String, Map<Long, Day>> owners, String ownerId, long epochDay) {
+        Map<Long, Day> days = ownerId != null ? owners.get(ownerId) : null;
+        return days != null ? days.get(epochDay) : null;
+    }
+
+    private static Day getOrCreateDay(Map<String, Map<Long, Day>> owners, String ownerId, long epochDay) {
+        Map<Long, Day> days = owners.get(ownerId);
+        if (days == null) {
+            days = new HashMap<>();
+            owners.put(ownerId, days);
+        }
+        Day day = days.get(epochDay);
+        if (day == null) {
+            day = new Day();
+            days.put(epochDay, day);
+        }
+        return day;
+    }
+
+    private static void removeFromDay(Map<String, Map<Long, Day>> owners, String ownerId, Entry entry) {
+        Map<Long, Day> days = owners.get(ownerId);
+        Day day = days != null ? days.get(entry.epochDay) : null;
+        if (day == null) {
+            return;
+        }
+        day.remove(entry.training);
+        if (day.count == 0) {
+            days.remove(entry.epochDay);
+            if (days.isEmpty()) {
+                owners.remove(ownerId);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Training;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups a court's trainings of one week per day of the week, for the schedule grid.
+ */
+public class ScheduleBuckets {
+
+    private ScheduleBuckets() {
+    }
+
+    /**
+     * Buckets the trainings of {@code courtId} by day index (0 = weekStart, 6 = last day).
+     * Trainings of other courts or outside the week are skipped.
+     */
+    public static Map<Integer, List<Training>> byDayIndex(List<Training> trainings, String courtId, Calendar weekStart) {
+        return byDayIndex(trainings, courtId, DateUtils.getEpochDay(weekStart.getTimeInMillis()));
+    }
+
+    /**
+     * Same as {@link #byDayIndex(List, String, Calendar)} for a week starting on {@code firstDay}
+     * (an epoch day). Each training's day index is a subtraction of cached epoch days.
+     */
+    public static Map<Integer, List<Training>> byDayIndex(List<Training> trainings, String courtId, long firstDay) {
+        Map<Integer, List<Training>> trainingsByDayIndex = new HashMap<>();
+        for (Training t : trainings) {
+            if (t.getCourtId() == null || !t.getCourtId().equals(courtId)) {
+                continue;
+            }
+            long dayIndex = t.getEpochDay() - firstDay;
+            if (dayIndex >= 0 && dayIndex < 7) {
+                trainingsByDayIndex.computeIfAbsent((int) dayIndex, k -> new ArrayList<>()).add(t);
+            }
+        }
+        return trainingsByDayIndex;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.testapp.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out a RecyclerView item id per model key (trainingId, teamId, ...).
+ *
+ * Ids are numbered in the order keys are first seen instead of hashed, so two
+ * keys never share an id, and a key keeps its id for the life of the adapter
+ * even after it leaves the list and comes back. Main thread only, as getItemId is.
+ */
+public class StableIds {
+
+    private final Map<String, Long> ids = new HashMap<>();
+
+    public long idOf(String key) {
+        Long id = ids.get(key);
+        if (id == null) {
+            id = (long) ids.size();
+            ids.put(key, id);
+        }
+        return id;
+    }
+
+    /** Number of keys that have an id. */
+    public int size() {
+        return ids.size();
+    }
+}
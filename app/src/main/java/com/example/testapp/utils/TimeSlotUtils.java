@@ -1,5 +1,7 @@
 package com.example.testapp.utils;
 
+import com.example.testapp.models.TimeOfDay;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -7,47 +9,24 @@ public class TimeSlotUtils {
     
     public static List<String> generateTimeSlots(String startTime, String endTime) {
         List<String> slots = new ArrayList<>();
-        
-        try {
-            int startHour = Integer.parseInt(startTime.split(":")[0]);
-            int startMinute = Integer.parseInt(startTime.split(":")[1]);
-            int endHour = Integer.parseInt(endTime.split(":")[0]);
-            int endMinute = Integer.parseInt(endTime.split(":")[1]);
-            
-            int currentHour = startHour;
-            int currentMinute = startMinute;
-            
-            while (currentHour < endHour || (currentHour == endHour && currentMinute <= endMinute)) {
-                String slot = String.format("%02d:%02d", currentHour, currentMinute);
-                slots.add(slot);
-                
-                currentMinute += 30;
-                if (currentMinute >= 60) {
-                    currentMinute = 0;
-                    currentHour++;
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+        int start = TimeOfDay.toMinutes(startTime);
+        int end = TimeOfDay.toMinutes(endTime);
+        if (start < 0 || end < 0) {
+            return slots;
+        }
+        for (int minutes = start; minutes <= end; minutes += 30) {
+            slots.add(TimeOfDay.format(minutes));
         }
-        
         return slots;
     }
     
     public static boolean isTimeInRange(String time, String start, String end) {
-        try {
-            int timeMinutes = timeToMinutes(time);
-            int startMinutes = timeToMinutes(start);
-            int endMinutes = timeToMinutes(end);
-            
-            return timeMinutes >= startMinutes && timeMinutes < endMinutes;
-        } catch (Exception e) {
+        int timeMinutes = TimeOfDay.toMinutes(time);
+        int startMinutes = TimeOfDay.toMinutes(start);
+        int endMinutes = TimeOfDay.toMinutes(end);
+        if (timeMinutes < 0 || startMinutes < 0 || endMinutes < 0) {
             return false;
         }
-    }
-    
-    private static int timeToMinutes(String time) {
-        String[] parts = time.split(":");
-        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+        return timeMinutes >= startMinutes && timeMinutes < endMinutes;
     }
 }
@@ -0,0 +1,423 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.Team;
+import com.example.testapp.models.TimeOfDay;
+import com.example.testapp.models.Training;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds a conflict-free weekly timetable from each team's practice demand.
+ *
+ * Hard rules: a session fits inside its court's {@link DaySchedule} hours for that day, no two
+ * sessions share a court, a team trains at most once a day, and a coach is never in two places
+ * or in a window blocked for them. Soft preferences: the usual training hours of the team's age
+ * group, a rest day between a team's sessions, and sessions packed next to each other on a court.
+ *
+ * The search is greedy: it places the demand with the fewest options left first, at its best
+ * option. A run that leaves sessions unplaced is repeated with the demands that failed moved to
+ * the front, until everything fits or the budget runs out. All state is half-hour cell masks,
+ * as in {@link OccupancyGrid}, so one run takes milliseconds.
+ */
+public class TimetableSolver {
+
+    private static final String[] ENGLISH_DAYS = {
+        "Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"
+    };
+
+    /** How often a team trains in a week and for how long. */
+    public static class Demand {
+        private final Team team;
+        private final int sessionsPerWeek;
+        private final int durationMinutes;
+        private Set<String> courtTypes;
+        private int preferredStart;
+        private int preferredEnd;
+
+        public Demand(Team team, int sessionsPerWeek, int durationMinutes) {
+            this.team = team;
+            this.sessionsPerWeek = sessionsPerWeek;
+            this.durationMinutes = durationMinutes;
+            int[] hours = defaultHours(team.getAgeGroup());
+            this.preferredStart = hours[0];
+            this.preferredEnd = hours[1];
+        }
+
+        public Team getTeam() { return team; }
+        public int getSessionsPerWeek() { return sessionsPerWeek; }
+        public int getDurationMinutes() { return durationMinutes; }
+        public Set<String> getCourtTypes() { return courtTypes; }
+        public int getPreferredStart() { return preferredStart; }
+        public int getPreferredEnd() { return preferredEnd; }
+
+        /** Only courts of these types are used; null means any court. */
+        public Demand setCourtTypes(Set<String> courtTypes) {
+            this.courtTypes = courtTypes;
+            return this;
+        }
+
+        /** Overrides the hours derived from the age group, in minutes since midnight. */
+        public Demand setPreferredHours(int startMinutes, int endMinutes) {
+            this.preferredStart = startMinutes;
+            this.preferredEnd = endMinutes;
+            return this;
+        }
+    }
+
+    /** One weekly session of the plan. */
+    public static class Session {
+        private final Team team;
+        private final Court court;
+        private final int dayOfWeek;
+        private final int startMinutes;
+        private final int endMinutes;
+
+        Session(Team team, Court court, int dayOfWeek, int startMinutes, int endMinutes) {
+            this.team = team;
+            this.court = court;
+            this.dayOfWeek = dayOfWeek;
+            this.startMinutes = startMinutes;
+            this.endMinutes = endMinutes;
+        }
+
+        public Team getTeam() { return team; }
+        public Court getCourt() { return court; }
+        /** Calendar.DAY_OF_WEEK, Sunday = 1. */
+        public int getDayOfWeek() { return dayOfWeek; }
+        public int getStartMinutes() { return startMinutes; }
+        public int getEndMinutes() { return endMinutes; }
+
+        /** The session as a training on the given date, e.g. as the template of a series. */
+        public Training toTraining(long date) {
+            Training training = new Training(null, team.getTeamId(), team.getName(), team.getColor(),
+                    court.getCourtId(), court.getName(), ENGLISH_DAYS[dayOfWeek - 1],
+                    TimeOfDay.format(startMinutes), TimeOfDay.format(endMinutes), date);
+            training.setCourtType(court.getCourtType());
+            return training;
+        }
+    }
+
+    /** The best timetable found. */
+    public static class Plan {
+        private final List<Session> sessions;
+        private final List<Demand> unplaced;
+        private final int penalty;
+
+        Plan(List<Session> sessions, List<Demand> unplaced, int penalty) {
+            this.sessions = sessions;
+            this.unplaced = unplaced;
+            this.penalty = penalty;
+        }
+
+        /** Sorted by day, then court, then start time. */
+        public List<Session> getSessions() { return sessions; }
+        /** One entry per session that could not be placed. */
+        public List<Demand> getUnplaced() { return unplaced; }
+        /** Sum of the soft-preference penalties; lower is better. */
+        public int getPenalty() { return penalty; }
+        public boolean isComplete() { return unplaced.isEmpty(); }
+    }
+
+    private static final int DAYS = 7;
+    private static final int CELL = OccupancyGrid.CELL_MINUTES;
+
+    private final List<Court> courts;
+    private final List<Demand> demands;
+    private final List<int[]> courtBlocks = new ArrayList<>();
+    private final Map<String, List<int[]>> coachBlocks = new HashMap<>();
+    private long seed = 42L;
+    private int maxRuns = 50;
+    private long timeLimitMillis = 3000;
+
+    public TimetableSolver(List<Court> courts, List<Demand> demands) {
+        this.courts = courts;
+        this.demands = demands;
+    }
+
+    /** Marks a court as taken, e.g. by an existing weekly series. */
+    public TimetableSolver blockCourt(String courtId, int dayOfWeek, int startMinutes, int endMinutes) {
+        int court = indexOfCourt(courtId);
+        if (court >= 0) {
+            courtBlocks.add(new int[] {court, dayOfWeek - 1, startMinutes, endMinutes});
+        }
+        return this;
+    }
+
+    /** Marks a window in which the coach can't train any team. */
+    public TimetableSolver blockCoach(String coachId, int dayOfWeek, int startMinutes, int endMinutes) {
+        if (coachId != null) {
+            coachBlocks.computeIfAbsent(coachId, k -> new ArrayList<>())
+                    .add(new int[] {dayOfWeek - 1, startMinutes, endMinutes});
+        }
+        return this;
+    }
+
+    public TimetableSolver setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public TimetableSolver setMaxRuns(int maxRuns) {
+        this.maxRuns = Math.max(1, maxRuns);
+        return this;
+    }
+
+    public TimetableSolver setTimeLimitMillis(long timeLimitMillis) {
+        this.timeLimitMillis = timeLimitMillis;
+        return this;
+    }
+
+    /**
+     * Usual training hours of an age group ("U12", "U16"...): younger teams earlier.
+     * Groups that can't be read, such as adults, get the evening.
+     */
+    static int[] defaultHours(String ageGroup) {
+        int age = -1;
+        if (ageGroup != null && ageGroup.length() > 1
+                && (ageGroup.charAt(0) == 'U' || ageGroup.charAt(0) == 'u')) {
+            try {
+                age = Integer.parseInt(ageGroup.substring(1).trim());
+            } catch (NumberFormatException ignored) {
+                // Not an age group of the form U<age>
+            }
+        }
+        if (age < 0) return new int[] {19 * 60, 22 * 60};
+        if (age <= 10) return new int[] {15 * 60, 18 * 60};
+        if (age <= 14) return new int[] {16 * 60, 19 * 60 + 30};
+        return new int[] {17 * 60 + 30, 21 * 60};
+    }
+
+    public Plan solve() {
+        Problem problem = new Problem();
+        long deadline = System.nanoTime() + timeLimitMillis * 1_000_000L;
+        Random random = new Random(seed);
+        int[] failures = new int[demands.size()];
+        Plan best = null;
+
+        for (int run = 0; run < maxRuns; run++) {
+            Plan plan = problem.run(failures, random);
+            if (best == null || plan.getUnplaced().size() < best.getUnplaced().size()
+                    || (plan.getUnplaced().size() == best.getUnplaced().size() && plan.getPenalty() < best.getPenalty())) {
+                best = plan;
+            }
+            if (best.isComplete() || System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    private int indexOfCourt(String courtId) {
+        for (int i = 0; i < courts.size(); i++) {
+            if (courts.get(i).getCourtId() != null && courts.get(i).getCourtId().equals(courtId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Masks precomputed once and reused by every run. */
+    private final class Problem {
+        final int courtCount = courts.size();
+        // [court * DAYS + day]: cells fully inside the opening hours, and cells blocked up front
+        final long[] open = new long[courtCount * DAYS];
+        final long[] blocked = new long[courtCount * DAYS];
+        // [coach * DAYS + day]
+        final long[] coachBlocked;
+        final int[] coachOf = new int[demands.size()];
+        final int[] cells = new int[demands.size()];
+        final long[] preferred = new long[demands.size()];
+        final boolean[][] allowed = new boolean[demands.size()][];
+
+        Problem() {
+            for (int c = 0; c < courtCount; c++) {
+                for (int d = 0; d < DAYS; d++) {
+                    DaySchedule schedule = courts.get(c).getScheduleForDay(d + 1);
+                    if (schedule == null || !schedule.isActive()) {
+                        continue;
+                    }
+                    int from = schedule.getOpeningMinutes();
+                    int to = schedule.getClosingMinutes();
+                    if (from >= 0 && to > from) {
+                        // Round inwards so a session never starts before opening or ends after closing
+                        open[c * DAYS + d] = OccupancyGrid.rangeMask((from + CELL - 1) / CELL * CELL, to / CELL * CELL);
+                    }
+                }
+            }
+            for (int[] block : courtBlocks) {
+                blocked[block[0] * DAYS + block[1]] |= OccupancyGrid.rangeMask(block[2], block[3]);
+            }
+
+            Map<String, Integer> coaches = new HashMap<>();
+            for (int i = 0; i < demands.size(); i++) {
+                Demand demand = demands.get(i);
+                String coachId = demand.getTeam().getCoachId();
+                if (coachId == null) {
+                    coachOf[i] = -1;
+                } else {
+                    Integer index = coaches.get(coachId);
+                    if (index == null) {
+                        index = coaches.size();
+                        coaches.put(coachId, index);
+                    }
+                    coachOf[i] = index;
+                }
+                cells[i] = Math.max(1, (demand.getDurationMinutes() + CELL - 1) / CELL);
+                preferred[i] = demand.getPreferredEnd() > demand.getPreferredStart()
+                        ? OccupancyGrid.rangeMask(demand.getPreferredStart(), demand.getPreferredEnd()) : -1L;
+                allowed[i] = new boolean[courtCount];
+                for (int c = 0; c < courtCount; c++) {
+                    Set<String> types = demand.getCourtTypes();
+                    allowed[i][c] = types == null || types.isEmpty() || types.contains(courts.get(c).getCourtType());
+                }
+            }
+            coachBlocked = new long[coaches.size() * DAYS];
+            for (Map.Entry<String, List<int[]>> entry : coachBlocks.entrySet()) {
+                Integer coach = coaches.get(entry.getKey());
+                if (coach == null) {
+                    continue;
+                }
+                for (int[] block : entry.getValue()) {
+                    coachBlocked[coach * DAYS + block[0]] |= OccupancyGrid.rangeMask(block[1], block[2]);
+                }
+            }
+        }
+
+        Plan run(int[] failures, Random random) {
+            int n = demands.size();
+            long[] busy = blocked.clone();
+            long[] coachBusy = coachBlocked.clone();
+            int[] teamDays = new int[n];
+            int[] remaining = new int[n];
+            for (int i = 0; i < n; i++) {
+                remaining[i] = demands.get(i).getSessionsPerWeek();
+            }
+            List<int[]> placed = new ArrayList<>();
+            List<Demand> unplaced = new ArrayList<>();
+            int penalty = 0;
+            int[] best = new int[4];
+            int[] chosen = new int[4];
+
+            while (true) {
+                int next = -1;
+                int nextOptions = 0;
+                for (int i = 0; i < n; i++) {
+                    if (remaining[i] == 0) {
+                        continue;
+                    }
+                    int options = evaluate(i, busy, coachBusy, teamDays[i], random, best);
+                    if (options == 0) {
+                        // Nothing fits now and placements only ever take cells away
+                        for (int k = 0; k < remaining[i]; k++) {
+                            unplaced.add(demands.get(i));
+                        }
+                        remaining[i] = 0;
+                        failures[i]++;
+                        continue;
+                    }
+                    if (next < 0 || failures[i] > failures[next]
+                            || (failures[i] == failures[next] && options < nextOptions)) {
+                        next = i;
+                        nextOptions = options;
+                        System.arraycopy(best, 0, chosen, 0, best.length);
+                    }
+                }
+                if (next < 0) {
+                    break;
+                }
+
+                int c = chosen[0];
+                int d = chosen[1];
+                long mask = maskOf(chosen[2], cells[next]);
+                busy[c * DAYS + d] |= mask;
+                if (coachOf[next] >= 0) {
+                    coachBusy[coachOf[next] * DAYS + d] |= mask;
+                }
+                teamDays[next] |= 1 << d;
+                remaining[next]--;
+                penalty += chosen[3];
+                placed.add(new int[] {next, c, d, chosen[2]});
+            }
+
+            Collections.sort(placed, (a, b) -> a[2] != b[2] ? Integer.compare(a[2], b[2])
+                    : a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(a[3], b[3]));
+            List<Session> sessions = new ArrayList<>(placed.size());
+            for (int[] p : placed) {
+                Demand demand = demands.get(p[0]);
+                int start = p[3] * CELL;
+                sessions.add(new Session(demand.getTeam(), courts.get(p[1]), p[2] + 1,
+                        start, start + demand.getDurationMinutes()));
+            }
+            return new Plan(sessions, unplaced, penalty);
+        }
+
+        /**
+         * Counts the places demand i still fits and writes the best one to
+         * best = {court, day, start cell, penalty}. Ties are broken at random.
+         */
+        int evaluate(int i, long[] busy, long[] coachBusy, int teamDays, Random random, int[] best) {
+            int options = 0;
+            int ties = 0;
+            int length = cells[i];
+            int coach = coachOf[i];
+            for (int d = 0; d < DAYS; d++) {
+                if ((teamDays & (1 << d)) != 0) {
+                    continue;
+                }
+                long coachMask = coach >= 0 ? coachBusy[coach * DAYS + d] : 0L;
+                // A rest day between sessions, across the weekend too
+                boolean nextToSession = (teamDays & (1 << ((d + 1) % DAYS))) != 0
+                        || (teamDays & (1 << ((d + DAYS - 1) % DAYS))) != 0;
+                for (int c = 0; c < courtCount; c++) {
+                    long openMask = open[c * DAYS + d];
+                    if (openMask == 0 || !allowed[i][c]) {
+                        continue;
+                    }
+                    long taken = busy[c * DAYS + d] | coachMask;
+                    int first = Long.numberOfTrailingZeros(openMask);
+                    int last = 64 - Long.numberOfLeadingZeros(openMask) - length;
+                    for (int s = first; s <= last; s++) {
+                        long mask = maskOf(s, length);
+                        if ((mask & openMask) != mask || (mask & taken) != 0) {
+                            continue;
+                        }
+                        options++;
+                        int score = 2 * Long.bitCount(mask & ~preferred[i]);
+                        if (nextToSession) {
+                            score += 3;
+                        }
+                        long around = busy[c * DAYS + d] | ~openMask;
+                        if ((s > 0 && (around & (1L << (s - 1))) != 0)
+                                || (s + length < 64 && (around & (1L << (s + length))) != 0)) {
+                            score -= 1;
+                        }
+                        if (options == 1 || score < best[3]) {
+                            best[0] = c;
+                            best[1] = d;
+                            best[2] = s;
+                            best[3] = score;
+                            ties = 1;
+                        } else if (score == best[3] && random.nextInt(++ties) == 0) {
+                            best[0] = c;
+                            best[1] = d;
+                            best[2] = s;
+                        }
+                    }
+                }
+            }
+            return options;
+        }
+    }
+
+    private static long maskOf(int startCell, int length) {
+        return ((1L << length) - 1) << startCell;
+    }
+}
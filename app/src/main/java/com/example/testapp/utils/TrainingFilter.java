@@ -0,0 +1,77 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Training;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The team, day, court, month, week and past selections of the trainings list.
+ * Holds no LiveData; TrainingViewModel answers it from {@link TrainingFilterIndex}.
+ */
+public class TrainingFilter {
+    private Set<String> teamIds = null;
+    private Set<String> days = null;
+    private Set<String> courtIds = null;
+    private Set<Integer> months = null;
+    private boolean onlyThisWeek = false;
+    private boolean hidePast = true;
+
+    public void setTeamIds(Set<String> teamIds) { this.teamIds = teamIds; }
+    public void setDays(Set<String> days) { this.days = days; }
+    public void setCourtIds(Set<String> courtIds) { this.courtIds = courtIds; }
+    public void setMonths(Set<Integer> months) { this.months = months; }
+    public void setOnlyThisWeek(boolean onlyThisWeek) { this.onlyThisWeek = onlyThisWeek; }
+    public void setHidePast(boolean hidePast) { this.hidePast = hidePast; }
+
+    public Set<String> getTeamIds() { return teamIds; }
+    public Set<String> getDays() { return days; }
+    public Set<String> getCourtIds() { return courtIds; }
+    public Set<Integer> getMonths() { return months; }
+    public boolean isOnlyThisWeek() { return onlyThisWeek; }
+    public boolean isHidePast() { return hidePast; }
+
+    /**
+     * Snapshot of the current selections, safe to read on another thread while
+     * the screen keeps editing its own sets.
+     */
+    public TrainingFilter copy() {
+        TrainingFilter copy = new TrainingFilter();
+        copy.teamIds = teamIds != null ? new HashSet<>(teamIds) : null;
+        copy.days = days != null ? new HashSet<>(days) : null;
+        copy.courtIds = courtIds != null ? new HashSet<>(courtIds) : null;
+        copy.months = months != null ? new HashSet<>(months) : null;
+        copy.onlyThisWeek = onlyThisWeek;
+        copy.hidePast = hidePast;
+        return copy;
+    }
+
+    public void clear() {
+        teamIds = null;
+        days = null;
+        courtIds = null;
+        months = null;
+        onlyThisWeek = false;
+        hidePast = true;
+    }
+
+    /**
+     * Whether the training has already ended at {@code currentTime}.
+     * Trainings without a date or with an invalid end time are never past.
+     */
+    public static boolean isPast(Training training, long currentTime) {
+        if (training == null) return false;
+        if (training.getDate() == 0) return false;
+
+        int endMinutes = training.getEndMinutes();
+        if (endMinutes < 0) return false;
+
+        // Compare local days first, then the end time with the time of day
+        long today = DateUtils.getEpochDay(currentTime);
+        long day = training.getEpochDay();
+        if (day != today) {
+            return day < today;
+        }
+        return endMinutes * 60_000L < DateUtils.getMillisOfDay(currentTime);
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Team;
+import com.example.testapp.models.User;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inverted index behind the users management screen.
+ *
+ * Every user gets a slot number; each role and team keeps a bitmap of its members,
+ * so the role and team chips are answered like {@link TrainingFilterIndex} answers
+ * the trainings filters. A coach belongs
+ * to the teams they lead, from the coachId → teams map built by {@link #setTeams}.
+ * Name words and phone digits are kept in a sorted token map, so search-as-you-type
+ * is a prefix range lookup instead of a pass over every user. Results come in slot
+ * order, which keeps users loaded later below the ones already shown. Main thread only.
+ */
+public class UserDirectoryIndex {
+    /** Team filter entry that matches users without any team. */
+    public static final String NO_TEAM = "NO_TEAM";
+
+    private static final class Entry {
+        final int slot;
+        final User user;
+        List<String> teamIds;
+        final List<String> tokens;
+
+        Entry(int slot, User user, List<String> teamIds) {
+            this.slot = slot;
+            this.user = user;
+            this.teamIds = teamIds;
+            this.tokens = tokensOf(user);
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final List<Entry> slots = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, BitSet> byRole = new HashMap<>();
+    private final Map<String, BitSet> byTeam = new HashMap<>();
+    private final BitSet noTeam = new BitSet();
+    private final TreeMap<String, BitSet> byToken = new TreeMap<>();
+    // coachId -> ids of the teams that coach leads, in team order
+    private final Map<String, List<String>> coachTeams = new HashMap<>();
+
+    /**
+     * Adds the user, or replaces the one with the same userId in its slot.
+     * Users without an id are left out.
+     */
+    public void put(User user) {
+        if (user == null || user.getUserId() == null) {
+            return;
+        }
+        Entry old = entries.get(user.getUserId());
+        int slot;
+        if (old != null) {
+            unindex(old);
+            slot = old.slot;
+        } else {
+            // Reuse the lowest free slot so the bitmaps stay as short as the list
+            slot = live.nextClearBit(0);
+        }
+        Entry entry = new Entry(slot, user, teamsOf(user));
+        if (slot == slots.size()) {
+            slots.add(entry);
+        } else {
+            slots.set(slot, entry);
+        }
+        entries.put(user.getUserId(), entry);
+        live.set(slot);
+        if (user.getRole() != null) {
+            byRole.computeIfAbsent(user.getRole(), k -> new BitSet()).set(slot);
+        }
+        setTeamBits(entry.teamIds, slot);
+        for (String token : entry.tokens) {
+            byToken.computeIfAbsent(token, k -> new BitSet()).set(slot);
+        }
+    }
+
+    public void remove(String userId) {
+        Entry entry = userId != null ? entries.remove(userId) : null;
+        if (entry == null) {
+            return;
+        }
+        unindex(entry);
+        slots.set(entry.slot, null);
+        live.clear(entry.slot);
+    }
+
+    public User get(String userId) {
+        Entry entry = entries.get(userId);
+        return entry != null ? entry.user : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Replaces the coach → teams map and moves the indexed coaches to their new teams.
+     */
+    public void setTeams(Collection<Team> teams) {
+        coachTeams.clear();
+        for (Team team : teams) {
+            String coachId = team.getCoachId();
+            if (coachId != null && !coachId.isEmpty() && team.getTeamId() != null) {
+                coachTeams.computeIfAbsent(coachId, k -> new ArrayList<>()).add(team.getTeamId());
+            }
+        }
+        for (Entry entry : entries.values()) {
+            if ("COACH".equals(entry.user.getRole())) {
+                clearTeamBits(entry.teamIds, entry.slot);
+                entry.teamIds = teamsOf(entry.user);
+                setTeamBits(entry.teamIds, entry.slot);
+            }
+        }
+    }
+
+    /** Ids of the teams the coach leads. */
+    public List<String> getCoachTeamIds(String coachId) {
+        List<String> teamIds = coachTeams.get(coachId);
+        return teamIds != null ? Collections.unmodifiableList(teamIds) : Collections.emptyList();
+    }
+
+    /**
+     * Slots of the users in one of the roles and one of the teams, {@link #NO_TEAM}
+     * included. An empty selection doesn't restrict its dimension.
+     */
+    public BitSet select(Collection<String> roles, Collection<String> teamIds) {
+        BitSet result = (BitSet) live.clone();
+        if (roles != null && !roles.isEmpty()) {
+            BitSet union = new BitSet();
+            for (String role : roles) orInto(union, byRole.get(role));
+            result.and(union);
+        }
+        if (teamIds != null && !teamIds.isEmpty()) {
+            BitSet union = new BitSet();
+            for (String teamId : teamIds) {
+                orInto(union, NO_TEAM.equals(teamId) ? noTeam : byTeam.get(teamId));
+            }
+            result.and(union);
+        }
+        return result;
+    }
+
+    /**
+     * Slots of the users matching every word of the query: a name word starting with it,
+     * or, for words with digits, a phone number starting with those digits. A blank
+     * query matches all.
+     */
+    public BitSet search(String query) {
+        BitSet result = (BitSet) live.clone();
+        if (query == null) {
+            return result;
+        }
+        for (String word : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            BitSet union = new BitSet();
+            orPrefix(union, word);
+            String digits = word.replaceAll("\\D", "");
+            if (!digits.isEmpty() && !digits.equals(word)) {
+                orPrefix(union, digits);
+            }
+            result.and(union);
+        }
+        return result;
+    }
+
+    /**
+     * The users of the selected slots, in slot order.
+     */
+    public List<User> collect(BitSet selected) {
+        List<User> users = new ArrayList<>(selected.cardinality());
+        for (int slot = selected.nextSetBit(0); slot >= 0; slot = selected.nextSetBit(slot + 1)) {
+            users.add(slots.get(slot).user);
+        }
+        return users;
+    }
+
+    /**
+     * The users passing the role and team chips and the search query.
+     */
+    public List<User> apply(Collection<String> roles, Collection<String> teamIds, String query) {
+        BitSet selected = select(roles, teamIds);
+        selected.and(search(query));
+        return collect(selected);
+    }
+
+    /**
+     * The teams the user counts as a member of: a player's teamIds, the teams a coach
+     * leads, none for other roles.
+     */
+    private List<String> teamsOf(User user) {
+        if ("PLAYER".equals(user.getRole())) {
+            return new ArrayList<>(user.getTeamIds());
+        }
+        if ("COACH".equals(user.getRole())) {
+            return new ArrayList<>(getCoachTeamIds(user.getUserId()));
+        }
+        return Collections.emptyList();
+    }
+
+    private void unindex(Entry entry) {
+        if (entry.user.getRole() != null) {
+            clearBit(byRole, entry.user.getRole(), entry.slot);
+        }
+        clearTeamBits(entry.teamIds, entry.slot);
+        for (String token : entry.tokens) {
+            clearBit(byToken, token, entry.slot);
+        }
+    }
+
+    private void setTeamBits(List<String> teamIds, int slot) {
+        if (teamIds.isEmpty()) {
+            noTeam.set(slot);
+        }
+        for (String teamId : teamIds) {
+            byTeam.computeIfAbsent(teamId, k -> new BitSet()).set(slot);
+        }
+    }
+
+    private void clearTeamBits(List<String> teamIds, int slot) {
+        noTeam.clear(slot);
+        for (String teamId : teamIds) {
+            clearBit(byTeam, teamId, slot);
+        }
+    }
+
+    /**
+     * Lower-case name words and the phone digits, with an Israeli +972 number also
+     * stored in its local 0 form.
+     */
+    private static List<String> tokensOf(User user) {
+        List<String> tokens = new ArrayList<>();
+        if (user.getName() != null) {
+            for (String word : user.getName().trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+                if (!word.isEmpty() && !tokens.contains(word)) {
+                    tokens.add(word);
+                }
+            }
+        }
+        if (user.getPhone() != null) {
+            String digits = user.getPhone().replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                tokens.add(digits);
+                if (digits.startsWith("972") && digits.length() > 3) {
+                    tokens.add("0" + digits.substring(3));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private void orPrefix(BitSet union, String prefix) {
+        for (BitSet bits : byToken.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            union.or(bits);
+        }
+    }
+
+    private static void orInto(BitSet union, BitSet values) {
+        if (values != null) {
+            union.or(values);
+        }
+    }
+
+    private static <K> void clearBit(Map<K, BitSet> bitmaps, K key, int slot) {
+        BitSet bits = bitmaps.get(key);
+        if (bits != null) {
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.TimeSlot;
+import com.example.testapp.models.Training;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows, columns and training blocks of the week grid, in grid units.
+ *
+ * Rows are the distinct start times of the shown slots and columns the shown days.
+ * Each training is one block spanning every row that starts before it ends, so the
+ * grid draws and hit-tests it as one rectangle. Arrays are kept between weeks, so
+ * switching weeks allocates nothing once they have grown to the largest week shown.
+ */
+public class WeekGridLayout {
+
+    public static final int NONE = -1;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final boolean[] startsAt = new boolean[MINUTES_PER_DAY];
+    private final int[] columnDays = new int[7];
+    private int[] rowMinutes = new int[0];
+    private int rowCount;
+    private int columnCount;
+
+    private int blockCount;
+    private int[] blockRows = new int[16];
+    private int[] blockColumns = new int[16];
+    private int[] blockSpans = new int[16];
+    private Training[] blockTrainings = new Training[16];
+    // Block covering each cell, row-major, or NONE for an empty cell
+    private int[] cellBlocks = new int[0];
+
+    /**
+     * Lays out one court's week.
+     *
+     * @param epochDays  local epoch day of each day index of the week
+     * @param dayIndices day indices to show as columns, in order
+     */
+    public void set(List<TimeSlot> slots, OccupancyGrid occupancy, String courtId,
+                    long[] epochDays, List<Integer> dayIndices) {
+        // Rows: distinct slot start times, ascending, without sorting
+        Arrays.fill(startsAt, false);
+        int distinct = 0;
+        for (TimeSlot slot : slots) {
+            int minutes = slot.getStartMinutes();
+            if (minutes >= 0 && minutes < MINUTES_PER_DAY && !startsAt[minutes]) {
+                startsAt[minutes] = true;
+                distinct++;
+            }
+        }
+        if (rowMinutes.length < distinct) {
+            rowMinutes = new int[distinct];
+        }
+        rowCount = 0;
+        for (int minutes = 0; minutes < MINUTES_PER_DAY && rowCount < distinct; minutes++) {
+            if (startsAt[minutes]) {
+                rowMinutes[rowCount++] = minutes;
+            }
+        }
+
+        columnCount = Math.min(dayIndices.size(), columnDays.length);
+        for (int column = 0; column < columnCount; column++) {
+            columnDays[column] = dayIndices.get(column);
+        }
+
+        int cells = rowCount * columnCount;
+        if (cellBlocks.length < cells) {
+            cellBlocks = new int[cells];
+        }
+        Arrays.fill(cellBlocks, 0, cells, NONE);
+        Arrays.fill(blockTrainings, 0, blockCount, null);
+        blockCount = 0;
+
+        for (int row = 0; row < rowCount; row++) {
+            int cell = OccupancyGrid.cellOf(rowMinutes[row]);
+            for (int column = 0; column < columnCount; column++) {
+                if (cellBlocks[row * columnCount + column] != NONE) {
+                    continue; // Covered by a block from an earlier row
+                }
+                long epochDay = epochDays[columnDays[column]];
+                if (!occupancy.isOccupied(courtId, epochDay, cell)) {
+                    continue;
+                }
+                Training training = occupancy.getTrainingAt(courtId, epochDay, cell);
+                if (training != null) {
+                    addBlock(row, column, training);
+                }
+            }
+        }
+    }
+
+    private void addBlock(int row, int column, Training training) {
+        int end = training.getEndMinutes();
+        int span = 1;
+        while (row + span < rowCount && rowMinutes[row + span] < end) {
+            span++;
+        }
+        if (blockCount == blockRows.length) {
+            int capacity = blockCount * 2;
+            blockRows = Arrays.copyOf(blockRows, capacity);
+            blockColumns = Arrays.copyOf(blockColumns, capacity);
+            blockSpans = Arrays.copyOf(blockSpans, capacity);
+            blockTrainings = Arrays.copyOf(blockTrainings, capacity);
+        }
+        blockRows[blockCount] = row;
+        blockColumns[blockCount] = column;
+        blockSpans[blockCount] = span;
+        blockTrainings[blockCount] = training;
+        for (int covered = row; covered < row + span; covered++) {
+            cellBlocks[covered * columnCount + column] = blockCount;
+        }
+        blockCount++;
+    }
+
+    public int getRowCount() { return rowCount; }
+    public int getColumnCount() { return columnCount; }
+    public int getRowMinutes(int row) { return rowMinutes[row]; }
+    public int getColumnDayIndex(int column) { return columnDays[column]; }
+
+    public int getBlockCount() { return blockCount; }
+    public int getBlockRow(int block) { return blockRows[block]; }
+    public int getBlockColumn(int block) { return blockColumns[block]; }
+    public int getBlockRowSpan(int block) { return blockSpans[block]; }
+    public Training getBlockTraining(int block) { return blockTrainings[block]; }
+
+    /**
+     * The block covering a cell, or {@link #NONE} for an empty or out-of-range cell.
+     */
+    public int blockAt(int row, int column) {
+        if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+            return NONE;
+        }
+        return cellBlocks[row * columnCount + column];
+    }
+}
@@ -4,6 +4,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.testapp.models.Court;
+import com.example.testapp.repository.ChangeSet;
 import com.example.testapp.repository.CourtRepository;
 
 import java.util.List;
@@ -21,6 +22,10 @@ public class CourtViewModel extends ViewModel {
         return courts;
     }
 
+    public LiveData<ChangeSet<Court>> getCourtChanges() {
+        return repository.getCourtChanges();
+    }
+
     public void addCourt(Court court) {
         repository.addCourt(court);
     }
@@ -4,6 +4,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.testapp.models.Team;
+import com.example.testapp.repository.ChangeSet;
 import com.example.testapp.repository.TeamRepository;
 
 import java.util.List;
@@ -21,6 +22,10 @@ public class TeamViewModel extends ViewModel {
         return teams;
     }
 
+    public LiveData<ChangeSet<Team>> getTeamChanges() {
+        return repository.getTeamChanges();
+    }
+
     public void filterByCoach(String coachId) {
         repository.setCoachFilter(coachId);
     }
@@ -4,38 +4,72 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.example.testapp.models.Court;
 import com.example.testapp.models.Training;
+import com.example.testapp.models.TrainingSeries;
+import com.example.testapp.repository.ChangeSet;
 import com.example.testapp.repository.TrainingRepository;
+import com.example.testapp.repository.TrainingWindows;
+import com.example.testapp.utils.DateWindow;
+import com.example.testapp.utils.Debouncer;
+import com.example.testapp.utils.FreeSlotFinder;
+import com.example.testapp.utils.TimetableSolver;
+import com.example.testapp.utils.TrainingFilter;
+import com.example.testapp.utils.TrainingFilterIndex;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.List;
 import java.util.Set;
 
 public class TrainingViewModel extends ViewModel {
+    // Chip changes arriving within this window are filtered once
+    private static final long FILTER_DEBOUNCE_MS = 100;
+
     private final TrainingRepository repository;
+    private final TrainingWindows windows;
     private final LiveData<List<Training>> trainings;
+    private final LiveData<List<TrainingSeries>> series;
     private final MediatorLiveData<List<Training>> filteredTrainings;
-    private Set<String> selectedTeamIds = null;
-    private Set<String> selectedDays = null;
-    private Set<String> selectedCourtIds = null;
-    private Set<Integer> selectedMonths = null;
-    private boolean showOnlyThisWeek = false;
-    private boolean hidePastTrainings = true;
+    private final TrainingFilter filter = new TrainingFilter();
+    private final Debouncer<List<Training>> filterDebouncer;
 
     public TrainingViewModel() {
-        repository = new TrainingRepository();
+        repository = TrainingRepository.getInstance();
+        repository.startListening();
+        windows = repository.openWindows();
         trainings = repository.getTrainings();
+        series = repository.getSeries();
         filteredTrainings = new MediatorLiveData<>();
+        filterDebouncer = new Debouncer<>(FILTER_DEBOUNCE_MS, filteredTrainings::postValue);
         
-        // Automatically update filtered trainings when source data changes
+        // Automatically update filtered trainings when source data changes.
+        // The repository keeps the filter index in step with the trainings; series are replaced as a whole
         filteredTrainings.addSource(trainings, trainingList -> applyFilters());
+        filteredTrainings.addSource(series, seriesList -> {
+            repository.getFilterIndex().setSeries(seriesList);
+            applyFilters();
+        });
     }
 
     public LiveData<List<Training>> getTrainings() {
         return trainings;
     }
     
+    public LiveData<ChangeSet<Training>> getTrainingChanges() {
+        return repository.getTrainingChanges();
+    }
+
+    /**
+     * Trainings of one week or month only, for screens that never show the full history.
+     */
+    public LiveData<List<Training>> getTrainingsInWindow(DateWindow window) {
+        return windows.get(window);
+    }
+
+    public LiveData<List<TrainingSeries>> getSeries() {
+        return series;
+    }
+
     public LiveData<List<Training>> getFilteredTrainings() {
         return filteredTrainings;
     }
@@ -49,171 +83,90 @@ public class TrainingViewModel extends ViewModel {
     }
     
     public void setTeamFilter(Set<String> teamIds) {
-        this.selectedTeamIds = teamIds;
+        filter.setTeamIds(teamIds);
         applyFilters();
     }
     
     public void setDayFilter(Set<String> days) {
-        this.selectedDays = days;
+        filter.setDays(days);
         applyFilters();
     }
     
     public void setLocationFilter(Set<String> courtIds) {
-        this.selectedCourtIds = courtIds;
+        filter.setCourtIds(courtIds);
         applyFilters();
     }
     
     public void setMonthFilter(Set<Integer> months) {
-        this.selectedMonths = months;
+        filter.setMonths(months);
         applyFilters();
     }
     
     public void setShowOnlyThisWeek(boolean showOnlyThisWeek) {
-        this.showOnlyThisWeek = showOnlyThisWeek;
+        filter.setOnlyThisWeek(showOnlyThisWeek);
         applyFilters();
     }
     
     public void setHidePastTrainings(boolean hidePastTrainings) {
-        this.hidePastTrainings = hidePastTrainings;
+        filter.setHidePast(hidePastTrainings);
         applyFilters();
     }
     
     public void clearFilters() {
-        this.selectedTeamIds = null;
-        this.selectedDays = null;
-        this.selectedCourtIds = null;
-        this.selectedMonths = null;
-        this.showOnlyThisWeek = false;
-        this.hidePastTrainings = true;
+        filter.clear();
         applyFilters();
     }
     
+    /**
+     * Intersects the filter index's bitmaps instead of scanning every training.
+     * Runs on a worker thread after a short quiet window, so a burst of chip changes
+     * (e.g. "select all") is filtered once and only the newest result is published.
+     */
     private void applyFilters() {
-        List<Training> allTrainings = trainings.getValue();
-        if (allTrainings == null) {
+        if (trainings.getValue() == null) {
+            filterDebouncer.cancel();
             filteredTrainings.setValue(new ArrayList<>());
             return;
         }
-        
-        List<Training> filtered = new ArrayList<>();
-        
-        // Get current week bounds
-        Calendar now = Calendar.getInstance();
-        Calendar weekStart = (Calendar) now.clone();
-        weekStart.set(Calendar.DAY_OF_WEEK, Calendar.SUNDAY);
-        weekStart.set(Calendar.HOUR_OF_DAY, 0);
-        weekStart.set(Calendar.MINUTE, 0);
-        weekStart.set(Calendar.SECOND, 0);
-        
-        Calendar weekEnd = (Calendar) weekStart.clone();
-        weekEnd.add(Calendar.DAY_OF_WEEK, 7);
-        
-        long weekStartMillis = weekStart.getTimeInMillis();
-        long weekEndMillis = weekEnd.getTimeInMillis();
-        
-        for (Training training : allTrainings) {
-            boolean matches = true;
-            
-            // Apply team filter (multi-select)
-            if (selectedTeamIds != null && !selectedTeamIds.isEmpty()) {
-                if (!selectedTeamIds.contains(training.getTeamId())) {
-                    matches = false;
-                }
-            }
-            
-            // Apply day filter (multi-select)
-            if (selectedDays != null && !selectedDays.isEmpty()) {
-                String trainingDay = training.getDayOfWeek();
-                // If dayOfWeek is not set, calculate it from the date
-                if (trainingDay == null || trainingDay.isEmpty()) {
-                    Calendar cal = Calendar.getInstance();
-                    cal.setTimeInMillis(training.getDate());
-                    java.text.SimpleDateFormat dayFormat = new java.text.SimpleDateFormat("EEEE", java.util.Locale.ENGLISH);
-                    trainingDay = dayFormat.format(cal.getTime());
-                }
-                if (!selectedDays.contains(trainingDay)) {
-                    matches = false;
-                }
-            }
-            
-            // Apply location/court filter (multi-select)
-            if (selectedCourtIds != null && !selectedCourtIds.isEmpty()) {
-                if (!selectedCourtIds.contains(training.getCourtId())) {
-                    matches = false;
-                }
-            }
-            
-            // Apply month filter (multi-select)
-            if (selectedMonths != null && !selectedMonths.isEmpty()) {
-                Calendar trainingCal = Calendar.getInstance();
-                trainingCal.setTimeInMillis(training.getDate());
-                int trainingMonth = trainingCal.get(Calendar.MONTH) + 1; // Calendar.MONTH is 0-based
-                if (!selectedMonths.contains(trainingMonth)) {
-                    matches = false;
-                }
-            }
-            
-            // Apply week filter
-            if (showOnlyThisWeek) {
-                long trainingDate = training.getDate();
-                if (trainingDate < weekStartMillis || trainingDate >= weekEndMillis) {
-                    matches = false;
-                }
-            }
-            
-            // Apply hide past trainings filter using actual end time
-            if (hidePastTrainings) {
-                long currentTimeMillis = System.currentTimeMillis();
-                if (isTrainingPast(training, currentTimeMillis)) {
-                    matches = false;
-                }
-            }
-            
-            if (matches) {
-                filtered.add(training);
-            }
-        }
-        
-        filteredTrainings.setValue(filtered);
+        // The screen keeps editing its selection sets, so filter a snapshot of them
+        TrainingFilter snapshot = filter.copy();
+        TrainingFilterIndex index = repository.getFilterIndex();
+        filterDebouncer.submit(() -> index.apply(snapshot, System.currentTimeMillis()));
     }
 
-    private boolean isTrainingPast(Training training, long currentTime) {
-        if (training == null) return false;
-        if (training.getDate() == 0) return false;
+    public void addTraining(Training training, TrainingRepository.OnConflictCheckListener listener) {
+        repository.addTraining(training, listener);
+    }
 
-        int endMinutes = timeToMinutes(training.getEndTime());
-        if (endMinutes < 0) return false;
+    public void duplicateTraining(Training template, Court court, long fromDate, int weeks,
+                                  TrainingRepository.OnDuplicationCompleteListener listener) {
+        repository.duplicateTraining(template, court, fromDate, weeks, listener);
+    }
 
-        Calendar cal = Calendar.getInstance();
-        cal.setTimeInMillis(training.getDate());
-        cal.set(Calendar.HOUR_OF_DAY, endMinutes / 60);
-        cal.set(Calendar.MINUTE, endMinutes % 60);
-        cal.set(Calendar.SECOND, 0);
-        cal.set(Calendar.MILLISECOND, 0);
+    public void createSeries(Training template, Court court, long fromDate, int weeks,
+                             TrainingRepository.OnDuplicationCompleteListener listener) {
+        repository.createSeries(template, court, fromDate, weeks, listener);
+    }
 
-        return cal.getTimeInMillis() < currentTime;
+    public void deleteSeries(String seriesId) {
+        repository.deleteSeries(seriesId);
     }
 
-    private int timeToMinutes(String time) {
-        try {
-            if (time == null || time.isEmpty()) return -1;
-            String[] parts = time.split(":");
-            if (parts.length != 2) return -1;
-            int h = Integer.parseInt(parts[0]);
-            int m = Integer.parseInt(parts[1]);
-            if (h < 0 || h > 23 || m < 0 || m > 59) return -1;
-            return h * 60 + m;
-        } catch (Exception e) {
-            return -1;
-        }
+    public LiveData<TimetableSolver.Plan> getTimetablePlan() {
+        return repository.getTimetablePlan();
     }
 
-    public void addTraining(Training training, TrainingRepository.OnConflictCheckListener listener) {
-        repository.addTraining(training, listener);
+    public void planTimetable(TimetableSolver solver) {
+        repository.planTimetable(solver);
+    }
+
+    public void findFreeSlots(FreeSlotFinder.Query query, List<Court> courts,
+                              TrainingRepository.OnFreeSlotsListener listener) {
+        repository.findFreeSlots(query, courts, listener);
     }
 
-    public void updateTraining(Training training) {
-        repository.updateTraining(training);
+    public void updateTraining(Training training, TrainingRepository.OnConflictCheckListener listener) {
+        repository.updateTraining(training, listener);
     }
 
     public void deleteTraining(String trainingId) {
@@ -223,4 +176,11 @@ public class TrainingViewModel extends ViewModel {
     public LiveData<String> getErrors() {
         return repository.getErrors();
     }
+
+    @Override
+    protected void onCleared() {
+        filterDebouncer.cancel();
+        windows.stop();
+        repository.stopListening();
+    }
 }
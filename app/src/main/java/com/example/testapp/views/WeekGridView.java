@@ -0,0 +1,573 @@
+package com.example.testapp.views;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.util.AttributeSet;
+import android.view.GestureDetector;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.widget.OverScroller;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import com.example.testapp.models.TimeOfDay;
+import com.example.testapp.models.TimeSlot;
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.OccupancyGrid;
+import com.example.testapp.utils.WeekGridLayout;
+
+import java.util.List;
+
+/**
+ * Week schedule of one court drawn on a Canvas: day headers, time labels, empty "+" cells
+ * and one block per training. Scrolls and pinch-zooms itself, with the header and the time
+ * column kept in place, and exposes every block and empty cell to accessibility services.
+ *
+ * Geometry comes from a reused {@link WeekGridLayout} and all paints are created once, so
+ * showing another week is an invalidate, not a rebuild of child views.
+ */
+public class WeekGridView extends View {
+
+    public interface OnCellClickListener {
+        /**
+         * @param training the training shown in the cell, or null for an empty cell
+         */
+        void onCellClick(int dayIndex, int startMinutes, @Nullable Training training);
+    }
+
+    private static final float MIN_ZOOM = 0.6f;
+    private static final float MAX_ZOOM = 3f;
+    private static final int DEFAULT_TRAINING_COLOR = 0xFF4CAF50;
+
+    private final WeekGridLayout layout = new WeekGridLayout();
+    private final String[] dayNames = new String[7];
+    private final String[] dayDates = new String[7];
+    private int[] blockColors = new int[16];
+    private String[] blockTimes = new String[16];
+
+    private final float timeColumnWidth;
+    private final float headerHeight;
+    private final float baseRowHeight;
+    private final float minColumnWidth;
+    private final float cellInset;
+
+    private final Paint cellPaint = new Paint();
+    private final Paint gridPaint = new Paint();
+    private final Paint labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint plusPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint blockPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint blockTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF rect = new RectF();
+    private final Rect bounds = new Rect();
+
+    private final GestureDetector gestureDetector;
+    private final ScaleGestureDetector scaleDetector;
+    private final OverScroller scroller;
+    private final GridAccessibilityHelper accessibilityHelper;
+
+    private OnCellClickListener emptyCellListener;
+    private OnCellClickListener trainingListener;
+    private float zoom = 1f;
+    private float offsetX;
+    private float offsetY;
+
+    public WeekGridView(Context context) {
+        this(context, null);
+    }
+
+    public WeekGridView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        float density = getResources().getDisplayMetrics().density;
+        float scaledDensity = getResources().getDisplayMetrics().scaledDensity;
+        timeColumnWidth = 56 * density;
+        headerHeight = 48 * density;
+        baseRowHeight = 44 * density;
+        minColumnWidth = 56 * density;
+        cellInset = density;
+
+        gridPaint.setColor(0xFFE0E0E0);
+        gridPaint.setStrokeWidth(density);
+        labelPaint.setTextSize(12 * scaledDensity);
+        labelPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        labelPaint.setTextAlign(Paint.Align.CENTER);
+        labelPaint.setColor(0xFF333333);
+        plusPaint.setTextSize(14 * scaledDensity);
+        plusPaint.setTextAlign(Paint.Align.CENTER);
+        plusPaint.setColor(0xFF999999);
+        blockTextPaint.setTextSize(11 * scaledDensity);
+        blockTextPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        blockTextPaint.setTextAlign(Paint.Align.CENTER);
+        blockTextPaint.setColor(0xFFFFFFFF);
+
+        scroller = new OverScroller(context);
+        gestureDetector = new GestureDetector(context, new GestureListener());
+        scaleDetector = new ScaleGestureDetector(context, new ScaleListener());
+        accessibilityHelper = new GridAccessibilityHelper();
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+        setFocusable(true);
+    }
+
+    public void setOnEmptyCellClickListener(@Nullable OnCellClickListener listener) {
+        this.emptyCellListener = listener;
+    }
+
+    public void setOnTrainingClickListener(@Nullable OnCellClickListener listener) {
+        this.trainingListener = listener;
+    }
+
+    /**
+     * Shows one court's week.
+     *
+     * @param epochDays  local epoch day of each day index of the week
+     * @param dayIndices day indices to show as columns, in order
+     * @param names      header day name of each day index
+     * @param dates      header date of each day index
+     */
+    public void setData(List<TimeSlot> slots, OccupancyGrid occupancy, String courtId, long[] epochDays,
+                        List<Integer> dayIndices, String[] names, String[] dates) {
+        layout.set(slots, occupancy, courtId, epochDays, dayIndices);
+        System.arraycopy(names, 0, dayNames, 0, dayNames.length);
+        System.arraycopy(dates, 0, dayDates, 0, dayDates.length);
+
+        int blocks = layout.getBlockCount();
+        if (blockColors.length < blocks) {
+            blockColors = new int[blocks * 2];
+            blockTimes = new String[blocks * 2];
+        }
+        for (int block = 0; block < blocks; block++) {
+            Training training = layout.getBlockTraining(block);
+            blockColors[block] = parseColor(training.getTeamColor());
+            blockTimes[block] = layout.getBlockRowSpan(block) > 1
+                    ? training.getStartTime() + "-" + training.getEndTime() : null;
+        }
+
+        // The view's own size doesn't depend on the week, so no layout pass is needed
+        scroller.forceFinished(true);
+        clampOffsets();
+        accessibilityHelper.invalidateRoot();
+        invalidate();
+    }
+
+    private static int parseColor(String color) {
+        if (color == null || color.isEmpty()) {
+            return DEFAULT_TRAINING_COLOR;
+        }
+        try {
+            return Color.parseColor(color);
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_TRAINING_COLOR;
+        }
+    }
+
+    // ---- Geometry ----
+
+    private float rowHeight() {
+        return baseRowHeight * zoom;
+    }
+
+    private float columnWidth() {
+        int columns = Math.max(1, layout.getColumnCount());
+        float fit = (getWidth() - timeColumnWidth) / columns;
+        return Math.max(fit, minColumnWidth) * zoom;
+    }
+
+    private boolean isRtl() {
+        return getLayoutDirection() == LAYOUT_DIRECTION_RTL;
+    }
+
+    private float timeColumnLeft() {
+        return isRtl() ? getWidth() - timeColumnWidth : 0;
+    }
+
+    /** Screen x of a column's left edge; columns run right to left in RTL. */
+    private float columnLeft(int column) {
+        float width = columnWidth();
+        if (isRtl()) {
+            return getWidth() - timeColumnWidth - (column + 1) * width + offsetX;
+        }
+        return timeColumnWidth + column * width - offsetX;
+    }
+
+    private float rowTop(int row) {
+        return headerHeight + row * rowHeight() - offsetY;
+    }
+
+    private int columnAt(float x) {
+        float width = columnWidth();
+        float along = isRtl() ? getWidth() - timeColumnWidth - x + offsetX : x - timeColumnWidth + offsetX;
+        if (along < 0) return WeekGridLayout.NONE;
+        int column = (int) (along / width);
+        return column < layout.getColumnCount() ? column : WeekGridLayout.NONE;
+    }
+
+    private int rowAt(float y) {
+        float along = y - headerHeight + offsetY;
+        if (along < 0) return WeekGridLayout.NONE;
+        int row = (int) (along / rowHeight());
+        return row < layout.getRowCount() ? row : WeekGridLayout.NONE;
+    }
+
+    private boolean isInGrid(float x, float y) {
+        float timeLeft = timeColumnLeft();
+        return y >= headerHeight && (x < timeLeft || x >= timeLeft + timeColumnWidth);
+    }
+
+    private void clampOffsets() {
+        float maxX = Math.max(0, layout.getColumnCount() * columnWidth() - (getWidth() - timeColumnWidth));
+        float maxY = Math.max(0, layout.getRowCount() * rowHeight() - (getHeight() - headerHeight));
+        offsetX = Math.max(0, Math.min(offsetX, maxX));
+        offsetY = Math.max(0, Math.min(offsetY, maxY));
+    }
+
+    /** Cell bounds on screen, or the block's bounds when the block covers several rows. */
+    private void cellBounds(int row, int column, int rowSpan, RectF out) {
+        float left = columnLeft(column);
+        float top = rowTop(row);
+        out.set(left, top, left + columnWidth(), top + rowSpan * rowHeight());
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        clampOffsets();
+    }
+
+    // ---- Drawing ----
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        int rows = layout.getRowCount();
+        int columns = layout.getColumnCount();
+        int width = getWidth();
+        int height = getHeight();
+        float timeLeft = timeColumnLeft();
+        float gridLeft = isRtl() ? 0 : timeColumnWidth;
+        float gridRight = gridLeft + width - timeColumnWidth;
+
+        int firstRow = Math.max(0, rowAt(headerHeight));
+        int lastRow = rows - 1;
+        float rowHeight = rowHeight();
+        float columnWidth = columnWidth();
+
+        // Empty cells and grid lines
+        canvas.save();
+        canvas.clipRect(gridLeft, headerHeight, gridRight, height);
+        float plusOffset = (plusPaint.descent() + plusPaint.ascent()) / 2;
+        for (int row = firstRow; row <= lastRow; row++) {
+            float top = rowTop(row);
+            if (top > height) break;
+            for (int column = 0; column < columns; column++) {
+                float left = columnLeft(column);
+                if (left + columnWidth < gridLeft || left > gridRight) continue;
+                cellPaint.setColor(0xFFFAFAFA);
+                canvas.drawRect(left, top, left + columnWidth, top + rowHeight, cellPaint);
+                canvas.drawLine(left, top, left + columnWidth, top, gridPaint);
+                canvas.drawLine(left, top, left, top + rowHeight, gridPaint);
+                if (layout.blockAt(row, column) == WeekGridLayout.NONE) {
+                    canvas.drawText("+", left + columnWidth / 2, top + rowHeight / 2 - plusOffset, plusPaint);
+                }
+            }
+        }
+
+        // Training blocks, each drawn once across the rows it covers
+        for (int block = 0; block < layout.getBlockCount(); block++) {
+            cellBounds(layout.getBlockRow(block), layout.getBlockColumn(block), layout.getBlockRowSpan(block), rect);
+            if (rect.bottom < headerHeight || rect.top > height || rect.right < gridLeft || rect.left > gridRight) {
+                continue;
+            }
+            rect.inset(cellInset, cellInset);
+            blockPaint.setColor(blockColors[block]);
+            canvas.drawRect(rect, blockPaint);
+            drawBlockText(canvas, block);
+        }
+        canvas.restore();
+
+        // Time column, fixed horizontally
+        canvas.save();
+        canvas.clipRect(timeLeft, headerHeight, timeLeft + timeColumnWidth, height);
+        cellPaint.setColor(0xFFF5F5F5);
+        canvas.drawRect(timeLeft, headerHeight, timeLeft + timeColumnWidth, height, cellPaint);
+        float labelOffset = (labelPaint.descent() + labelPaint.ascent()) / 2;
+        for (int row = firstRow; row <= lastRow; row++) {
+            float top = rowTop(row);
+            if (top > height) break;
+            canvas.drawLine(timeLeft, top, timeLeft + timeColumnWidth, top, gridPaint);
+            canvas.drawText(TimeOfDay.format(layout.getRowMinutes(row)),
+                    timeLeft + timeColumnWidth / 2, top + rowHeight / 2 - labelOffset, labelPaint);
+        }
+        canvas.restore();
+
+        // Day headers, fixed vertically
+        canvas.save();
+        canvas.clipRect(gridLeft, 0, gridRight, headerHeight);
+        cellPaint.setColor(0xFFE8E8E8);
+        canvas.drawRect(gridLeft, 0, gridRight, headerHeight, cellPaint);
+        float lineHeight = labelPaint.getFontSpacing();
+        for (int column = 0; column < columns; column++) {
+            float left = columnLeft(column);
+            if (left + columnWidth < gridLeft || left > gridRight) continue;
+            int dayIndex = layout.getColumnDayIndex(column);
+            float centerX = left + columnWidth / 2;
+            float centerY = headerHeight / 2 - labelOffset;
+            drawFitted(canvas, dayNames[dayIndex], centerX, centerY - lineHeight / 2, columnWidth, labelPaint);
+            drawFitted(canvas, dayDates[dayIndex], centerX, centerY + lineHeight / 2, columnWidth, labelPaint);
+            canvas.drawLine(left, 0, left, headerHeight, gridPaint);
+        }
+        canvas.restore();
+
+        // Corner above the time column
+        cellPaint.setColor(0xFFF0F0F0);
+        canvas.drawRect(timeLeft, 0, timeLeft + timeColumnWidth, headerHeight, cellPaint);
+        canvas.drawText("שעה", timeLeft + timeColumnWidth / 2, headerHeight / 2 - labelOffset, labelPaint);
+        canvas.drawLine(0, headerHeight, width, headerHeight, gridPaint);
+    }
+
+    private void drawBlockText(Canvas canvas, int block) {
+        Training training = layout.getBlockTraining(block);
+        float centerX = rect.centerX();
+        float textOffset = (blockTextPaint.descent() + blockTextPaint.ascent()) / 2;
+        String time = blockTimes[block];
+        if (time == null) {
+            drawFitted(canvas, training.getTeamName(), centerX, rect.centerY() - textOffset, rect.width(), blockTextPaint);
+            return;
+        }
+        float lineHeight = blockTextPaint.getFontSpacing();
+        float centerY = rect.centerY() - textOffset;
+        drawFitted(canvas, training.getTeamName(), centerX, centerY - lineHeight / 2, rect.width(), blockTextPaint);
+        drawFitted(canvas, time, centerX, centerY + lineHeight / 2, rect.width(), blockTextPaint);
+    }
+
+    /** Draws as much of the text as fits the width, without allocating a shortened copy. */
+    private void drawFitted(Canvas canvas, String text, float centerX, float baseline, float width, Paint paint) {
+        if (text == null || text.isEmpty()) return;
+        int count = paint.breakText(text, true, Math.max(0, width - 4 * cellInset), null);
+        if (count > 0) {
+            canvas.drawText(text, 0, count, centerX, baseline, paint);
+        }
+    }
+
+    // ---- Touch: scroll, fling, zoom and taps ----
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        boolean handled = scaleDetector.onTouchEvent(event);
+        if (!scaleDetector.isInProgress()) {
+            handled |= gestureDetector.onTouchEvent(event);
+        }
+        return handled || super.onTouchEvent(event);
+    }
+
+    @Override
+    public void computeScroll() {
+        if (scroller.computeScrollOffset()) {
+            offsetX = scroller.getCurrX();
+            offsetY = scroller.getCurrY();
+            clampOffsets();
+            postInvalidateOnAnimation();
+        }
+    }
+
+    private void scrollGridBy(float dx, float dy) {
+        offsetX += isRtl() ? -dx : dx;
+        offsetY += dy;
+        clampOffsets();
+        postInvalidateOnAnimation();
+    }
+
+    private void clickCell(int row, int column) {
+        if (row == WeekGridLayout.NONE || column == WeekGridLayout.NONE) {
+            return;
+        }
+        int block = layout.blockAt(row, column);
+        Training training = block != WeekGridLayout.NONE ? layout.getBlockTraining(block) : null;
+        OnCellClickListener listener = training != null ? trainingListener : emptyCellListener;
+        if (listener == null) {
+            return;
+        }
+        playSoundEffect(SoundEffectConstants.CLICK);
+        int startRow = block != WeekGridLayout.NONE ? layout.getBlockRow(block) : row;
+        listener.onCellClick(layout.getColumnDayIndex(column), layout.getRowMinutes(startRow), training);
+        accessibilityHelper.sendEventForVirtualView(virtualViewId(row, column),
+                android.view.accessibility.AccessibilityEvent.TYPE_VIEW_CLICKED);
+    }
+
+    private class GestureListener extends GestureDetector.SimpleOnGestureListener {
+        @Override
+        public boolean onDown(MotionEvent e) {
+            scroller.forceFinished(true);
+            return true;
+        }
+
+        @Override
+        public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+            scrollGridBy(distanceX, distanceY);
+            return true;
+        }
+
+        @Override
+        public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+            int maxX = (int) Math.max(0, layout.getColumnCount() * columnWidth() - (getWidth() - timeColumnWidth));
+            int maxY = (int) Math.max(0, layout.getRowCount() * rowHeight() - (getHeight() - headerHeight));
+            scroller.fling((int) offsetX, (int) offsetY, (int) (isRtl() ? velocityX : -velocityX), (int) -velocityY,
+                    0, maxX, 0, maxY);
+            postInvalidateOnAnimation();
+            return true;
+        }
+
+        @Override
+        public boolean onSingleTapUp(MotionEvent e) {
+            if (isInGrid(e.getX(), e.getY())) {
+                clickCell(rowAt(e.getY()), columnAt(e.getX()));
+            }
+            return true;
+        }
+    }
+
+    private class ScaleListener extends ScaleGestureDetector.SimpleOnScaleGestureListener {
+        @Override
+        public boolean onScale(ScaleGestureDetector detector) {
+            float newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * detector.getScaleFactor()));
+            if (newZoom == zoom) {
+                return true;
+            }
+            // Keep the grid point under the fingers in place
+            float focusX = isRtl() ? getWidth() - timeColumnWidth - detector.getFocusX() : detector.getFocusX() - timeColumnWidth;
+            float focusY = detector.getFocusY() - headerHeight;
+            float ratio = newZoom / zoom;
+            zoom = newZoom;
+            offsetX = (offsetX + focusX) * ratio - focusX;
+            offsetY = (offsetY + focusY) * ratio - focusY;
+            clampOffsets();
+            postInvalidateOnAnimation();
+            return true;
+        }
+
+        @Override
+        public void onScaleEnd(ScaleGestureDetector detector) {
+            accessibilityHelper.invalidateRoot();
+        }
+    }
+
+    // ---- Accessibility: one virtual view per block and per empty cell ----
+
+    private int virtualViewId(int row, int column) {
+        int block = layout.blockAt(row, column);
+        if (block != WeekGridLayout.NONE) {
+            return block;
+        }
+        return layout.getBlockCount() + row * layout.getColumnCount() + column;
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    private class GridAccessibilityHelper extends ExploreByTouchHelper {
+
+        GridAccessibilityHelper() {
+            super(WeekGridView.this);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            if (!isInGrid(x, y)) {
+                return INVALID_ID;
+            }
+            int row = rowAt(y);
+            int column = columnAt(x);
+            if (row == WeekGridLayout.NONE || column == WeekGridLayout.NONE) {
+                return INVALID_ID;
+            }
+            return virtualViewId(row, column);
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            for (int block = 0; block < layout.getBlockCount(); block++) {
+                virtualViewIds.add(block);
+            }
+            for (int row = 0; row < layout.getRowCount(); row++) {
+                for (int column = 0; column < layout.getColumnCount(); column++) {
+                    if (layout.blockAt(row, column) == WeekGridLayout.NONE) {
+                        virtualViewIds.add(virtualViewId(row, column));
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            int blocks = layout.getBlockCount();
+            int row;
+            int column;
+            int span = 1;
+            String description;
+            if (virtualViewId < blocks) {
+                row = layout.getBlockRow(virtualViewId);
+                column = layout.getBlockColumn(virtualViewId);
+                span = layout.getBlockRowSpan(virtualViewId);
+                Training training = layout.getBlockTraining(virtualViewId);
+                description = training.getTeamName() + ", " + dayNames[layout.getColumnDayIndex(column)] + " "
+                        + training.getStartTime() + "-" + training.getEndTime();
+            } else {
+                int cell = virtualViewId - blocks;
+                int columns = Math.max(1, layout.getColumnCount());
+                row = cell / columns;
+                column = cell % columns;
+                description = "פנוי, " + dayNames[layout.getColumnDayIndex(column)] + " "
+                        + TimeOfDay.format(layout.getRowMinutes(row));
+            }
+            node.setContentDescription(description);
+            cellBounds(row, column, span, rect);
+            rect.roundOut(bounds);
+            node.setBoundsInParent(bounds);
+            OnCellClickListener listener = virtualViewId < blocks ? trainingListener : emptyCellListener;
+            if (listener != null) {
+                node.setClickable(true);
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+            }
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (action != AccessibilityNodeInfoCompat.ACTION_CLICK) {
+                return false;
+            }
+            int blocks = layout.getBlockCount();
+            if (virtualViewId < blocks) {
+                clickCell(layout.getBlockRow(virtualViewId), layout.getBlockColumn(virtualViewId));
+            } else {
+                int columns = Math.max(1, layout.getColumnCount());
+                int cell = virtualViewId - blocks;
+                clickCell(cell / columns, cell % columns);
+            }
+            return true;
+        }
+    }
+}
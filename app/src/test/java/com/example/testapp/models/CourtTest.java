@@ -4,6 +4,7 @@ import com.example.testapp.models.Court;
 import com.example.testapp.models.DaySchedule;
 
 import org.junit.Test;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -292,4 +293,46 @@ public class CourtTest {
         assertEquals("08:00", schedule.getOpeningHour());
         assertEquals("22:00", schedule.getClosingHour());
     }
+
+    @Test
+    public void testCourtFromMap_ReadsDaySchedules() {
+        System.out.println("🧪 Test: Court codec");
+        // Arrange - Sunday is closed, the other days are missing
+        Map<String, Object> sunday = new HashMap<>();
+        sunday.put("active", false);
+        sunday.put("openingHour", "10:00");
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("courtId", "c1");
+        raw.put("name", "אולם א");
+        raw.put("available", true);
+        raw.put("day1", sunday);
+
+        // Act
+        Court court = Court.fromMap(raw);
+
+        // Assert
+        assertEquals("c1", court.getCourtId());
+        assertTrue(court.isAvailable());
+        assertFalse(court.isActiveOnDay(1));
+        assertEquals("10:00", court.getDay1().getOpeningHour());
+        assertEquals("22:00", court.getDay1().getClosingHour());
+        assertTrue(court.isActiveOnDay(2));
+        assertEquals(false, ((Map<?, ?>) court.toMap().get("day1")).get("active"));
+    }
+
+    @Test
+    public void testCourtSameContentAs_SeesScheduleChanges() {
+        System.out.println("🧪 Test: Court content equality");
+        // Arrange
+        Court court = new Court("c1", "אולם א", "Hall", "08:00", "22:00");
+        Court same = new Court("c1", "אולם א", "Hall", "08:00", "22:00");
+        Court closedOnSunday = new Court("c1", "אולם א", "Hall", "08:00", "22:00");
+        closedOnSunday.setDay1(new DaySchedule(false, "08:00", "22:00"));
+
+        // Act & Assert
+        assertTrue(court.sameContentAs(same));
+        assertFalse(court.sameContentAs(closedOnSunday));
+        assertTrue(DaySchedule.sameContent(null, null));
+        assertFalse(DaySchedule.sameContent(court.getDay1(), null));
+    }
 }
@@ -0,0 +1,94 @@
+package com.example.testapp.models;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for TimeOfDay
+ *
+ * Tests parsing, formatting and the minutes cached on the models
+ */
+public class TimeOfDayTest {
+
+    /**
+     * Test 1: Parsing "HH:mm"
+     * Tests: Valid times give minutes since midnight, anything else gives -1 / null
+     */
+    @Test
+    public void testToMinutes_ParsesValidAndRejectsInvalid() {
+        System.out.println("🧪 Test: Parsing HH:mm");
+        // Then - valid times
+        assertEquals(0, TimeOfDay.toMinutes("00:00"));
+        assertEquals(9 * 60 + 30, TimeOfDay.toMinutes("9:30"));
+        assertEquals(23 * 60 + 59, TimeOfDay.toMinutes("23:59"));
+        assertEquals(18 * 60 + 5, TimeOfDay.parse("18:05").getMinutes());
+
+        // Then - invalid times
+        assertEquals(-1, TimeOfDay.toMinutes(null));
+        assertEquals(-1, TimeOfDay.toMinutes(""));
+        assertEquals(-1, TimeOfDay.toMinutes("24:00"));
+        assertEquals(-1, TimeOfDay.toMinutes("12:60"));
+        assertEquals(-1, TimeOfDay.toMinutes("1a:00"));
+        assertEquals(-1, TimeOfDay.toMinutes("12:000"));
+        assertEquals(-1, TimeOfDay.toMinutes("1200"));
+        assertNull(TimeOfDay.parse("noon"));
+    }
+
+    /**
+     * Test 2: Formatting and shared instances
+     * Tests: Minutes format as zero-padded "HH:mm", values are interned and past midnight wraps
+     */
+    @Test
+    public void testFormat_ReturnsCachedText() {
+        System.out.println("🧪 Test: Formatting and shared instances");
+        // Then
+        assertEquals("08:05", TimeOfDay.format(8 * 60 + 5));
+        assertEquals("00:00", TimeOfDay.format(24 * 60));
+        assertNull(TimeOfDay.format(-1));
+        assertSame(TimeOfDay.format(600), TimeOfDay.format(600));
+        assertSame(TimeOfDay.of(10, 0), TimeOfDay.parse("10:00"));
+        assertEquals("10:30", TimeOfDay.of(10, 0).plusMinutes(30).toString());
+        assertNull(TimeOfDay.of(23, 30).plusMinutes(30));
+        assertTrue(TimeOfDay.of(9, 0).isBefore(TimeOfDay.of(9, 1)));
+    }
+
+    /**
+     * Test 3: Minutes on the models
+     * Tests: Training caches its parsed times, resets them on set, and old records without
+     * time strings are read back from the stored minutes
+     */
+    @Test
+    public void testTraining_CachesMinutesAndReadsThemBack() {
+        System.out.println("🧪 Test: Minutes on the models");
+        // Given
+        Training training = new Training("t1", "team1", "Team", "#FF0000", "court1", "Court", "",
+                "18:00", "19:30", 0L);
+
+        // When / Then - cached values follow the setters
+        assertEquals(18 * 60, training.getStartMinutes());
+        assertEquals(90, training.getDurationInMinutes());
+        training.setEndTime("20:00");
+        assertEquals(20 * 60, training.getEndMinutes());
+
+        // When - a record that only has the minutes
+        Map<String, Object> map = new HashMap<>(training.toMap());
+        assertEquals(18 * 60, ((Number) map.get("startMinutes")).intValue());
+        map.remove("startTime");
+        map.remove("endTime");
+        Training restored = Training.fromMap(map);
+
+        // Then
+        assertEquals("18:00", restored.getStartTime());
+        assertEquals("20:00", restored.getEndTime());
+
+        // And day schedules cache their hours too
+        DaySchedule schedule = new DaySchedule(true, "08:00", "22:00");
+        assertEquals(8 * 60, schedule.getOpeningMinutes());
+        schedule.setClosingHour("21:30");
+        assertEquals(21 * 60 + 30, schedule.getClosingMinutes());
+    }
+}
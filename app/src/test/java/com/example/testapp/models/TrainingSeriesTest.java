@@ -0,0 +1,178 @@
+package com.example.testapp.models;
+
+import com.example.testapp.utils.DateUtils;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for TrainingSeries model
+ *
+ * Tests lazy weekly expansion, exceptions and
+ * series-level conflict checks
+ */
+public class TrainingSeriesTest {
+
+    private static final TimeZone ISRAEL_TIMEZONE = TimeZone.getTimeZone("Asia/Jerusalem");
+
+    private TrainingSeries series;
+    private long firstMonday;
+
+    @Before
+    public void setUp() {
+        // Mondays from 08/01/2024 for 10 weeks, 18:00-19:30
+        firstMonday = DateUtils.getEpochDay(dateAt(2024, Calendar.JANUARY, 8, 12));
+        series = new TrainingSeries("s1", "team1", "court1", Calendar.MONDAY,
+                18 * 60, 19 * 60 + 30, firstMonday, firstMonday + 63);
+        series.setTeamName("Lakers");
+    }
+
+    private long dateAt(int year, int month, int day, int hour) {
+        Calendar calendar = Calendar.getInstance(ISRAEL_TIMEZONE);
+        calendar.clear();
+        calendar.set(year, month, day, hour, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * Test 1: Expansion is limited to the window
+     * Tests: A one-week window yields exactly one occurrence with the series' details
+     */
+    @Test
+    public void testExpand_OneWeekWindow_SingleOccurrence() {
+        System.out.println("🧪 Test: Expand one week");
+        // When - the week of 14/01/2024 (Sunday) to 21/01/2024
+        List<Training> occurrences = series.expand(
+                dateAt(2024, Calendar.JANUARY, 14, 0), dateAt(2024, Calendar.JANUARY, 21, 0));
+
+        // Then
+        assertEquals(1, occurrences.size());
+        Training occurrence = occurrences.get(0);
+        assertEquals(dateAt(2024, Calendar.JANUARY, 15, 18), occurrence.getDate());
+        assertEquals("18:00", occurrence.getStartTime());
+        assertEquals("19:30", occurrence.getEndTime());
+        assertEquals("Monday", occurrence.getDayOfWeek());
+        assertEquals("s1", occurrence.getSeriesId());
+        assertEquals("s1", TrainingSeries.seriesIdOf(occurrence.getTrainingId()));
+        assertEquals(firstMonday + 7, TrainingSeries.epochDayOf(occurrence.getTrainingId()));
+    }
+
+    /**
+     * Test 2: Whole range and exceptions
+     * Tests: Open-ended window covers the range, skipped weeks are left out
+     */
+    @Test
+    public void testExpand_WithExceptions() {
+        System.out.println("🧪 Test: Expand with exceptions");
+        // Given
+        series.addException(firstMonday + 14);
+
+        // When
+        List<Training> occurrences = series.expand(0, Long.MAX_VALUE);
+
+        // Then
+        assertEquals(9, occurrences.size());
+        assertFalse(series.occursOn(firstMonday + 14));
+        assertTrue(series.occursOn(firstMonday + 21));
+        assertFalse(series.occursOn(firstMonday + 1));
+        assertFalse(series.occursOn(firstMonday + 70));
+    }
+
+    /**
+     * Test 3: Series against series
+     * Tests: Same court/weekday/hours clash only when they share an unskipped week
+     */
+    @Test
+    public void testConflictsWith_Series() {
+        System.out.println("🧪 Test: Series vs series");
+        // Given
+        TrainingSeries overlapping = new TrainingSeries("s2", "team2", "court1", Calendar.MONDAY,
+                19 * 60, 20 * 60, firstMonday + 63, firstMonday + 100);
+        TrainingSeries otherDay = new TrainingSeries("s3", "team2", "court1", Calendar.TUESDAY,
+                18 * 60, 19 * 60, firstMonday + 1, firstMonday + 64);
+        TrainingSeries backToBack = new TrainingSeries("s4", "team2", "court1", Calendar.MONDAY,
+                19 * 60 + 30, 21 * 60, firstMonday, firstMonday + 63);
+
+        // Then
+        assertTrue(series.conflictsWith(overlapping));
+        assertFalse(series.conflictsWith(otherDay));
+        assertFalse(series.conflictsWith(backToBack));
+
+        // When - the only shared week is skipped
+        overlapping.addException(firstMonday + 63);
+
+        // Then
+        assertFalse(series.conflictsWith(overlapping));
+    }
+
+    /**
+     * Test 4: Series against a one-off training
+     * Tests: Clash on an occurrence day, none on other days or for its own occurrence
+     */
+    @Test
+    public void testConflictsWith_Training() {
+        System.out.println("🧪 Test: Series vs one-off training");
+        // Given
+        Training single = new Training();
+        single.setCourtId("court1");
+        single.setStartTime("19:00");
+        single.setEndTime("20:00");
+        single.setDate(dateAt(2024, Calendar.JANUARY, 15, 19));
+
+        // Then
+        assertTrue(series.conflictsWith(single));
+
+        single.setDate(dateAt(2024, Calendar.JANUARY, 16, 19));
+        assertFalse(series.conflictsWith(single));
+
+        // An edited occurrence keeps its "{seriesId}@{day}" id and never clashes with its series
+        single.setDate(dateAt(2024, Calendar.JANUARY, 15, 19));
+        single.setTrainingId("s1@" + (firstMonday + 7));
+        assertFalse(series.conflictsWith(single));
+    }
+
+    /**
+     * Test 5: Occurrence ids
+     * Tests: Regular push ids are not mistaken for occurrences
+     */
+    @Test
+    public void testOccurrenceIds() {
+        System.out.println("🧪 Test: Occurrence ids");
+        assertNull(TrainingSeries.seriesIdOf("-NxAbc_123"));
+        assertNull(TrainingSeries.seriesIdOf(null));
+        assertEquals(Long.MIN_VALUE, TrainingSeries.epochDayOf("-NxAbc_123"));
+        assertEquals("-NxAbc", TrainingSeries.seriesIdOf("-NxAbc@19730"));
+        assertEquals(19730, TrainingSeries.epochDayOf("-NxAbc@19730"));
+    }
+
+    /**
+     * Test 6: Map round trip
+     * Tests: fromMap reads back what toMap writes, exceptions included
+     */
+    @Test
+    public void testMapRoundTrip() {
+        System.out.println("🧪 Test: Map round trip");
+        // Given
+        series.addException(firstMonday + 14);
+
+        // When
+        Map<String, Object> raw = series.toMap();
+        raw.put("dayOfWeek", (long) Calendar.MONDAY); // Firebase returns numbers as Long
+        TrainingSeries copy = TrainingSeries.fromMap(raw);
+
+        // Then
+        assertEquals("s1", copy.getSeriesId());
+        assertEquals("court1", copy.getCourtId());
+        assertEquals(Calendar.MONDAY, copy.getDayOfWeek());
+        assertEquals(18 * 60, copy.getStartMinutes());
+        assertEquals(firstMonday + 63, copy.getLastDay());
+        assertTrue(copy.occursOn(firstMonday + 7));
+        assertFalse(copy.occursOn(firstMonday + 14));
+        assertNull(TrainingSeries.fromMap(null));
+    }
+}
@@ -3,6 +3,9 @@ package com.example.testapp.models;
 import com.example.testapp.models.Training;
 import org.junit.Before;
 import org.junit.Test;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Collections;
 import static org.junit.Assert.*;
 
 /**
@@ -151,4 +154,61 @@ public class TrainingTest {
         assertEquals(courtId, courtId); // Same court
         assertTrue(endTime1.equals(startTime2)); // Exactly consecutive
     }
+
+    /**
+     * Test 8: Reading a training without reflection
+     * Tests: fromMap() reads the raw snapshot value and toMap() writes the same keys back
+     */
+    @Test
+    public void testFromMap_RoundTrip() {
+        System.out.println("🧪 Test: Training codec round trip");
+        // Given - Firebase may return whole numbers as Long or Double
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("trainingId", "t1");
+        raw.put("courtId", "c1");
+        raw.put("startTime", "18:00");
+        raw.put("endTime", "19:30");
+        raw.put("date", 1704729600000.0);
+        raw.put("createdAt", 5L);
+
+        // When
+        Training parsed = Training.fromMap(raw);
+        Map<String, Object> written = parsed.toMap();
+
+        // Then
+        assertEquals("t1", parsed.getTrainingId());
+        assertEquals(1704729600000L, parsed.getDate());
+        assertEquals(5L, parsed.getCreatedAt());
+        assertNull(parsed.getNotes());
+        assertEquals(90, written.get("durationInMinutes"));
+        assertEquals(1704729600000L, written.get("date"));
+        assertNull(Training.fromMap(null));
+    }
+
+    /**
+     * Test 9: Content equality for list diffing
+     * Tests: sameContentAs() ignores creation fields but sees a moved time, and slot lists compare slot by slot
+     */
+    @Test
+    public void testSameContentAs_ForDiffing() {
+        System.out.println("🧪 Test: Content equality for list diffing");
+        // Given - the same training read twice, and once moved by half an hour
+        Training first = new Training("t1", "team1", "Team", "#FF0000", "c1", "Court", "", "18:00", "19:00", 1704729600000L);
+        Training again = new Training("t1", "team1", "Team", "#FF0000", "c1", "Court", "", "18:00", "19:00", 1704729600000L);
+        again.setCreatedAt(42L);
+        Training moved = new Training("t1", "team1", "Team", "#FF0000", "c1", "Court", "", "18:30", "19:30", 1704729600000L);
+
+        TimeSlot slot = new TimeSlot("c1", "Court", "18:00", "18:30", 1704729600000L);
+        slot.setTraining(first);
+        TimeSlot sameSlot = new TimeSlot("c1", "Court", "18:00", "18:30", 1704729600000L);
+        sameSlot.setTraining(again);
+        TimeSlot freeSlot = new TimeSlot("c1", "Court", "18:00", "18:30", 1704729600000L);
+
+        // Then
+        assertTrue(first.sameContentAs(again));
+        assertFalse(first.sameContentAs(moved));
+        assertEquals(slot.getKey(), freeSlot.getKey());
+        assertTrue(TimeSlot.sameContents(Collections.singletonList(slot), Collections.singletonList(sameSlot)));
+        assertFalse(TimeSlot.sameContents(Collections.singletonList(slot), Collections.singletonList(freeSlot)));
+    }
 }
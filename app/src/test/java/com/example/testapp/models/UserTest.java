@@ -1,6 +1,8 @@
 package com.example.testapp.models;
 
 import org.junit.Test;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -295,4 +297,38 @@ public class UserTest {
         assertEquals("ADMIN", user.getRole());
         assertTrue("Should be admin", user.isAdmin());
     }
+
+    @Test
+    public void fromMap_ReadsTeamListsAndLegacyPendingTeam() {
+        System.out.println("🧪 Test: User codec");
+        // Firebase returns arrays as lists, or as maps when indices have gaps
+        Map<String, Object> sparse = new HashMap<>();
+        sparse.put("2", "team3");
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("role", "PLAYER");
+        raw.put("teamIds", java.util.Arrays.asList("team1", null, "team2"));
+        raw.put("pendingTeamIds", sparse);
+        raw.put("pendingTeamId", "team4");
+
+        User user = User.fromMap(raw);
+
+        assertTrue(user.isPlayer());
+        assertEquals(java.util.Arrays.asList("team1", "team2"), user.getTeamIds());
+        assertEquals(java.util.Arrays.asList("team3", "team4"), user.getPendingTeamIds());
+        assertEquals(true, user.toMap().get("player"));
+    }
+
+    @Test
+    public void sameContentAs_DetectsTeamChange() {
+        System.out.println("🧪 Test: User content equality");
+        // A copy is the same row; a team change is not
+        User user = new User("u1", "a@b.com", "Dana", "PLAYER", "0501234567");
+        user.setTeamIds(new ArrayList<>(java.util.Arrays.asList("team1")));
+        User copy = User.fromMap(user.toMap());
+        User moved = User.fromMap(user.toMap());
+        moved.setTeamIds(java.util.Arrays.asList("team2"));
+
+        assertTrue(user.sameContentAs(copy));
+        assertFalse(user.sameContentAs(moved));
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.testapp.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for ChangeSet
+ *
+ * Tests filtering an emission down to the items observers should see
+ */
+public class ChangeSetTest {
+
+    private static boolean isValid(String value) {
+        return !value.startsWith("bad");
+    }
+
+    /**
+     * Test 1: Filtered items and changes
+     * Tests: Items and additions that fail the filter are dropped
+     */
+    @Test
+    public void testFilter_DropsInvalidItemsAndAdditions() {
+        System.out.println("🧪 Test: Filtered items and changes");
+        // Given
+        List<ChangeSet.Change<String>> changes = new ArrayList<>();
+        changes.add(new ChangeSet.Change<>(ChangeSet.Type.ADDED, "a", "a1"));
+        changes.add(new ChangeSet.Change<>(ChangeSet.Type.ADDED, "b", "bad"));
+        changes.add(new ChangeSet.Change<>(ChangeSet.Type.REMOVED, "c", "bad"));
+        ChangeSet<String> changeSet = new ChangeSet<>(Arrays.asList("a1", "bad"), changes, true);
+
+        // When
+        ChangeSet<String> filtered = changeSet.filter(ChangeSetTest::isValid);
+
+        // Then
+        assertEquals(Arrays.asList("a1"), filtered.getItems());
+        assertEquals(1, filtered.getChanges().size());
+        assertEquals("a", filtered.getChanges().get(0).getKey());
+        assertTrue(filtered.isFullReload());
+    }
+
+    /**
+     * Test 2: Change to an invalid value
+     * Tests: Observers are told to drop the earlier, valid value
+     */
+    @Test
+    public void testFilter_InvalidChangeBecomesRemoval() {
+        System.out.println("🧪 Test: Change to an invalid value");
+        // Given
+        List<ChangeSet.Change<String>> changes = new ArrayList<>();
+        changes.add(new ChangeSet.Change<>(ChangeSet.Type.CHANGED, "a", "bad"));
+        ChangeSet<String> changeSet = new ChangeSet<>(Arrays.asList("bad"), changes, false);
+
+        // When
+        ChangeSet<String> filtered = changeSet.filter(ChangeSetTest::isValid);
+
+        // Then
+        assertTrue(filtered.getItems().isEmpty());
+        assertEquals(ChangeSet.Type.REMOVED, filtered.getChanges().get(0).getType());
+        assertEquals("a", filtered.getChanges().get(0).getKey());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.testapp.repository;
+
+import org.junit.Before;
+import org.junit.Test;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for ChildEventBatch
+ *
+ * Tests how child events waiting to be parsed are merged, so a child
+ * that changes several times in one batch is parsed only once
+ */
+public class ChildEventBatchTest {
+
+    private ChildEventBatch<String> batch;
+
+    @Before
+    public void setUp() {
+        batch = new ChildEventBatch<>();
+    }
+
+    private int countToParse(List<ChildEventBatch.Op<String>> ops) {
+        int count = 0;
+        for (ChildEventBatch.Op<String> op : ops) {
+            if (op.needsParse()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Test 1: Repeated changes
+     * Tests: Only the newest change of a child is parsed
+     */
+    @Test
+    public void testRepeatedChanges_OnlyNewestParsed() {
+        System.out.println("🧪 Test: Repeated changes");
+        // Given
+        batch.add(ChangeSet.Type.CHANGED, "a", "v1", null);
+        batch.add(ChangeSet.Type.CHANGED, "a", "v2", null);
+        batch.add(ChangeSet.Type.CHANGED, "b", "b1", null);
+
+        // When
+        List<ChildEventBatch.Op<String>> ops = batch.getOps();
+
+        // Then
+        assertEquals(2, countToParse(ops));
+        assertTrue(ops.get(0).superseded);
+        assertEquals("v2", ops.get(1).payload);
+    }
+
+    /**
+     * Test 2: Added then changed
+     * Tests: The newest payload is applied as an add at the original position
+     */
+    @Test
+    public void testAddedThenChanged_StaysAnAdd() {
+        System.out.println("🧪 Test: Added then changed");
+        // Given
+        batch.add(ChangeSet.Type.ADDED, "a", "v1", "prev");
+        batch.add(ChangeSet.Type.CHANGED, "a", "v2", null);
+
+        // When
+        ChildEventBatch.Op<String> last = batch.getOps().get(1);
+
+        // Then
+        assertEquals(1, countToParse(batch.getOps()));
+        assertEquals(ChangeSet.Type.ADDED, last.type);
+        assertEquals("prev", last.previousKey);
+        assertEquals("v2", last.payload);
+    }
+
+    /**
+     * Test 3: Added then removed
+     * Tests: Nothing is parsed for a child that never reached the store
+     */
+    @Test
+    public void testAddedThenRemoved_NothingToParse() {
+        System.out.println("🧪 Test: Added then removed");
+        // Given
+        batch.add(ChangeSet.Type.ADDED, "a", "v1", null);
+        batch.add(ChangeSet.Type.REMOVED, "a", "v1", null);
+        batch.add(ChangeSet.Type.CHANGED, "b", "b1", null);
+        batch.add(ChangeSet.Type.REMOVED, "b", "b1", null);
+
+        // Then
+        assertEquals(0, countToParse(batch.getOps()));
+        assertEquals(ChangeSet.Type.REMOVED, batch.getOps().get(batch.getOps().size() - 1).type);
+    }
+}
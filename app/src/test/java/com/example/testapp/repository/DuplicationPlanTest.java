@@ -0,0 +1,204 @@
+package com.example.testapp.repository;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.Training;
+import com.example.testapp.models.TrainingSeries;
+import com.example.testapp.utils.DateUtils;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for DuplicationPlan
+ *
+ * Tests the weekly expansion and the per-date report used by
+ * both duplication screens
+ */
+public class DuplicationPlanTest {
+
+    private Court court;
+    private Training template;
+    private TrainingConflictIndex occupancy;
+    private long monday;
+
+    @Before
+    public void setUp() {
+        court = new Court("court1", "אולם א", "Tel Aviv", "08:00", "22:00");
+        occupancy = new TrainingConflictIndex();
+        monday = dateAt(2024, Calendar.JANUARY, 8);
+
+        template = new Training();
+        template.setTrainingId("original");
+        template.setTeamId("team1");
+        template.setTeamName("Lakers");
+        template.setCourtId("court1");
+        template.setStartTime("18:00");
+        template.setEndTime("19:30");
+        template.setDate(monday);
+    }
+
+    private long dateAt(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, 18, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private Training booking(String id, long date, String start, String end) {
+        Training training = new Training();
+        training.setTrainingId(id);
+        training.setCourtId("court1");
+        training.setDate(date);
+        training.setStartTime(start);
+        training.setEndTime(end);
+        return training;
+    }
+
+    /**
+     * Test 1: Free court for every week
+     * Tests: One copy per week on the same weekday, no skipped dates
+     */
+    @Test
+    public void testBuild_AllWeeksFree_AcceptsEveryWeek() {
+        System.out.println("🧪 Test: All weeks free");
+        // When
+        DuplicationPlan plan = DuplicationPlan.build(template, court, monday, 4, occupancy);
+
+        // Then
+        assertEquals(4, plan.getSuccessCount());
+        assertEquals(4, plan.getTotalWeeks());
+        assertTrue(plan.getSkippedReasons().isEmpty());
+        assertEquals(dateAt(2024, Calendar.JANUARY, 15), plan.getAccepted().get(0).getDate());
+        assertEquals(dateAt(2024, Calendar.FEBRUARY, 5), plan.getAccepted().get(3).getDate());
+        assertEquals("Monday", plan.getAccepted().get(0).getDayOfWeek());
+        assertEquals("court1", plan.getAccepted().get(0).getCourtId());
+        assertNull(plan.getAccepted().get(0).getTrainingId());
+    }
+
+    /**
+     * Test 2: Booked and closed weeks are reported
+     * Tests: Skipped dates use the "dd/MM/yyyy (reason)" format
+     */
+    @Test
+    public void testBuild_TakenAndClosedWeeks_Reported() {
+        System.out.println("🧪 Test: Taken and closed weeks");
+        // Given - week 1 is booked, and the court closes on Mondays from week 3
+        occupancy.put("other", booking("other", dateAt(2024, Calendar.JANUARY, 15), "19:00", "20:00"));
+        DuplicationPlan first = DuplicationPlan.build(template, court, monday, 2, occupancy);
+        court.setScheduleForDay(Calendar.MONDAY, new DaySchedule(false, "08:00", "22:00"));
+
+        // When
+        DuplicationPlan second = DuplicationPlan.build(template, court, monday, 1, occupancy);
+
+        // Then
+        assertEquals(1, first.getSuccessCount());
+        assertEquals(1, first.getSkippedReasons().size());
+        assertEquals("15/01/2024 (תפוס)", first.getSkippedReasons().get(0));
+        assertEquals(0, second.getSuccessCount());
+        assertEquals("15/01/2024 (סגור)", second.getSkippedReasons().get(0));
+    }
+
+    /**
+     * Test 3: No court selected
+     * Tests: Every week is skipped with the "no court" reason
+     */
+    @Test
+    public void testBuild_NoCourt_SkipsEveryWeek() {
+        System.out.println("🧪 Test: No court");
+        // When
+        DuplicationPlan plan = DuplicationPlan.build(template, null, monday, 3, occupancy);
+
+        // Then
+        assertEquals(0, plan.getSuccessCount());
+        assertEquals(3, plan.getSkippedReasons().size());
+        assertTrue(plan.getSkippedReasons().get(0).endsWith("(מגרש לא נבחר)"));
+    }
+
+    /**
+     * Test 4: Failed batch write
+     * Tests: markAllFailed() moves accepted dates into the report as errors
+     */
+    @Test
+    public void testMarkAllFailed_ReportsErrors() {
+        System.out.println("🧪 Test: Failed batch write");
+        // Given
+        DuplicationPlan plan = DuplicationPlan.build(template, court, monday, 2, occupancy);
+
+        // When
+        plan.markAllFailed();
+
+        // Then
+        assertEquals(0, plan.getSuccessCount());
+        assertEquals(2, plan.getSkippedReasons().size());
+        assertEquals("15/01/2024 (שגיאה)", plan.getSkippedReasons().get(0));
+    }
+
+    /**
+     * Test 5: Recurring series occupy their weeks
+     * Tests: A copy landing on a series occurrence is reported as taken
+     */
+    @Test
+    public void testBuild_SeriesOccurrence_Taken() {
+        System.out.println("🧪 Test: Series occurrence blocks a copy");
+        // Given - a series on the same Monday slot from 22/01/2024 for one week
+        long seriesDay = DateUtils.getEpochDay(dateAt(2024, Calendar.JANUARY, 22));
+        TrainingSeries recurring = new TrainingSeries("s1", "team2", "court1", Calendar.MONDAY,
+                18 * 60, 19 * 60, seriesDay, seriesDay);
+
+        // When
+        DuplicationPlan plan = DuplicationPlan.build(template, court, monday, 3, occupancy,
+                Collections.singletonList(recurring));
+
+        // Then
+        assertEquals(2, plan.getSuccessCount());
+        assertEquals("22/01/2024 (תפוס)", plan.getSkippedReasons().get(0));
+    }
+
+    /**
+     * Test 6: Claim refused after planning
+     * Tests: reject() reports only that copy and keeps the other weeks accepted
+     */
+    @Test
+    public void testReject_ReportsOneCopy() {
+        System.out.println("🧪 Test: Claim refused after planning");
+        // Given
+        DuplicationPlan plan = DuplicationPlan.build(template, court, monday, 3, occupancy);
+        Training second = plan.getAccepted().get(1);
+
+        // When
+        plan.reject(second, DuplicationPlan.REASON_TAKEN);
+
+        // Then
+        assertEquals(2, plan.getSuccessCount());
+        assertFalse(plan.getAccepted().contains(second));
+        assertEquals(Collections.singletonList("22/01/2024 (תפוס)"), plan.getSkippedReasons());
+    }
+
+    /**
+     * Test 7: Copies across a clock change
+     * Tests: Weeks after Israel's switch to summer time keep the template's local hour and weekday
+     */
+    @Test
+    public void testBuild_AcrossDaylightSaving_KeepsLocalTime() {
+        System.out.println("🧪 Test: Copies across a clock change");
+        // Given - Monday 18/03/2024 18:00 in Israel; clocks move forward on 29/03/2024
+        Calendar israel = Calendar.getInstance(TimeZone.getTimeZone("Asia/Jerusalem"));
+        israel.clear();
+        israel.set(2024, Calendar.MARCH, 18, 18, 0);
+        template.setDate(israel.getTimeInMillis());
+
+        // When
+        DuplicationPlan plan = DuplicationPlan.build(template, court, israel.getTimeInMillis(), 2, occupancy);
+
+        // Then
+        Training afterChange = plan.getAccepted().get(1);
+        assertEquals("01/04/2024", DateUtils.formatDate(afterChange.getDate()));
+        assertEquals("18:00", DateUtils.formatTime(afterChange.getDate()));
+        assertEquals("Monday", afterChange.getDayOfWeek());
+    }
+}
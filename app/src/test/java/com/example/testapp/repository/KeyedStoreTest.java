@@ -0,0 +1,138 @@
+package com.example.testapp.repository;
+
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for KeyedStore
+ *
+ * Tests the keyed copy of a Firebase list that is updated
+ * one child event at a time
+ */
+public class KeyedStoreTest {
+
+    private KeyedStore<String> store;
+
+    @Before
+    public void setUp() {
+        store = new KeyedStore<>();
+    }
+
+    /**
+     * Test 1: Initial load
+     * Tests: The first change set is a full reload holding every item in order
+     */
+    @Test
+    public void testInitialLoad_IsFullReload() {
+        System.out.println("🧪 Test: Initial load");
+        // Given
+        store.add("a", "A", null);
+        store.add("b", "B", "a");
+        store.add("c", "C", "b");
+
+        // When
+        ChangeSet<String> changes = store.drainChanges();
+
+        // Then
+        assertTrue(changes.isFullReload());
+        assertEquals(Arrays.asList("A", "B", "C"), changes.getItems());
+        assertEquals(3, changes.getChanges().size());
+        assertFalse(store.hasPendingChanges());
+    }
+
+    /**
+     * Test 2: Incremental updates
+     * Tests: Later change sets list only what changed
+     */
+    @Test
+    public void testIncrementalChanges_OnlyChangedKeys() {
+        System.out.println("🧪 Test: Incremental changes");
+        // Given
+        store.add("a", "A", null);
+        store.add("b", "B", "a");
+        store.drainChanges();
+
+        // When
+        store.change("a", "A2");
+        store.remove("b");
+        ChangeSet<String> changes = store.drainChanges();
+
+        // Then
+        assertFalse(changes.isFullReload());
+        assertEquals(2, changes.getChanges().size());
+        assertEquals(ChangeSet.Type.CHANGED, changes.getChanges().get(0).getType());
+        assertEquals("a", changes.getChanges().get(0).getKey());
+        assertEquals(ChangeSet.Type.REMOVED, changes.getChanges().get(1).getType());
+        assertEquals("B", changes.getChanges().get(1).getValue());
+        assertEquals(Arrays.asList("A2"), changes.getItems());
+    }
+
+    /**
+     * Test 3: Ordering by previous child
+     * Tests: add() and move() place keys after the given previous key
+     */
+    @Test
+    public void testOrdering_FollowsPreviousKey() {
+        System.out.println("🧪 Test: Ordering");
+        // Given
+        store.add("b", "B", null);
+        store.add("a", "A", null);
+        store.add("c", "C", "a");
+
+        // Then
+        assertEquals(Arrays.asList("A", "C", "B"), store.getItems());
+
+        // When
+        store.move("a", "b");
+
+        // Then
+        assertEquals(Arrays.asList("C", "B", "A"), store.getItems());
+    }
+
+    /**
+     * Test 4: Items list is cached
+     * Tests: getItems() returns the same list until something changes
+     */
+    @Test
+    public void testGetItems_CachedUntilChange() {
+        System.out.println("🧪 Test: Items cache");
+        // Given
+        store.add("a", "A", null);
+        List<String> first = store.getItems();
+
+        // Then
+        assertSame(first, store.getItems());
+
+        // When
+        store.change("a", "A2");
+
+        // Then
+        assertNotSame(first, store.getItems());
+        assertEquals("A2", store.get("a"));
+    }
+
+    /**
+     * Test 5: Unknown keys
+     * Tests: Changing an unknown key adds it, removing one is ignored
+     */
+    @Test
+    public void testUnknownKeys() {
+        System.out.println("🧪 Test: Unknown keys");
+        // Given
+        store.drainChanges();
+
+        // When
+        store.remove("missing");
+        store.change("new", "N");
+
+        // Then
+        ChangeSet<String> changes = store.drainChanges();
+        assertEquals(1, changes.getChanges().size());
+        assertEquals(ChangeSet.Type.ADDED, changes.getChanges().get(0).getType());
+        assertEquals(1, store.size());
+    }
+}
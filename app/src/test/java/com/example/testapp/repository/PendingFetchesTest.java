@@ -0,0 +1,81 @@
+package com.example.testapp.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for PendingFetches
+ *
+ * Tests how overlapping reads of the same key share one fetch
+ */
+public class PendingFetchesTest {
+
+    /**
+     * Test 1: Overlapping requests
+     * Tests: Only the first request of a key starts a read, and the result reaches every request
+     */
+    @Test
+    public void testRequest_SharesOneRead() {
+        System.out.println("🧪 Test: Overlapping requests");
+        // Given
+        PendingFetches<String, String> fetches = new PendingFetches<>();
+        List<String> received = new ArrayList<>();
+
+        // When
+        boolean first = fetches.request("u1", received::add);
+        boolean second = fetches.request("u1", received::add);
+        boolean other = fetches.request("u2", received::add);
+        fetches.complete("u1", "player1");
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(other);
+        assertEquals(2, received.size());
+        assertEquals("player1", received.get(1));
+        assertEquals(1, fetches.size());
+    }
+
+    /**
+     * Test 2: Reading again after completion
+     * Tests: A request made after its key completed starts a new read
+     */
+    @Test
+    public void testRequest_AfterCompleteReadsAgain() {
+        System.out.println("🧪 Test: Reading again after completion");
+        // Given
+        PendingFetches<String, String> fetches = new PendingFetches<>();
+        fetches.request("u1", value -> { });
+        fetches.complete("u1", null);
+
+        // When & Then
+        assertTrue(fetches.request("u1", value -> { }));
+        assertEquals(1, fetches.size());
+    }
+
+    /**
+     * Test 3: Missing results
+     * Tests: A null result is delivered, and completing an unknown key does nothing
+     */
+    @Test
+    public void testComplete_NullAndUnknownKeys() {
+        System.out.println("🧪 Test: Missing results");
+        // Given
+        PendingFetches<String, String> fetches = new PendingFetches<>();
+        List<String> received = new ArrayList<>();
+        fetches.request("u1", received::add);
+
+        // When
+        fetches.complete("u2", "ignored");
+        fetches.complete("u1", null);
+
+        // Then
+        assertEquals(1, received.size());
+        assertNull(received.get(0));
+        assertEquals(0, fetches.size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.testapp.repository;
+
+import com.example.testapp.models.User;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for SessionProfile
+ *
+ * Tests storing the signed-in user's profile as SharedPreferences entries and reading it back
+ */
+public class SessionProfileTest {
+
+    /**
+     * Test 1: Round trip
+     * Tests: Role, teams and player link survive encode and decode, team order included
+     */
+    @Test
+    public void testEncodeDecode_RoundTrip() {
+        System.out.println("🧪 Test: Round trip");
+        // Given
+        User user = new User("u1", "a@b.com", "Dana Levi", "PLAYER", "0501234567");
+        user.setTeamIds(Arrays.asList("t2", "t1"));
+        user.setTeamId("t2");
+        user.setPlayerId("p1");
+        user.setCreatedAt(1700000000000L);
+
+        // When
+        User decoded = SessionProfile.decode(SessionProfile.encode(user), "u1");
+
+        // Then
+        assertNotNull(decoded);
+        assertTrue(decoded.isPlayer());
+        assertEquals(Arrays.asList("t2", "t1"), decoded.getTeamIds());
+        assertEquals("t2", decoded.getTeamId());
+        assertEquals("p1", decoded.getPlayerId());
+        assertEquals(1700000000000L, decoded.getCreatedAt());
+        assertTrue(SessionProfile.sameProfile(user, decoded));
+    }
+
+    /**
+     * Test 2: Another account's profile
+     * Tests: A profile stored for a different user, or without a role, is not served
+     */
+    @Test
+    public void testDecode_OtherUserIsNotServed() {
+        System.out.println("🧪 Test: Another account's profile");
+        // Given
+        Map<String, String> stored = SessionProfile.encode(new User("u1", "", "Admin", "ADMIN", ""));
+
+        // When / Then
+        assertNull(SessionProfile.decode(stored, "u2"));
+        assertNull(SessionProfile.decode(stored, null));
+        stored.remove("role");
+        assertNull(SessionProfile.decode(stored, "u1"));
+    }
+
+    /**
+     * Test 3: Detecting a change
+     * Tests: A changed team list counts as a new profile; an empty list and no list don't differ
+     */
+    @Test
+    public void testSameProfile_TeamChangeDetected() {
+        System.out.println("🧪 Test: Detecting a change");
+        // Given
+        User before = new User("u1", "", "Coach", "COACH", "");
+        User same = new User("u1", "", "Coach", "COACH", "");
+        same.setTeamIds(null);
+        same.setCreatedAt(before.getCreatedAt());
+        User after = new User("u1", "", "Coach", "COACH", "");
+        after.setCreatedAt(before.getCreatedAt());
+        after.setTeamIds(Arrays.asList("t1"));
+
+        // When / Then
+        assertTrue(SessionProfile.sameProfile(before, same));
+        assertFalse(SessionProfile.sameProfile(before, after));
+        assertFalse(SessionProfile.sameProfile(before, null));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.testapp.repository;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for TeamJerseys
+ *
+ * Tests the registry keys of jersey numbers, who may claim a number, and seeding
+ * the registry from the numbers players already wore
+ */
+public class TeamJerseysTest {
+
+    /**
+     * Test 1: Registry keys
+     * Tests: Numbers are trimmed, and empty numbers or ones that can't be a key aren't claimed
+     */
+    @Test
+    public void testKeyOf_TrimsAndRejectsInvalid() {
+        System.out.println("🧪 Test: Registry keys");
+        // Given / When / Then
+        assertEquals("7", TeamJerseys.keyOf(" 7 "));
+        assertEquals("teamJerseys/t1/7", TeamJerseys.path("t1", TeamJerseys.keyOf("7")));
+        assertNull(TeamJerseys.keyOf(null));
+        assertNull(TeamJerseys.keyOf("   "));
+        assertNull(TeamJerseys.keyOf("1.5"));
+        assertNull(TeamJerseys.keyOf("4/5"));
+    }
+
+    /**
+     * Test 2: Claim decision
+     * Tests: A free number or the user's own can be claimed; another user's can't
+     */
+    @Test
+    public void testIsFreeFor_OwnOrEmpty() {
+        System.out.println("🧪 Test: Claim decision");
+        // Given
+        String userId = "u1";
+
+        // When / Then
+        assertTrue(TeamJerseys.isFreeFor(null, userId));
+        assertTrue(TeamJerseys.isFreeFor("u1", userId));
+        assertFalse(TeamJerseys.isFreeFor("u2", userId));
+    }
+
+    /**
+     * Test 3: Seeding from existing numbers
+     * Tests: Each player's number is claimed in all their teams; a shared number goes to the first userId
+     */
+    @Test
+    public void testPutLegacyClaims_FirstUserKeepsSharedNumber() {
+        System.out.println("🧪 Test: Seeding from existing numbers");
+        // Given - u1 and u2 both wear 10 in t1; u2 is also on t2
+        Map<String, List<String>> teamsByUser = new HashMap<>();
+        teamsByUser.put("u1", Collections.singletonList("t1"));
+        teamsByUser.put("u2", Arrays.asList("t1", "t2"));
+        teamsByUser.put("u3", Collections.singletonList("t1"));
+        Map<String, String> numberByUser = new HashMap<>();
+        numberByUser.put("u2", "10");
+        numberByUser.put("u1", "10");
+        numberByUser.put("u3", "");
+        Map<String, Object> updates = new HashMap<>();
+
+        // When
+        int duplicates = TeamJerseys.putLegacyClaims(updates, teamsByUser, numberByUser);
+
+        // Then
+        assertEquals(1, duplicates);
+        assertEquals("u1", updates.get("teamJerseys/t1/10"));
+        assertEquals("u2", updates.get("teamJerseys/t2/10"));
+        assertEquals(2, updates.size());
+    }
+}
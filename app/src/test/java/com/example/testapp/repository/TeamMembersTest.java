@@ -0,0 +1,87 @@
+package com.example.testapp.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for TeamMembers
+ *
+ * Tests the fan-out writes that keep teamMembers/{teamId}/{userId} in step with
+ * users/{userId}/teamIds, and reading a team's node back
+ */
+public class TeamMembersTest {
+
+    /**
+     * Test 1: Joining a team
+     * Tests: The user's teams, the legacy teamId and the new index entry go in one update
+     */
+    @Test
+    public void testPutTeams_JoinWritesIndexEntry() {
+        System.out.println("🧪 Test: Joining a team");
+        // Given
+        Map<String, Object> updates = new HashMap<>();
+
+        // When
+        TeamMembers.putTeams(updates, "u1", "p1", Collections.singletonList("t1"), Arrays.asList("t1", "t2"));
+
+        // Then
+        assertEquals(Arrays.asList("t1", "t2"), updates.get("users/u1/teamIds"));
+        assertEquals("t1", updates.get("users/u1/teamId"));
+        assertEquals("p1", updates.get("teamMembers/t1/u1"));
+        assertEquals("p1", updates.get("teamMembers/t2/u1"));
+        assertEquals(4, updates.size());
+    }
+
+    /**
+     * Test 2: Leaving the last team
+     * Tests: The entries of teams left are cleared, and an empty team list clears both user fields
+     */
+    @Test
+    public void testPutTeams_LeaveClearsIndexEntry() {
+        System.out.println("🧪 Test: Leaving the last team");
+        // Given
+        Map<String, Object> updates = new HashMap<>();
+
+        // When - no player record known
+        TeamMembers.putTeams(updates, "u1", null, Collections.singletonList("t1"), Collections.emptyList());
+
+        // Then
+        assertTrue(updates.containsKey("teamMembers/t1/u1"));
+        assertNull(updates.get("teamMembers/t1/u1"));
+        assertTrue(updates.containsKey("users/u1/teamIds"));
+        assertNull(updates.get("users/u1/teamIds"));
+        assertNull(updates.get("users/u1/teamId"));
+        assertEquals(Boolean.TRUE, TeamMembers.entryValue(null));
+        assertEquals(Boolean.TRUE, TeamMembers.entryValue(""));
+    }
+
+    /**
+     * Test 3: Reading a team's node
+     * Tests: Members come back ordered by userId, with null for entries stored as true
+     */
+    @Test
+    public void testReadMembers_PlayerIdsAndFlags() {
+        System.out.println("🧪 Test: Reading a team's node");
+        // Given
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("u2", "p2");
+        raw.put("u1", true);
+        raw.put("u3", false);
+
+        // When
+        Map<String, String> members = TeamMembers.readMembers(raw);
+
+        // Then
+        assertEquals(Arrays.asList("u1", "u2"), new ArrayList<>(members.keySet()));
+        assertNull(members.get("u1"));
+        assertEquals("p2", members.get("u2"));
+        assertTrue(TeamMembers.readMembers(null).isEmpty());
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.testapp.repository;
+
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.DateUtils;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for TrainingConflictIndex
+ *
+ * Tests the in-memory (court, day) interval index that replaces
+ * the full court scan when adding a training
+ */
+public class TrainingConflictIndexTest {
+
+    private static final TimeZone ISRAEL_TIMEZONE = TimeZone.getTimeZone("Asia/Jerusalem");
+
+    private TrainingConflictIndex index;
+    private long monday;
+    private long tuesday;
+
+    @Before
+    public void setUp() {
+        index = new TrainingConflictIndex();
+        monday = dateAt(2024, Calendar.JANUARY, 8, 10);
+        tuesday = dateAt(2024, Calendar.JANUARY, 9, 10);
+    }
+
+    private long dateAt(int year, int month, int day, int hour) {
+        Calendar calendar = Calendar.getInstance(ISRAEL_TIMEZONE);
+        calendar.clear();
+        calendar.set(year, month, day, hour, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private Training training(String id, String courtId, long date, String start, String end) {
+        Training training = new Training();
+        training.setTrainingId(id);
+        training.setCourtId(courtId);
+        training.setDate(date);
+        training.setStartTime(start);
+        training.setEndTime(end);
+        return training;
+    }
+
+    /**
+     * Test 1: Overlapping training on the same court and day
+     * Tests: findConflict() returns the existing training
+     */
+    @Test
+    public void testFindConflict_Overlap_ReturnsExisting() {
+        System.out.println("🧪 Test: Overlapping training is a conflict");
+        // Given
+        Training existing = training("t1", "court1", monday, "18:00", "20:00");
+        index.put("t1", existing);
+
+        // When
+        Training conflict = index.findConflict(training(null, "court1", monday, "19:00", "21:00"));
+
+        // Then
+        assertSame(existing, conflict);
+    }
+
+    /**
+     * Test 2: Back-to-back trainings do not conflict
+     * Tests: Half-open ranges - end of one equals start of the next
+     */
+    @Test
+    public void testFindConflict_BackToBack_NoConflict() {
+        System.out.println("🧪 Test: Back-to-back trainings");
+        // Given
+        index.put("t1", training("t1", "court1", monday, "18:00", "20:00"));
+
+        // Then
+        assertNull(index.findConflict(training(null, "court1", monday, "20:00", "22:00")));
+        assertNull(index.findConflict(training(null, "court1", monday, "16:00", "18:00")));
+    }
+
+    /**
+     * Test 3: Different court or different day
+     * Tests: Buckets are separated by court and by calendar day
+     */
+    @Test
+    public void testFindConflict_DifferentCourtOrDay_NoConflict() {
+        System.out.println("🧪 Test: Different court / day");
+        // Given
+        index.put("t1", training("t1", "court1", monday, "18:00", "20:00"));
+
+        // Then
+        assertNull(index.findConflict(training(null, "court2", monday, "18:00", "20:00")));
+        assertNull(index.findConflict(training(null, "court1", tuesday, "18:00", "20:00")));
+        // Same day at a different hour of the timestamp still matches
+        assertNotNull(index.findConflict(training(null, "court1", dateAt(2024, Calendar.JANUARY, 8, 23), "18:30", "19:00")));
+    }
+
+    /**
+     * Test 4: Removing and replacing entries
+     * Tests: remove() frees the slot, put() with the same key moves the training
+     */
+    @Test
+    public void testRemoveAndReplace_UpdatesIndex() {
+        System.out.println("🧪 Test: Remove and replace");
+        // Given
+        index.put("t1", training("t1", "court1", monday, "18:00", "20:00"));
+
+        // When - move the training to Tuesday
+        index.put("t1", training("t1", "court1", tuesday, "18:00", "20:00"));
+
+        // Then
+        assertEquals(1, index.size());
+        assertNull(index.findConflict(training(null, "court1", monday, "18:00", "20:00")));
+        assertNotNull(index.findConflict(training(null, "court1", tuesday, "18:00", "20:00")));
+
+        // When
+        index.remove("t1");
+
+        // Then
+        assertEquals(0, index.size());
+        assertNull(index.findConflict(training(null, "court1", tuesday, "18:00", "20:00")));
+    }
+
+    /**
+     * Test 5: Editing a training does not clash with itself
+     * Tests: A candidate carrying an indexed id ignores its own entry only
+     */
+    @Test
+    public void testFindConflict_IgnoresOwnEntry() {
+        System.out.println("🧪 Test: Edited training ignores itself");
+        // Given
+        index.put("t1", training("t1", "court1", monday, "18:00", "20:00"));
+        index.put("t2", training("t2", "court1", monday, "20:00", "21:00"));
+
+        // Then
+        assertNull(index.findConflict(training("t1", "court1", monday, "18:30", "20:00")));
+        assertNotNull(index.findConflict(training("t1", "court1", monday, "18:30", "20:30")));
+    }
+
+    /**
+     * Test 6: Invalid data is never reported as a conflict
+     * Tests: Same rule as Training.conflictsWith() - bad times are skipped
+     */
+    @Test
+    public void testInvalidTimes_Ignored() {
+        System.out.println("🧪 Test: Invalid times ignored");
+        // Given
+        index.put("bad", training("bad", "court1", monday, "invalid", "20:00"));
+        index.put("noCourt", training("noCourt", null, monday, "18:00", "20:00"));
+
+        // Then
+        assertEquals(0, index.size());
+        assertNull(index.findConflict(training(null, "court1", monday, "18:00", "20:00")));
+    }
+
+    /**
+     * Test 7: Many bookings on the same day
+     * Tests: Results match a brute-force scan after inserts and removals
+     */
+    @Test
+    public void testManyBookings_MatchesBruteForce() {
+        System.out.println("🧪 Test: Many bookings vs brute force");
+        // Given - every other 30-minute slot from 06:00 is booked, then every 4th removed
+        boolean[] booked = new boolean[48];
+        for (int slot = 12; slot < 46; slot += 2) {
+            index.put("s" + slot, training("s" + slot, "court1", monday, time(slot * 30), time(slot * 30 + 30)));
+            booked[slot] = true;
+        }
+        for (int slot = 12; slot < 46; slot += 4) {
+            index.remove("s" + slot);
+            booked[slot] = false;
+        }
+
+        // Then - every 30-minute query agrees with the array
+        for (int slot = 0; slot < 47; slot++) {
+            Training conflict = index.findConflict(training(null, "court1", monday, time(slot * 30), time(slot * 30 + 30)));
+            assertEquals("slot " + slot, booked[slot], conflict != null);
+        }
+    }
+
+    private String time(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    /**
+     * Test 8: Listing a court's day
+     * Tests: get() and getTrainingsOnDay() return indexed trainings ordered by start time
+     */
+    @Test
+    public void testGetTrainingsOnDay_OrderedByStart() {
+        System.out.println("🧪 Test: Trainings of one court day");
+        // Given
+        Training late = training("t1", "court1", monday, "20:00", "21:00");
+        Training early = training("t2", "court1", monday, "08:00", "09:00");
+        index.put("t1", late);
+        index.put("t2", early);
+        index.put("t3", training("t3", "court1", tuesday, "08:00", "09:00"));
+
+        // When
+        List<Training> day = index.getTrainingsOnDay("court1", DateUtils.getEpochDay(monday));
+
+        // Then
+        assertEquals(2, day.size());
+        assertSame(early, day.get(0));
+        assertSame(late, day.get(1));
+        assertSame(late, index.get("t1"));
+        assertNull(index.get("missing"));
+        assertTrue(index.getTrainingsOnDay("court2", DateUtils.getEpochDay(monday)).isEmpty());
+    }
+
+    /**
+     * Test 9: Emptied days are dropped
+     * Tests: Removing a day's last training keeps the neighbouring days and lets the day be booked again
+     */
+    @Test
+    public void testRemove_EmptiedDayDropped() {
+        System.out.println("🧪 Test: Emptied days are dropped");
+        // Given
+        long wednesday = dateAt(2024, Calendar.JANUARY, 10, 10);
+        index.put("t1", training("t1", "court1", monday, "18:00", "19:00"));
+        index.put("t2", training("t2", "court1", tuesday, "18:00", "19:00"));
+        index.put("t3", training("t3", "court1", wednesday, "18:00", "19:00"));
+
+        // When
+        index.remove("t2");
+
+        // Then
+        assertTrue(index.getTrainingsOnDay("court1", DateUtils.getEpochDay(tuesday)).isEmpty());
+        assertNotNull(index.findConflict(training("new1", "court1", monday, "18:30", "19:30")));
+        assertNotNull(index.findConflict(training("new2", "court1", wednesday, "18:30", "19:30")));
+        assertNull(index.findConflict(training("new3", "court1", tuesday, "18:30", "19:30")));
+
+        // The last day of a court goes too, and the court can still be booked afterwards
+        index.remove("t1");
+        index.remove("t3");
+        index.put("t4", training("t4", "court1", tuesday, "10:00", "11:00"));
+        assertEquals(1, index.getTrainingsOnDay("court1", DateUtils.getEpochDay(tuesday)).size());
+        assertNull(index.findConflict(training("new4", "court1", monday, "18:30", "19:30")));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.Training;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for CourtTimeline
+ *
+ * Tests the row list behind the all-courts timeline: sections, day headers and diff keys
+ */
+public class CourtTimelineTest {
+
+    // 2024-03-24, a Sunday
+    private static final long FIRST_DAY = DateUtils.getEpochDay(1711281600000L);
+
+    private Court court(String id, String name) {
+        return new Court(id, name, "Hall", "08:00", "22:00");
+    }
+
+    private Training training(String id, String color, int dayIndex, String start, String end) {
+        return new Training(id, "team1", "Team", color, "court1", "Court", "", start, end,
+                DateUtils.getStartOfEpochDay(FIRST_DAY + dayIndex) + 60 * 60 * 1000L);
+    }
+
+    /**
+     * Test 1: One section per court
+     * Tests: Trainings are sorted by day and time, grouped under one header per day, and point at their header
+     */
+    @Test
+    public void testAddCourt_GroupsTrainingsByDay() {
+        System.out.println("🧪 Test: One section per court");
+        // Given - out of order, two on Tuesday
+        List<Training> trainings = Arrays.asList(
+                training("t1", "#FF0000", 2, "18:00", "19:00"),
+                training("t2", "#FF0000", 0, "10:00", "11:00"),
+                training("t3", "#FF0000", 2, "09:00", "10:00"));
+        CourtTimeline timeline = new CourtTimeline(null);
+
+        // When
+        timeline.addCourt(court("court1", "Main"), 3, trainings);
+
+        // Then - court, Sunday, t2, Tuesday, t3, t1
+        List<CourtTimeline.Row> rows = timeline.getRows();
+        assertEquals(6, rows.size());
+        assertEquals(CourtTimeline.TYPE_COURT, rows.get(0).getType());
+        assertEquals("Main", rows.get(0).getCourtName());
+        assertEquals(3, rows.get(0).getCount());
+        assertEquals(CourtTimeline.NO_HEADER, rows.get(0).getDayHeaderPosition());
+        assertEquals(CourtTimeline.TYPE_DAY, rows.get(1).getType());
+        assertEquals(FIRST_DAY, rows.get(1).getEpochDay());
+        assertEquals("t2", rows.get(2).getTraining().getTrainingId());
+        assertEquals(1, rows.get(2).getDayHeaderPosition());
+        assertEquals(CourtTimeline.TYPE_DAY, rows.get(3).getType());
+        assertEquals("t3", rows.get(4).getTraining().getTrainingId());
+        assertEquals("t1", rows.get(5).getTraining().getTrainingId());
+        assertEquals(3, rows.get(5).getDayHeaderPosition());
+        assertEquals(3, rows.get(3).getDayHeaderPosition());
+    }
+
+    /**
+     * Test 2: Empty courts and team colors
+     * Tests: A court without trainings gets an "empty" row, and trainings without a color take their team's
+     */
+    @Test
+    public void testAddCourt_EmptyRowAndTeamColor() {
+        System.out.println("🧪 Test: Empty courts and team colors");
+        // Given
+        CourtTimeline timeline = new CourtTimeline(Collections.singletonMap("team1", "#00FF00"));
+
+        // When
+        timeline.addCourt(court("court1", "Main"), 0, Collections.emptyList());
+        timeline.addCourt(court("court2", "Side"), 1,
+                Collections.singletonList(training("t1", "", 1, "18:00", "19:00")));
+
+        // Then
+        List<CourtTimeline.Row> rows = timeline.getRows();
+        assertEquals(5, rows.size());
+        assertEquals(CourtTimeline.TYPE_EMPTY, rows.get(1).getType());
+        assertEquals(CourtTimeline.TYPE_COURT, rows.get(2).getType());
+        assertEquals("#00FF00", rows.get(4).getColor());
+    }
+
+    /**
+     * Test 3: Keys and contents for diffing
+     * Tests: Rebuilt rows keep their keys; only a row whose shown values changed differs in content
+     */
+    @Test
+    public void testRows_StableKeysAndContent() {
+        System.out.println("🧪 Test: Keys and contents for diffing");
+        // Given
+        CourtTimeline before = new CourtTimeline(null);
+        before.addCourt(court("court1", "Main"), 2, Arrays.asList(
+                training("t1", "#FF0000", 0, "10:00", "11:00"),
+                training("t2", "#FF0000", 0, "12:00", "13:00")));
+
+        // When - the same data, with t2 moved by half an hour
+        CourtTimeline after = new CourtTimeline(null);
+        after.addCourt(court("court1", "Main"), 2, Arrays.asList(
+                training("t1", "#FF0000", 0, "10:00", "11:00"),
+                training("t2", "#FF0000", 0, "12:30", "13:30")));
+
+        // Then
+        List<CourtTimeline.Row> old = before.getRows();
+        List<CourtTimeline.Row> rows = after.getRows();
+        assertEquals(old.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(old.get(i).getKey(), rows.get(i).getKey());
+        }
+        assertTrue(old.get(0).sameContentAs(rows.get(0)));
+        assertTrue(old.get(2).sameContentAs(rows.get(2)));
+        assertFalse(old.get(3).sameContentAs(rows.get(3)));
+        assertNotEquals(rows.get(2).getKey(), rows.get(3).getKey());
+    }
+}
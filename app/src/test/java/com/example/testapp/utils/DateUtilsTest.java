@@ -151,6 +151,33 @@ public class DateUtilsTest {
         assertEquals("15/01/2024 14:30", formattedDateTime);
     }
 
+    @Test
+    public void formatDayKey_LateEvening_UsesIsraelDay() {
+        System.out.println("🧪 Testing day key format");
+        Calendar calendar = Calendar.getInstance(ISRAEL_TIMEZONE, HEBREW_LOCALE);
+        calendar.set(2024, Calendar.MARCH, 5, 23, 30, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        
+        long timestamp = calendar.getTimeInMillis();
+        
+        assertEquals("20240305", DateUtils.formatDayKey(timestamp));
+    }
+
+    @Test
+    public void epochDay_RoundTrip_MidnightAndWeekday() {
+        System.out.println("🧪 Testing epoch day helpers");
+        Calendar calendar = Calendar.getInstance(ISRAEL_TIMEZONE, HEBREW_LOCALE);
+        calendar.set(2024, Calendar.MARCH, 5, 0, 0, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        
+        long midnight = calendar.getTimeInMillis();
+        long epochDay = DateUtils.getEpochDay(midnight + 15 * 60 * 60 * 1000L);
+        
+        assertEquals(midnight, DateUtils.getStartOfEpochDay(epochDay));
+        assertEquals(Calendar.TUESDAY, DateUtils.getDayOfWeekOfEpochDay(epochDay));
+        assertEquals(Calendar.THURSDAY, DateUtils.getDayOfWeekOfEpochDay(0));
+    }
+
     @Test
     public void getCurrentIsraeliTime_ReturnsNonZero() {
         System.out.println("🧪 Testing current Israeli time");
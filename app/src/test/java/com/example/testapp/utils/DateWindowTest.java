@@ -0,0 +1,82 @@
+package com.example.testapp.utils;
+
+import org.junit.Test;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for DateWindow
+ *
+ * Tests the week and month windows used to load only
+ * the trainings a screen is showing
+ */
+public class DateWindowTest {
+
+    private long at(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day);
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * Test 1: Week window bounds
+     * Tests: A week covers [Sunday, next Sunday) and its neighbours touch it
+     */
+    @Test
+    public void testWeek_BoundsAndNeighbours() {
+        System.out.println("🧪 Test: Week window");
+        // Given
+        DateWindow week = DateWindow.week(at(2024, Calendar.JANUARY, 7));
+
+        // Then
+        assertEquals(at(2024, Calendar.JANUARY, 14), week.getEnd());
+        assertEquals(week.getEnd(), week.next().getStart());
+        assertEquals(at(2023, Calendar.DECEMBER, 31), week.previous().getStart());
+        assertEquals(week, week.next().previous());
+        assertTrue(week.contains(at(2024, Calendar.JANUARY, 13)));
+        assertFalse(week.contains(week.getEnd()));
+    }
+
+    /**
+     * Test 2: Month window bounds
+     * Tests: Months follow the calendar, not a fixed number of days
+     */
+    @Test
+    public void testMonth_FollowsCalendar() {
+        System.out.println("🧪 Test: Month window");
+        // Given
+        DateWindow february = DateWindow.month(at(2024, Calendar.FEBRUARY, 1));
+
+        // Then
+        assertEquals(at(2024, Calendar.MARCH, 1), february.getEnd());
+        assertEquals(at(2024, Calendar.JANUARY, 1), february.previous().getStart());
+        assertEquals(at(2024, Calendar.APRIL, 1), february.next().getEnd());
+    }
+
+    /**
+     * Test 3: Week across a DST change
+     * Tests: The next window starts at midnight even when the week is 167 hours long
+     */
+    @Test
+    public void testWeek_AcrossDstChange() {
+        System.out.println("🧪 Test: Week across DST");
+        TimeZone original = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Jerusalem"));
+        try {
+            // Given - Israel moved clocks forward on Friday 29/03/2024
+            DateWindow week = DateWindow.week(at(2024, Calendar.MARCH, 24));
+
+            // When
+            DateWindow next = week.next();
+
+            // Then
+            assertEquals(at(2024, Calendar.MARCH, 31), next.getStart());
+            assertEquals(167L * 60 * 60 * 1000, next.getStart() - week.getStart());
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+}
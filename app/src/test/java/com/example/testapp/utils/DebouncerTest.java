@@ -0,0 +1,127 @@
+package com.example.testapp.utils;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for Debouncer
+ *
+ * Tests the coalescing, cancellable background filtering of the trainings list
+ */
+public class DebouncerTest {
+
+    private static final long DELAY_MS = 30;
+
+    /**
+     * Test 1: A burst is computed once
+     * Tests: Fifty quick submits run one computation and publish only the last request
+     */
+    @Test
+    public void testSubmit_CoalescesBurst() throws InterruptedException {
+        System.out.println("🧪 Test: A burst is computed once");
+        // Given
+        List<Integer> published = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Debouncer<Integer> debouncer = new Debouncer<>(DELAY_MS, result -> {
+            published.add(result);
+            done.countDown();
+        });
+        AtomicInteger computations = new AtomicInteger();
+
+        // When - like "select all" on fifty team chips
+        for (int i = 1; i <= 50; i++) {
+            final int value = i;
+            debouncer.submit(() -> {
+                computations.incrementAndGet();
+                return value;
+            });
+        }
+
+        // Then
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        Thread.sleep(DELAY_MS * 3);
+        assertEquals(1, computations.get());
+        assertEquals(Collections.singletonList(50), published);
+    }
+
+    /**
+     * Test 2: Superseded computations are discarded
+     * Tests: A request overtaken while running finishes but never publishes; the newer one does
+     */
+    @Test
+    public void testSubmit_DiscardsOvertakenResult() throws InterruptedException {
+        System.out.println("🧪 Test: Superseded computations are discarded");
+        // Given - a slow first computation
+        List<String> published = new CopyOnWriteArrayList<>();
+        CountDownLatch secondPublished = new CountDownLatch(1);
+        Debouncer<String> debouncer = new Debouncer<>(DELAY_MS, result -> {
+            published.add(result);
+            if ("second".equals(result)) secondPublished.countDown();
+        });
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        debouncer.submit(() -> {
+            started.countDown();
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+
+        // When - a newer request arrives while the first is running
+        debouncer.submit(() -> "second");
+        release.countDown();
+
+        // Then
+        assertTrue(secondPublished.await(2, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("second"), published);
+    }
+
+    /**
+     * Test 3: Cancelling and filter snapshots
+     * Tests: cancel drops a waiting request, and a filter copy ignores later edits of the screen's sets
+     */
+    @Test
+    public void testCancel_AndFilterCopy() throws InterruptedException {
+        System.out.println("🧪 Test: Cancelling and filter snapshots");
+        // Given
+        AtomicInteger computations = new AtomicInteger();
+        Debouncer<Integer> debouncer = new Debouncer<>(DELAY_MS, result -> { });
+        debouncer.submit(computations::incrementAndGet);
+
+        // When
+        debouncer.cancel();
+        Thread.sleep(DELAY_MS * 3);
+
+        // Then
+        assertEquals(0, computations.get());
+
+        // Given - the screen's own selection set
+        Set<String> selectedTeamIds = new HashSet<>(Collections.singletonList("team1"));
+        TrainingFilter filter = new TrainingFilter();
+        filter.setTeamIds(selectedTeamIds);
+        filter.setHidePast(false);
+
+        // When
+        TrainingFilter copy = filter.copy();
+        selectedTeamIds.add("team2");
+
+        // Then
+        assertEquals(Collections.singleton("team1"), copy.getTeamIds());
+        assertFalse(copy.isHidePast());
+        assertNull(copy.getDays());
+    }
+}
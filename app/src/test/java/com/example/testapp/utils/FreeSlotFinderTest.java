@@ -0,0 +1,119 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.TimeSlot;
+import com.example.testapp.models.Training;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for FreeSlotFinder
+ *
+ * Tests the free-window search behind "find a free slot"
+ */
+public class FreeSlotFinderTest {
+
+    // 2024-03-05, a Tuesday
+    private static final long EPOCH_DAY = DateUtils.getEpochDay(1709640000000L);
+    private static final long DAY_START = DateUtils.getStartOfEpochDay(EPOCH_DAY);
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private Court court(String courtId, String name, String type) {
+        Court court = new Court(courtId, name, "Location", "08:00", "12:00");
+        court.setCourtType(type);
+        for (int day = 1; day <= 7; day++) {
+            court.setScheduleForDay(day, new DaySchedule(true, "08:00", "12:00"));
+        }
+        return court;
+    }
+
+    private Training training(String id, String teamId, String courtId, long epochDay, String start, String end) {
+        return new Training(id, teamId, "Team", "#FF0000", courtId, "Court", "", start, end,
+                DateUtils.getStartOfEpochDay(epochDay));
+    }
+
+    private String starts(List<TimeSlot> slots) {
+        StringBuilder sb = new StringBuilder();
+        for (TimeSlot slot : slots) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(slot.getStartTime());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Test 1: Opening hours and bookings
+     * Tests: Windows fit inside the court's hours, skip bookings, and those next to a booking rank first
+     */
+    @Test
+    public void testFind_RespectsHoursAndRanksAdjacentFirst() {
+        System.out.println("🧪 Test: Opening hours and bookings");
+        // Given - court1 is open 08:00-12:00 and booked 09:00-10:00
+        OccupancyGrid grid = new OccupancyGrid();
+        grid.put("t1", training("t1", "team2", "court1", EPOCH_DAY, "09:00", "10:00"));
+        FreeSlotFinder.Query query = new FreeSlotFinder.Query("team1", 60, DAY_START, DAY_START + DAY_MILLIS);
+
+        // When
+        List<TimeSlot> slots = FreeSlotFinder.find(query, Collections.singletonList(court("court1", "A", "כדורסל")), grid);
+
+        // Then
+        assertEquals("08:00,10:00,10:30,11:00", starts(slots));
+        assertEquals("09:00", slots.get(0).getEndTime());
+        assertEquals("court1", slots.get(0).getCourtId());
+        assertEquals(DAY_START, slots.get(0).getDate());
+    }
+
+    /**
+     * Test 2: The team's own trainings
+     * Tests: A window may not overlap the team's training on another court, and days it already trains rank last
+     */
+    @Test
+    public void testFind_AvoidsTeamClashesAndBusyDays() {
+        System.out.println("🧪 Test: Team's own trainings");
+        // Given - team1 trains 10:00-11:00 on court2 on the first day
+        OccupancyGrid grid = new OccupancyGrid();
+        grid.put("t1", training("t1", "team1", "court2", EPOCH_DAY, "10:00", "11:00"));
+        FreeSlotFinder.Query query = new FreeSlotFinder.Query("team1", 60, DAY_START, DAY_START + 2 * DAY_MILLIS)
+                .setStepMinutes(60);
+
+        // When
+        List<TimeSlot> slots = FreeSlotFinder.find(query, Collections.singletonList(court("court1", "A", "כדורסל")), grid);
+
+        // Then - the free second day comes first
+        assertEquals("08:00,09:00,10:00,11:00,08:00,09:00,11:00", starts(slots));
+        assertEquals(DAY_START + DAY_MILLIS, slots.get(0).getDate());
+        assertEquals(DAY_START, slots.get(6).getDate());
+    }
+
+    /**
+     * Test 3: Court type, day and start filters
+     * Tests: Only matching courts and weekdays are searched, from the query's start time on
+     */
+    @Test
+    public void testFind_AppliesFilters() {
+        System.out.println("🧪 Test: Court type, day and start filters");
+        // Given - a week starting at 10:00 on a Tuesday, Tuesdays only, basketball courts only
+        List<Court> courts = Arrays.asList(court("court1", "A", "כדורסל"), court("court2", "B", "כדורגל"));
+        FreeSlotFinder.Query query = new FreeSlotFinder.Query("team1", 120,
+                DAY_START + 10 * 60 * 60 * 1000L, DateUtils.getStartOfEpochDay(EPOCH_DAY + 7))
+                .setCourtTypes(new HashSet<>(Collections.singletonList("כדורסל")))
+                .setDaysOfWeek(new HashSet<>(Collections.singletonList(3)));
+
+        // When
+        List<TimeSlot> slots = FreeSlotFinder.find(query, courts, new OccupancyGrid());
+
+        // Then
+        assertEquals(1, slots.size());
+        assertEquals("court1", slots.get(0).getCourtId());
+        assertEquals("10:00", slots.get(0).getStartTime());
+        assertEquals("12:00", slots.get(0).getEndTime());
+    }
+}
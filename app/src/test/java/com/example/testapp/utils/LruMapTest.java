@@ -0,0 +1,68 @@
+package com.example.testapp.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for LruMap
+ *
+ * Tests the size bound and least-recently-used eviction of the player id cache
+ */
+public class LruMapTest {
+
+    /**
+     * Test 1: Size bound
+     * Tests: Adding past maxSize drops the oldest entry
+     */
+    @Test
+    public void testPut_EvictsOldestPastMaxSize() {
+        System.out.println("🧪 Test: Size bound");
+        // Given
+        LruMap<String, String> map = new LruMap<>(2);
+
+        // When
+        map.put("u1", "p1");
+        map.put("u2", "p2");
+        map.put("u3", "p3");
+
+        // Then
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("u1"));
+        assertEquals("p3", map.get("u3"));
+    }
+
+    /**
+     * Test 2: Reads count as use
+     * Tests: An entry read recently survives an eviction that drops an older unread one
+     */
+    @Test
+    public void testGet_KeepsRecentlyReadEntry() {
+        System.out.println("🧪 Test: Reads count as use");
+        // Given
+        LruMap<String, String> map = new LruMap<>(2);
+        map.put("u1", "p1");
+        map.put("u2", "p2");
+
+        // When
+        map.get("u1");
+        map.put("u3", "p3");
+
+        // Then
+        assertTrue(map.containsKey("u1"));
+        assertFalse(map.containsKey("u2"));
+    }
+
+    /**
+     * Test 3: Invalid size
+     * Tests: A map that could hold nothing is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsZeroSize() {
+        System.out.println("🧪 Test: Invalid size");
+        // Given / When
+        new LruMap<String, String>(0);
+
+        // Then - exception expected
+    }
+}
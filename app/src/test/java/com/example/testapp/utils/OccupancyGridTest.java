@@ -0,0 +1,87 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Training;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for OccupancyGrid
+ *
+ * Tests the half-hour bitmasks behind the schedule grid
+ */
+public class OccupancyGridTest {
+
+    // 2024-03-05 12:00 UTC, 14:00 in Israel
+    private static final long DATE = 1709640000000L;
+    private static final long EPOCH_DAY = DateUtils.getEpochDay(DATE);
+
+    private Training training(String id, String courtId, String start, String end) {
+        return new Training(id, "team1", "Team", "#FF0000", courtId, "Court", "Tuesday", start, end, DATE);
+    }
+
+    /**
+     * Test 1: Cells of a training
+     * Tests: A training sets every half-hour cell it overlaps, rounding outwards
+     */
+    @Test
+    public void testPut_SetsOverlappedCells() {
+        System.out.println("🧪 Test: Cells of a training");
+        // Given
+        OccupancyGrid grid = new OccupancyGrid();
+
+        // When - 16:15-17:00 touches the 16:00 and 16:30 cells
+        grid.put("t1", training("t1", "court1", "16:15", "17:00"));
+
+        // Then
+        assertEquals(OccupancyGrid.rangeMask(16 * 60, 17 * 60), grid.getMask("court1", EPOCH_DAY));
+        assertTrue(grid.isOccupied("court1", EPOCH_DAY, 32));
+        assertTrue(grid.isOccupied("court1", EPOCH_DAY, 33));
+        assertFalse(grid.isOccupied("court1", EPOCH_DAY, 34));
+        assertEquals(0L, grid.getMask("court2", EPOCH_DAY));
+        assertEquals(0L, grid.getMask("court1", EPOCH_DAY + 1));
+    }
+
+    /**
+     * Test 2: Free ranges use exact times
+     * Tests: A range sharing a partly booked cell is still free if the times don't overlap
+     */
+    @Test
+    public void testIsFree_ChecksExactTimesInSharedCell() {
+        System.out.println("🧪 Test: Free ranges");
+        // Given
+        OccupancyGrid grid = new OccupancyGrid();
+        Training booked = training("t1", "court1", "16:00", "17:15");
+        grid.put("t1", booked);
+
+        // Then
+        assertTrue(grid.isFree("court1", EPOCH_DAY, 17 * 60 + 15, 18 * 60));
+        assertFalse(grid.isFree("court1", EPOCH_DAY, 17 * 60, 18 * 60));
+        assertSame(booked, grid.getTrainingAt("court1", EPOCH_DAY, 34));
+        assertNull(grid.getTrainingAt("court1", EPOCH_DAY, 35));
+    }
+
+    /**
+     * Test 3: Removing and replacing by key
+     * Tests: The mask is rebuilt from the trainings left on that day
+     */
+    @Test
+    public void testRemoveAndReplace_KeepMaskInStep() {
+        System.out.println("🧪 Test: Remove and replace");
+        // Given
+        OccupancyGrid grid = new OccupancyGrid();
+        grid.put("t1", training("t1", "court1", "16:00", "17:00"));
+        grid.put("t2", training("t2", "court1", "16:30", "18:00"));
+
+        // When
+        grid.remove("t2");
+        grid.put("t1", training("t1", "court1", "10:00", "10:30"));
+
+        // Then
+        assertEquals(1, grid.size());
+        assertEquals(OccupancyGrid.rangeMask(10 * 60, 10 * 60 + 30), grid.getMask("court1", EPOCH_DAY));
+        grid.put("bad", training("bad", "court1", "25:00", "26:00"));
+        assertEquals(1, grid.size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Training;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for ScheduleBuckets
+ *
+ * Tests the per-day grouping of the schedule grid and the epoch days it relies on
+ */
+public class ScheduleBucketsTest {
+
+    // 2024-03-24, a Sunday; Israel moves to summer time on Friday 2024-03-29
+    private static final long FIRST_DAY = DateUtils.getEpochDay(1711281600000L);
+    private static final long MINUTE = 60 * 1000L;
+
+    private Training training(String id, String courtId, long epochDay, int startMinutes) {
+        return new Training(id, "team1", "Team", "#FF0000", courtId, "Court", "", "18:00", "19:00",
+                DateUtils.getStartOfEpochDay(epochDay) + startMinutes * MINUTE);
+    }
+
+    /**
+     * Test 1: Day buckets of one court
+     * Tests: Trainings land on their day index; other courts and other weeks are skipped
+     */
+    @Test
+    public void testByDayIndex_GroupsOneCourtsWeek() {
+        System.out.println("🧪 Test: Day buckets of one court");
+        // Given
+        List<Training> trainings = Arrays.asList(
+                training("t1", "court1", FIRST_DAY, 18 * 60),
+                training("t2", "court1", FIRST_DAY + 2, 10 * 60),
+                training("t3", "court1", FIRST_DAY + 2, 18 * 60),
+                training("t4", "court2", FIRST_DAY + 2, 18 * 60),
+                training("t5", "court1", FIRST_DAY - 1, 18 * 60),
+                training("t6", "court1", FIRST_DAY + 7, 18 * 60));
+
+        // When
+        Map<Integer, List<Training>> buckets = ScheduleBuckets.byDayIndex(trainings, "court1", FIRST_DAY);
+
+        // Then
+        assertEquals(2, buckets.size());
+        assertEquals("t1", buckets.get(0).get(0).getTrainingId());
+        assertEquals(2, buckets.get(2).size());
+        assertEquals("t2", buckets.get(2).get(0).getTrainingId());
+        assertEquals("t3", buckets.get(2).get(1).getTrainingId());
+    }
+
+    /**
+     * Test 2: Daylight saving week
+     * Tests: Every day of the week Israel changes clocks gets its own bucket, late trainings included
+     */
+    @Test
+    public void testByDayIndex_HandlesDaylightSavingWeek() {
+        System.out.println("🧪 Test: Daylight saving week");
+        // Given - one late training on each day of the week (22:30 elapsed since midnight)
+        List<Training> trainings = new ArrayList<>();
+        for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+            trainings.add(training("t" + dayIndex, "court1", FIRST_DAY + dayIndex, 22 * 60 + 30));
+        }
+
+        // When
+        Map<Integer, List<Training>> buckets = ScheduleBuckets.byDayIndex(trainings, "court1", FIRST_DAY);
+
+        // Then
+        assertEquals(7, buckets.size());
+        for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+            assertEquals("t" + dayIndex, buckets.get(dayIndex).get(0).getTrainingId());
+        }
+    }
+
+    /**
+     * Test 3: Cached epoch day of a training
+     * Tests: The epoch day follows setDate, and same-day conflicts use the local day, not UTC
+     */
+    @Test
+    public void testTrainingEpochDay_FollowsDateAndDrivesConflicts() {
+        System.out.println("🧪 Test: Cached epoch day of a training");
+        // Given - 00:30 local time is still the previous day in UTC
+        Training early = training("t1", "court1", FIRST_DAY + 1, 30);
+        Training late = training("t2", "court1", FIRST_DAY, 30);
+        late.setStartTime("00:00");
+        late.setEndTime("01:00");
+        early.setStartTime("00:00");
+        early.setEndTime("01:00");
+
+        // Then
+        assertEquals(FIRST_DAY + 1, early.getEpochDay());
+        assertFalse(early.conflictsWith(late));
+
+        // When - moving it onto the same local day
+        late.setDate(DateUtils.getStartOfEpochDay(FIRST_DAY + 1) + 45 * MINUTE);
+
+        // Then
+        assertEquals(FIRST_DAY + 1, late.getEpochDay());
+        assertTrue(early.conflictsWith(late));
+    }
+}
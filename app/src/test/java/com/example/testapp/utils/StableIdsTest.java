@@ -0,0 +1,72 @@
+package com.example.testapp.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for StableIds
+ *
+ * Tests the RecyclerView item ids handed out per model key
+ */
+public class StableIdsTest {
+
+    /**
+     * Test 1: One id per key
+     * Tests: The same key always gets the same id, and different keys different ids
+     */
+    @Test
+    public void testIdOf_SameKeySameId() {
+        System.out.println("🧪 Test: One id per key");
+        // Given
+        StableIds ids = new StableIds();
+
+        // When
+        long first = ids.idOf("t1");
+        long second = ids.idOf("t2");
+
+        // Then
+        assertEquals(first, ids.idOf("t1"));
+        assertEquals(second, ids.idOf("t2"));
+        assertNotEquals(first, second);
+        assertEquals(2, ids.size());
+    }
+
+    /**
+     * Test 2: No collisions
+     * Tests: Keys whose String hashes collide still get distinct ids
+     */
+    @Test
+    public void testIdOf_HashCollisionsStayDistinct() {
+        System.out.println("🧪 Test: No collisions");
+        // Given - "Aa" and "BB" share a hashCode
+        StableIds ids = new StableIds();
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        // When & Then
+        assertNotEquals(ids.idOf("Aa"), ids.idOf("BB"));
+    }
+
+    /**
+     * Test 3: Ids survive a key leaving the list
+     * Tests: A key that comes back after other keys were added keeps its first id, null included
+     */
+    @Test
+    public void testIdOf_KeptAcrossUpdates() {
+        System.out.println("🧪 Test: Ids survive a key leaving the list");
+        // Given
+        StableIds ids = new StableIds();
+        long removed = ids.idOf("team1");
+        long missing = ids.idOf(null);
+
+        // When - later lists without team1
+        for (int i = 2; i < 100; i++) {
+            ids.idOf("team" + i);
+        }
+
+        // Then
+        assertEquals(removed, ids.idOf("team1"));
+        assertEquals(missing, ids.idOf(null));
+        assertEquals(100, ids.size());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.Team;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for TimetableSolver
+ *
+ * Tests the weekly timetable built from the teams' practice demands
+ */
+public class TimetableSolverTest {
+
+    /** A court open only on the given days, at the given hours. */
+    private Court court(String courtId, String open, String close, int... days) {
+        Court court = new Court(courtId, "Court " + courtId, "Hall", open, close);
+        for (int day = 1; day <= 7; day++) {
+            court.setScheduleForDay(day, new DaySchedule(false, open, close));
+        }
+        for (int day : days) {
+            court.setScheduleForDay(day, new DaySchedule(true, open, close));
+        }
+        return court;
+    }
+
+    private Team team(String teamId, String coachId) {
+        return new Team(teamId, "Team " + teamId, "U14", "Intermediate", coachId, "Coach", "#FF0000");
+    }
+
+    /**
+     * Test 1: Hard rules of a full plan
+     * Tests: Sessions stay inside court hours, never share a court, and a team trains once a day
+     */
+    @Test
+    public void testSolve_PlacesEverySessionWithoutConflicts() {
+        System.out.println("🧪 Test: Full plan without conflicts");
+        // Given - 2 courts open 16:00-22:00 Sunday to Thursday, 8 teams with 3 sessions of 90 minutes
+        List<Court> courts = Arrays.asList(court("c1", "16:00", "22:00", 1, 2, 3, 4, 5),
+                court("c2", "16:00", "22:00", 1, 2, 3, 4, 5));
+        List<TimetableSolver.Demand> demands = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            demands.add(new TimetableSolver.Demand(team("t" + i, "coach" + (i % 4)), 3, 90));
+        }
+
+        // When
+        TimetableSolver.Plan plan = new TimetableSolver(courts, demands).solve();
+
+        // Then
+        assertTrue(plan.isComplete());
+        assertEquals(24, plan.getSessions().size());
+        Set<String> teamDays = new HashSet<>();
+        List<TimetableSolver.Session> sessions = plan.getSessions();
+        for (int i = 0; i < sessions.size(); i++) {
+            TimetableSolver.Session a = sessions.get(i);
+            assertTrue(a.getStartMinutes() >= 16 * 60 && a.getEndMinutes() <= 22 * 60);
+            assertTrue(a.getDayOfWeek() >= 1 && a.getDayOfWeek() <= 5);
+            assertTrue(teamDays.add(a.getTeam().getTeamId() + "@" + a.getDayOfWeek()));
+            for (int j = i + 1; j < sessions.size(); j++) {
+                TimetableSolver.Session b = sessions.get(j);
+                boolean overlap = a.getDayOfWeek() == b.getDayOfWeek()
+                        && a.getStartMinutes() < b.getEndMinutes() && b.getStartMinutes() < a.getEndMinutes();
+                assertFalse(overlap && a.getCourt() == b.getCourt());
+                assertFalse(overlap && a.getTeam().getCoachId().equals(b.getTeam().getCoachId()));
+            }
+        }
+    }
+
+    /**
+     * Test 2: One coach, two places
+     * Tests: Two teams of the same coach are placed one after the other, even with a free second court
+     */
+    @Test
+    public void testSolve_CoachIsNeverInTwoPlaces() {
+        System.out.println("🧪 Test: Coach in one place at a time");
+        // Given - one evening on two courts, and the coach can't make the first half hour
+        List<Court> courts = Arrays.asList(court("c1", "16:00", "19:30", 1), court("c2", "16:00", "19:30", 1));
+        List<TimetableSolver.Demand> demands = Arrays.asList(
+                new TimetableSolver.Demand(team("t1", "coach1"), 1, 90),
+                new TimetableSolver.Demand(team("t2", "coach1"), 1, 90));
+        TimetableSolver solver = new TimetableSolver(courts, demands).blockCoach("coach1", 1, 16 * 60, 16 * 60 + 30);
+
+        // When
+        TimetableSolver.Plan plan = solver.solve();
+
+        // Then
+        assertTrue(plan.isComplete());
+        TimetableSolver.Session first = plan.getSessions().get(0);
+        TimetableSolver.Session second = plan.getSessions().get(1);
+        int firstStart = Math.min(first.getStartMinutes(), second.getStartMinutes());
+        int secondStart = Math.max(first.getStartMinutes(), second.getStartMinutes());
+        assertEquals(16 * 60 + 30, firstStart);
+        assertEquals(18 * 60, secondStart);
+    }
+
+    /**
+     * Test 3: Demands that don't fit
+     * Tests: Sessions without room are reported as unplaced, and blocked court time is left alone
+     */
+    @Test
+    public void testSolve_ReportsUnplacedSessions() {
+        System.out.println("🧪 Test: Unplaced sessions");
+        // Given - one court open 16:00-18:00 on Sunday, already taken 16:00-17:00
+        List<Court> courts = Collections.singletonList(court("c1", "16:00", "18:00", 1));
+        TimetableSolver.Demand demand = new TimetableSolver.Demand(team("t1", "coach1"), 2, 60);
+        TimetableSolver solver = new TimetableSolver(courts, Collections.singletonList(demand))
+                .blockCourt("c1", 1, 16 * 60, 17 * 60);
+
+        // When
+        TimetableSolver.Plan plan = solver.solve();
+
+        // Then
+        assertEquals(1, plan.getSessions().size());
+        assertEquals(17 * 60, plan.getSessions().get(0).getStartMinutes());
+        assertEquals(Collections.singletonList(demand), plan.getUnplaced());
+        assertEquals("17:00", plan.getSessions().get(0).toTraining(0).getStartTime());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Training;
+import com.example.testapp.models.TrainingSeries;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for TrainingFilterIndex
+ *
+ * Tests the bitmap index behind the trainings list filters
+ */
+public class TrainingFilterIndexTest {
+
+    private static final TimeZone ISRAEL_TIMEZONE = TimeZone.getTimeZone("Asia/Jerusalem");
+
+    private long at(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance(ISRAEL_TIMEZONE);
+        calendar.clear();
+        calendar.set(year, month, day, 12, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private Training training(String id, String teamId, String courtId, long date) {
+        return new Training(id, teamId, "Team", "#FF0000", courtId, "Court", "", "10:00", "11:00", date);
+    }
+
+    /**
+     * Test 1: Selections combine
+     * Tests: Team, court, day and month selections must all match; the weekday comes from the date
+     */
+    @Test
+    public void testApply_CombinesSelections() {
+        System.out.println("🧪 Test: Selections combine");
+        // Given - March 5, 2024 was a Tuesday
+        List<Training> trainings = Arrays.asList(
+                training("t1", "team1", "court1", at(2024, Calendar.MARCH, 5)),
+                training("t2", "team1", "court1", at(2024, Calendar.MARCH, 6)),
+                training("t3", "team1", "court1", at(2024, Calendar.APRIL, 2)),
+                training("t4", "team2", "court1", at(2024, Calendar.MARCH, 12)),
+                training("t5", "team1", "court2", at(2024, Calendar.MARCH, 19)),
+                training("t6", "team3", "court1", at(2024, Calendar.MARCH, 26)));
+        TrainingFilterIndex index = new TrainingFilterIndex();
+        for (Training training : trainings) {
+            index.put(training.getTrainingId(), training);
+        }
+        TrainingFilter filter = new TrainingFilter();
+        filter.setHidePast(false);
+        filter.setTeamIds(new HashSet<>(Arrays.asList("team1", "team2")));
+        filter.setCourtIds(new HashSet<>(Collections.singletonList("court1")));
+        filter.setDays(new HashSet<>(Collections.singletonList("Tuesday")));
+        filter.setMonths(new HashSet<>(Collections.singletonList(3)));
+
+        // When
+        List<Training> result = index.apply(filter, 0);
+
+        // Then
+        assertEquals(Arrays.asList(trainings.get(0), trainings.get(3)), result);
+    }
+
+    /**
+     * Test 2: Incremental updates
+     * Tests: Removed trainings leave every bitmap, changed ones move, and freed slots are reused
+     */
+    @Test
+    public void testPutAndRemove_UpdateBitmaps() {
+        System.out.println("🧪 Test: Incremental updates");
+        // Given
+        TrainingFilterIndex index = new TrainingFilterIndex();
+        index.put("t1", training("t1", "team1", "court1", at(2024, Calendar.MARCH, 5)));
+        index.put("t2", training("t2", "team1", "court1", at(2024, Calendar.MARCH, 6)));
+
+        // When - t1 is deleted, t2 moves to another team, t3 is added
+        index.remove("t1");
+        index.put("t2", training("t2", "team2", "court1", at(2024, Calendar.MARCH, 6)));
+        index.put("t3", training("t3", "team1", "court2", at(2024, Calendar.MARCH, 7)));
+
+        // Then
+        assertEquals(2, index.size());
+        List<Training> team1 = index.collect(index.select(Collections.singletonList("team1"), null, null, null, null));
+        assertEquals(1, team1.size());
+        assertEquals("t3", team1.get(0).getTrainingId());
+        List<Training> court1 = index.collect(index.select(null, null, Collections.singletonList("court1"), null, null));
+        assertEquals("team2", court1.get(0).getTeamId());
+        assertEquals(2, index.select(null, null, null, null, null).length());
+    }
+
+    /**
+     * Test 3: Series occurrences and the week filter
+     * Tests: Occurrences are replaced as a whole, survive a reload of the trainings, and "this week" uses the local week
+     */
+    @Test
+    public void testSetSeries_AndThisWeek() {
+        System.out.println("🧪 Test: Series occurrences and the week filter");
+        // Given - a Tuesday series for four weeks from March 5, and one plain training
+        long firstDay = DateUtils.getEpochDay(at(2024, Calendar.MARCH, 5));
+        TrainingSeries series = new TrainingSeries("s1", "team1", "court1", Calendar.TUESDAY,
+                18 * 60, 19 * 60, firstDay, firstDay + 21);
+        TrainingFilterIndex index = new TrainingFilterIndex();
+        index.put("t1", training("t1", "team2", "court1", at(2024, Calendar.MARCH, 14)));
+        index.setSeries(Collections.singletonList(series));
+
+        // When - the trainings are reloaded
+        index.clearTrainings();
+        index.put("t1", training("t1", "team2", "court1", at(2024, Calendar.MARCH, 14)));
+
+        // Then
+        assertEquals(5, index.size());
+        TrainingFilter thisWeek = new TrainingFilter();
+        thisWeek.setHidePast(false);
+        thisWeek.setOnlyThisWeek(true);
+        List<Training> week = index.apply(thisWeek, at(2024, Calendar.MARCH, 16));
+        assertEquals(2, week.size());
+        assertEquals(new HashSet<>(Arrays.asList("s1@" + (firstDay + 7), "t1")),
+                new HashSet<>(Arrays.asList(week.get(0).getTrainingId(), week.get(1).getTrainingId())));
+
+        // When - the series is deleted
+        index.setSeries(Collections.emptyList());
+
+        // Then
+        assertEquals(1, index.size());
+        assertEquals(12, DateUtils.getMonthOfEpochDay(DateUtils.getEpochDay(at(2023, Calendar.DECEMBER, 31))));
+        assertEquals(2, DateUtils.getMonthOfEpochDay(DateUtils.getEpochDay(at(2024, Calendar.FEBRUARY, 29))));
+    }
+}
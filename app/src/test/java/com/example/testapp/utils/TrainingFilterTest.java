@@ -0,0 +1,95 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Training;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for TrainingFilter
+ *
+ * Tests the selections of the trainings list and the past check behind "hide past"
+ */
+public class TrainingFilterTest {
+
+    private long at(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day);
+        return calendar.getTimeInMillis();
+    }
+
+    private Training training(String id, long date, String start, String end) {
+        return new Training(id, "team1", "Team", "#FF0000", "court1", "Court", "", start, end, date);
+    }
+
+    /**
+     * Test 1: Past on the same day
+     * Tests: A training counts as past only after its end time
+     */
+    @Test
+    public void testIsPast_AfterEndTime() {
+        System.out.println("🧪 Test: Past on the same day");
+        // Given
+        long day = at(2024, Calendar.MARCH, 5);
+        Training morning = training("t1", day, "08:00", "09:00");
+        Training evening = training("t2", day, "18:00", "19:00");
+        long noon = day + 12 * 60 * 60 * 1000L;
+
+        // When / Then
+        assertTrue(TrainingFilter.isPast(morning, noon));
+        assertFalse(TrainingFilter.isPast(evening, noon));
+    }
+
+    /**
+     * Test 2: Other days and unreadable trainings
+     * Tests: Earlier days are past, later days are not, and trainings without a date or end time never are
+     */
+    @Test
+    public void testIsPast_OtherDaysAndInvalidData() {
+        System.out.println("🧪 Test: Other days and unreadable trainings");
+        // Given
+        long day = at(2024, Calendar.MARCH, 5);
+        long noon = day + 12 * 60 * 60 * 1000L;
+
+        // When / Then
+        assertTrue(TrainingFilter.isPast(training("t1", at(2024, Calendar.MARCH, 4), "20:00", "21:00"), noon));
+        assertFalse(TrainingFilter.isPast(training("t2", at(2024, Calendar.MARCH, 6), "08:00", "09:00"), noon));
+        assertFalse(TrainingFilter.isPast(training("t3", 0, "08:00", "09:00"), noon));
+        assertFalse(TrainingFilter.isPast(training("t4", day, "08:00", "late"), noon));
+        assertFalse(TrainingFilter.isPast(null, noon));
+    }
+
+    /**
+     * Test 3: Clearing the selections
+     * Tests: clear() drops every chip and goes back to hiding past trainings only
+     */
+    @Test
+    public void testClear_RestoresDefaults() {
+        System.out.println("🧪 Test: Clearing the selections");
+        // Given
+        TrainingFilter filter = new TrainingFilter();
+        filter.setTeamIds(new HashSet<>(Collections.singletonList("team1")));
+        filter.setDays(new HashSet<>(Collections.singletonList("Tuesday")));
+        filter.setCourtIds(new HashSet<>(Collections.singletonList("court1")));
+        filter.setMonths(new HashSet<>(Collections.singletonList(3)));
+        filter.setOnlyThisWeek(true);
+        filter.setHidePast(false);
+
+        // When
+        filter.clear();
+
+        // Then
+        assertNull(filter.getTeamIds());
+        assertNull(filter.getDays());
+        assertNull(filter.getCourtIds());
+        assertNull(filter.getMonths());
+        assertFalse(filter.isOnlyThisWeek());
+        assertTrue(filter.isHidePast());
+    }
+}
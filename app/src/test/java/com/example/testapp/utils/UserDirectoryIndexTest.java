@@ -0,0 +1,130 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.Team;
+import com.example.testapp.models.User;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for UserDirectoryIndex
+ *
+ * Tests the role/team bitmaps and the name and phone search of the users management screen
+ */
+public class UserDirectoryIndexTest {
+
+    private User user(String id, String name, String role, String phone, String... teamIds) {
+        User user = new User(id, id + "@club.com", name, role, phone);
+        user.setTeamIds(Arrays.asList(teamIds));
+        return user;
+    }
+
+    private Team team(String id, String coachId) {
+        return new Team(id, "Team " + id, "U12", "A", coachId, "Coach", "#FF0000");
+    }
+
+    /**
+     * Test 1: Role and team chips
+     * Tests: Players match their teams, coaches the teams they lead, and "no team" everyone else
+     */
+    @Test
+    public void testApply_RolesAndTeams() {
+        System.out.println("🧪 Test: Role and team chips");
+        // Given
+        List<User> users = Arrays.asList(
+                user("u1", "Dana Levi", "PLAYER", "050-1234567", "t1"),
+                user("u2", "Avi Cohen", "PLAYER", "0527654321", "t1", "t2"),
+                user("u3", "Noa Bar", "PLAYER", ""),
+                user("u4", "Yossi Coach", "COACH", ""),
+                user("u5", "Rina Coach", "COACH", ""),
+                user("u6", "Admin", "ADMIN", ""));
+        List<Team> teams = Arrays.asList(team("t1", "u4"), team("t2", "u4"), team("t3", null));
+        UserDirectoryIndex index = new UserDirectoryIndex();
+        index.setTeams(teams);
+        for (User user : users) {
+            index.put(user);
+        }
+        Set<String> roles = new HashSet<>(Arrays.asList("PLAYER", "COACH"));
+        Set<String> noTeamOrT3 = new HashSet<>(Arrays.asList(UserDirectoryIndex.NO_TEAM, "t3"));
+        Set<String> allTeams = new HashSet<>(Arrays.asList(UserDirectoryIndex.NO_TEAM, "t1", "t2", "t3"));
+
+        // When / Then
+        assertEquals(Arrays.asList("u1", "u2", "u3", "u4", "u5"), ids(index.apply(roles, Collections.emptySet(), null)));
+        assertEquals(Arrays.asList("u2", "u4"), ids(index.apply(roles, Collections.singleton("t2"), null)));
+        assertEquals(Arrays.asList("u3", "u5"), ids(index.apply(roles, noTeamOrT3, null)));
+        assertEquals(Arrays.asList("u1", "u2", "u3", "u4", "u5"), ids(index.apply(roles, allTeams, "")));
+        assertEquals(Arrays.asList("u3", "u5", "u6"), ids(index.apply(Collections.emptySet(), noTeamOrT3, null)));
+        assertEquals(6, index.apply(Collections.emptySet(), allTeams, null).size());
+        assertEquals(Arrays.asList("t1", "t2"), index.getCoachTeamIds("u4"));
+    }
+
+    /**
+     * Test 2: Name and phone search
+     * Tests: Every query word must start a name word; digits match the phone in local or +972 form
+     */
+    @Test
+    public void testSearch_NameAndPhonePrefixes() {
+        System.out.println("🧪 Test: Name and phone search");
+        // Given
+        UserDirectoryIndex index = new UserDirectoryIndex();
+        index.put(user("u1", "Dana Levi", "PLAYER", "050-1234567"));
+        index.put(user("u2", "Danny Cohen", "PLAYER", "+972 52 765 4321"));
+        index.put(user("u3", "Levana Dan", "COACH", ""));
+
+        // When / Then
+        assertEquals(3, index.collect(index.search("  ")).size());
+        assertEquals(Arrays.asList("u1", "u2", "u3"), ids(index.apply(null, null, "DAN")));
+        assertEquals(Arrays.asList("u1", "u3"), ids(index.apply(null, null, "dan lev")));
+        assertEquals(Collections.singletonList("u1"), ids(index.apply(null, null, "050-12")));
+        assertEquals(Collections.singletonList("u2"), ids(index.apply(null, null, "0527")));
+        assertEquals(Collections.singletonList("u2"), ids(index.apply(null, null, "+97252")));
+        assertEquals(Collections.singletonList("u3"), ids(index.apply(Collections.singleton("COACH"), null, "dan")));
+        assertTrue(index.apply(null, null, "dani").isEmpty());
+    }
+
+    /**
+     * Test 3: Incremental updates
+     * Tests: A replaced user keeps its place, a removed one is gone, and a new coach → team map moves coaches
+     */
+    @Test
+    public void testUpdates_ReplaceRemoveAndCoachChange() {
+        System.out.println("🧪 Test: Incremental updates");
+        // Given
+        UserDirectoryIndex index = new UserDirectoryIndex();
+        index.setTeams(Collections.singletonList(team("t1", "u1")));
+        index.put(user("u1", "Yossi", "COACH", ""));
+        index.put(user("u2", "Dana", "PLAYER", "", "t1"));
+        index.put(user("u3", "Avi", "PLAYER", ""));
+        Set<String> teamOne = Collections.singleton("t1");
+
+        // When
+        index.put(user("u2", "Dana Levi", "PLAYER", "", "t2"));
+        index.remove("u3");
+        index.setTeams(Collections.singletonList(team("t1", "u4")));
+        index.put(user("u4", "Rina", "COACH", ""));
+
+        // Then - u4 takes the slot u3 left
+        assertEquals(3, index.size());
+        assertEquals(Collections.singletonList("u4"), ids(index.apply(null, teamOne, null)));
+        assertEquals(Collections.singletonList("u1"), ids(index.apply(null, Collections.singleton(UserDirectoryIndex.NO_TEAM), null)));
+        assertEquals(Arrays.asList("u1", "u2", "u4"), ids(index.apply(null, null, null)));
+        assertEquals("Dana Levi", index.get("u2").getName());
+        assertNull(index.get("u3"));
+        assertTrue(index.apply(null, null, "avi").isEmpty());
+    }
+
+    private List<String> ids(List<User> users) {
+        String[] ids = new String[users.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = users.get(i).getUserId();
+        }
+        return Arrays.asList(ids);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.testapp.utils;
+
+import com.example.testapp.models.TimeOfDay;
+import com.example.testapp.models.TimeSlot;
+import com.example.testapp.models.Training;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Tests for WeekGridLayout
+ *
+ * Tests the rows, columns and training blocks the Canvas week grid draws and hit-tests
+ */
+public class WeekGridLayoutTest {
+
+    // 2024-03-24, a Sunday
+    private static final long FIRST_DAY = DateUtils.getEpochDay(1711281600000L);
+    private static final List<Integer> ALL_DAYS = Arrays.asList(0, 1, 2, 3, 4, 5, 6);
+
+    private final long[] epochDays = new long[7];
+
+    public WeekGridLayoutTest() {
+        for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+            epochDays[dayIndex] = FIRST_DAY + dayIndex;
+        }
+    }
+
+    private List<TimeSlot> halfHours(int fromMinutes, int toMinutes) {
+        List<TimeSlot> slots = new ArrayList<>();
+        for (int minutes = fromMinutes; minutes < toMinutes; minutes += 30) {
+            slots.add(new TimeSlot("court1", "Court", TimeOfDay.format(minutes), TimeOfDay.format(minutes + 30), 0L));
+        }
+        return slots;
+    }
+
+    private Training training(String id, String courtId, int dayIndex, String start, String end) {
+        return new Training(id, "team1", "Team", "#FF0000", courtId, "Court", "", start, end,
+                DateUtils.getStartOfEpochDay(FIRST_DAY + dayIndex) + 60 * 60 * 1000L);
+    }
+
+    /**
+     * Test 1: Rows and columns
+     * Tests: Rows are the distinct slot start times in order, columns the shown day indices
+     */
+    @Test
+    public void testSet_RowsAndColumns() {
+        System.out.println("🧪 Test: Rows and columns");
+        // Given - the same times on several days, out of order
+        List<TimeSlot> slots = new ArrayList<>(halfHours(18 * 60, 20 * 60));
+        slots.addAll(halfHours(8 * 60, 9 * 60));
+        slots.addAll(halfHours(18 * 60, 20 * 60));
+        WeekGridLayout layout = new WeekGridLayout();
+
+        // When
+        layout.set(slots, new OccupancyGrid(), "court1", epochDays, Arrays.asList(2, 4));
+
+        // Then
+        assertEquals(6, layout.getRowCount());
+        assertEquals(8 * 60, layout.getRowMinutes(0));
+        assertEquals(8 * 60 + 30, layout.getRowMinutes(1));
+        assertEquals(18 * 60, layout.getRowMinutes(2));
+        assertEquals(2, layout.getColumnCount());
+        assertEquals(4, layout.getColumnDayIndex(1));
+        assertEquals(0, layout.getBlockCount());
+        assertEquals(WeekGridLayout.NONE, layout.blockAt(0, 0));
+    }
+
+    /**
+     * Test 2: One block per training
+     * Tests: A 90-minute training spans three rows, every covered cell hits it, and other courts are left out
+     */
+    @Test
+    public void testSet_BlocksSpanRowsAndHitTest() {
+        System.out.println("🧪 Test: One block per training");
+        // Given
+        OccupancyGrid occupancy = new OccupancyGrid();
+        Training long1 = training("t1", "court1", 1, "18:00", "19:30");
+        occupancy.put("t1", long1);
+        occupancy.put("t2", training("t2", "court1", 3, "20:00", "20:30"));
+        occupancy.put("t3", training("t3", "court2", 1, "17:00", "18:00"));
+        WeekGridLayout layout = new WeekGridLayout();
+
+        // When
+        layout.set(halfHours(17 * 60, 21 * 60), occupancy, "court1", epochDays, ALL_DAYS);
+
+        // Then
+        assertEquals(2, layout.getBlockCount());
+        int block = layout.blockAt(2, 1);
+        assertNotEquals(WeekGridLayout.NONE, block);
+        assertSame(long1, layout.getBlockTraining(block));
+        assertEquals(2, layout.getBlockRow(block));
+        assertEquals(3, layout.getBlockRowSpan(block));
+        assertEquals(block, layout.blockAt(3, 1));
+        assertEquals(block, layout.blockAt(4, 1));
+        assertEquals(WeekGridLayout.NONE, layout.blockAt(5, 1));
+        assertEquals(WeekGridLayout.NONE, layout.blockAt(0, 1));
+        assertEquals(1, layout.getBlockRowSpan(layout.blockAt(6, 3)));
+        assertEquals(WeekGridLayout.NONE, layout.blockAt(99, 1));
+    }
+
+    /**
+     * Test 3: Switching weeks
+     * Tests: A new week replaces every block, and a busy week grows the block arrays
+     */
+    @Test
+    public void testSet_ReusedAcrossWeeks() {
+        System.out.println("🧪 Test: Switching weeks");
+        // Given - a busy week: every half hour of every day is booked
+        OccupancyGrid busy = new OccupancyGrid();
+        for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+            for (int minutes = 8 * 60; minutes < 12 * 60; minutes += 30) {
+                busy.put("t" + dayIndex + "_" + minutes, training("t" + dayIndex + "_" + minutes, "court1", dayIndex,
+                        TimeOfDay.format(minutes), TimeOfDay.format(minutes + 30)));
+            }
+        }
+        WeekGridLayout layout = new WeekGridLayout();
+        layout.set(halfHours(8 * 60, 12 * 60), busy, "court1", epochDays, ALL_DAYS);
+        assertEquals(56, layout.getBlockCount());
+
+        // When - the next, empty week on the day view
+        layout.set(halfHours(8 * 60, 10 * 60), new OccupancyGrid(), "court1", epochDays,
+                Collections.singletonList(3));
+
+        // Then
+        assertEquals(0, layout.getBlockCount());
+        assertEquals(4, layout.getRowCount());
+        assertEquals(1, layout.getColumnCount());
+        assertEquals(WeekGridLayout.NONE, layout.blockAt(0, 0));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.testapp.benchmarks;
+
+import com.google.firebase.database.Exclude;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Getter/setter mapping through reflection, the way Firebase's class mapper reads
+ * and writes beans. The real mapper is Android-only, so this stands in for it as
+ * the baseline of {@link CodecBenchmark}. Descriptors are cached per class, like Firebase does,
+ * {@code @Exclude} properties are skipped and nested beans (a court's day schedules) are
+ * mapped recursively.
+ */
+final class BeanMapper<T> {
+    private final Class<T> type;
+    private final PropertyDescriptor[] properties;
+    private final BeanMapper<?>[] nested;
+
+    BeanMapper(Class<T> type) {
+        this.type = type;
+        List<PropertyDescriptor> mapped = new ArrayList<>();
+        try {
+            for (PropertyDescriptor property : Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors()) {
+                if (!isExcluded(property.getReadMethod()) && !isExcluded(property.getWriteMethod())) {
+                    mapped.add(property);
+                }
+            }
+        } catch (IntrospectionException e) {
+            throw new IllegalArgumentException(e);
+        }
+        this.properties = mapped.toArray(new PropertyDescriptor[0]);
+        this.nested = new BeanMapper<?>[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            Class<?> propertyType = properties[i].getPropertyType();
+            if (isBean(propertyType)) {
+                nested[i] = new BeanMapper<>(propertyType);
+            }
+        }
+    }
+
+    private static boolean isExcluded(Method method) {
+        return method != null && method.isAnnotationPresent(Exclude.class);
+    }
+
+    private static boolean isBean(Class<?> propertyType) {
+        return propertyType != null && !propertyType.isPrimitive() && !propertyType.isEnum()
+            && propertyType != String.class && propertyType != Object.class
+            && !Number.class.isAssignableFrom(propertyType) && propertyType != Boolean.class
+            && !Map.class.isAssignableFrom(propertyType) && !Collection.class.isAssignableFrom(propertyType);
+    }
+
+    @SuppressWarnings("unchecked")
+    T fromMap(Map<String, Object> map) {
+        try {
+            T bean = type.getDeclaredConstructor().newInstance();
+            for (int i = 0; i < properties.length; i++) {
+                PropertyDescriptor property = properties[i];
+                Method setter = property.getWriteMethod();
+                Object value = map.get(property.getName());
+                if (setter == null || value == null) {
+                    continue;
+                }
+                Class<?> target = property.getPropertyType();
+                if (nested[i] != null && value instanceof Map) {
+                    value = nested[i].fromMap((Map<String, Object>) value);
+                } else if ((target == long.class || target == Long.class) && value instanceof Number) {
+                    value = ((Number) value).longValue();
+                } else if ((target == int.class || target == Integer.class) && value instanceof Number) {
+                    value = ((Number) value).intValue();
+                }
+                setter.invoke(bean, value);
+            }
+            return bean;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Map<String, Object> toMap(T bean) {
+        Map<String, Object> map = new HashMap<>();
+        try {
+            for (int i = 0; i < properties.length; i++) {
+                Method getter = properties[i].getReadMethod();
+                if (getter == null) {
+                    continue;
+                }
+                Object value = getter.invoke(bean);
+                if (nested[i] != null && value != null) {
+                    value = nested[i].toMapOf(value);
+                }
+                map.put(properties[i].getName(), value);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toMapOf(Object bean) {
+        return toMap((T) bean);
+    }
+}
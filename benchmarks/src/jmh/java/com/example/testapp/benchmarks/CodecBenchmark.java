@@ -0,0 +1,120 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.Player;
+import com.example.testapp.models.Team;
+import com.example.testapp.models.Training;
+import com.example.testapp.models.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reading and writing a node of each model: the hand-written fromMap()/toMap() codecs
+ * against reflective bean mapping. Courts carry seven nested day schedules, so they show
+ * the cost of recursive mapping.
+ */
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    @Param({"training", "court", "player", "user", "team"})
+    public String model;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int records;
+
+    private Codec<?> codec;
+
+    /** One model's codec and reflective mapper, with its records in both forms. */
+    private static final class Codec<T> {
+        private final Function<Map<String, Object>, T> fromMap;
+        private final Function<T, Map<String, Object>> toMap;
+        private final BeanMapper<T> reflective;
+        private final List<T> models;
+        private final List<Map<String, Object>> raw;
+
+        Codec(Class<T> type, List<T> models, Function<Map<String, Object>, T> fromMap,
+              Function<T, Map<String, Object>> toMap) {
+            this.fromMap = fromMap;
+            this.toMap = toMap;
+            this.reflective = new BeanMapper<>(type);
+            this.models = models;
+            this.raw = new ArrayList<>(models.size());
+            for (T item : models) {
+                raw.add(toMap.apply(item));
+            }
+        }
+
+        List<T> read(Function<Map<String, Object>, T> reader) {
+            List<T> parsed = new ArrayList<>(raw.size());
+            for (Map<String, Object> value : raw) {
+                parsed.add(reader.apply(value));
+            }
+            return parsed;
+        }
+
+        List<Map<String, Object>> write(Function<T, Map<String, Object>> writer) {
+            List<Map<String, Object>> written = new ArrayList<>(models.size());
+            for (T item : models) {
+                written.add(writer.apply(item));
+            }
+            return written;
+        }
+
+        List<T> readCodec() { return read(fromMap); }
+        List<T> readReflective() { return read(reflective::fromMap); }
+        List<Map<String, Object>> writeCodec() { return write(toMap); }
+        List<Map<String, Object>> writeReflective() { return write(reflective::toMap); }
+    }
+
+    @Setup
+    public void setUp() {
+        switch (model) {
+            case "court":
+                codec = new Codec<>(Court.class, Datasets.courts(records), Court::fromMap, Court::toMap);
+                break;
+            case "player":
+                codec = new Codec<>(Player.class, Datasets.players(records, Datasets.teams(Datasets.teamCount(records))),
+                    Player::fromMap, Player::toMap);
+                break;
+            case "user":
+                codec = new Codec<>(User.class, Datasets.users(records, Datasets.teams(Datasets.teamCount(records))),
+                    User::fromMap, User::toMap);
+                break;
+            case "team":
+                codec = new Codec<>(Team.class, Datasets.teams(records), Team::fromMap, Team::toMap);
+                break;
+            default:
+                codec = new Codec<>(Training.class, Datasets.trainings(records), Training::fromMap, Training::toMap);
+                break;
+        }
+    }
+
+    @Benchmark
+    public List<?> read_codec() {
+        return codec.readCodec();
+    }
+
+    @Benchmark
+    public List<?> read_reflective() {
+        return codec.readReflective();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> write_codec() {
+        return codec.writeCodec();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> write_reflective() {
+        return codec.writeReflective();
+    }
+}
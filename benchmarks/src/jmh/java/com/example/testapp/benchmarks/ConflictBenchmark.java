@@ -0,0 +1,42 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Training;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Conflict check of one new training against every stored training,
+ * the linear scan done before a training is saved.
+ */
+@State(Scope.Benchmark)
+public class ConflictBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int trainings;
+
+    private List<Training> stored;
+    private Training candidate;
+
+    @Setup
+    public void setUp() {
+        stored = Datasets.trainings(trainings);
+        candidate = stored.get(stored.size() / 2);
+    }
+
+    @Benchmark
+    public int conflictsWith_linearScan() {
+        int conflicts = 0;
+        for (Training existing : stored) {
+            if (candidate.conflictsWith(existing)) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.Player;
+import com.example.testapp.models.Team;
+import com.example.testapp.models.Training;
+import com.example.testapp.models.User;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic, seeded data shaped like the production database: a handful of courts,
+ * teams with a coach each, and trainings spread over one season in 30-minute steps.
+ * The same size always produces the same data, so runs are comparable.
+ */
+final class Datasets {
+    static final int COURTS = 8;
+    static final int SEASON_DAYS = 300;
+    static final long SEED = 42L;
+
+    private static final String[] DAYS = {
+        "Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"
+    };
+    private static final String[] ROLES = {"PLAYER", "PLAYER", "PLAYER", "COACH", "COORDINATOR", "ADMIN"};
+
+    private Datasets() {
+    }
+
+    /** First day of the synthetic season, local midnight. */
+    static Calendar seasonStart() {
+        Calendar start = Calendar.getInstance();
+        start.clear();
+        start.set(2025, Calendar.SEPTEMBER, 7); // a Sunday
+        return start;
+    }
+
+    static String courtId(int index) {
+        return "court" + index;
+    }
+
+    /** The {@link #COURTS} courts, open 08:00-22:00 every day. */
+    static List<Court> courts() {
+        List<Court> courts = new ArrayList<>(COURTS);
+        for (int i = 0; i < COURTS; i++) {
+            courts.add(new Court(courtId(i), "Court " + i, "Hall", "08:00", "22:00"));
+        }
+        return courts;
+    }
+
+    /** Courts with a schedule per day: shorter Fridays and every other court closed on Saturday. */
+    static List<Court> courts(int count) {
+        List<Court> courts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Court court = new Court(courtId(i), "Court " + i, "Hall", "08:00", "22:00");
+            court.setScheduleForDay(Calendar.FRIDAY, new DaySchedule(true, "08:00", "14:00"));
+            court.setScheduleForDay(Calendar.SATURDAY, new DaySchedule(i % 2 == 0, "10:00", "18:00"));
+            courts.add(court);
+        }
+        return courts;
+    }
+
+    static int teamCount(int trainings) {
+        return Math.max(10, trainings / 50);
+    }
+
+    static List<Training> trainings(int count) {
+        Random random = new Random(SEED);
+        Calendar season = seasonStart();
+        int teams = teamCount(count);
+        List<Training> trainings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Calendar day = (Calendar) season.clone();
+            day.add(Calendar.DAY_OF_YEAR, random.nextInt(SEASON_DAYS));
+            int start = 8 * 60 + 30 * random.nextInt(26); // 08:00 - 20:30
+            int duration = random.nextBoolean() ? 60 : 90;
+            int team = random.nextInt(teams);
+            int court = random.nextInt(COURTS);
+            trainings.add(new Training("training" + i, "team" + team, "Team " + team, "#3366CC",
+                courtId(court), "Court " + court, DAYS[day.get(Calendar.DAY_OF_WEEK) - 1],
+                time(start), time(start + duration), day.getTimeInMillis()));
+        }
+        return trainings;
+    }
+
+    static List<Team> teams(int count) {
+        List<Team> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            teams.add(new Team("team" + i, "Team " + i, "U" + (12 + i % 7), "A", "coach" + (i % Math.max(1, count / 2)),
+                "Coach " + i, "#3366CC"));
+        }
+        return teams;
+    }
+
+    /** Users with the role mix of a club: mostly players, each in one or two teams. */
+    static List<User> users(int count, List<Team> teams) {
+        Random random = new Random(SEED);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String role = ROLES[random.nextInt(ROLES.length)];
+            String userId = "COACH".equals(role) ? "coach" + random.nextInt(Math.max(1, teams.size() / 2)) : "user" + i;
+            User user = new User(userId, userId + "@example.com", "User " + i, role, "050-0000000");
+            if ("PLAYER".equals(role) && random.nextInt(10) > 0) {
+                List<String> teamIds = new ArrayList<>();
+                teamIds.add(teams.get(random.nextInt(teams.size())).getTeamId());
+                if (random.nextInt(4) == 0) {
+                    teamIds.add(teams.get(random.nextInt(teams.size())).getTeamId());
+                }
+                user.setTeamIds(teamIds);
+            } else {
+                user.setTeamIds(Collections.emptyList());
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    /** Players with every profile field filled, spread over the teams. */
+    static List<Player> players(int count, List<Team> teams) {
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player" + i, "user" + i, "First" + i, "Last" + i, "ז", "School " + (i % 20),
+                "050-0000000", "052-0000000", String.valueOf(100000000 + i), "2012-01-01", "M",
+                String.valueOf(i % 99), teams.get(i % teams.size()).getTeamId()));
+        }
+        return players;
+    }
+
+    /** coachId -> names of the teams that coach leads, as ManageUsersFragment builds it. */
+    static Map<String, List<String>> coachTeams(List<Team> teams) {
+        Map<String, List<String>> coachTeams = new HashMap<>();
+        for (Team team : teams) {
+            coachTeams.computeIfAbsent(team.getCoachId(), k -> new ArrayList<>()).add(team.getName());
+        }
+        return coachTeams;
+    }
+
+    static String time(int minutes) {
+        return String.format(Locale.US, "%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
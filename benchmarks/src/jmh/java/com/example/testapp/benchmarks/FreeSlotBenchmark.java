@@ -0,0 +1,56 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.TimeSlot;
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.FreeSlotFinder;
+import com.example.testapp.utils.OccupancyGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * FreeSlotFinder over a whole season on every court, against an OccupancyGrid
+ * filled as TrainingRepository keeps it: the first page of results as the
+ * "find a free slot" dialog asks for, and every window ranked.
+ */
+@State(Scope.Benchmark)
+public class FreeSlotBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int trainings;
+
+    private OccupancyGrid occupancy;
+    private List<Court> courts;
+    private long seasonStart;
+    private long seasonEnd;
+
+    @Setup
+    public void setUp() {
+        occupancy = new OccupancyGrid();
+        for (Training training : Datasets.trainings(trainings)) {
+            occupancy.put(training.getTrainingId(), training);
+        }
+        courts = Datasets.courts();
+        seasonStart = Datasets.seasonStart().getTimeInMillis();
+        seasonEnd = seasonStart + Datasets.SEASON_DAYS * 24L * 60 * 60 * 1000;
+    }
+
+    @Benchmark
+    public List<TimeSlot> firstPage() {
+        FreeSlotFinder.Query query = new FreeSlotFinder.Query("team0", 90, seasonStart, seasonEnd).setLimit(20);
+        return FreeSlotFinder.find(query, courts, occupancy);
+    }
+
+    @Benchmark
+    public List<TimeSlot> rankWholeSeason() {
+        FreeSlotFinder.Query query = new FreeSlotFinder.Query("team0", 90, seasonStart, seasonEnd)
+                .setLimit(Integer.MAX_VALUE);
+        return FreeSlotFinder.find(query, courts, occupancy);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.DateUtils;
+import com.example.testapp.utils.OccupancyGrid;
+import com.example.testapp.utils.ScheduleBuckets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The slot bucketing of ScheduleGridFragment.refreshScheduleGrid(): one court's
+ * trainings grouped per day of the shown week, indexed into an OccupancyGrid,
+ * then every 30-minute cell of the week looked up as the grid adapter does.
+ */
+@State(Scope.Benchmark)
+public class ScheduleBucketsBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int trainings;
+
+    private List<Training> visible;
+    private Calendar weekStart;
+    private String courtId;
+
+    @Setup
+    public void setUp() {
+        visible = Datasets.trainings(trainings);
+        weekStart = Datasets.seasonStart();
+        weekStart.add(Calendar.WEEK_OF_YEAR, 20);
+        courtId = Datasets.courtId(0);
+    }
+
+    @Benchmark
+    public int bucketWeek() {
+        Map<Integer, List<Training>> byDay = ScheduleBuckets.byDayIndex(visible, courtId, weekStart);
+        OccupancyGrid occupancy = new OccupancyGrid();
+        for (List<Training> dayTrainings : byDay.values()) {
+            for (Training training : dayTrainings) {
+                occupancy.put(training.getTrainingId(), training);
+            }
+        }
+
+        int occupied = 0;
+        long firstDay = DateUtils.getEpochDay(weekStart.getTimeInMillis());
+        for (long epochDay = firstDay; epochDay < firstDay + 7; epochDay++) {
+            for (int cell = 0; cell < OccupancyGrid.CELLS_PER_DAY; cell++) {
+                if (occupancy.isOccupied(courtId, epochDay, cell)
+                        && occupancy.getTrainingAt(courtId, epochDay, cell) != null) {
+                    occupied++;
+                }
+            }
+        }
+        return occupied;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.utils.TimeSlotUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Slot labels for one court day, generated every time a schedule screen is drawn.
+ */
+@State(Scope.Benchmark)
+public class TimeSlotBenchmark {
+
+    @Param({"08:00-14:00", "08:00-22:00", "00:00-23:30"})
+    public String hours;
+
+    @Benchmark
+    public List<String> generateTimeSlots() {
+        String[] range = hours.split("-");
+        return TimeSlotUtils.generateTimeSlots(range[0], range[1]);
+    }
+}
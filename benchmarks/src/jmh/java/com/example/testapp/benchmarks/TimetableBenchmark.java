@@ -0,0 +1,66 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Court;
+import com.example.testapp.models.DaySchedule;
+import com.example.testapp.models.Team;
+import com.example.testapp.utils.TimetableSolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimetableSolver on a club-sized week: 12 courts open 16:00-22:00 Sunday to
+ * Thursday and 08:00-14:00 on Friday, every team asking for 2-3 sessions of
+ * 60-90 minutes, and a coach for every three teams. At 90 teams the demand
+ * fills most of the week, which is where the restarts kick in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TimetableBenchmark {
+
+    private static final String[] AGE_GROUPS = {"U8", "U10", "U12", "U14", "U16", "U18", "Senior"};
+    private static final int CLUB_COURTS = 12;
+
+    @Param({"20", "45", "90"})
+    public int teams;
+
+    private List<Court> courts;
+    private List<TimetableSolver.Demand> demands;
+
+    @Setup
+    public void setUp() {
+        courts = new ArrayList<>(CLUB_COURTS);
+        for (int i = 0; i < CLUB_COURTS; i++) {
+            Court court = new Court(Datasets.courtId(i), "Court " + i, "Hall", "16:00", "22:00");
+            for (int day = 1; day <= 5; day++) {
+                court.setScheduleForDay(day, new DaySchedule(true, "16:00", "22:00"));
+            }
+            court.setScheduleForDay(6, new DaySchedule(true, "08:00", "14:00"));
+            court.setScheduleForDay(7, new DaySchedule(false, "08:00", "14:00"));
+            courts.add(court);
+        }
+
+        demands = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            Team team = new Team("team" + i, "Team " + i, AGE_GROUPS[i % AGE_GROUPS.length],
+                    "Intermediate", "coach" + (i / 3), "Coach " + (i / 3), "#3366CC");
+            demands.add(new TimetableSolver.Demand(team, 2 + i % 2, i % 4 == 0 ? 60 : 90));
+        }
+    }
+
+    @Benchmark
+    public TimetableSolver.Plan solveWeek() {
+        return new TimetableSolver(courts, demands).setTimeLimitMillis(10_000).solve();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.TrainingFilter;
+import com.example.testapp.utils.TrainingFilterIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * The filters of TrainingViewModel.applyFilters(), run on every filter chip tap and
+ * every change to the trainings list: the original loop over every training, kept in
+ * {@link TrainingFilterLoop}, and the bitmap index the view model now answers them from.
+ */
+@State(Scope.Benchmark)
+public class TrainingFilterBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int trainings;
+
+    private List<Training> candidates;
+    private TrainingFilter defaults;
+    private TrainingFilter allFilters;
+    private TrainingFilterIndex index;
+    private long weekStart;
+    private long weekEnd;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        candidates = Datasets.trainings(trainings);
+
+        Calendar week = Datasets.seasonStart();
+        week.add(Calendar.WEEK_OF_YEAR, 20);
+        weekStart = week.getTimeInMillis();
+        week.add(Calendar.WEEK_OF_YEAR, 1);
+        weekEnd = week.getTimeInMillis();
+        now = weekStart;
+
+        // What the list shows when the screen opens: only past trainings are hidden
+        defaults = new TrainingFilter();
+
+        allFilters = new TrainingFilter();
+        allFilters.setTeamIds(new HashSet<>(Arrays.asList("team0", "team1", "team2", "team3", "team4", "team5")));
+        allFilters.setDays(new HashSet<>(Arrays.asList("Sunday", "Tuesday")));
+        allFilters.setCourtIds(new HashSet<>(Arrays.asList(Datasets.courtId(0), Datasets.courtId(1))));
+        allFilters.setMonths(new HashSet<>(Arrays.asList(2, 3, 4, 5)));
+
+        index = new TrainingFilterIndex();
+        for (Training training : candidates) {
+            index.put(training.getTrainingId(), training);
+        }
+    }
+
+    @Benchmark
+    public List<Training> apply_hidePastOnly() {
+        return TrainingFilterLoop.apply(defaults, candidates, weekStart, weekEnd, now);
+    }
+
+    @Benchmark
+    public List<Training> apply_allFilters() {
+        return TrainingFilterLoop.apply(allFilters, candidates, weekStart, weekEnd, now);
+    }
+
+    @Benchmark
+    public List<Training> index_hidePastOnly() {
+        return index.apply(defaults, now);
+    }
+
+    @Benchmark
+    public List<Training> index_allFilters() {
+        return index.apply(allFilters, now);
+    }
+}
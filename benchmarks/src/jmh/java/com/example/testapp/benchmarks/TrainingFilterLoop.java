@@ -0,0 +1,99 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.TrainingFilter;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The filter loop TrainingViewModel ran over every training before it answered the
+ * filters from {@link com.example.testapp.utils.TrainingFilterIndex}. Kept here, out of
+ * the app, as the baseline of {@link TrainingFilterBenchmark}.
+ */
+final class TrainingFilterLoop {
+
+    private TrainingFilterLoop() {
+    }
+
+    /**
+     * Keeps the candidates that pass every active filter, in their original order.
+     *
+     * @param weekStart start of the current week, used by the "this week" filter
+     * @param weekEnd   end of the current week (exclusive)
+     * @param now       current time, used by the "hide past" filter
+     */
+    static List<Training> apply(TrainingFilter filter, List<Training> candidates, long weekStart, long weekEnd, long now) {
+        Set<String> teamIds = filter.getTeamIds();
+        Set<String> days = filter.getDays();
+        Set<String> courtIds = filter.getCourtIds();
+        Set<Integer> months = filter.getMonths();
+        List<Training> filtered = new ArrayList<>();
+
+        for (Training training : candidates) {
+            boolean matches = true;
+
+            // Apply team filter (multi-select)
+            if (teamIds != null && !teamIds.isEmpty()) {
+                if (!teamIds.contains(training.getTeamId())) {
+                    matches = false;
+                }
+            }
+
+            // Apply day filter (multi-select)
+            if (days != null && !days.isEmpty()) {
+                String trainingDay = training.getDayOfWeek();
+                // If dayOfWeek is not set, calculate it from the date
+                if (trainingDay == null || trainingDay.isEmpty()) {
+                    Calendar cal = Calendar.getInstance();
+                    cal.setTimeInMillis(training.getDate());
+                    SimpleDateFormat dayFormat = new SimpleDateFormat("EEEE", Locale.ENGLISH);
+                    trainingDay = dayFormat.format(cal.getTime());
+                }
+                if (!days.contains(trainingDay)) {
+                    matches = false;
+                }
+            }
+
+            // Apply location/court filter (multi-select)
+            if (courtIds != null && !courtIds.isEmpty()) {
+                if (!courtIds.contains(training.getCourtId())) {
+                    matches = false;
+                }
+            }
+
+            // Apply month filter (multi-select)
+            if (months != null && !months.isEmpty()) {
+                Calendar trainingCal = Calendar.getInstance();
+                trainingCal.setTimeInMillis(training.getDate());
+                int trainingMonth = trainingCal.get(Calendar.MONTH) + 1; // Calendar.MONTH is 0-based
+                if (!months.contains(trainingMonth)) {
+                    matches = false;
+                }
+            }
+
+            // Apply week filter
+            if (filter.isOnlyThisWeek()) {
+                long trainingDate = training.getDate();
+                if (trainingDate < weekStart || trainingDate >= weekEnd) {
+                    matches = false;
+                }
+            }
+
+            // Apply hide past trainings filter using actual end time
+            if (filter.isHidePast() && TrainingFilter.isPast(training, now)) {
+                matches = false;
+            }
+
+            if (matches) {
+                filtered.add(training);
+            }
+        }
+
+        return filtered;
+    }
+}
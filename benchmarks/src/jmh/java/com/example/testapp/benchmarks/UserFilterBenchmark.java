@@ -0,0 +1,67 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Team;
+import com.example.testapp.models.User;
+import com.example.testapp.utils.UserDirectoryIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The role and team filtering of ManageUsersFragment.applyFilters(): the original loop
+ * over every user, kept in {@link UserFilterLoop}, and the bitmap index the screen now
+ * answers it from, with and without a name search. The user count follows the training
+ * count, with one team per 50 trainings.
+ */
+@State(Scope.Benchmark)
+public class UserFilterBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int users;
+
+    private List<User> all;
+    private List<Team> teams;
+    private Map<String, List<String>> coachTeams;
+    private Set<String> roles;
+    private Set<String> teamIds;
+    private UserDirectoryIndex index;
+
+    @Setup
+    public void setUp() {
+        teams = Datasets.teams(Datasets.teamCount(users));
+        all = Datasets.users(users, teams);
+        coachTeams = Datasets.coachTeams(teams);
+        roles = new HashSet<>(Arrays.asList("PLAYER", "COACH"));
+        teamIds = new HashSet<>(Arrays.asList(UserDirectoryIndex.NO_TEAM, "team1", "team5", "team7"));
+
+        index = new UserDirectoryIndex();
+        index.setTeams(teams);
+        for (User user : all) {
+            index.put(user);
+        }
+    }
+
+    @Benchmark
+    public List<User> apply_rolesAndTeams() {
+        return UserFilterLoop.apply(all, roles, teamIds, teams, coachTeams);
+    }
+
+    @Benchmark
+    public List<User> index_rolesAndTeams() {
+        return index.apply(roles, teamIds, null);
+    }
+
+    @Benchmark
+    public List<User> index_rolesTeamsAndSearch() {
+        return index.apply(roles, teamIds, "user 1");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.Team;
+import com.example.testapp.models.User;
+import com.example.testapp.utils.UserDirectoryIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The role and team filters ManageUsersFragment ran over every user before it answered
+ * them from {@link UserDirectoryIndex}. Kept here, out of the app, as the baseline of
+ * {@link UserFilterBenchmark}.
+ */
+final class UserFilterLoop {
+
+    private UserFilterLoop() {
+    }
+
+    /**
+     * Keeps the users that match one of the selected roles and one of the selected teams.
+     * An empty selection matches everyone.
+     *
+     * @param coachTeams coachId -> names of the teams that coach leads
+     */
+    static List<User> apply(List<User> users, Set<String> roles, Set<String> teamIds,
+                            List<Team> teams, Map<String, List<String>> coachTeams) {
+        List<User> filtered = new ArrayList<>();
+
+        for (User user : users) {
+            // Role filter
+            boolean matchesRole = roles.isEmpty() || roles.contains(user.getRole());
+
+            // Team filter
+            boolean matchesTeam = false;
+            if (teamIds.isEmpty()) {
+                matchesTeam = true;
+            } else {
+                // Check "No Team"
+                if (teamIds.contains(UserDirectoryIndex.NO_TEAM)) {
+                    boolean hasNoTeam = false;
+
+                    if ("COACH".equals(user.getRole())) {
+                        // Coach has no team if they're not in coachTeams
+                        hasNoTeam = !coachTeams.containsKey(user.getUserId()) ||
+                                   coachTeams.get(user.getUserId()).isEmpty();
+                    } else if ("PLAYER".equals(user.getRole())) {
+                        // Player has no team if teamIds is empty
+                        hasNoTeam = (user.getTeamIds() == null || user.getTeamIds().isEmpty());
+                    } else {
+                        // Other roles don't have teams
+                        hasNoTeam = true;
+                    }
+
+                    if (hasNoTeam) {
+                        matchesTeam = true;
+                    }
+                }
+
+                // Check specific teams
+                if (!matchesTeam) {
+                    for (String teamId : teamIds) {
+                        if (!UserDirectoryIndex.NO_TEAM.equals(teamId)) {
+                            if ("PLAYER".equals(user.getRole())) {
+                                // For players - check teamIds
+                                boolean isPlayerInTeam = user.getTeamIds() != null && user.getTeamIds().contains(teamId);
+                                if (isPlayerInTeam) {
+                                    matchesTeam = true;
+                                    break;
+                                }
+                            } else if ("COACH".equals(user.getRole())) {
+                                // For coaches - check if any of their teams match
+                                for (Team team : teams) {
+                                    if (team.getTeamId().equals(teamId) &&
+                                        user.getUserId().equals(team.getCoachId())) {
+                                        matchesTeam = true;
+                                        break;
+                                    }
+                                }
+                                if (matchesTeam) break;
+                            }
+                        }
+                    }
+                }
+            }
+
+            if (matchesRole && matchesTeam) {
+                filtered.add(user);
+            }
+        }
+
+        return filtered;
+    }
+}
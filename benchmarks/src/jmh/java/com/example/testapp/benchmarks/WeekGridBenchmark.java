@@ -0,0 +1,69 @@
+package com.example.testapp.benchmarks;
+
+import com.example.testapp.models.TimeSlot;
+import com.example.testapp.models.Training;
+import com.example.testapp.utils.DateUtils;
+import com.example.testapp.utils.OccupancyGrid;
+import com.example.testapp.utils.WeekGridLayout;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * The layout work of switching weeks in the Canvas week grid: WeekGridLayout.set()
+ * for one court's 06:00-23:00 week, alternating between two weeks as the week
+ * buttons do. The layout is reused, as WeekGridView keeps it.
+ */
+@State(Scope.Benchmark)
+public class WeekGridBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int trainings;
+
+    private final WeekGridLayout layout = new WeekGridLayout();
+    private final List<Integer> dayIndices = Arrays.asList(0, 1, 2, 3, 4, 5, 6);
+    private final long[][] weeks = new long[2][7];
+    private List<TimeSlot> slots;
+    private OccupancyGrid occupancy;
+    private String courtId;
+    private int week;
+
+    @Setup
+    public void setUp() {
+        courtId = Datasets.courtId(0);
+        occupancy = new OccupancyGrid();
+        for (Training training : Datasets.trainings(trainings)) {
+            occupancy.put(training.getTrainingId(), training);
+        }
+
+        Calendar weekStart = Datasets.seasonStart();
+        weekStart.add(Calendar.WEEK_OF_YEAR, 20);
+        long firstDay = DateUtils.getEpochDay(weekStart.getTimeInMillis());
+        for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+            weeks[0][dayIndex] = firstDay + dayIndex;
+            weeks[1][dayIndex] = firstDay + 7 + dayIndex;
+        }
+
+        slots = new ArrayList<>();
+        for (int dayIndex = 0; dayIndex < 7; dayIndex++) {
+            for (int minutes = 6 * 60; minutes < 23 * 60; minutes += 30) {
+                slots.add(new TimeSlot(courtId, "Court 0", Datasets.time(minutes), Datasets.time(minutes + 30), 0L));
+            }
+        }
+    }
+
+    @Benchmark
+    public int switchWeek() {
+        week ^= 1;
+        layout.set(slots, occupancy, courtId, weeks[week], dayIndices);
+        return layout.getBlockCount();
+    }
+}
@@ -0,0 +1,16 @@
+package android.os;
+
+/**
+ * Compile-time stand-in for android.os.Parcel, used by Team. Never called in benchmarks.
+ */
+public final class Parcel {
+    private Parcel() {
+    }
+
+    public String readString() { throw new UnsupportedOperationException(); }
+    public int readInt() { throw new UnsupportedOperationException(); }
+    public long readLong() { throw new UnsupportedOperationException(); }
+    public void writeString(String value) { throw new UnsupportedOperationException(); }
+    public void writeInt(int value) { throw new UnsupportedOperationException(); }
+    public void writeLong(long value) { throw new UnsupportedOperationException(); }
+}
@@ -0,0 +1,16 @@
+package android.os;
+
+/**
+ * Compile-time stand-in for android.os.Parcelable, used by Team. Never called in benchmarks.
+ */
+public interface Parcelable {
+    int describeContents();
+
+    void writeToParcel(Parcel dest, int flags);
+
+    interface Creator<T> {
+        T createFromParcel(Parcel source);
+
+        T[] newArray(int size);
+    }
+}